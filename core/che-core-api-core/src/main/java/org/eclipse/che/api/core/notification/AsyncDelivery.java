@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import java.util.function.Function;
+
+/**
+ * Describes how events are delivered to subscriber which is registered with
+ * {@link EventService#subscribe(EventSubscriber, Class, AsyncDelivery)}. Such subscriber is not called on the publisher's thread,
+ * events are put in bounded queues of subscriber and delivered by thread pool of {@link EventService}. Usage example:
+ * <pre>
+ *     bus.subscribe(subscriber,
+ *                   MachineStatusEvent.class,
+ *                   new AsyncDelivery&lt;MachineStatusEvent&gt;().withKey(MachineStatusEvent::getMachineId)
+ *                                                          .withShards(4)
+ *                                                          .withQueueSize(100)
+ *                                                          .withOverflowPolicy(OverflowPolicy.BLOCK));
+ * </pre>
+ * Subscriber has {@link #getShards() shards} queues, each of them is processed by one thread at a time. Events with the same
+ * {@link #getKey() key} always go to the same queue, so subscriber receives them in the order they were published. Events of
+ * different shards are delivered concurrently. Events without key go to the first shard.
+ *
+ * @param <T>
+ *         type of events
+ */
+public final class AsyncDelivery<T> {
+    /** Defines how published event is put in queue of subscriber, mostly what happens when queue is full. */
+    public enum OverflowPolicy {
+        /** Publisher waits until there is free space in queue. */
+        BLOCK,
+        /** The oldest event from queue is dropped. */
+        DROP_OLDEST,
+        /**
+         * Event replaces queued event with the same key, subscriber receives only the latest of them. Unlike other policies it is
+         * applied even if queue is not full. Events without key or events for which there is no queued event with the same key are
+         * handled as with {@link #DROP_OLDEST}.
+         */
+        COALESCE
+    }
+
+    private int                    queueSize      = 1000;
+    private int                    shards         = 1;
+    private OverflowPolicy         overflowPolicy = OverflowPolicy.BLOCK;
+    private Function<? super T, ?> key;
+
+    /** Returns max number of events in each queue of subscriber. Default is 1000. */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public AsyncDelivery<T> withQueueSize(int queueSize) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be greater than 0");
+        }
+        this.queueSize = queueSize;
+        return this;
+    }
+
+    /** Returns number of queues of subscriber, events of different queues are delivered concurrently. Default is 1. */
+    public int getShards() {
+        return shards;
+    }
+
+    public AsyncDelivery<T> withShards(int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Number of shards must be greater than 0");
+        }
+        this.shards = shards;
+        return this;
+    }
+
+    /** Returns policy which is applied when event is put in queue. Default is {@link OverflowPolicy#BLOCK}. */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public AsyncDelivery<T> withOverflowPolicy(OverflowPolicy overflowPolicy) {
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("Null overflow policy.");
+        }
+        this.overflowPolicy = overflowPolicy;
+        return this;
+    }
+
+    /**
+     * Returns function which gets ordering key from event, e.g. id of workspace or machine, or {@code null} if order of all
+     * events of subscriber should be preserved. Function may return {@code null} for event which has no key.
+     */
+    public Function<? super T, ?> getKey() {
+        return key;
+    }
+
+    public AsyncDelivery<T> withKey(Function<? super T, ?> key) {
+        this.key = key;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncDelivery{" +
+               "queueSize=" + queueSize +
+               ", shards=" + shards +
+               ", overflowPolicy=" + overflowPolicy +
+               '}';
+    }
+}
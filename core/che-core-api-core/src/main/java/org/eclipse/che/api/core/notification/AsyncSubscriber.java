@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.api.core.notification.AsyncDelivery.OverflowPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Subscriber which is registered in {@link EventService} instead of subscriber with {@link AsyncDelivery}. It puts events in
+ * queues and delivers them to the actual subscriber with the given executor. Each queue is drained by at most one task at a
+ * time, so events of the same queue are delivered in the order they were published.
+ *
+ * @see AsyncDelivery
+ */
+class AsyncSubscriber implements EventSubscriber<Object> {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncSubscriber.class);
+
+    /** Max number of events delivered by one task, after that task is re-submitted to let other queues use the thread. */
+    private static final int BATCH_SIZE = 64;
+
+    private final EventSubscriber<Object> subscriber;
+    private final Class<?>                eventType;
+    private final Function<Object, ?>     key;
+    private final OverflowPolicy          overflowPolicy;
+    private final int                     queueSize;
+    private final Executor                executor;
+    private final Shard[]                 shards;
+    private final LongAdder               delivered;
+    private final LongAdder               dropped;
+    private final LongAdder               coalesced;
+    private final LongAdder               latency;
+    private final AtomicLong              maxLatency;
+
+    private volatile boolean closed;
+
+    @SuppressWarnings("unchecked")
+    AsyncSubscriber(EventSubscriber<?> subscriber, Class<?> eventType, AsyncDelivery<?> delivery, Executor executor) {
+        this.subscriber = (EventSubscriber<Object>)subscriber;
+        this.eventType = eventType;
+        this.key = (Function<Object, ?>)delivery.getKey();
+        this.overflowPolicy = delivery.getOverflowPolicy();
+        this.queueSize = delivery.getQueueSize();
+        this.executor = executor;
+        shards = new Shard[delivery.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+        delivered = new LongAdder();
+        dropped = new LongAdder();
+        coalesced = new LongAdder();
+        latency = new LongAdder();
+        maxLatency = new AtomicLong();
+    }
+
+    /** Puts event in the queue, may block if queue is full and overflow policy is {@link OverflowPolicy#BLOCK}. */
+    @Override
+    public void onEvent(Object event) {
+        if (closed) {
+            return;
+        }
+        final Object eventKey = key == null ? null : key.apply(event);
+        final Shard shard = eventKey == null ? shards[0] : shards[Math.floorMod(eventKey.hashCode(), shards.length)];
+        shard.offer(eventKey, event);
+    }
+
+    EventSubscriber<?> getSubscriber() {
+        return subscriber;
+    }
+
+    Class<?> getEventType() {
+        return eventType;
+    }
+
+    /** Stops delivery of events, events which are still in queues are discarded and blocked publishers are released. */
+    void close() {
+        closed = true;
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    EventService.DeliveryStatistics getStatistics() {
+        int queued = 0;
+        for (Shard shard : shards) {
+            queued += shard.size();
+        }
+        final long deliveredNum = delivered.sum();
+        return new EventService.DeliveryStatistics(queued,
+                                                   deliveredNum,
+                                                   dropped.sum(),
+                                                   coalesced.sum(),
+                                                   deliveredNum == 0 ? 0 : NANOSECONDS.toMillis(latency.sum() / deliveredNum),
+                                                   NANOSECONDS.toMillis(maxLatency.get()));
+    }
+
+    private void deliver(QueuedEvent queued) {
+        try {
+            LOG.debug("Deliver event {} to {}", queued.event, subscriber);
+            subscriber.onEvent(queued.event);
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+        }
+        final long eventLatency = System.nanoTime() - queued.queuedTime;
+        delivered.increment();
+        latency.add(eventLatency);
+        maxLatency.accumulateAndGet(eventLatency, Math::max);
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncSubscriber{subscriber=" + subscriber + '}';
+    }
+
+    private static class QueuedEvent {
+        final Object key;
+        final long   queuedTime;
+        Object event;
+
+        QueuedEvent(Object key, Object event) {
+            this.key = key;
+            this.event = event;
+            this.queuedTime = System.nanoTime();
+        }
+    }
+
+    private class Shard implements Runnable {
+        final ReentrantLock            lock;
+        final Condition                notFull;
+        final ArrayDeque<QueuedEvent>  queue;
+        final Map<Object, QueuedEvent> queuedByKey;
+
+        boolean scheduled;
+
+        Shard() {
+            lock = new ReentrantLock();
+            notFull = lock.newCondition();
+            queue = new ArrayDeque<>();
+            queuedByKey = overflowPolicy == OverflowPolicy.COALESCE ? new HashMap<>() : null;
+        }
+
+        void offer(Object eventKey, Object event) {
+            lock.lock();
+            try {
+                if (queuedByKey != null && eventKey != null) {
+                    final QueuedEvent queued = queuedByKey.get(eventKey);
+                    if (queued != null) {
+                        queued.event = event;
+                        coalesced.increment();
+                        return;
+                    }
+                }
+                while (queue.size() >= queueSize) {
+                    if (overflowPolicy == OverflowPolicy.BLOCK) {
+                        try {
+                            notFull.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            LOG.warn("Interrupted while waiting for free space in queue of {}, event {} is dropped", subscriber, event);
+                            dropped.increment();
+                            return;
+                        }
+                        if (closed) {
+                            return;
+                        }
+                    } else {
+                        forget(queue.poll());
+                        dropped.increment();
+                    }
+                }
+                final QueuedEvent queued = new QueuedEvent(eventKey, event);
+                queue.add(queued);
+                if (queuedByKey != null && eventKey != null) {
+                    queuedByKey.put(eventKey, queued);
+                }
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            } finally {
+                lock.unlock();
+            }
+            schedule();
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                final QueuedEvent queued;
+                lock.lock();
+                try {
+                    queued = queue.poll();
+                    if (queued == null) {
+                        scheduled = false;
+                        return;
+                    }
+                    forget(queued);
+                    notFull.signal();
+                } finally {
+                    lock.unlock();
+                }
+                deliver(queued);
+            }
+            schedule();
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                queue.clear();
+                if (queuedByKey != null) {
+                    queuedByKey.clear();
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void forget(QueuedEvent queued) {
+            if (queuedByKey != null && queued.key != null) {
+                queuedByKey.remove(queued.key, queued);
+            }
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Unable deliver events to {}, event service is stopped", subscriber);
+                lock.lock();
+                try {
+                    scheduled = false;
+                    dropped.add(queue.size());
+                    queue.clear();
+                    if (queuedByKey != null) {
+                        queuedByKey.clear();
+                    }
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
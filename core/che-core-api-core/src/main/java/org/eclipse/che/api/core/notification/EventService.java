@@ -13,10 +13,12 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -27,6 +29,8 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +44,8 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers are called synchronously on the publisher's thread, unless they are registered with {@link AsyncDelivery}.
+ * Such subscribers receive events from the thread pool of this service, see {@link #subscribe(EventSubscriber, Class, AsyncDelivery)}.
  *
  * @author andrew00x
  */
@@ -51,12 +57,16 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]            typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>      subscribersByEventType;
+    private final ConcurrentMap<EventSubscriber<?>, AsyncSubscriber> asyncSubscribers;
+
+    private ExecutorService asyncExecutor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        asyncSubscribers = new ConcurrentHashMap<>();
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -134,6 +144,50 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Subscribe to an event with asynchronous delivery. Published events are put in bounded queues of subscriber and the given
+     * subscriber is called from the thread pool of this service, so slow subscriber doesn't hold up publishers until its
+     * queues are full. What happens when queue is full is defined by {@link AsyncDelivery#getOverflowPolicy()}.
+     * <p>
+     * Note that subscriber with {@link AsyncDelivery.OverflowPolicy#BLOCK} policy must not publish events which it receives
+     * itself, otherwise it may wait for free space in its own queue forever.
+     *
+     * @param subscriber
+     *         the subscriber to call when an event is published
+     * @param eventType
+     *         the event to subscribe to
+     * @param delivery
+     *         describes queues of subscriber
+     * @see #getDeliveryStatistics(EventSubscriber)
+     */
+    public <T> void subscribe(EventSubscriber<T> subscriber, Class<T> eventType, AsyncDelivery<? super T> delivery) {
+        if (delivery == null) {
+            throw new IllegalArgumentException("Null delivery.");
+        }
+        final AsyncSubscriber asyncSubscriber = new AsyncSubscriber(subscriber, eventType, delivery, getAsyncExecutor());
+        if (asyncSubscribers.putIfAbsent(subscriber, asyncSubscriber) == null) {
+            doSubscribe(asyncSubscriber, eventType);
+        }
+    }
+
+    /**
+     * Returns statistics of delivery of events to the subscriber which is registered with {@link AsyncDelivery} or {@code null}
+     * if there is no such subscriber.
+     */
+    public DeliveryStatistics getDeliveryStatistics(EventSubscriber<?> subscriber) {
+        final AsyncSubscriber asyncSubscriber = asyncSubscribers.get(subscriber);
+        return asyncSubscriber == null ? null : asyncSubscriber.getStatistics();
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+        }
+        return asyncExecutor;
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
@@ -153,7 +207,16 @@ public class EventService {
      *         event subscriber
      */
     public void unsubscribe(EventSubscriber<?> subscriber) {
-        final Class<?> eventType = getEventType(subscriber);
+        final AsyncSubscriber asyncSubscriber = asyncSubscribers.remove(subscriber);
+        if (asyncSubscriber != null) {
+            doUnsubscribe(asyncSubscriber, asyncSubscriber.getEventType());
+            asyncSubscriber.close();
+        } else {
+            doUnsubscribe(subscriber, getEventType(subscriber));
+        }
+    }
+
+    private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
         final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries != null && !entries.isEmpty()) {
             boolean changed = entries.remove(subscriber);
@@ -165,6 +228,17 @@ public class EventService {
         }
     }
 
+    /** Stops delivery of events to subscribers which are registered with {@link AsyncDelivery}. */
+    @PreDestroy
+    public synchronized void stop() {
+        for (AsyncSubscriber asyncSubscriber : asyncSubscribers.values()) {
+            asyncSubscriber.close();
+        }
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+        }
+    }
+
     private Class<?> getEventType(EventSubscriber<?> subscriber) {
         Class<?> eventType = null;
         Class<?> clazz = subscriber.getClass();
@@ -190,4 +264,65 @@ public class EventService {
         }
         return eventType;
     }
+
+    /** Statistics of delivery of events to subscriber which is registered with {@link AsyncDelivery}. */
+    public static final class DeliveryStatistics {
+        private final int  queued;
+        private final long delivered;
+        private final long dropped;
+        private final long coalesced;
+        private final long averageLatency;
+        private final long maxLatency;
+
+        DeliveryStatistics(int queued, long delivered, long dropped, long coalesced, long averageLatency, long maxLatency) {
+            this.queued = queued;
+            this.delivered = delivered;
+            this.dropped = dropped;
+            this.coalesced = coalesced;
+            this.averageLatency = averageLatency;
+            this.maxLatency = maxLatency;
+        }
+
+        /** Returns number of events which are waiting in queues of subscriber. */
+        public int getQueued() {
+            return queued;
+        }
+
+        /** Returns number of events which are delivered to subscriber. */
+        public long getDelivered() {
+            return delivered;
+        }
+
+        /** Returns number of events which are dropped because queue of subscriber was full. */
+        public long getDropped() {
+            return dropped;
+        }
+
+        /** Returns number of events which replaced queued events with the same key. */
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        /** Returns average time in milliseconds from queueing of event until subscriber has processed it. */
+        public long getAverageLatency() {
+            return averageLatency;
+        }
+
+        /** Returns max time in milliseconds from queueing of event until subscriber has processed it. */
+        public long getMaxLatency() {
+            return maxLatency;
+        }
+
+        @Override
+        public String toString() {
+            return "DeliveryStatistics{" +
+                   "queued=" + queued +
+                   ", delivered=" + delivered +
+                   ", dropped=" + dropped +
+                   ", coalesced=" + coalesced +
+                   ", averageLatency=" + averageLatency +
+                   ", maxLatency=" + maxLatency +
+                   '}';
+        }
+    }
 }
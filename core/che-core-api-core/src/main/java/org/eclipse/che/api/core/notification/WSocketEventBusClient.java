@@ -11,6 +11,7 @@
 package org.eclipse.che.api.core.notification;
 
 import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.everrest.OutboundBuffer;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
@@ -56,12 +57,15 @@ public final class WSocketEventBusClient {
     private static final Logger LOG = LoggerFactory.getLogger(WSocketEventBusClient.class);
 
     private static final long WS_CONNECTION_TIMEOUT = 2;
+    /** Max number of events which may wait for sending to one server. */
+    private static final int  OUTBOUND_BUFFER_SIZE  = 1000;
 
     private final EventService                         eventService;
     private final Pair<String, String>[]               eventSubscriptions;
     private final ClientEventPropagationPolicy         policy;
     private final JsonMessageConverter                 messageConverter;
     private final ConcurrentMap<URI, Future<WSClient>> connections;
+    private final ConcurrentMap<URI, OutboundBuffer>   outboundBuffers;
     private final AtomicBoolean                        start;
 
     private ExecutorService executor;
@@ -76,6 +80,7 @@ public final class WSocketEventBusClient {
 
         messageConverter = new JsonMessageConverter();
         connections = new ConcurrentHashMap<>();
+        outboundBuffers = new ConcurrentHashMap<>();
         start = new AtomicBoolean(false);
     }
 
@@ -117,22 +122,30 @@ public final class WSocketEventBusClient {
         }
     }
 
+    /**
+     * Sends event to all servers which accept it according to the propagation policy. Event is serialized once and the same message
+     * is put in outbound buffer of each connection, so caller doesn't wait for sockets and slow server doesn't hold up others.
+     */
     protected void propagate(Object event) {
-        connections.values().stream().filter(future -> future.isDone()).forEach(future -> {
+        String message = null;
+        for (Map.Entry<URI, OutboundBuffer> entry : outboundBuffers.entrySet()) {
             try {
-                final WSClient client = future.get();
-                if (policy != null && policy.shouldPropagated(client.getServerUri(), event)) {
-                    client.send(messageConverter.toString(Messages.clientMessage(event)));
+                if (policy != null && policy.shouldPropagated(entry.getKey(), event)) {
+                    if (message == null) {
+                        message = messageConverter.toString(Messages.clientMessage(event));
+                    }
+                    entry.getValue().offer(message);
                 }
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
             }
-        });
+        }
     }
 
     @PreDestroy
     void stop() {
         if (start.compareAndSet(true, false) && executor != null) {
+            outboundBuffers.values().forEach(OutboundBuffer::close);
             executor.shutdownNow();
         }
     }
@@ -189,6 +202,10 @@ public final class WSocketEventBusClient {
         @Override
         public void onClose(int status, String message) {
             connections.remove(wsUri);
+            final OutboundBuffer outboundBuffer = outboundBuffers.remove(wsUri);
+            if (outboundBuffer != null) {
+                outboundBuffer.close();
+            }
             LOG.info("Close connection to {} with status {} message {}. ", wsUri, status, message);
             LOG.info("Init connection task {}", wsUri);
             if (start.get()) {
@@ -228,6 +245,13 @@ public final class WSocketEventBusClient {
                     LOG.error(e.getMessage(), e);
                 }
             }
+            final OutboundBuffer previous = outboundBuffers.put(wsUri, new OutboundBuffer(wsUri.toString(),
+                                                                                          OUTBOUND_BUFFER_SIZE,
+                                                                                          executor,
+                                                                                          client::send));
+            if (previous != null) {
+                previous.close();
+            }
         }
     }
 
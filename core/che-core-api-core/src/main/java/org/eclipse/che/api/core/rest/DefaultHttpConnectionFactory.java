@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Keep-alive implementation of {@link HttpConnectionFactory} based on {@link HttpURLConnection}.
+ *
+ * <p>Connection which is released as reusable is not disconnected, its socket is returned to the keep-alive
+ * cache of JDK and is used for the next request to the same host and port, so sequential requests
+ * don't need to open new TCP (and TLS) connection each time. Number of idle connections kept for each
+ * host is defined by system property {@code http.maxConnections}, default is 5.
+ */
+@Singleton
+public class DefaultHttpConnectionFactory implements HttpConnectionFactory {
+
+    static final DefaultHttpConnectionFactory INSTANCE = new DefaultHttpConnectionFactory();
+
+    @Override
+    public HttpURLConnection openConnection(URL url) throws IOException {
+        return (HttpURLConnection)url.openConnection();
+    }
+
+    @Override
+    public void releaseConnection(HttpURLConnection connection, boolean reusable) {
+        if (!reusable) {
+            connection.disconnect();
+        }
+    }
+}
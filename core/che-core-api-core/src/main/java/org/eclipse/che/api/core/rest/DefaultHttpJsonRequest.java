@@ -38,20 +38,27 @@ import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Simple implementation of {@link HttpJsonRequest} based on {@link HttpURLConnection}.
  *
+ * <p>Connections are opened and released with {@link HttpConnectionFactory}, by default connections are kept alive
+ * and reused by the next requests to the same host. Request body is written to the connection without building
+ * intermediate string, response body may be compressed with gzip.
+ *
  * <p>The implementation is not thread-safe, instance of this class must be created each time when it's needed.
  *
  * <p>The instance of this request is reusable, which means that
@@ -64,8 +71,10 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
 
     private static final int      DEFAULT_QUERY_PARAMS_LIST_SIZE = 5;
     private static final Object[] EMPTY_ARRAY                    = new Object[0];
+    private static final String   GZIP                           = "gzip";
 
-    private final String url;
+    private final String                url;
+    private final HttpConnectionFactory connectionFactory;
 
     private int                   timeout;
     private String                method;
@@ -74,11 +83,20 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     private String                authorizationHeaderValue;
 
     DefaultHttpJsonRequest(String url) {
-        this.url = requireNonNull(url, "Required non-null url");
+        this(url, DefaultHttpConnectionFactory.INSTANCE);
     }
 
     DefaultHttpJsonRequest(Link link) {
-        this(requireNonNull(link, "Required non-null link").getHref());
+        this(link, DefaultHttpConnectionFactory.INSTANCE);
+    }
+
+    DefaultHttpJsonRequest(String url, HttpConnectionFactory connectionFactory) {
+        this.url = requireNonNull(url, "Required non-null url");
+        this.connectionFactory = requireNonNull(connectionFactory, "Required non-null connection factory");
+    }
+
+    DefaultHttpJsonRequest(Link link, HttpConnectionFactory connectionFactory) {
+        this(requireNonNull(link, "Required non-null link").getHref(), connectionFactory);
         this.method = link.getMethod();
     }
 
@@ -156,11 +174,13 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     }
 
     /**
-     * Makes this request using {@link HttpURLConnection}.
+     * Makes this request using {@link HttpURLConnection} provided by {@link HttpConnectionFactory}.
      *
      * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
      * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value.
+     * <br>uses {@link HttpHeaders#ACCEPT_ENCODING} header with "gzip" value.
      * <br>Encodes query parameters in "UTF-8".
+     * <br>Response body is read to the end even if request fails, so connection may be reused by the next request.
      *
      * @param timeout
      *         request timeout, used only if it is greater than 0
@@ -216,29 +236,37 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
             }
             url = ub.build().toString();
         }
-        final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
+        final HttpURLConnection conn = connectionFactory.openConnection(new URL(url));
+        boolean reusable = false;
         conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
         conn.setReadTimeout(timeout > 0 ? timeout : 60000);
         try {
             conn.setRequestMethod(method);
             //drop a hint for server side that we want to receive application/json
             conn.addRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+            conn.addRequestProperty(HttpHeaders.ACCEPT_ENCODING, GZIP);
             if (!isNullOrEmpty(authorizationHeaderValue)) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authorizationHeaderValue);
             } else if (authToken != null) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authToken);
             }
             if (body != null) {
+                if (!(body instanceof JsonSerializable)) {
+                    throw new IllegalArgumentException("JsonSerializable instance required. ");
+                }
                 conn.addRequestProperty(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
                 conn.setDoOutput(true);
+                // body is buffered by the connection, not streamed to the socket in chunked mode,
+                // streamed body can't be resent when redirect, authentication or reconnect of stale
+                // keep-alive connection is needed
 
                 if (HttpMethod.DELETE.equals(method)) { //to avoid jdk bug described here http://bugs.java.com/view_bug.do?bug_id=7157360
                     conn.setRequestMethod(HttpMethod.POST);
                     conn.setRequestProperty("X-HTTP-Method-Override", HttpMethod.DELETE);
                 }
 
-                try (OutputStream output = conn.getOutputStream()) {
-                    output.write(DtoFactory.getInstance().toJson(body).getBytes());
+                try (Writer output = new OutputStreamWriter(conn.getOutputStream(), UTF_8)) {
+                    DtoFactory.getInstance().toJson(body, output);
                 }
             }
 
@@ -248,10 +276,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 if (in == null) {
                     in = conn.getInputStream();
                 }
-                final String str;
-                try (Reader reader = new InputStreamReader(in)) {
-                    str = CharStreams.toString(reader);
-                }
+                final String str = readBody(conn, in);
+                reusable = true;
                 final String contentType = conn.getContentType();
                 if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
                     final ServiceError serviceError = DtoFactory.getInstance().createDtoFromJson(str, ServiceError.class);
@@ -281,11 +307,21 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                 throw new IOException(conn.getResponseMessage());
             }
 
-            try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
-            }
+            final DefaultHttpJsonResponse response = new DefaultHttpJsonResponse(readBody(conn, conn.getInputStream()), responseCode);
+            reusable = true;
+            return response;
+        } finally {
+            connectionFactory.releaseConnection(conn, reusable);
+        }
+    }
+
+    /** Reads whole response body and closes the stream, decompresses body if it is compressed with gzip. */
+    private static String readBody(HttpURLConnection conn, InputStream in) throws IOException {
+        try (Reader reader = new InputStreamReader(GZIP.equalsIgnoreCase(conn.getContentEncoding()) ? new GZIPInputStream(in) : in,
+                                                   UTF_8)) {
+            return CharStreams.toString(reader);
         } finally {
-            conn.disconnect();
+            in.close();
         }
     }
 
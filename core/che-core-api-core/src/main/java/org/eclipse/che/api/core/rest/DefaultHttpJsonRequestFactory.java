@@ -12,24 +12,36 @@ package org.eclipse.che.api.core.rest;
 
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
 
 /**
- * Creates {@link DefaultHttpJsonRequest} instances.
+ * Creates {@link DefaultHttpJsonRequest} instances which use {@link HttpConnectionFactory} as transport.
  *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class DefaultHttpJsonRequestFactory implements HttpJsonRequestFactory {
 
+    private final HttpConnectionFactory connectionFactory;
+
+    public DefaultHttpJsonRequestFactory() {
+        this(DefaultHttpConnectionFactory.INSTANCE);
+    }
+
+    @Inject
+    public DefaultHttpJsonRequestFactory(HttpConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
     @Override
     public HttpJsonRequest fromUrl(@NotNull String url) {
-        return new DefaultHttpJsonRequest(url);
+        return new DefaultHttpJsonRequest(url, connectionFactory);
     }
 
     @Override
     public HttpJsonRequest fromLink(@NotNull Link link) {
-        return new DefaultHttpJsonRequest(link);
+        return new DefaultHttpJsonRequest(link, connectionFactory);
     }
 }
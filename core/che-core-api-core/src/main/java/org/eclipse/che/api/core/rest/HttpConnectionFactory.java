@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.annotations.Beta;
+import com.google.inject.ImplementedBy;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Transport which is used by {@link DefaultHttpJsonRequest} for opening and releasing http connections.
+ * Implementation defines how connections are pooled between requests.
+ *
+ * @see DefaultHttpConnectionFactory
+ */
+@Beta
+@ImplementedBy(DefaultHttpConnectionFactory.class)
+public interface HttpConnectionFactory {
+
+    /**
+     * Opens new or gets pooled connection to the given url, connection is not connected yet so request properties may be set.
+     *
+     * @param url
+     *         request url
+     * @return connection which is used for one request
+     * @throws IOException
+     *         when any i/o error occurs
+     */
+    HttpURLConnection openConnection(URL url) throws IOException;
+
+    /**
+     * Releases connection after request is completed.
+     *
+     * @param connection
+     *         connection which was opened with {@link #openConnection(URL)}
+     * @param reusable
+     *         {@code true} when response has been read to the end and streams of connection are closed, so connection may be kept
+     *         alive and used for the next requests to the same host; {@code false} when request failed and connection must be closed
+     */
+    void releaseConnection(HttpURLConnection connection, boolean reusable);
+}
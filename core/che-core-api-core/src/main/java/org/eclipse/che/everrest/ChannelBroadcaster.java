@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.everrest.websockets.message.JsonMessageConverter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Broadcasts messages to websocket connections subscribed to the channel. Unlike
+ * {@link org.everrest.websockets.WSConnectionContext#sendMessage(ChannelBroadcastMessage)} message is serialized only once and
+ * the same frame is shared by all subscribers. Frames are put in {@link OutboundBuffer outbound buffer} of each connection and
+ * sent asynchronously, so broadcasting thread doesn't wait for sockets and one slow connection doesn't hold up others.
+ * Usage example:
+ * <pre>
+ *     final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+ *     bm.setChannel("workspace:" + workspaceId);
+ *     bm.setBody(DtoFactory.getInstance().toJson(event));
+ *     ChannelBroadcaster.sendMessage(bm);
+ * </pre>
+ */
+public final class ChannelBroadcaster {
+    private static final Set<CheWSConnection> CONNECTIONS       = ConcurrentHashMap.newKeySet();
+    private static final JsonMessageConverter MESSAGE_CONVERTER = new JsonMessageConverter();
+    private static final ExecutorService      EXECUTOR          =
+            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("ChannelBroadcaster-%d")
+                                                                    .setDaemon(true)
+                                                                    .build());
+
+    /**
+     * Sends message to all connections subscribed to the channel of the message.
+     *
+     * @throws Exception
+     *         if message can't be serialized
+     */
+    public static void sendMessage(ChannelBroadcastMessage message) throws Exception {
+        final String channel = message.getChannel();
+        String frame = null;
+        for (CheWSConnection connection : CONNECTIONS) {
+            if (connection.isConnected() && connection.getChannels().contains(channel)) {
+                if (frame == null) {
+                    frame = MESSAGE_CONVERTER.toString(message);
+                }
+                connection.offer(frame);
+            }
+        }
+    }
+
+    static void register(CheWSConnection connection) {
+        CONNECTIONS.add(connection);
+    }
+
+    static void unregister(CheWSConnection connection) {
+        CONNECTIONS.remove(connection);
+    }
+
+    static ExecutorService getExecutor() {
+        return EXECUTOR;
+    }
+
+    private ChannelBroadcaster() {
+    }
+}
@@ -14,6 +14,7 @@ import static org.eclipse.che.everrest.ServerContainerInitializeListener.ENVIRON
 
 import org.everrest.websockets.WSConnectionImpl;
 
+import javax.websocket.CloseReason;
 import javax.websocket.EndpointConfig;
 import javax.websocket.Session;
 import java.util.Map;
@@ -22,11 +23,38 @@ import java.util.Map;
  * @author Sergii Kabashniuk
  */
 public class CheWSConnection extends WSConnectionImpl {
+    /** Max number of broadcast messages which may wait for sending to one connection. */
+    static final int OUTBOUND_BUFFER_SIZE = 1000;
+
+    private volatile OutboundBuffer outboundBuffer;
+
     @Override
     public void onOpen(Session session, EndpointConfig config) {
         final Map<String, Object> userProperties = config.getUserProperties();
         setAttribute(ENVIRONMENT_CONTEXT, userProperties.get(ENVIRONMENT_CONTEXT));
         super.onOpen(session, config);
+        outboundBuffer = new OutboundBuffer(session.getId(), OUTBOUND_BUFFER_SIZE, ChannelBroadcaster.getExecutor(), this::sendMessage);
+        ChannelBroadcaster.register(this);
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        ChannelBroadcaster.unregister(this);
+        final OutboundBuffer buffer = outboundBuffer;
+        if (buffer != null) {
+            buffer.close();
+        }
+        super.onClose(session, closeReason);
+    }
 
+    /**
+     * Queues already serialized message for sending to this connection. Message is sent asynchronously, so caller is not held up if
+     * connection is slow.
+     */
+    void offer(String frame) {
+        final OutboundBuffer buffer = outboundBuffer;
+        if (buffer != null) {
+            buffer.offer(frame);
+        }
     }
 }
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.eclipse.che.api.core.ApiException;
+import org.everrest.core.ApplicationContext;
+import org.everrest.core.Filter;
+import org.everrest.core.impl.ApplicationContextImpl;
+import org.everrest.core.resource.GenericMethodResource;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import java.util.List;
+
+/**
+ * Evaluates conditional GET requests to resources which implement {@link ETagProvider} before resource method is invoked. If
+ * entity tag provided by resource matches tag sent by client then response {@code 304 Not Modified} is sent without invoking
+ * resource method. Otherwise tag is saved in the current {@link ApplicationContext} and is added to the response by
+ * {@link ETagResponseFilter}.
+ *
+ * @see ETagProvider
+ */
+@Filter
+public class ETagMethodInvokerFilter extends CheMethodInvokerFilter {
+    /** Name of attribute of {@link ApplicationContext} which contains {@link EntityTag} provided by resource. */
+    public static final String ENTITY_TAG_ATTRIBUTE = ETagMethodInvokerFilter.class.getName() + ".entityTag";
+
+    @Override
+    protected void filter(GenericMethodResource genericMethodResource, Object[] arguments) throws ApiException {
+        final ApplicationContext context = ApplicationContextImpl.getCurrent();
+        final Request request = context.getRequest();
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+        final List<Object> matchedResources = context.getUriInfo().getMatchedResources();
+        if (matchedResources.isEmpty() || !(matchedResources.get(0) instanceof ETagProvider)) {
+            return;
+        }
+        final String tag = ((ETagProvider)matchedResources.get(0)).getETag(genericMethodResource, arguments);
+        if (tag == null) {
+            return;
+        }
+        final EntityTag entityTag = new EntityTag(tag);
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            throw new WebApplicationException(notModified.tag(entityTag).build());
+        }
+        context.getAttributes().put(ENTITY_TAG_ATTRIBUTE, entityTag);
+    }
+}
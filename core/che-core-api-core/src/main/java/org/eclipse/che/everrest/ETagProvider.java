@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.everrest.core.resource.GenericMethodResource;
+
+/**
+ * May be implemented by JAX-RS resource which is able to compute entity tag of the response without building the response itself,
+ * e.g. from version counter or modification date of the entity. Such tag is checked by {@link ETagMethodInvokerFilter} before
+ * resource method is invoked, so if client already has the actual entity then response {@code 304 Not Modified} is sent and the
+ * method is not invoked at all. Otherwise response of the method is sent with the same tag and {@link ETagResponseFilter} doesn't
+ * need to compute MD5 of the response entity.
+ * <p>
+ * Tag is used for GET requests only. Tag must be changed each time when response of the method is changed, including changes
+ * which depends on the current user.
+ *
+ * @see ETagMethodInvokerFilter
+ * @see ETagResponseFilter
+ */
+public interface ETagProvider {
+    /**
+     * Returns entity tag of response of the given resource method.
+     *
+     * @param genericMethodResource
+     *         resource method which is going to be invoked
+     * @param arguments
+     *         actual arguments of resource method
+     * @return opaque tag of the response or {@code null} if tag can't be provided for this method, in this case tag of the response
+     * is computed as MD5 of response entity
+     * @throws ApiException
+     *         if tag can't be computed, e.g. entity doesn't exist
+     */
+    @Nullable
+    String getETag(GenericMethodResource genericMethodResource, Object[] arguments) throws ApiException;
+}
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.common.hash.Funnels;
 import com.google.common.hash.HashCode;
 import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
@@ -28,6 +29,9 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.List;
 
@@ -39,6 +43,7 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
  * It is applying on GET method and JSON content type only.
+ * If resource provides tag itself with {@link ETagProvider} then this tag is used, otherwise tag is computed as MD5 of the entity.
  *
  * @author Florent Benoit
  */
@@ -59,6 +64,19 @@ public class ETagResponseFilter implements ResponseFilter {
      */
     public void doFilter(GenericContainerResponse containerResponse) {
 
+        // Get the request
+        ApplicationContext applicationContext = ApplicationContextImpl.getCurrent();
+        Request request = applicationContext.getRequest();
+
+        // tag provided by resource, preconditions are already evaluated by ETagMethodInvokerFilter
+        EntityTag providedTag = (EntityTag)applicationContext.getAttributes().get(ETagMethodInvokerFilter.ENTITY_TAG_ATTRIBUTE);
+        if (providedTag != null) {
+            if (containerResponse.getStatus() == Response.Status.OK.getStatusCode()) {
+                containerResponse.setResponse(Response.fromResponse(containerResponse.getResponse()).tag(providedTag).build());
+            }
+            return;
+        }
+
         // get entity of the response
         Object entity = containerResponse.getEntity();
 
@@ -72,10 +90,6 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
-        // Get the request
-        ApplicationContext applicationContext = ApplicationContextImpl.getCurrent();
-        Request request = applicationContext.getRequest();
-
         // manage only GET requests
         if (!HttpMethod.GET.equals(request.getMethod())) {
             return;
@@ -142,8 +156,15 @@ public class ETagResponseFilter implements ResponseFilter {
         }
         // add hash if all is OK
         try {
-            hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
-        } catch (RuntimeException e) {
+            if (entityType == JSON_SERIALIZABLE) {
+                // stream JSON to the hasher instead of building string
+                Writer writer = new OutputStreamWriter(Funnels.asOutputStream(hasher), Charset.defaultCharset());
+                ((JsonSerializable)entity).toJson(writer);
+                writer.flush();
+            } else {
+                hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
+            }
+        } catch (IOException | RuntimeException e) {
             return false;
         }
         return true;
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue of outgoing websocket frames of one connection. Frames are sent in the order they were offered by at most one
+ * task of the given executor at a time, so thread which offers frame never waits for the socket and slow connection holds up
+ * only its own frames. If connection can't keep up and queue is full the oldest frame is dropped.
+ */
+public final class OutboundBuffer {
+    private static final Logger LOG = LoggerFactory.getLogger(OutboundBuffer.class);
+
+    /** Max number of frames sent by one task, after that task is re-submitted to let other connections use the thread. */
+    private static final int BATCH_SIZE = 64;
+
+    /** Sends frame to the socket, may block until frame is sent. */
+    @FunctionalInterface
+    public interface FrameSender {
+        void send(String frame) throws Exception;
+    }
+
+    private final String             name;
+    private final int                capacity;
+    private final Executor           executor;
+    private final FrameSender        sender;
+    private final ArrayDeque<String> frames;
+    private final AtomicLong         dropped;
+    private final Runnable           drainTask;
+
+    private boolean scheduled;
+    private boolean overflowed;
+    private boolean closed;
+
+    /**
+     * @param name
+     *         name of connection, used in log messages
+     * @param capacity
+     *         max number of frames which are waiting to be sent
+     * @param executor
+     *         executor which sends frames
+     * @param sender
+     *         sends frames to the connection
+     */
+    public OutboundBuffer(String name, int capacity, Executor executor, FrameSender sender) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.executor = executor;
+        this.sender = sender;
+        frames = new ArrayDeque<>();
+        dropped = new AtomicLong();
+        drainTask = this::drain;
+    }
+
+    /** Puts frame in the queue, the oldest frame is dropped if queue is full. Frames offered after {@link #close()} are ignored. */
+    public void offer(String frame) {
+        synchronized (frames) {
+            if (closed) {
+                return;
+            }
+            if (frames.size() >= capacity) {
+                frames.poll();
+                dropped.incrementAndGet();
+                if (!overflowed) {
+                    overflowed = true;
+                    LOG.warn("Outbound buffer of websocket connection {} is full, the oldest messages are dropped", name);
+                }
+            }
+            frames.add(frame);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        schedule();
+    }
+
+    /** Discards frames which are not sent yet and stops accepting new frames. */
+    public void close() {
+        synchronized (frames) {
+            closed = true;
+            frames.clear();
+        }
+    }
+
+    /** Returns number of frames which are waiting to be sent. */
+    public int size() {
+        synchronized (frames) {
+            return frames.size();
+        }
+    }
+
+    /** Returns number of frames dropped because queue was full. */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final String frame;
+            synchronized (frames) {
+                frame = frames.poll();
+                if (frame == null) {
+                    scheduled = false;
+                    overflowed = false;
+                    return;
+                }
+            }
+            try {
+                sender.send(frame);
+            } catch (Exception e) {
+                LOG.warn("Unable send message to websocket connection {}: {}", name, e.getMessage());
+                LOG.debug(e.getMessage(), e);
+            }
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(drainTask);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Unable send messages to websocket connection {}, executor is stopped", name);
+            synchronized (frames) {
+                scheduled = false;
+                dropped.addAndGet(frames.size());
+                frames.clear();
+            }
+        }
+    }
+}
@@ -10,13 +10,20 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
+import org.eclipse.che.api.core.notification.AsyncDelivery.OverflowPolicy;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
  * @author andrew00x
@@ -29,6 +36,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -157,4 +169,115 @@ public class EventServiceTest {
         bus.publish(new Event());
         Assert.assertEquals(events.size(), 0);
     }
+
+    @Test
+    public void testAsyncDeliveryPreservesOrderOfEventsWithTheSameKey() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(200);
+        final Thread publisher = Thread.currentThread();
+        bus.subscribe(event -> {
+                          Assert.assertNotSame(Thread.currentThread(), publisher);
+                          events.add(event);
+                          latch.countDown();
+                      },
+                      String.class,
+                      new AsyncDelivery<String>().withKey(event -> event.charAt(0)).withShards(2));
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish("a" + i);
+            bus.publish("b" + i);
+        }
+
+        Assert.assertTrue(latch.await(10, SECONDS));
+        final List<String> a = new ArrayList<>();
+        final List<String> b = new ArrayList<>();
+        for (String event : events) {
+            (event.charAt(0) == 'a' ? a : b).add(event.substring(1));
+        }
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(a.get(i), String.valueOf(i));
+            Assert.assertEquals(b.get(i), String.valueOf(i));
+        }
+    }
+
+    @Test
+    public void testAsyncDeliveryDropsOldestEventsWhenQueueIsFull() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final EventSubscriber<String> subscriber = event -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+            events.add(event);
+        };
+        bus.subscribe(subscriber, String.class, new AsyncDelivery<String>().withQueueSize(2)
+                                                                           .withOverflowPolicy(OverflowPolicy.DROP_OLDEST));
+
+        bus.publish("first");
+        Assert.assertTrue(started.await(10, SECONDS));
+        bus.publish("second");
+        bus.publish("third");
+        bus.publish("fourth");
+        Assert.assertEquals(bus.getDeliveryStatistics(subscriber).getQueued(), 2);
+        release.countDown();
+
+        waitForDelivery(subscriber, 3);
+        Assert.assertEquals(events, Arrays.asList("first", "third", "fourth"));
+        Assert.assertEquals(bus.getDeliveryStatistics(subscriber).getDropped(), 1);
+    }
+
+    @Test
+    public void testAsyncDeliveryCoalescesEventsWithTheSameKey() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final EventSubscriber<String> subscriber = event -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+            events.add(event);
+        };
+        bus.subscribe(subscriber, String.class, new AsyncDelivery<String>().withKey(event -> event.charAt(0))
+                                                                           .withOverflowPolicy(OverflowPolicy.COALESCE));
+
+        bus.publish("a0");
+        Assert.assertTrue(started.await(10, SECONDS));
+        bus.publish("a1");
+        bus.publish("b1");
+        bus.publish("a2");
+        bus.publish("b2");
+        release.countDown();
+
+        waitForDelivery(subscriber, 3);
+        Assert.assertEquals(events, Arrays.asList("a0", "a2", "b2"));
+        Assert.assertEquals(bus.getDeliveryStatistics(subscriber).getCoalesced(), 2);
+    }
+
+    @Test
+    public void testUnsubscribeAsyncSubscriber() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final EventSubscriber<String> subscriber = events::add;
+        bus.subscribe(subscriber, String.class, new AsyncDelivery<>());
+        bus.publish("hello");
+        waitForDelivery(subscriber, 1);
+
+        bus.unsubscribe(subscriber);
+        bus.publish("hello again");
+
+        Assert.assertNull(bus.getDeliveryStatistics(subscriber));
+        Assert.assertEquals(events, Collections.singletonList("hello"));
+    }
+
+    private void waitForDelivery(EventSubscriber<?> subscriber, long expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + SECONDS.toMillis(10);
+        while (bus.getDeliveryStatistics(subscriber).getDelivered() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(bus.getDeliveryStatistics(subscriber).getDelivered(), expected);
+    }
 }
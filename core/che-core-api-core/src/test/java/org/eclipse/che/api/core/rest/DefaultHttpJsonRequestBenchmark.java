@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.io.CharStreams;
+import com.sun.net.httpserver.HttpServer;
+
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonStringMapImpl;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares sequential POST requests of {@link DefaultHttpJsonRequest} with the previous implementation which disconnected
+ * connection after each request and wrote body as one byte array. Requests are sent to the local http server which reads body
+ * and responds with json object, so results show the cost of the client side and of opening connections, not of the network.
+ * The same requests are also made with connection factory which closes each connection, to show the cost of opening new
+ * connection for each request. Number of connections accepted by the server is printed for each run.
+ * <p>
+ * Benchmark isn't run by default build, run it with {@code mvn test -Pbenchmark}. Number of requests and size of request body
+ * may be changed with system properties {@code benchmark.requests} and {@code benchmark.body.kb}.
+ */
+public class DefaultHttpJsonRequestBenchmark {
+
+    private final Set<InetSocketAddress> clients = ConcurrentHashMap.newKeySet();
+
+    private HttpServer      server;
+    private ExecutorService executor;
+    private String          url;
+
+    @BeforeClass
+    public void startServer() throws Exception {
+        final byte[] response = "{\"status\":\"ok\",\"message\":\"request is processed\"}".getBytes(UTF_8);
+        // otherwise server sends response body after delayed ack of headers, it takes 40ms on linux
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        executor = Executors.newFixedThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        server.setExecutor(executor);
+        server.createContext("/api", exchange -> {
+            clients.add(exchange.getRemoteAddress());
+            try (InputStream in = exchange.getRequestBody()) {
+                ByteStreams.exhaust(in);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void compareWithLegacyRequest() throws Exception {
+        final int requests = Integer.getInteger("benchmark.requests", 5000);
+        final int bodyKb = Integer.getInteger("benchmark.body.kb", 4);
+        final Map<String, String> body = createBody(bodyKb * 1024);
+        final HttpConnectionFactory closing = new HttpConnectionFactory() {
+            @Override
+            public HttpURLConnection openConnection(URL url) throws IOException {
+                final HttpURLConnection connection = (HttpURLConnection)url.openConnection();
+                connection.setRequestProperty("Connection", "close");
+                return connection;
+            }
+
+            @Override
+            public void releaseConnection(HttpURLConnection connection, boolean reusable) {
+                connection.disconnect();
+            }
+        };
+
+        System.out.printf("Requests: %d, body: %d KB%n", requests, bodyKb);
+        // the first round warms up JIT
+        for (int round = 0; round < 2; round++) {
+            run("legacy", requests, () -> legacyRequest(url, new JsonStringMapImpl<>(body)));
+            run("closing", requests, () -> new DefaultHttpJsonRequest(url, closing).usePostMethod().setBody(body).request());
+            run("current", requests, () -> new DefaultHttpJsonRequest(url).usePostMethod().setBody(body).request());
+        }
+    }
+
+    private void run(String name, int requests, Request request) throws Exception {
+        clients.clear();
+        final long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            request.run();
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10s %8.0f requests/s, %7.1f us per request, %5d connections%n",
+                          name,
+                          requests / seconds,
+                          seconds * 1e6 / requests,
+                          clients.size());
+    }
+
+    private static Map<String, String> createBody(int size) {
+        final Map<String, String> body = new HashMap<>();
+        for (int i = 0, length = 0; length < size; i++) {
+            final String key = "key" + i;
+            final String value = "value-\u00e9t\u00e9-" + i + "-/projects/console-java-simple/src/main/java";
+            body.put(key, value);
+            length += key.length() + value.length();
+        }
+        return body;
+    }
+
+    /** Request of {@link DefaultHttpJsonRequest} before it was changed to use {@link HttpConnectionFactory}, kept for comparison. */
+    private static String legacyRequest(String url, Object body) throws IOException {
+        final HttpURLConnection conn = (HttpURLConnection)new URL(url).openConnection();
+        conn.setConnectTimeout(60000);
+        conn.setReadTimeout(60000);
+        try {
+            conn.setRequestMethod("POST");
+            conn.addRequestProperty("Accept", "application/json");
+            conn.addRequestProperty("Content-Type", "application/json");
+            conn.setDoOutput(true);
+            try (OutputStream output = conn.getOutputStream()) {
+                output.write(DtoFactory.getInstance().toJson(body).getBytes(UTF_8));
+            }
+            if (conn.getResponseCode() / 100 != 2) {
+                throw new IOException("Unexpected response code " + conn.getResponseCode());
+            }
+            try (Reader reader = new InputStreamReader(conn.getInputStream(), UTF_8)) {
+                return CharStreams.toString(reader);
+            }
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    private interface Request {
+        void run() throws Exception;
+    }
+}
@@ -56,6 +56,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -260,6 +261,41 @@ public class DefaultHttpJsonRequestTest {
         assertEquals(request.request().asString(), TestService.JSON_OBJECT);
     }
 
+    @Test
+    public void shouldReadGzipCompressedBody(ITestContext ctx) throws Exception {
+        final DefaultHttpJsonRequest request = new DefaultHttpJsonRequest(getUrl(ctx) + "/gzip");
+        request.useGetMethod();
+
+        assertEquals(request.request().asString(), TestService.JSON_OBJECT);
+    }
+
+    @Test
+    public void shouldReuseConnectionForSequentialRequestsToTheSameHost(ITestContext ctx) throws Exception {
+        final String firstPort = new DefaultHttpJsonRequest(getUrl(ctx) + "/remote-port").useGetMethod().request().asString();
+        final String secondPort = new DefaultHttpJsonRequest(getUrl(ctx) + "/remote-port").useGetMethod().request().asString();
+
+        assertEquals(secondPort, firstPort);
+    }
+
+    @Test
+    public void shouldReleaseConnectionAsReusableWhenResponseIsRead(ITestContext ctx) throws Exception {
+        final HttpConnectionFactory connectionFactory = spy(new DefaultHttpConnectionFactory());
+
+        new DefaultHttpJsonRequest(getUrl(ctx) + "/application-json", connectionFactory).useGetMethod().request();
+
+        verify(connectionFactory).openConnection(any());
+        verify(connectionFactory, times(1)).releaseConnection(any(), eq(true));
+    }
+
+    @Test
+    public void shouldUseConnectionFactoryOfRequestFactory(ITestContext ctx) throws Exception {
+        final HttpConnectionFactory connectionFactory = spy(new DefaultHttpConnectionFactory());
+
+        new DefaultHttpJsonRequestFactory(connectionFactory).fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+        verify(connectionFactory).openConnection(any());
+    }
+
     @Test
     public void shouldEncodeRequestUrlInDefaultHttpJsonRequestAndDecodeInService(ITestContext ctx) throws Exception {
         final String base = getUrl(ctx) + "/decode";
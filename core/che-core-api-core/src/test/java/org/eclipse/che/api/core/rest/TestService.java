@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.rest;
 
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
@@ -18,6 +19,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.GET;
 import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
@@ -30,11 +32,14 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
 import java.net.URLDecoder;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -73,6 +78,29 @@ public class TestService extends Service {
         return JSON_OBJECT;
     }
 
+    @GET
+    @Path("/gzip")
+    @Produces(APPLICATION_JSON)
+    public Response getGzipJsonObject(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) throws Exception {
+        if (acceptEncoding == null || !acceptEncoding.contains("gzip")) {
+            throw new BadRequestException("Client doesn't accept gzip encoding");
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(JSON_OBJECT.getBytes(UTF_8));
+        }
+        return Response.ok(bytes.toByteArray())
+                       .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                       .build();
+    }
+
+    @GET
+    @Path("/remote-port")
+    @Produces(APPLICATION_JSON)
+    public String getRemotePort(@Context HttpServletRequest request) {
+        return String.valueOf(request.getRemotePort());
+    }
+
     @POST
     @Path("/application-json")
     @Produces(APPLICATION_JSON)
@@ -18,6 +18,7 @@ import org.everrest.core.impl.ContainerResponse;
 import org.everrest.core.impl.EverrestConfiguration;
 import org.everrest.core.impl.EverrestProcessor;
 import org.everrest.core.impl.ResourceBinderImpl;
+import org.everrest.core.resource.GenericMethodResource;
 import org.everrest.core.tools.DependencySupplierImpl;
 import org.everrest.core.tools.ResourceLauncher;
 import org.testng.Assert;
@@ -38,6 +39,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
@@ -94,6 +96,28 @@ public class ETagResponseFilterTest {
 
     }
 
+    /**
+     * Dummy JAX-RS POJO which provides tag itself
+     */
+    @Path("/versioned")
+    public static class VersionedJaxRSService implements ETagProvider {
+
+        static final AtomicInteger invocations = new AtomicInteger();
+
+        @GET
+        @Path("/single")
+        @Produces(APPLICATION_JSON)
+        public String getMember() {
+            invocations.incrementAndGet();
+            return "hello";
+        }
+
+        @Override
+        public String getETag(GenericMethodResource genericMethodResource, Object[] arguments) {
+            return "version-1";
+        }
+    }
+
     /**
      * Resource Launcher
      */
@@ -108,10 +132,12 @@ public class ETagResponseFilterTest {
         //set up launcher
         final ResourceBinderImpl resources = new ResourceBinderImpl();
         resources.addResource(MyJaxRSService.class, null);
+        resources.addResource(VersionedJaxRSService.class, null);
         final DependencySupplierImpl dependencies = new DependencySupplierImpl();
         final ApplicationProviderBinder binder = new ApplicationProviderBinder();
         binder.addExceptionMapper(ApiExceptionMapper.class);
         binder.addResponseFilter(ETagResponseFilter.class);
+        binder.addMethodInvokerFilter(ETagMethodInvokerFilter.class);
         final URI uri = new URI(BASE_URI);
         final ContainerRequest req = new ContainerRequest(null, uri, uri, null, null, null);
         final ApplicationContextImpl contextImpl = new ApplicationContextImpl(req, null, binder);
@@ -221,4 +247,37 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if ETag provided by resource is used instead of MD5 of the entity
+     */
+    @Test
+    public void useProvidedETag() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, BASE_URI + "/versioned/single", BASE_URI, null, null,
+                                                                    null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        Assert.assertEquals(response.getEntity(), "hello");
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("version-1"));
+    }
+
+    /**
+     * Check if resource method is not invoked when ETag provided by resource matches ETag sent with header
+     */
+    @Test
+    public void shouldNotInvokeResourceMethodIfProvidedETagMatches() throws Exception {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("version-1").toString()));
+        final int invocations = VersionedJaxRSService.invocations.get();
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, BASE_URI + "/versioned/single", BASE_URI, headers,
+                                                                    null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        Assert.assertNull(response.getEntity());
+        Assert.assertEquals(response.getHttpHeaders().getFirst("ETag"), new EntityTag("version-1"));
+        Assert.assertEquals(VersionedJaxRSService.invocations.get(), invocations);
+    }
 }
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.everrest;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class OutboundBufferTest {
+    private ExecutorService executor;
+
+    @BeforeMethod
+    public void setUp() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldSendFramesInOrder() throws Exception {
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(200);
+        final OutboundBuffer buffer = new OutboundBuffer("test", 1000, executor, frame -> {
+            sent.add(frame);
+            latch.countDown();
+        });
+
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(Integer.toString(i));
+            buffer.offer(Integer.toString(i));
+        }
+
+        assertTrue(latch.await(5, SECONDS));
+        assertEquals(sent, expected);
+    }
+
+    @Test
+    public void shouldDropOldestFramesWhenBufferIsFull() throws Exception {
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(3);
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        final OutboundBuffer buffer = new OutboundBuffer("test", 2, executor, frame -> {
+            sending.countDown();
+            release.await();
+            sent.add(frame);
+            done.countDown();
+        });
+
+        buffer.offer("first");
+        assertTrue(sending.await(5, SECONDS));
+        buffer.offer("second");
+        buffer.offer("third");
+        buffer.offer("fourth");
+        release.countDown();
+
+        assertTrue(done.await(5, SECONDS));
+        assertEquals(sent, asList("first", "third", "fourth"));
+        assertEquals(buffer.getDropped(), 1);
+    }
+
+    @Test
+    public void slowConnectionShouldNotHoldUpOthers() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch fastSent = new CountDownLatch(1);
+        final OutboundBuffer slow = new OutboundBuffer("slow", 10, executor, frame -> release.await());
+        final OutboundBuffer fast = new OutboundBuffer("fast", 10, executor, frame -> fastSent.countDown());
+
+        slow.offer("message");
+        fast.offer("message");
+
+        assertTrue(fastSent.await(5, SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void shouldIgnoreFramesAfterClose() throws Exception {
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        final OutboundBuffer buffer = new OutboundBuffer("test", 10, executor, sent::add);
+
+        buffer.close();
+        buffer.offer("message");
+
+        assertEquals(buffer.size(), 0);
+        assertTrue(sent.isEmpty());
+    }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.dto.generator;
 
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.server.JsonStreams;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
 import org.eclipse.che.dto.shared.DelegateRule;
 import org.eclipse.che.dto.shared.DTOImpl;
@@ -39,6 +40,7 @@ import java.util.Set;
 public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
+    private static final String JSON_STREAMS      = JsonStreams.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
@@ -70,8 +72,10 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamSerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitStreamDeserializer(methods, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -301,8 +305,14 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        builder.append("      java.io.StringWriter writer = new java.io.StringWriter();\n");
+        builder.append("      try {\n");
+        builder.append("        toJson(writer);\n");
+        builder.append("      } catch (IOException e) {\n");
+        // never happens with StringWriter
+        builder.append("        throw new IllegalStateException(e.getMessage(), e);\n");
+        builder.append("      }\n");
+        builder.append("      return writer.toString();\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -311,6 +321,135 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates methods which write DTO directly to {@code JsonWriter}. Output is the same as output of {@code toJsonElement()}
+     * serialized with Gson, but intermediate {@code JsonElement} tree is not created.
+     */
+    private void emitStreamSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void toJson(java.io.Writer writer) throws IOException {\n");
+        builder.append("      JsonWriter out = ").append(JSON_STREAMS).append(".newWriter(writer);\n");
+        builder.append("      writeJson(out);\n");
+        builder.append("      out.flush();\n");
+        builder.append("    }\n\n");
+        builder.append("    public void writeJson(JsonWriter out) throws IOException {\n");
+        if (!isStreamable(getters)) {
+            builder.append("      gson.toJson(toJsonElementInt(false), out);\n");
+        } else {
+            builder.append("      out.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("      out.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitStreamSerializerImpl(expandType(getter.getGenericReturnType()), 0, builder,
+                                         getJavaFieldName(getter.getName()), "      ");
+            }
+            builder.append("      out.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code to write the value of the given variable to {@code JsonWriter out}.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java variable that will be written, at depth 0 it is the name of field
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamSerializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String value = depth == 0 ? "this." + inVar : inVar;
+        final String childInVar = inVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            final String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            String indent = i;
+            if (depth == 0) {
+                // collections of DTO are never serialized as null
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(value).append(" == null) {\n");
+                builder.append(i).append("  out.nullValue();\n");
+                builder.append(i).append("} else {\n");
+                indent = i + "  ";
+            }
+            if (isList(rawClass)) {
+                builder.append(indent).append("out.beginArray();\n");
+                builder.append(indent).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ")
+                       .append(value).append(") {\n");
+            } else {
+                final String entryVar = "entry" + depth;
+                builder.append(indent).append("out.beginObject();\n");
+                builder.append(indent).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ").append(entryVar)
+                       .append(" : ").append(value).append(".entrySet()) {\n");
+                builder.append(indent).append("  out.name(").append(entryVar).append(".getKey());\n");
+                builder.append(indent).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ")
+                       .append(entryVar).append(".getValue();\n");
+            }
+            emitStreamSerializerImpl(expandedTypes, depth + 1, builder, childInVar, indent + "  ");
+            builder.append(indent).append("}\n");
+            builder.append(indent).append(isList(rawClass) ? "out.endArray();\n" : "out.endObject();\n");
+            if (depth != 0) {
+                builder.append(i).append("}\n");
+            }
+        } else if (rawClass == String.class) {
+            builder.append(i).append("out.value(").append(value).append(");\n");
+        } else if (rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == double.class
+                   || rawClass == short.class
+                   || rawClass == byte.class) {
+            builder.append(i).append("out.value(").append(value).append(");\n");
+        } else if (rawClass == float.class) {
+            // write float the same way as JsonPrimitive does, widening to double changes its string representation
+            builder.append(i).append("out.value((Number)").append(value).append(");\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.value(").append(value).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            // JsonWriter writes null number as null
+            builder.append(i).append("out.value((Number)").append(value).append(");\n");
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("out.value(").append(value).append(" == null ? null : ").append(value).append(".name());\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(value).append(", out);\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            final String implName;
+            if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+                implName = getImplNameForDto(rawClass);
+            } else {
+                final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+                if (dtoImplementation == null) {
+                    throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                       getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                       " is not allowed to use in DTO interface.");
+                }
+                implName = dtoImplementation.getCanonicalName();
+            }
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  out.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ((").append(implName).append(")").append(value).append(").writeJson(out);\n");
+            builder.append(i).append("}\n");
+        }
+    }
+
     private void emitSerializeFieldForMethod(Method getter, final StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(getter.getName());
         final String jsonFieldName = getJsonFieldName(getter);
@@ -489,6 +628,138 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /** Generates a static factory method that reads a new instance directly from {@code JsonReader}. Unknown properties are skipped. */
+    private void emitStreamDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" fromJsonReader(JsonReader in) throws IOException {\n");
+        if (!isStreamable(getters)) {
+            // The JSON is created by this method, thus keeping its parts as values is OK
+            builder.append("      return fromJsonElement(new JsonParser().parse(in), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (in.peek() == JsonToken.NULL) {\n");
+        builder.append("        in.nextNull();\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      in.beginObject();\n");
+        builder.append("      while (in.hasNext()) {\n");
+        builder.append("        switch (in.nextName()) {\n");
+        for (Method getter : getters) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+            emitStreamDeserializerImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            in.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      in.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Compact DTOs and DTOs which have few getters bound to the same JSON property are serialized through {@code JsonElement} even
+     * when streams are used, streaming code for them wouldn't give the same result as {@code JsonElement} does.
+     */
+    private boolean isStreamable(List<Method> getters) {
+        if (isCompactJson()) {
+            return false;
+        }
+        final Set<String> jsonFieldNames = new HashSet<>();
+        for (Method getter : getters) {
+            if (!jsonFieldNames.add(getJsonFieldName(getter))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Produces code to read the type from {@code JsonReader in}. Values are converted the same way as {@link
+     * #emitDeserializerImpl(List, int, StringBuilder, String, String, String)} does.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output of deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitStreamDeserializerImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        final Type type = expandedTypes.get(depth);
+        final Class<?> rawClass = getRawClass(type);
+        final String childOutVar = outVar + "_";
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (in.peek() == JsonToken.NULL) {\n");
+            builder.append(i).append("  in.nextNull();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                builder.append(i).append("  in.beginArray();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endArray();\n");
+            } else {
+                final String keyVar = "key" + depth;
+                builder.append(i).append("  in.beginObject();\n");
+                builder.append(i).append("  while (in.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = in.nextName();\n");
+                emitStreamDeserializerImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+                builder.append(i).append("  }\n");
+                builder.append(i).append("  in.endObject();\n");
+            }
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".fromJsonReader(in);\n");
+        } else if (rawClass == String.class) {
+            builder.append(i).append("String ").append(outVar).append(" = ").append(JSON_STREAMS).append(".readString(in);\n");
+        } else if (rawClass.isPrimitive()) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = ");
+            if (rawClass == boolean.class) {
+                builder.append(JSON_STREAMS).append(".readBoolean(in);\n");
+            } else if (rawClass == int.class) {
+                builder.append(JSON_STREAMS).append(".readInt(in);\n");
+            } else if (rawClass == short.class) {
+                builder.append(JSON_STREAMS).append(".readShort(in);\n");
+            } else if (rawClass == byte.class) {
+                builder.append(JSON_STREAMS).append(".readByte(in);\n");
+            } else if (rawClass == long.class) {
+                builder.append(JSON_STREAMS).append(".readLong(in);\n");
+            } else if (rawClass == float.class) {
+                builder.append(JSON_STREAMS).append(".readFloat(in);\n");
+            } else {
+                builder.append("in.nextDouble();\n");
+            }
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(in);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".fromJsonReader(in);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(in, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializeFieldForMethod(Method method, StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(method.getName());
         final String fieldNameIn = fieldName + "In";
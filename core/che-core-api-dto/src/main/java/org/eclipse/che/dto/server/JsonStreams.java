@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Helpers for streaming serialization of DTOs which is used by generated DTO implementations. Values are read with the same rules
+ * as {@link com.google.gson.JsonPrimitive} applies when DTO is read from {@link com.google.gson.JsonElement}, e.g. numbers may be
+ * passed as strings and fractional numbers are truncated when read as integers, so both ways of reading give the same result.
+ */
+public final class JsonStreams {
+
+    /**
+     * Creates writer which produces the same output as serialization of {@link com.google.gson.JsonElement} with Gson that is used by
+     * generated DTO implementations: HTML characters are not escaped and {@code null} properties of objects are omitted.
+     */
+    public static JsonWriter newWriter(Writer writer) {
+        final JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setLenient(true);
+        jsonWriter.setHtmlSafe(false);
+        jsonWriter.setSerializeNulls(false);
+        return jsonWriter;
+    }
+
+    /** Creates lenient reader, like {@link com.google.gson.JsonParser} does. */
+    public static JsonReader newReader(Reader reader) {
+        final JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+        return jsonReader;
+    }
+
+    /** Reads string, number or boolean as string. Returns {@code null} if next value is {@code null}. */
+    public static String readString(JsonReader reader) throws IOException {
+        final JsonToken token = reader.peek();
+        switch (token) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            case STRING:
+            case NUMBER:
+                return reader.nextString();
+            default:
+                throw new JsonSyntaxException("Expected a string but was " + token);
+        }
+    }
+
+    public static boolean readBoolean(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        }
+        return Boolean.parseBoolean(reader.nextString());
+    }
+
+    public static int readInt(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Integer.parseInt(reader.nextString());
+        }
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException e) {
+            // number is kept by reader, read it as string and truncate
+            return new BigDecimal(reader.nextString()).intValue();
+        }
+    }
+
+    public static long readLong(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Long.parseLong(reader.nextString());
+        }
+        try {
+            return reader.nextLong();
+        } catch (NumberFormatException e) {
+            return new BigDecimal(reader.nextString()).longValue();
+        }
+    }
+
+    public static short readShort(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Short.parseShort(reader.nextString());
+        }
+        return (short)readInt(reader);
+    }
+
+    public static byte readByte(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Byte.parseByte(reader.nextString());
+        }
+        return (byte)readInt(reader);
+    }
+
+    public static float readFloat(JsonReader reader) throws IOException {
+        return Float.parseFloat(reader.nextString());
+    }
+
+    /**
+     * Checks that whole document is read, {@link com.google.gson.JsonParser} does the same when it parses JSON.
+     *
+     * @throws JsonSyntaxException
+     *         if there is anything after the value which has been read
+     */
+    public static void checkFullyRead(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
+        }
+    }
+
+    private JsonStreams() {
+    }
+}
@@ -15,6 +15,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
@@ -29,7 +30,10 @@ import org.eclipse.che.dto.server.DtoFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -325,6 +329,68 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void testStreamingSerializerProducesTheSameJson() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("<Something & \"quoted\">").withId(1);
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("Something 1", "Something 2"))
+                                       .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                       .withMap(Collections.singletonMap("key", simpleDto))
+                                       .withSimpleDtos(Collections.singletonList(simpleDto))
+                                       .withArrayOfArrayOfEnum(
+                                               Collections.singletonList(asList(ComplicatedDto.SimpleEnum.ONE,
+                                                                                ComplicatedDto.SimpleEnum.THREE)));
+
+        StringWriter writer = new StringWriter();
+        dtoFactory.toJson(dto, writer);
+
+        assertEquals(writer.toString(), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void testStreamingDeserializer() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("Something").withId(1).withDefault("default");
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("Something 1", "Something 2"))
+                                       .withSimpleEnum(ComplicatedDto.SimpleEnum.ONE)
+                                       .withMap(Collections.singletonMap("key", simpleDto))
+                                       .withSimpleDtos(Collections.singletonList(simpleDto))
+                                       .withArrayOfArrayOfEnum(
+                                               Collections.singletonList(asList(ComplicatedDto.SimpleEnum.TWO)));
+        final String json = dtoFactory.toJson(dto);
+
+        ComplicatedDto fromReader = dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class);
+
+        assertEquals(fromReader, dtoFactory.createDtoFromJson(json, ComplicatedDto.class));
+        assertEquals(fromReader, dto);
+    }
+
+    @Test
+    public void testStreamingDeserializerSkipsUnknownFields() throws Exception {
+        final String json = "{\"unknown\":{\"a\":[1,2,{}]},\"name\":\"Something\",\"id\":\"2\",\"other\":null}";
+
+        SimpleDto dto = dtoFactory.createDtoFromJson(new StringReader(json), SimpleDto.class);
+
+        assertEquals(dto.getName(), "Something");
+        assertEquals(dto.getId(), 2);
+    }
+
+    @Test
+    public void testStreamingListDeserializer() throws Exception {
+        final String json = "[{\"name\":\"Something 1\",\"id\":1},{\"name\":\"Something 2\",\"id\":2}]";
+
+        List<SimpleDto> list = dtoFactory.createListDtoFromJson(new StringReader(json), SimpleDto.class);
+
+        assertEquals(list.size(), 2);
+        assertEquals(list.get(0).getName(), "Something 1");
+        assertEquals(list.get(1).getId(), 2);
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void testStreamingDeserializerFailsOnMalformedJson() throws Exception {
+        dtoFactory.createDtoFromJson(new StringReader("{\"name\":\"Something\","), SimpleDto.class);
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Processor which is able to handle several messages at once. Messages which are read from the same chunk of the stream are
+ * delivered to such processor as one batch, so processor may e.g. write them to the log or send them to client with one call.
+ *
+ * @param <T>
+ *         type of messages
+ */
+@FunctionalInterface
+public interface BatchMessageProcessor<T> extends MessageProcessor<T> {
+    /**
+     * Processes messages in the order they were read. List must not be modified and is not reused by the caller.
+     */
+    void process(List<T> messages);
+
+    @Override
+    default void process(T message) {
+        process(singletonList(message));
+    }
+}
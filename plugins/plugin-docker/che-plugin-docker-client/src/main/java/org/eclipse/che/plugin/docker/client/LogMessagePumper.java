@@ -17,76 +17,94 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
+ * Reads multiplexed stream of docker attach or exec and splits it into lines.
+ * <p>
+ * Lines are split on bytes, since line feed and carriage return bytes never appear inside of multi-byte UTF-8 character, and each
+ * line is decoded once when it is complete. Bytes of incomplete line are kept separately for each stream (stdout, stderr) until
+ * the next frame of the same stream, so characters which are split between frames are decoded correctly. Read buffer is allocated
+ * once and reused for all frames. Lines which are read from the same chunk of the stream are delivered to
+ * {@link BatchMessageProcessor} as one batch, other processors get them one by one.
+ *
  * @author andrew00x
  */
 class LogMessagePumper extends MessagePumper<LogMessage> {
     private static final Logger LOG = LoggerFactory.getLogger(LogMessagePumper.class);
 
     private static final int STREAM_HEADER_LENGTH = 8;
+    /** Max length of line in bytes, longer lines are split on the boundary of characters. */
     private static final int MAX_LINE_LENGTH      = 1024;
+    private static final int BUFFER_SIZE          = 8192;
 
-    private final InputStream                  source;
-    private final MessageProcessor<LogMessage> target;
+    private final InputStream                        source;
+    private final MessageProcessor<LogMessage>       target;
+    private final byte[]                             buffer;
+    private final Map<LogMessage.Type, LineSplitter> splitters;
+
+    private List<LogMessage> batch;
 
     LogMessagePumper(InputStream source, MessageProcessor<LogMessage> target) {
         super(null, null);
         this.source = source;
         this.target = target;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.splitters = new EnumMap<>(LogMessage.Type.class);
+        this.batch = new ArrayList<>();
     }
 
     @Override
     void start() throws IOException {
-        final byte[] buf = new byte[MAX_LINE_LENGTH];
-        StringBuilder lineBuf = null;
-        boolean endOfLine = false;
-        LogMessage.Type logMessageType = LogMessage.Type.DOCKER;
         for (; ; ) {
-            int r = ByteStreams.read(source, buf, 0, STREAM_HEADER_LENGTH);
-            if (r != 8) {
-                if (r != -1) {
+            int r = ByteStreams.read(source, buffer, 0, STREAM_HEADER_LENGTH);
+            if (r != STREAM_HEADER_LENGTH) {
+                if (r != 0) {
                     LOG.debug("Invalid stream, can't read header. Header of each frame must contain 8 bytes but got {}", r);
                 }
-                if (lineBuf != null && lineBuf.length() > 0) {
-                    target.process(new LogMessage(logMessageType, lineBuf.toString()));
-                    lineBuf.setLength(0);
-                }
                 break;
             }
-            logMessageType = getLogMessageType(buf);
-            int remaining = getPayloadLength(buf);
+            final LineSplitter splitter = splitters.computeIfAbsent(getLogMessageType(buffer), LineSplitter::new);
+            int remaining = getPayloadLength(buffer);
             while (remaining > 0) {
-                r = source.read(buf, 0, Math.min(remaining, buf.length));
-                int offset = 0;
-                int lineLength = lineBuf != null ? lineBuf.length() : 0;
-                for (int i = 0; i < r; i++, lineLength++) {
-                    endOfLine = false;
-                    if (buf[i] == '\n' || buf[i] == '\r' || lineLength > MAX_LINE_LENGTH) {
-                        int length = i - offset;
-                        if (buf[i] == '\r') {
-                            length += 1; // include <CR> char in log message
-                        }
-                        if (lineBuf != null && lineBuf.length() > 0) {
-                            lineBuf.append(new String(buf, offset, length));
-                            target.process(new LogMessage(logMessageType, lineBuf.toString()));
-                            lineBuf.setLength(0);
-                        } else {
-                            target.process(new LogMessage(logMessageType, new String(buf, offset, length)));
-                        }
-                        offset = i + 1;
-                        lineLength = 0;
-                        endOfLine = true;
-                    }
-                }
-                if (!endOfLine) {
-                    if (lineBuf == null) {
-                        lineBuf = new StringBuilder(MAX_LINE_LENGTH);
-                    }
-                    lineBuf.append(new String(buf, offset, r - offset));
+                r = source.read(buffer, 0, Math.min(remaining, buffer.length));
+                if (r == -1) {
+                    LOG.debug("Invalid stream, frame is truncated. Expected {} more bytes", remaining);
+                    break;
                 }
+                splitter.split(buffer, r);
+                deliver();
                 remaining -= r;
             }
+            if (remaining > 0) {
+                break;
+            }
+        }
+        for (LineSplitter splitter : splitters.values()) {
+            splitter.finish();
+        }
+        deliver();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (target instanceof BatchMessageProcessor) {
+            final List<LogMessage> messages = batch;
+            batch = new ArrayList<>();
+            ((BatchMessageProcessor<LogMessage>)target).process(messages);
+        } else {
+            for (LogMessage message : batch) {
+                target.process(message);
+            }
+            batch.clear();
         }
     }
 
@@ -106,4 +124,62 @@ class LogMessagePumper extends MessagePumper<LogMessage> {
                 throw new IllegalArgumentException(String.format("Invalid docker stream type %d", header[0]));
         }
     }
+
+    /** Splits bytes of one stream into lines. */
+    private class LineSplitter {
+        final LogMessage.Type type;
+        // line is split only on the start of character, so it may exceed max length by the rest of multi-byte character,
+        // if output is not UTF-8 then line is split anyway when it exceeds max length of UTF-8 character
+        final byte[]          pending;
+
+        int pendingLength;
+
+        LineSplitter(LogMessage.Type type) {
+            this.type = type;
+            this.pending = new byte[MAX_LINE_LENGTH + 4];
+        }
+
+        void split(byte[] bytes, int length) {
+            int start = 0;
+            // index of byte at which current line reaches max length
+            int limit = MAX_LINE_LENGTH - pendingLength;
+            for (int i = 0; i < length; i++) {
+                final byte b = bytes[i];
+                if (b == '\n') {
+                    addLine(bytes, start, i - start);
+                    start = i + 1;
+                    limit = start + MAX_LINE_LENGTH;
+                } else if (b == '\r') {
+                    // include <CR> char in log message
+                    addLine(bytes, start, i - start + 1);
+                    start = i + 1;
+                    limit = start + MAX_LINE_LENGTH;
+                } else if (i >= limit && (i >= limit + 3 || (b & 0xC0) != 0x80)) {
+                    addLine(bytes, start, i - start);
+                    start = i;
+                    limit = start + MAX_LINE_LENGTH;
+                }
+            }
+            System.arraycopy(bytes, start, pending, pendingLength, length - start);
+            pendingLength += length - start;
+        }
+
+        void finish() {
+            if (pendingLength > 0) {
+                addLine(pending, 0, 0);
+            }
+        }
+
+        private void addLine(byte[] bytes, int offset, int length) {
+            final String line;
+            if (pendingLength == 0) {
+                line = new String(bytes, offset, length, UTF_8);
+            } else {
+                System.arraycopy(bytes, offset, pending, pendingLength, length);
+                line = new String(pending, 0, pendingLength + length, UTF_8);
+                pendingLength = 0;
+            }
+            batch.add(new LogMessage(type, line));
+        }
+    }
 }
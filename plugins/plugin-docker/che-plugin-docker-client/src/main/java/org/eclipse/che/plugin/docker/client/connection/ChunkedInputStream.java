@@ -34,7 +34,7 @@ public class ChunkedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -57,7 +57,7 @@ public class ChunkedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
     }
 
     @Override
@@ -65,39 +65,39 @@ public class ChunkedInputStream extends InputStream {
         return (chunkSize - chunkPos);
     }
 
+    /**
+     * Skips rest of stream if it is already received. Unlike to {@link #skip(long)} this method doesn't wait for new data if stream
+     * is not finished yet.
+     *
+     * @return {@code true} if end of stream is reached
+     */
+    synchronized boolean skipReceived() throws IOException {
+        final byte[] buf = new byte[1024];
+        while (!eof && input.available() > 0) {
+            doRead(buf, 0, buf.length);
+        }
+        return eof;
+    }
+
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (eof) {
             return -1;
         }
         if (chunkSize == 0) {
             chunkPos = 0;
-            for (; ; ) {
-                int i = input.read();
-                if (i < 0) {
-                    throw new IOException("Can't read size of chunk");
-                }
-                if (i == '\n') {
-                    break;
-                }
-                chunkSizeBuf.append((char)i);
-            }
-
-            int l = chunkSizeBuf.length();
-            int endSize = 0;
-            while (endSize < l && Character.digit(chunkSizeBuf.charAt(endSize), 16) != -1) {
-                endSize++;
-            }
-            try {
-                chunkSize = Integer.parseInt(chunkSizeBuf.substring(0, endSize), 16);
-            } catch (NumberFormatException e) {
-                throw new IOException("Invalid chunk size");
-            }
-            chunkSizeBuf.setLength(0);
+            chunkSize = readChunkSize();
             if (chunkSize == 0) {
+                // last chunk, skip trailer headers if any
+                while (!readLine().isEmpty()) {
+                }
                 eof = true;
+                return -1;
             }
         }
-        final int n = input.read(b, 0, Math.min(len - off, chunkSize - chunkPos));
+        final int n = input.read(b, off, Math.min(len, chunkSize - chunkPos));
+        if (n == -1) {
+            throw new IOException("Unexpected end of chunked stream");
+        }
         chunkPos += n;
         if (chunkPos == chunkSize) {
             if ('\r' != input.read()) { // skip '\r'
@@ -109,9 +109,37 @@ public class ChunkedInputStream extends InputStream {
             chunkSize = 0;
             chunkPos = 0;
         }
-        if (eof) {
-            return -1;
-        }
         return n;
     }
+
+    private int readChunkSize() throws IOException {
+        final String line = readLine();
+        int l = line.length();
+        int endSize = 0;
+        while (endSize < l && Character.digit(line.charAt(endSize), 16) != -1) {
+            endSize++;
+        }
+        try {
+            return Integer.parseInt(line.substring(0, endSize), 16);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid chunk size");
+        }
+    }
+
+    private String readLine() throws IOException {
+        chunkSizeBuf.setLength(0);
+        for (; ; ) {
+            int i = input.read();
+            if (i < 0) {
+                throw new IOException("Can't read size of chunk");
+            }
+            if (i == '\n') {
+                break;
+            }
+            if (i != '\r') {
+                chunkSizeBuf.append((char)i);
+            }
+        }
+        return chunkSizeBuf.toString();
+    }
 }
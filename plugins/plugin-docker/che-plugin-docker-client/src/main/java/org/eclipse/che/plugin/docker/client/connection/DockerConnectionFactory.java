@@ -15,20 +15,30 @@ import com.google.inject.Inject;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import java.net.URI;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
+ * Connections that are opened by this factory share {@link DockerConnectionPool}, so sockets to docker daemon are reused.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerConnectionFactory.class);
+
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String POOL_MAX_IDLE_CONNECTIONS_PROPERTY  = "docker.connection.pool.max_idle_connections";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY       = "docker.connection.pool.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,8 +48,18 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
+    @Inject(optional = true)
+    @Named(POOL_MAX_IDLE_CONNECTIONS_PROPERTY)
+    private int poolMaxIdleConnections = 16;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private long poolIdleTimeoutMs = 30000;
+
     private final DockerCertificates dockerCertificates;
 
+    private volatile DockerConnectionPool connectionPool;
+
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
@@ -47,9 +67,34 @@ public class DockerConnectionFactory {
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            return new UnixSocketConnection(dockerDaemonUri.getPath(), getConnectionPool());
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs,
+                                     getConnectionPool());
+        }
+    }
+
+    /** Returns pool of connections to docker daemon, e.g. to check its statistics. */
+    public DockerConnectionPool getConnectionPool() {
+        // Created lazily since settings of pool are injected in fields.
+        DockerConnectionPool pool = connectionPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = connectionPool;
+                if (pool == null) {
+                    connectionPool = pool = new DockerConnectionPool(poolMaxIdleConnections, poolIdleTimeoutMs);
+                }
+            }
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public void closeConnectionPool() {
+        final DockerConnectionPool pool = connectionPool;
+        if (pool != null) {
+            LOG.debug("Closing connections to docker daemon: {}", pool);
+            pool.close();
         }
     }
 }
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps idle connections to docker daemon and gives them for reuse by next requests to the same endpoint.
+ * Connections which stay idle longer than idle timeout are closed when pool is accessed next time.
+ *
+ * <p>Pool with zero {@code maxIdleConnections} doesn't keep connections, each request opens new one.
+ */
+public class DockerConnectionPool {
+    private final int  maxIdleConnections;
+    private final long idleTimeoutMs;
+
+    private final ConcurrentMap<String, Deque<DockerSocket>> idleSockets;
+
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong discarded;
+    private final AtomicLong expired;
+
+    private volatile boolean closed;
+
+    /**
+     * @param maxIdleConnections
+     *         max number of idle connections that are kept per endpoint
+     * @param idleTimeoutMs
+     *         time after that idle connection is closed
+     */
+    public DockerConnectionPool(int maxIdleConnections, long idleTimeoutMs) {
+        if (maxIdleConnections < 0) {
+            throw new IllegalArgumentException("Max number of idle connections may not be negative");
+        }
+        this.maxIdleConnections = maxIdleConnections;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idleSockets = new ConcurrentHashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.discarded = new AtomicLong();
+        this.expired = new AtomicLong();
+    }
+
+    /** Number of requests that reused idle connection. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Number of requests that had to open new connection. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Number of connections that were closed after request since they could not be reused, e.g. response was not read fully. */
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    /** Number of idle connections that were closed by timeout. */
+    public long getExpired() {
+        return expired.get();
+    }
+
+    /** Closes all idle connections. Connections that are released after that are closed immediately. */
+    public void close() {
+        closed = true;
+        for (Deque<DockerSocket> sockets : idleSockets.values()) {
+            closeAll(sockets);
+        }
+    }
+
+    /**
+     * Gets idle connection to specified endpoint.
+     *
+     * @return idle connection or {@code null} if there is no idle connection and new one must be opened
+     */
+    DockerSocket acquire(String endpoint) {
+        final Deque<DockerSocket> sockets = idleSockets.get(endpoint);
+        if (sockets != null) {
+            final long now = System.currentTimeMillis();
+            DockerSocket socket;
+            synchronized (sockets) {
+                // most recently used connection is the first
+                while ((socket = sockets.pollFirst()) != null && isExpired(socket, now)) {
+                    expire(socket);
+                }
+            }
+            if (socket != null) {
+                hits.incrementAndGet();
+                return socket;
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /** Returns connection to the pool. Response to the last request must be read fully before connection is released. */
+    void release(String endpoint, DockerSocket socket) {
+        if (closed || maxIdleConnections == 0) {
+            socket.close();
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        socket.setIdleSince(now);
+        final Deque<DockerSocket> sockets = idleSockets.computeIfAbsent(endpoint, e -> new ArrayDeque<>());
+        synchronized (sockets) {
+            sockets.addFirst(socket);
+            while (sockets.size() > maxIdleConnections) {
+                sockets.pollLast().close();
+            }
+            DockerSocket oldest;
+            while ((oldest = sockets.peekLast()) != null && isExpired(oldest, now)) {
+                expire(sockets.pollLast());
+            }
+        }
+        if (closed) {
+            closeAll(sockets);
+        }
+    }
+
+    /** Closes connection that can't be reused. */
+    void discard(DockerSocket socket) {
+        discarded.incrementAndGet();
+        socket.close();
+    }
+
+    private boolean isExpired(DockerSocket socket, long now) {
+        return now - socket.getIdleSince() > idleTimeoutMs;
+    }
+
+    private void expire(DockerSocket socket) {
+        expired.incrementAndGet();
+        socket.close();
+    }
+
+    private void closeAll(Deque<DockerSocket> sockets) {
+        synchronized (sockets) {
+            DockerSocket socket;
+            while ((socket = sockets.pollFirst()) != null) {
+                socket.close();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DockerConnectionPool{" +
+               "maxIdleConnections=" + maxIdleConnections +
+               ", idleTimeoutMs=" + idleTimeoutMs +
+               ", hits=" + hits +
+               ", misses=" + misses +
+               ", discarded=" + discarded +
+               ", expired=" + expired +
+               '}';
+    }
+}
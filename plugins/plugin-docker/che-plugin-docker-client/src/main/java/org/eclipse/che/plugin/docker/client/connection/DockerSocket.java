@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Opened connection to docker daemon that can be used for sequence of HTTP requests.
+ */
+class DockerSocket {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerSocket.class);
+
+    private final InputStream  input;
+    private final OutputStream output;
+    private final Closeable    closeable;
+
+    private long    idleSince;
+    private boolean closed;
+
+    DockerSocket(InputStream input, OutputStream output, Closeable closeable) {
+        this.input = new BufferedInputStream(input);
+        this.output = new BufferedOutputStream(output);
+        this.closeable = closeable;
+    }
+
+    InputStream getInputStream() {
+        return input;
+    }
+
+    OutputStream getOutputStream() {
+        return output;
+    }
+
+    long getIdleSince() {
+        return idleSince;
+    }
+
+    void setIdleSince(long idleSince) {
+        this.idleSince = idleSince;
+    }
+
+    synchronized void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                LOG.debug(e.getMessage(), e);
+            }
+        }
+    }
+}
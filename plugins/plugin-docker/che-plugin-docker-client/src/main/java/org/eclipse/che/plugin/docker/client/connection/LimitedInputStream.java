@@ -33,7 +33,7 @@ public class LimitedInputStream extends InputStream {
         if (doRead(b, 0, 1) == -1) {
             return -1;
         }
-        return b[0];
+        return b[0] & 0xFF;
     }
 
     @Override
@@ -56,15 +56,42 @@ public class LimitedInputStream extends InputStream {
             return 0;
         }
 
-        return doRead(b, 0, len);
+        return doRead(b, off, len);
+    }
+
+    @Override
+    public synchronized int available() throws IOException {
+        return Math.min(input.available(), limit - pos);
+    }
+
+    /** Number of bytes that are not read yet. */
+    synchronized int remaining() {
+        return limit - pos;
+    }
+
+    /**
+     * Skips rest of stream.
+     *
+     * @return {@code true} if all bytes are skipped and {@code false} if underlying stream is closed before
+     */
+    synchronized boolean skipRemaining() throws IOException {
+        final byte[] buf = new byte[1024];
+        while (pos < limit) {
+            if (doRead(buf, 0, buf.length) == -1) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private int doRead(byte[] b, int off, int len) throws IOException {
         if (pos >= limit) {
             return -1;
         }
-        int n = input.read(b, 0, Math.min(len - off, limit - pos));
-        pos += n;
+        int n = input.read(b, off, Math.min(len, limit - pos));
+        if (n > 0) {
+            pos += n;
+        }
         return n;
     }
 }
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+
+import org.eclipse.che.commons.lang.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Connection that sends HTTP/1.1 requests to docker daemon through socket. If {@link DockerConnectionPool} is set then socket is
+ * taken from the pool and is returned back to it when connection is closed, so the same socket is used for sequence of requests.
+ * Requests which are not idempotent, e.g. container creation, are always sent through new socket, so they are never sent twice.
+ *
+ * <p>Socket is returned to the pool only if response is read fully or rest of it may be read without waiting. Otherwise, e.g. if
+ * response is a stream of container logs, socket is closed.
+ *
+ * @author andrew00x
+ * @author Alexander Garagatyi
+ */
+public abstract class SocketDockerConnection extends DockerConnection {
+    private static final Logger LOG = LoggerFactory.getLogger(SocketDockerConnection.class);
+
+    /** Max size of rest of response body which may be read when connection is closed to be able reuse socket. */
+    private static final int MAX_DRAIN_SIZE = 64 * 1024;
+
+    /** Methods of requests which may be resent if pooled connection turned out to be closed. */
+    private static final Set<String> IDEMPOTENT_METHODS = ImmutableSet.of("GET", "HEAD", "DELETE");
+
+    private final DockerConnectionPool pool;
+
+    private DockerSocket         socket;
+    private SocketDockerResponse response;
+
+    SocketDockerConnection(DockerConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /** Identifier of docker daemon, connections are reused only for the same endpoint. */
+    abstract String getEndpoint();
+
+    /** Opens new connection to docker daemon. */
+    abstract DockerSocket connect() throws IOException;
+
+    /** Value of 'Host' header or {@code null} if header should not be sent. */
+    abstract String getHost();
+
+    @Override
+    protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
+            throws IOException {
+        final List<Pair<String, ?>> allHeaders = new ArrayList<>(headers);
+        if (entity != null && !(entity instanceof StreamEntity) && !hasHeader(headers, "Content-Length")) {
+            allHeaders.add(Pair.of("Content-Length", entityLength(entity)));
+        }
+        if (pool == null) {
+            allHeaders.add(Pair.of("Connection", "close"));
+        }
+        // Pooled socket may be closed by docker while it is idle, in that case request is resent with new socket.
+        // Only idempotent requests are sent through pooled sockets as docker might have handled the request
+        // before the connection was closed. Stream may be read only once so request with stream entity can't be resent.
+        if (pool != null && IDEMPOTENT_METHODS.contains(method) && !(entity instanceof StreamEntity)) {
+            socket = pool.acquire(getEndpoint());
+            if (socket != null) {
+                try {
+                    return response = send(method, path, query, allHeaders, entity);
+                } catch (NoResponseException e) {
+                    LOG.debug("Pooled connection to {} is closed, opening new one", getEndpoint());
+                    socket.close();
+                }
+            }
+        }
+        socket = connect();
+        return response = send(method, path, query, allHeaders, entity);
+    }
+
+    @Override
+    public void close() {
+        if (socket == null) {
+            return;
+        }
+        final DockerSocket closing = socket;
+        socket = null;
+        if (pool == null) {
+            closing.close();
+            return;
+        }
+        boolean reusable = false;
+        try {
+            reusable = response != null && response.isReusable() && response.drain(MAX_DRAIN_SIZE);
+        } catch (IOException e) {
+            LOG.debug(e.getMessage(), e);
+        }
+        if (reusable) {
+            pool.release(getEndpoint(), closing);
+        } else {
+            pool.discard(closing);
+        }
+    }
+
+    private SocketDockerResponse send(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
+            throws IOException {
+        final OutputStream output = socket.getOutputStream();
+        try {
+            writeHttpHeaders(output, method, path, query, headers);
+            if (entity != null) {
+                entity.writeTo(output);
+            }
+            output.flush();
+        } catch (SocketException e) {
+            throw new NoResponseException(e);
+        }
+        final InputStream input = socket.getInputStream();
+        input.mark(1);
+        final int first;
+        try {
+            first = input.read();
+        } catch (SocketException e) {
+            // connection is reset, SocketTimeoutException is not a SocketException so slow daemon is not treated this way
+            throw new NoResponseException(e);
+        }
+        if (first == -1) {
+            throw new NoResponseException(null);
+        }
+        input.reset();
+        final SocketDockerResponse response = new SocketDockerResponse(input);
+        // parse headers
+        response.getInputStream();
+        return response;
+    }
+
+    private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
+            throws IOException {
+        final Writer writer = new OutputStreamWriter(output);
+        writer.write(method);
+        writer.write(' ');
+        writer.write(path);
+        if (!Strings.isNullOrEmpty(query)) {
+            writer.write("?");
+            writer.write(query);
+        }
+        writer.write(" HTTP/1.1\r\n");
+        final String host = getHost();
+        if (host != null && !hasHeader(headers, "Host")) {
+            writer.write("Host: ");
+            writer.write(host);
+            writer.write("\r\n");
+        }
+        for (Pair<String, ?> header : headers) {
+            writer.write(header.first);
+            writer.write(": ");
+            writer.write(String.valueOf(header.second));
+            writer.write("\r\n");
+        }
+        writer.write("\r\n");
+        writer.flush();
+    }
+
+    private static boolean hasHeader(List<Pair<String, ?>> headers, String name) {
+        for (Pair<String, ?> header : headers) {
+            if (name.equalsIgnoreCase(header.first)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int entityLength(Entity entity) {
+        if (entity instanceof BytesEntity) {
+            return ((BytesEntity)entity).entity.length;
+        }
+        return ((StringEntity)entity).entity.getBytes().length;
+    }
+
+    /**
+     * Thrown if connection is closed or reset by docker before any byte of response is received,
+     * e.g. docker closed idle connection. Never thrown if reading of response is timed out.
+     */
+    private static class NoResponseException extends IOException {
+        NoResponseException(IOException cause) {
+            super("No response from docker daemon", cause);
+        }
+    }
+}
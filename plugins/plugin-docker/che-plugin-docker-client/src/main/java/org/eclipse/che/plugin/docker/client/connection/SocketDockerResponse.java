@@ -16,9 +16,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
-* @author andrew00x
-*/
-public class UnixSocketDockerResponse implements DockerResponse {
+ * Response to HTTP request that is sent to docker daemon through socket.
+ *
+ * @author andrew00x
+ */
+public class SocketDockerResponse implements DockerResponse {
     private static final InputStream EMPTY = new InputStream() {
         @Override
         public int read() throws IOException {
@@ -32,7 +34,7 @@ public class UnixSocketDockerResponse implements DockerResponse {
     private String[]    headersFields;
     private int         status;
 
-    UnixSocketDockerResponse(InputStream input) {
+    SocketDockerResponse(InputStream input) {
         rawData = input;
         status = -1;
     }
@@ -143,6 +145,11 @@ public class UnixSocketDockerResponse implements DockerResponse {
             }
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
+        final int status = getStatus();
+        if (status / 100 == 1 && status != 101 || status == 204 || status == 304) {
+            // such responses never have body
+            return data = EMPTY;
+        }
         final int contentLength = getContentLength();
         if (contentLength == 0) {
             return data = EMPTY;
@@ -152,4 +159,42 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Checks whether connection may be used for next request after this response is read. It is possible if docker keeps connection
+     * alive and length of response body is known, e.g. it is not hijacked stream of attached container.
+     */
+    boolean isReusable() throws IOException {
+        getInputStream();
+        if (!headersFields[0].startsWith("HTTP/1.1") || getStatus() == 101 || "close".equalsIgnoreCase(getHeader("Connection"))) {
+            return false;
+        }
+        return data == EMPTY || data instanceof LimitedInputStream || data instanceof ChunkedInputStream;
+    }
+
+    /**
+     * Reads rest of response body to make connection ready for next request. Never blocks on endless streams: rest of chunked body is
+     * read only if it is already received.
+     *
+     * @param maxBytes
+     *         max number of bytes of body with known length that may be read
+     * @return {@code true} if body is read fully
+     */
+    boolean drain(int maxBytes) throws IOException {
+        getInputStream();
+        if (data == EMPTY) {
+            return true;
+        }
+        if (data instanceof LimitedInputStream) {
+            final LimitedInputStream limited = (LimitedInputStream)data;
+            if (limited.remaining() > maxBytes) {
+                return false;
+            }
+            return limited.skipRemaining();
+        }
+        if (data instanceof ChunkedInputStream) {
+            return ((ChunkedInputStream)data).skipReceived();
+        }
+        return false;
+    }
 }
@@ -10,32 +10,35 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.docker.client.connection;
 
-import com.google.common.base.Strings;
-
-import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
-import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
 import java.io.IOException;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
 import java.net.URI;
-import java.net.URL;
-import java.util.List;
 
 /**
  * @author andrew00x
  * @author Alexander Garagatyi
  */
-public class TcpConnection extends DockerConnection {
+public class TcpConnection extends SocketDockerConnection {
     private final URI                baseUri;
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
 
-    private HttpURLConnection connection;
-
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, null);
+    }
+
+    public TcpConnection(URI baseUri,
+                         DockerCertificates certificates,
+                         int connectionTimeoutMs,
+                         int readTimeoutMs,
+                         DockerConnectionPool pool) {
+        super(pool);
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -50,36 +53,41 @@ public class TcpConnection extends DockerConnection {
     }
 
     @Override
-    protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity entity)
-            throws IOException {
-        final String requestUri = path + (Strings.isNullOrEmpty(query) ? "" : "?" + query);
-        final URL url = baseUri.resolve(requestUri).toURL();
-        final String protocol = url.getProtocol();
-        connection = (HttpURLConnection)url.openConnection();
-        connection.setConnectTimeout(connectionTimeout);
-        connection.setReadTimeout(readTimeout);
-        if ("https".equals(protocol)) {
-            ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
-        }
-        connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
-        for (Pair<String, ?> header : headers) {
-            connection.setRequestProperty(header.first, String.valueOf(header.second));
-        }
-        if (entity != null) {
-            connection.setDoOutput(true);
-            try (OutputStream output = connection.getOutputStream()) {
-                entity.writeTo(output);
+    String getEndpoint() {
+        return baseUri.getScheme() + "://" + getHost();
+    }
+
+    @Override
+    String getHost() {
+        return baseUri.getHost() + ':' + getPort();
+    }
+
+    @Override
+    DockerSocket connect() throws IOException {
+        final boolean secure = "https".equals(baseUri.getScheme());
+        final Socket socket = secure ? certificates.getSslContext().getSocketFactory().createSocket() : new Socket();
+        try {
+            socket.connect(new InetSocketAddress(baseUri.getHost(), getPort()), connectionTimeout);
+            socket.setSoTimeout(readTimeout);
+            if (secure) {
+                final SSLSocket sslSocket = (SSLSocket)socket;
+                // verify host name in the same way as HttpsURLConnection does
+                final SSLParameters sslParameters = sslSocket.getSSLParameters();
+                sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+                sslSocket.setSSLParameters(sslParameters);
+                sslSocket.startHandshake();
             }
+            return new DockerSocket(socket.getInputStream(), socket.getOutputStream(), socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
         }
-        return new TcpDockerResponse(connection);
     }
 
-    @Override
-    public void close() {
-        if (connection != null) {
-            connection.disconnect();
+    private int getPort() {
+        if (baseUri.getPort() != -1) {
+            return baseUri.getPort();
         }
+        return "https".equals(baseUri.getScheme()) ? 443 : 80;
     }
 }
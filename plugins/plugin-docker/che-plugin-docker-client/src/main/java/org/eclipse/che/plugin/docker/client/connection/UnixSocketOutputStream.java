@@ -15,6 +15,8 @@ import com.sun.jna.LastErrorException;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.net.SocketException;
+import java.util.Arrays;
 
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
@@ -40,11 +42,13 @@ public class UnixSocketOutputStream extends OutputStream {
 
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
+        // native call always reads from the beginning of array
+        final byte[] buf = off == 0 ? b : Arrays.copyOfRange(b, off, off + len);
         int n;
         try {
-            n = cLib.send(fd, b, len, 0);
+            n = cLib.send(fd, buf, len, 0);
         } catch (LastErrorException e) {
-            throw new IOException("error: " + cLib.strerror(e.getErrorCode()));
+            throw new SocketException("error: " + cLib.strerror(e.getErrorCode()));
         }
         if (n != len) {
             throw new IOException(String.format("Failed writing %d bytes", len));
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compares throughput of {@link LogMessagePumper} with the previous implementation which decoded each chunk to string with default
+ * charset. Default charset of docker hosts is UTF-8, so previous implementation decodes with UTF-8 explicitly and results don't
+ * depend on the charset of JVM which runs benchmark. Input is synthetic output of container: stdout and stderr frames of random
+ * size which contain lines of random length, some of them with non-ASCII characters.
+ * <p>
+ * Benchmark isn't run by default build, run it with {@code mvn test -Pbenchmark}. Size of input and number of iterations may be
+ * changed with system properties {@code benchmark.size.mb} and {@code benchmark.iterations}.
+ */
+public class LogMessagePumperBenchmark {
+
+    @Test
+    public void compareWithLegacyPumper() throws Exception {
+        final int megabytes = Integer.getInteger("benchmark.size.mb", 64);
+        final int iterations = Integer.getInteger("benchmark.iterations", 10);
+        final byte[] input = generate(megabytes * 1024 * 1024);
+
+        System.out.printf("Input: %d MB, %d iterations%n", megabytes, iterations);
+        // the first round warms up JIT
+        run("legacy", input, iterations, true);
+        run("current", input, iterations, false);
+        run("legacy", input, iterations, true);
+        run("current", input, iterations, false);
+    }
+
+    private static void run(String name, byte[] input, int iterations, boolean legacy) throws IOException {
+        final long[] counter = new long[1];
+        final MessageProcessor<LogMessage> processor = message -> counter[0] += message.getContent().length();
+        final long allocatedBefore = getAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            final InputStream source = new ByteArrayInputStream(input);
+            if (legacy) {
+                new LegacyLogMessagePumper(source, processor).start();
+            } else {
+                new LogMessagePumper(source, processor).start();
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        final long allocated = getAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-8s %8.1f MB/s, %6.2f bytes allocated per input byte (%d chars)%n",
+                          name,
+                          (double)input.length * iterations / (1024 * 1024) / seconds,
+                          allocated < 0 ? Double.NaN : (double)allocated / ((long)input.length * iterations),
+                          counter[0]);
+    }
+
+    /** Returns number of bytes allocated by the current thread or -1 if JVM doesn't support it. */
+    private static long getAllocatedBytes() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean)threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static byte[] generate(int size) {
+        final Random random = new Random(42);
+        final String[] words = {"[INFO]", "Downloading", "org.eclipse.che", "BUILD", "SUCCESS", "\u00e9t\u00e9", "\u20ac", "\u4e2d\u6587",
+                                "\ud83d\ude00", "/projects/console-java-simple/src/main/java"};
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(size + 8192);
+        final ByteArrayOutputStream frame = new ByteArrayOutputStream(8192);
+        while (stream.size() < size) {
+            final int frameSize = 64 + random.nextInt(8192);
+            frame.reset();
+            while (frame.size() < frameSize) {
+                final StringBuilder line = new StringBuilder();
+                final int lineWords = 1 + random.nextInt(20);
+                for (int i = 0; i < lineWords; i++) {
+                    line.append(words[random.nextInt(words.length)]).append(' ');
+                }
+                final byte[] bytes = line.append('\n').toString().getBytes(UTF_8);
+                frame.write(bytes, 0, bytes.length);
+            }
+            // frames split lines and characters at arbitrary places like real attach stream does
+            final byte[] payload = frame.toByteArray();
+            final int length = Math.min(payload.length, frameSize);
+            LogMessagePumperTest.frame(stream, random.nextInt(4) == 0 ? 2 : 1, Arrays.copyOf(payload, length));
+        }
+        return stream.toByteArray();
+    }
+
+    /** Implementation of {@link LogMessagePumper} before it was rewritten, kept for comparison. */
+    private static class LegacyLogMessagePumper {
+        private static final int STREAM_HEADER_LENGTH = 8;
+        private static final int MAX_LINE_LENGTH      = 1024;
+
+        private final InputStream                  source;
+        private final MessageProcessor<LogMessage> target;
+
+        LegacyLogMessagePumper(InputStream source, MessageProcessor<LogMessage> target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        void start() throws IOException {
+            final byte[] buf = new byte[MAX_LINE_LENGTH];
+            StringBuilder lineBuf = null;
+            boolean endOfLine = false;
+            LogMessage.Type logMessageType = LogMessage.Type.DOCKER;
+            for (; ; ) {
+                int r = ByteStreams.read(source, buf, 0, STREAM_HEADER_LENGTH);
+                if (r != 8) {
+                    if (lineBuf != null && lineBuf.length() > 0) {
+                        target.process(new LogMessage(logMessageType, lineBuf.toString()));
+                        lineBuf.setLength(0);
+                    }
+                    break;
+                }
+                logMessageType = buf[0] == 2 ? LogMessage.Type.STDERR : LogMessage.Type.STDOUT;
+                int remaining = (buf[7] & 0xFF) + ((buf[6] & 0xFF) << 8) + ((buf[5] & 0xFF) << 16) + ((buf[4] & 0xFF) << 24);
+                while (remaining > 0) {
+                    r = source.read(buf, 0, Math.min(remaining, buf.length));
+                    int offset = 0;
+                    int lineLength = lineBuf != null ? lineBuf.length() : 0;
+                    for (int i = 0; i < r; i++, lineLength++) {
+                        endOfLine = false;
+                        if (buf[i] == '\n' || buf[i] == '\r' || lineLength > MAX_LINE_LENGTH) {
+                            int length = i - offset;
+                            if (buf[i] == '\r') {
+                                length += 1;
+                            }
+                            if (lineBuf != null && lineBuf.length() > 0) {
+                                lineBuf.append(new String(buf, offset, length, UTF_8));
+                                target.process(new LogMessage(logMessageType, lineBuf.toString()));
+                                lineBuf.setLength(0);
+                            } else {
+                                target.process(new LogMessage(logMessageType, new String(buf, offset, length, UTF_8)));
+                            }
+                            offset = i + 1;
+                            lineLength = 0;
+                            endOfLine = true;
+                        }
+                    }
+                    if (!endOfLine) {
+                        if (lineBuf == null) {
+                            lineBuf = new StringBuilder(MAX_LINE_LENGTH);
+                        }
+                        lineBuf.append(new String(buf, offset, r - offset, UTF_8));
+                    }
+                    remaining -= r;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Test of {@link LogMessagePumper}
+ */
+public class LogMessagePumperTest {
+    private static final int STDOUT = 1;
+    private static final int STDERR = 2;
+
+    @Test
+    public void shouldSplitFramesIntoLines() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        frame(stream, STDOUT, "first\nsec".getBytes(UTF_8));
+        frame(stream, STDOUT, "ond\nthird\r".getBytes(UTF_8));
+        frame(stream, STDOUT, "last".getBytes(UTF_8));
+
+        assertEquals(contents(pump(stream.toByteArray())), asList("first", "second", "third\r", "last"));
+    }
+
+    @Test
+    public void shouldDecodeCharactersSplitBetweenFrames() throws Exception {
+        final byte[] bytes = "\u00e9t\u00e9 \u20ac \ud83d\ude00\n".getBytes(UTF_8);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        // every byte in its own frame, so each multi-byte character is split
+        for (byte b : bytes) {
+            frame(stream, STDOUT, new byte[] {b});
+        }
+
+        assertEquals(contents(pump(stream.toByteArray())), asList("\u00e9t\u00e9 \u20ac \ud83d\ude00"));
+    }
+
+    @Test
+    public void shouldKeepLinesOfStreamsSeparately() throws Exception {
+        final byte[] euro = "\u20ac".getBytes(UTF_8);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        frame(stream, STDOUT, Arrays.copyOfRange(euro, 0, 1));
+        frame(stream, STDERR, "error\n".getBytes(UTF_8));
+        frame(stream, STDOUT, Arrays.copyOfRange(euro, 1, 3));
+        frame(stream, STDOUT, "\n".getBytes(UTF_8));
+
+        final List<LogMessage> messages = pump(stream.toByteArray());
+
+        assertEquals(messages.size(), 2);
+        assertEquals(messages.get(0).getType(), LogMessage.Type.STDERR);
+        assertEquals(messages.get(0).getContent(), "error");
+        assertEquals(messages.get(1).getType(), LogMessage.Type.STDOUT);
+        assertEquals(messages.get(1).getContent(), "\u20ac");
+    }
+
+    @Test
+    public void shouldSplitLongLines() throws Exception {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            sb.append((char)('a' + i % 26));
+        }
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        frame(stream, STDOUT, (sb + "\n").getBytes(UTF_8));
+
+        final List<String> lines = contents(pump(stream.toByteArray()));
+
+        assertEquals(lines.size(), 3);
+        assertEquals(String.join("", lines), sb.toString());
+        assertEquals(lines.get(0).length(), 1024);
+    }
+
+    @Test
+    public void shouldDeliverLinesOfOneChunkAsBatch() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        frame(stream, STDOUT, "a\nb\nc\n".getBytes(UTF_8));
+        frame(stream, STDOUT, "d\n".getBytes(UTF_8));
+        final List<List<LogMessage>> batches = new ArrayList<>();
+
+        new LogMessagePumper(new ByteArrayInputStream(stream.toByteArray()), (BatchMessageProcessor<LogMessage>)batches::add).start();
+
+        assertEquals(batches.size(), 2);
+        assertEquals(contents(batches.get(0)), asList("a", "b", "c"));
+        assertEquals(contents(batches.get(1)), asList("d"));
+    }
+
+    @Test
+    public void shouldStopOnTruncatedFrame() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        frame(stream, STDOUT, "line\npartial".getBytes(UTF_8));
+        final byte[] bytes = Arrays.copyOf(stream.toByteArray(), stream.size() - 3);
+
+        final List<String> lines = contents(pump(bytes));
+
+        assertEquals(lines, asList("line", "part"));
+    }
+
+    @Test
+    public void shouldReplaceMalformedInput() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        frame(stream, STDOUT, new byte[] {'a', (byte)0xFF, 'b', '\n'});
+
+        final List<String> lines = contents(pump(stream.toByteArray()));
+
+        assertEquals(lines.size(), 1);
+        assertTrue(lines.get(0).startsWith("a") && lines.get(0).endsWith("b"));
+    }
+
+    @Test
+    public void shouldSplitLongLinesOfNotUtf8Output() throws Exception {
+        // bytes which look like continuation of UTF-8 character, e.g. Latin-1 or binary output
+        final byte[] bytes = new byte[5000];
+        Arrays.fill(bytes, (byte)0xA0);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        frame(stream, STDOUT, bytes);
+        frame(stream, STDOUT, "\nnext\n".getBytes(UTF_8));
+
+        final List<String> lines = contents(pump(stream.toByteArray()));
+
+        assertEquals(lines.size(), 6);
+        assertEquals(lines.stream().limit(5).mapToInt(String::length).sum(), 5000);
+        assertEquals(lines.get(5), "next");
+    }
+
+    static void frame(ByteArrayOutputStream stream, int type, byte[] payload) {
+        final int length = payload.length;
+        stream.write(type);
+        stream.write(0);
+        stream.write(0);
+        stream.write(0);
+        stream.write(length >>> 24);
+        stream.write(length >>> 16);
+        stream.write(length >>> 8);
+        stream.write(length);
+        stream.write(payload, 0, length);
+    }
+
+    private static List<LogMessage> pump(byte[] bytes) throws Exception {
+        final List<LogMessage> messages = new ArrayList<>();
+        new LogMessagePumper(new ByteArrayInputStream(bytes), messages::add).start();
+        return messages;
+    }
+
+    private static List<String> contents(List<LogMessage> messages) {
+        return messages.stream().map(LogMessage::getContent).collect(toList());
+    }
+}
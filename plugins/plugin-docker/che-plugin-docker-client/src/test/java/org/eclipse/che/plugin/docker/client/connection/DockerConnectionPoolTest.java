@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+public class DockerConnectionPoolTest {
+    private static final String ENDPOINT = "unix:///var/run/docker.sock";
+
+    private DockerConnectionPool pool;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        pool = new DockerConnectionPool(2, 60000);
+    }
+
+    @Test
+    public void reusesReleasedConnection() throws Exception {
+        DockerSocket socket = newSocket(mock(Closeable.class));
+
+        assertNull(pool.acquire(ENDPOINT));
+        pool.release(ENDPOINT, socket);
+
+        assertSame(pool.acquire(ENDPOINT), socket);
+        assertNull(pool.acquire(ENDPOINT));
+        assertEquals(pool.getHits(), 1);
+        assertEquals(pool.getMisses(), 2);
+    }
+
+    @Test
+    public void doesNotShareConnectionsBetweenEndpoints() throws Exception {
+        pool.release(ENDPOINT, newSocket(mock(Closeable.class)));
+
+        assertNull(pool.acquire("http://localhost:2375"));
+    }
+
+    @Test
+    public void closesConnectionsOverMaxIdleConnections() throws Exception {
+        Closeable closeable1 = mock(Closeable.class);
+        Closeable closeable2 = mock(Closeable.class);
+        Closeable closeable3 = mock(Closeable.class);
+
+        pool.release(ENDPOINT, newSocket(closeable1));
+        pool.release(ENDPOINT, newSocket(closeable2));
+        pool.release(ENDPOINT, newSocket(closeable3));
+
+        verify(closeable1).close();
+        verify(closeable2, never()).close();
+        verify(closeable3, never()).close();
+    }
+
+    @Test
+    public void closesExpiredConnections() throws Exception {
+        pool = new DockerConnectionPool(2, 0);
+        Closeable closeable = mock(Closeable.class);
+        pool.release(ENDPOINT, newSocket(closeable));
+        Thread.sleep(5);
+
+        assertNull(pool.acquire(ENDPOINT));
+        verify(closeable).close();
+        assertEquals(pool.getExpired(), 1);
+    }
+
+    @Test
+    public void doesNotKeepConnectionsWhenPoolIsDisabled() throws Exception {
+        pool = new DockerConnectionPool(0, 60000);
+        Closeable closeable = mock(Closeable.class);
+
+        pool.release(ENDPOINT, newSocket(closeable));
+
+        verify(closeable).close();
+        assertNull(pool.acquire(ENDPOINT));
+    }
+
+    @Test
+    public void closesIdleConnectionsWhenPoolIsClosed() throws Exception {
+        Closeable closeable = mock(Closeable.class);
+        pool.release(ENDPOINT, newSocket(closeable));
+
+        pool.close();
+
+        verify(closeable).close();
+        assertNull(pool.acquire(ENDPOINT));
+    }
+
+    private DockerSocket newSocket(Closeable closeable) {
+        return new DockerSocket(new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream(), closeable);
+    }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+public class SocketDockerConnectionTest {
+    private static final String ENDPOINT = "unix:///var/run/docker.sock";
+    private static final String RESPONSE = "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n";
+
+    private DockerConnectionPool pool;
+    private TestConnection       connection;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        pool = new DockerConnectionPool(2, 60000);
+        connection = new TestConnection(pool);
+    }
+
+    @Test
+    public void resendsIdempotentRequestWhenPooledConnectionIsClosed() throws Exception {
+        pool.release(ENDPOINT, newSocket(new ByteArrayInputStream(new byte[0]), new ByteArrayOutputStream()));
+
+        DockerResponse response = connection.method("GET").path("/containers/json").request();
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(connection.connected, 1);
+    }
+
+    @Test
+    public void resendsIdempotentRequestWhenPooledConnectionIsReset() throws Exception {
+        pool.release(ENDPOINT, newSocket(failingInput(new SocketException("Connection reset")), new ByteArrayOutputStream()));
+
+        DockerResponse response = connection.method("DELETE").path("/containers/abc").request();
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(connection.connected, 1);
+    }
+
+    @Test(expectedExceptions = SocketTimeoutException.class)
+    public void doesNotResendRequestWhenReadingOfResponseIsTimedOut() throws Exception {
+        pool.release(ENDPOINT, newSocket(failingInput(new SocketTimeoutException("Read timed out")), new ByteArrayOutputStream()));
+
+        try {
+            connection.method("GET").path("/containers/json").request();
+        } finally {
+            assertEquals(connection.connected, 0);
+        }
+    }
+
+    @Test
+    public void sendsNotIdempotentRequestThroughNewConnection() throws Exception {
+        ByteArrayOutputStream pooledOutput = new ByteArrayOutputStream();
+        DockerSocket pooled = newSocket(new ByteArrayInputStream(RESPONSE.getBytes()), pooledOutput);
+        pool.release(ENDPOINT, pooled);
+
+        DockerResponse response = connection.method("POST").path("/containers/create").entity("{}").request();
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(connection.connected, 1);
+        assertEquals(pooledOutput.size(), 0);
+        assertEquals(pool.acquire(ENDPOINT), pooled);
+    }
+
+    @Test(expectedExceptions = SocketException.class)
+    public void doesNotResendNotIdempotentRequestWhenConnectionIsReset() throws Exception {
+        connection.next = newSocket(failingInput(new SocketException("Connection reset")), new ByteArrayOutputStream());
+
+        try {
+            connection.method("POST").path("/containers/abc/start").request();
+        } finally {
+            assertEquals(connection.connected, 1);
+            assertNull(pool.acquire(ENDPOINT));
+        }
+    }
+
+    private static DockerSocket newSocket(InputStream input, ByteArrayOutputStream output) {
+        return new DockerSocket(input, output, mock(Closeable.class));
+    }
+
+    private static InputStream failingInput(IOException error) {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw error;
+            }
+        };
+    }
+
+    private static class TestConnection extends SocketDockerConnection {
+        DockerSocket next;
+        int          connected;
+
+        TestConnection(DockerConnectionPool pool) {
+            super(pool);
+        }
+
+        @Override
+        String getEndpoint() {
+            return ENDPOINT;
+        }
+
+        @Override
+        DockerSocket connect() throws IOException {
+            connected++;
+            if (next != null) {
+                return next;
+            }
+            return newSocket(new ByteArrayInputStream(RESPONSE.getBytes()), new ByteArrayOutputStream());
+        }
+
+        @Override
+        String getHost() {
+            return null;
+        }
+    }
+}
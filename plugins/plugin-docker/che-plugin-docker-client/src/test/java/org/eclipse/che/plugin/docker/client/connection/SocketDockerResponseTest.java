@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SocketDockerResponseTest {
+    @Test
+    public void readsChunkedBody() throws Exception {
+        SocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                 "Transfer-Encoding: chunked\r\n" +
+                                                 "\r\n" +
+                                                 "5\r\nhello\r\n" +
+                                                 "6\r\n world\r\n" +
+                                                 "0\r\n\r\n");
+
+        assertEquals(response.getStatus(), 200);
+        assertEquals(new String(ByteStreams.toByteArray(response.getInputStream())), "hello world");
+    }
+
+    @Test
+    public void drainsRestOfReceivedChunkedBody() throws Exception {
+        InputStream input = input("HTTP/1.1 200 OK\r\n" +
+                                  "Transfer-Encoding: chunked\r\n" +
+                                  "\r\n" +
+                                  "5\r\nhello\r\n" +
+                                  "0\r\n\r\n" +
+                                  "HTTP/1.1 204 No Content\r\n\r\n");
+        SocketDockerResponse response = new SocketDockerResponse(input);
+        assertEquals(response.getInputStream().read(new byte[2]), 2);
+
+        assertTrue(response.isReusable());
+        assertTrue(response.drain(1024));
+        assertEquals(new SocketDockerResponse(input).getStatus(), 204);
+    }
+
+    @Test
+    public void drainsRestOfBodyWithContentLength() throws Exception {
+        SocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                 "Content-Length: 11\r\n" +
+                                                 "\r\n" +
+                                                 "hello world");
+        assertEquals(response.getInputStream().read(new byte[5]), 5);
+
+        assertTrue(response.isReusable());
+        assertFalse(response.drain(5));
+        assertTrue(response.drain(6));
+    }
+
+    @Test
+    public void responseWithNoContentStatusHasEmptyBody() throws Exception {
+        SocketDockerResponse response = response("HTTP/1.1 204 No Content\r\n\r\n");
+
+        assertEquals(response.getInputStream().read(), -1);
+        assertTrue(response.isReusable());
+    }
+
+    @Test
+    public void connectionIsNotReusableIfLengthOfBodyIsUnknown() throws Exception {
+        SocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                 "Content-Type: application/vnd.docker.raw-stream\r\n" +
+                                                 "\r\n" +
+                                                 "output");
+
+        assertFalse(response.isReusable());
+    }
+
+    @Test
+    public void connectionIsNotReusableIfDockerClosesIt() throws Exception {
+        SocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                 "Connection: close\r\n" +
+                                                 "Content-Length: 0\r\n" +
+                                                 "\r\n");
+
+        assertFalse(response.isReusable());
+    }
+
+    private SocketDockerResponse response(String raw) {
+        return new SocketDockerResponse(input(raw));
+    }
+
+    private InputStream input(String raw) {
+        return new BufferedInputStream(new ByteArrayInputStream(raw.getBytes()));
+    }
+}
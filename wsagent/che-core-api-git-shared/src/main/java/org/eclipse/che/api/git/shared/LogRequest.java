@@ -35,6 +35,31 @@ public interface LogRequest extends GitRequest {
     
     void setRevisionRangeSince(String revisionRangeSince);
     void setRevisionRangeUntil(String revisionRangeUntil);	
+
+    /** @return number of commits to skip before the first returned commit */
+    int getSkip();
+
+    void setSkip(int skip);
+
+    LogRequest withSkip(int skip);
+
+    /** @return max number of returned commits, {@code 0} means no limit */
+    int getMaxCount();
+
+    void setMaxCount(int maxCount);
+
+    LogRequest withMaxCount(int maxCount);
+
+    /**
+     * Revision to start log from instead of HEAD. May be used as cursor for reading log page by page:
+     * revision of the last commit of the previous page with skip {@code 1}.
+     */
+    String getFromRevision();
+
+    void setFromRevision(String fromRevision);
+
+    LogRequest withFromRevision(String fromRevision);
+
     // private List<String> fileFilter;
     // private boolean noRenames = true;
     // private int renameLimit;
@@ -27,4 +27,31 @@ public interface ShowFileContentResponse extends Log {
 
     /** @return response with established file content */
     ShowFileContentResponse withContent(String content);
+
+    /** @return path of the file */
+    String getFile();
+
+    /** set path of the file */
+    void setFile(String file);
+
+    /** @return response with established path of the file */
+    ShowFileContentResponse withFile(String file);
+
+    /** @return size of the file in bytes */
+    long getSize();
+
+    /** set size of the file in bytes */
+    void setSize(long size);
+
+    /** @return response with established size of the file */
+    ShowFileContentResponse withSize(long size);
+
+    /** @return {@code true} if file is larger than size limit, content of such file isn't loaded */
+    boolean isTruncated();
+
+    /** set whether content of the file is truncated */
+    void setTruncated(boolean truncated);
+
+    /** @return response with established truncated flag */
+    ShowFileContentResponse withTruncated(boolean truncated);
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Request to show contents of several files from specified revision or branch.
+ *
+ * @see ShowFileContentRequest
+ */
+@DTO
+public interface ShowFilesContentRequest {
+    /**
+     * Paths of files to show
+     */
+    List<String> getFiles();
+
+    void setFiles(List<String> files);
+
+    ShowFilesContentRequest withFiles(List<String> files);
+
+    /**
+     * hash of revision or branch
+     */
+    String getVersion();
+
+    void setVersion(String version);
+
+    ShowFilesContentRequest withVersion(String version);
+
+    /**
+     * Max size of file in bytes which content is returned, larger files are marked as truncated and their content isn't
+     * returned. Default limit is used if it is not positive.
+     */
+    long getSizeLimit();
+
+    void setSizeLimit(long sizeLimit);
+
+    ShowFilesContentRequest withSizeLimit(long sizeLimit);
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git.shared;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Changes of working tree status since the moment identified by token.
+ *
+ * @see Status
+ */
+@DTO
+public interface StatusChanges {
+    /** @return token which should be used for getting next changes */
+    String getToken();
+
+    void setToken(String token);
+
+    StatusChanges withToken(String token);
+
+    /**
+     * @return {@code true} if given token is unknown or expired, in this case {@link #getStatus()} contains status of all paths
+     * and client should drop status it has
+     */
+    boolean isFull();
+
+    void setFull(boolean full);
+
+    StatusChanges withFull(boolean full);
+
+    /**
+     * @return paths which status was changed since given token, including paths which don't have changes anymore, empty
+     * if {@link #isFull()} is {@code true}
+     */
+    List<String> getChanged();
+
+    void setChanged(List<String> changed);
+
+    StatusChanges withChanged(List<String> changed);
+
+    /** @return current status of {@link #getChanged() changed} paths, or status of all paths if {@link #isFull()} */
+    Status getStatus();
+
+    void setStatus(Status status);
+
+    StatusChanges withStatus(Status status);
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+/**
+ * Modification time and size of file, is used for detecting changes of file which are missed by file watcher.
+ */
+final class FileStamp {
+    static final FileStamp MISSING = new FileStamp(null, -1);
+
+    static FileStamp of(Path file) {
+        try {
+            final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+        } catch (IOException e) {
+            return MISSING;
+        }
+    }
+
+    final FileTime modified;
+    final long     size;
+
+    private FileStamp(FileTime modified, long size) {
+        this.modified = modified;
+        this.size = size;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FileStamp)) {
+            return false;
+        }
+        final FileStamp other = (FileStamp)obj;
+        return size == other.size && Objects.equals(modified, other.modified);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(modified, size);
+    }
+}
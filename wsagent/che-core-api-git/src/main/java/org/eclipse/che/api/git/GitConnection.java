@@ -47,6 +47,7 @@ import org.eclipse.che.api.git.shared.Revision;
 import org.eclipse.che.api.git.shared.RmRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentResponse;
+import org.eclipse.che.api.git.shared.ShowFilesContentRequest;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.che.api.git.shared.Tag;
@@ -65,6 +66,12 @@ import java.util.List;
  * @author andrew00x
  */
 public interface GitConnection extends Closeable {
+    /**
+     * Default max size of file in bytes which content is loaded for showing. Larger files are shown as binary in diff and
+     * their content is not loaded, such files are marked as truncated.
+     */
+    int FILE_SIZE_LIMIT = 10 * 1024 * 1024;
+
     File getWorkingDir();
 
     /**
@@ -205,7 +212,8 @@ public interface GitConnection extends Closeable {
     DiffPage diff(DiffRequest request) throws GitException;
 
     /**
-     * Show content of the file from specified revision or branch.
+     * Show content of the file from specified revision or branch. Content is returned regardless of size of the file, use
+     * {@link #showFilesContent(ShowFilesContentRequest)} to limit size of loaded content.
      *
      * @param request
      *         request with file and hash of revision or branch
@@ -217,6 +225,20 @@ public interface GitConnection extends Closeable {
      */
     ShowFileContentResponse showFileContent(ShowFileContentRequest request) throws GitException;
 
+    /**
+     * Show contents of several files from specified revision or branch. Content of file which is larger than size limit isn't
+     * loaded, such file is marked as truncated.
+     *
+     * @param request
+     *         request with files and hash of revision or branch
+     * @return responses with contents of the files in the same order as files in request
+     * @throws GitException
+     *         if files are not specified or any other error occurs
+     * @see ShowFilesContentRequest
+     * @see ShowFileContentResponse
+     */
+    List<ShowFileContentResponse> showFilesContent(ShowFilesContentRequest request) throws GitException;
+
     /**
      * Fetch data from remote repository.
      *
@@ -430,6 +452,20 @@ public interface GitConnection extends Closeable {
      */
     Status status(StatusFormat format) throws GitException;
 
+    /**
+     * Get status of given paths of working tree. Paths are relative to the root of working tree, path of folder restricts status
+     * to all files of this folder.
+     *
+     * @param format
+     *         the format of the ouput
+     * @param paths
+     *         paths which status should be returned, status of whole working tree is returned if list is empty
+     * @return status.
+     * @throws GitException
+     *         if any error occurs
+     */
+    Status status(StatusFormat format, List<String> paths) throws GitException;
+
     /**
      * Create new tag.
      *
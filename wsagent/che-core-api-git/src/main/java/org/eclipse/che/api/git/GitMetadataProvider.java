@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides metadata of git repository, i.e. current branch and URLs of remotes, without running git commands. Metadata is read
+ * directly from {@code HEAD} and {@code config} files of the repository, so it doesn't depend on the size of working tree.
+ * <p>
+ * Metadata is cached per repository. Cached metadata is checked against modification time and size of {@code HEAD} and
+ * {@code config} files on each access and is dropped on file watcher events about these files.
+ */
+@Singleton
+public class GitMetadataProvider {
+    private static final String DOT_GIT      = ".git";
+    private static final String HEAD         = "HEAD";
+    private static final String CONFIG       = "config";
+    private static final String GITDIR       = "gitdir:";
+    private static final String SYMREF       = "ref:";
+    private static final String BRANCH_REFS  = "refs/heads/";
+
+    private final Map<Path, Metadata> cache;
+
+    GitMetadataProvider() {
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    @Inject
+    public GitMetadataProvider(FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this();
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(this::isHeadOrConfig) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                final File file = virtualFile.toIoFile();
+                if (file != null) {
+                    cache.remove(file.toPath().getParent().toAbsolutePath().normalize());
+                }
+            }
+        });
+    }
+
+    /** Returns {@code true} if given folder is the working tree of git repository or its subfolder. */
+    public boolean isInsideWorkTree(File folder) throws IOException {
+        return findGitDir(folder) != null;
+    }
+
+    /**
+     * Returns name of the current branch of repository which contains given folder, or id of the current commit if HEAD is
+     * detached, or {@code null} if folder isn't inside of git repository.
+     */
+    public String getCurrentBranch(File folder) throws IOException {
+        final Metadata metadata = getMetadata(folder);
+        return metadata == null ? null : metadata.branch;
+    }
+
+    /**
+     * Returns URLs of remotes of repository which contains given folder in the order they are declared in config, or empty list
+     * if folder isn't inside of git repository.
+     */
+    public List<String> getRemoteUrls(File folder) throws IOException {
+        final Metadata metadata = getMetadata(folder);
+        return metadata == null ? Collections.emptyList() : metadata.remoteUrls;
+    }
+
+    private Metadata getMetadata(File folder) throws IOException {
+        final Path gitDir = findGitDir(folder);
+        if (gitDir == null) {
+            return null;
+        }
+        final Path head = gitDir.resolve(HEAD);
+        final Path config = gitDir.resolve(CONFIG);
+        final FileStamp headStamp = FileStamp.of(head);
+        final FileStamp configStamp = FileStamp.of(config);
+        Metadata metadata = cache.get(gitDir);
+        if (metadata == null || !metadata.headStamp.equals(headStamp) || !metadata.configStamp.equals(configStamp)) {
+            metadata = new Metadata(headStamp, configStamp, readBranch(head), readRemoteUrls(config));
+            cache.put(gitDir, metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Returns the root folder of working tree which contains given folder, or {@code null} if folder isn't inside of git
+     * repository.
+     */
+    public File getWorkTree(File folder) throws IOException {
+        final Path dotGit = findDotGit(folder);
+        return dotGit == null || resolveGitDir(dotGit) == null ? null : dotGit.getParent().toFile();
+    }
+
+    /** Returns git folder of repository which contains given folder, or {@code null} if folder isn't inside of git repository. */
+    Path findGitDir(File folder) throws IOException {
+        final Path dotGit = findDotGit(folder);
+        return dotGit == null ? null : resolveGitDir(dotGit);
+    }
+
+    /** Looks for .git entry of the given folder or its closest parent, like git does. */
+    private Path findDotGit(File folder) {
+        for (Path dir = folder.toPath().toAbsolutePath().normalize(); dir != null; dir = dir.getParent()) {
+            final Path dotGit = dir.resolve(DOT_GIT);
+            if (Files.exists(dotGit)) {
+                return dotGit;
+            }
+        }
+        return null;
+    }
+
+    private Path resolveGitDir(Path dotGit) throws IOException {
+        if (Files.isDirectory(dotGit)) {
+            return Files.isRegularFile(dotGit.resolve(HEAD)) ? dotGit : null;
+        }
+        // .git file of work tree or submodule which points to the actual git folder
+        final String content = new String(Files.readAllBytes(dotGit), StandardCharsets.UTF_8).trim();
+        if (content.startsWith(GITDIR)) {
+            final Path gitDir = dotGit.getParent().resolve(content.substring(GITDIR.length()).trim()).normalize();
+            return Files.isRegularFile(gitDir.resolve(HEAD)) ? gitDir : null;
+        }
+        return null;
+    }
+
+    private String readBranch(Path head) throws IOException {
+        final String content = new String(Files.readAllBytes(head), StandardCharsets.UTF_8).trim();
+        if (content.startsWith(SYMREF)) {
+            final String ref = content.substring(SYMREF.length()).trim();
+            return ref.startsWith(BRANCH_REFS) ? ref.substring(BRANCH_REFS.length()) : ref;
+        }
+        // detached HEAD contains id of commit
+        return content;
+    }
+
+    /** Reads first URL of each remote from git config, only syntax which is used for remotes is supported. */
+    private List<String> readRemoteUrls(Path config) throws IOException {
+        if (!Files.isRegularFile(config)) {
+            return Collections.emptyList();
+        }
+        final Map<String, String> urls = new LinkedHashMap<>();
+        String remote = null;
+        for (String line : Files.readAllLines(config, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == '#' || line.charAt(0) == ';') {
+                continue;
+            }
+            if (line.charAt(0) == '[') {
+                remote = parseRemoteSection(line);
+                continue;
+            }
+            if (remote != null) {
+                final int eq = line.indexOf('=');
+                if (eq > 0 && "url".equalsIgnoreCase(line.substring(0, eq).trim())) {
+                    urls.putIfAbsent(remote, parseValue(line.substring(eq + 1)));
+                }
+            }
+        }
+        return Collections.unmodifiableList(new ArrayList<>(urls.values()));
+    }
+
+    /** Returns name of remote if line is header of remote section, e.g. {@code [remote "origin"]}, otherwise {@code null}. */
+    private String parseRemoteSection(String line) {
+        final int end = line.lastIndexOf(']');
+        if (end < 0) {
+            return null;
+        }
+        final String header = line.substring(1, end).trim();
+        final int quote = header.indexOf('"');
+        if (quote < 0 || !"remote".equalsIgnoreCase(header.substring(0, quote).trim())) {
+            return null;
+        }
+        final int endQuote = header.lastIndexOf('"');
+        return endQuote > quote ? header.substring(quote + 1, endQuote) : null;
+    }
+
+    /** Removes quotes and trailing comment of value. */
+    private String parseValue(String value) {
+        final StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\\' && i + 1 < value.length()) {
+                sb.append(value.charAt(++i));
+            } else if ((c == '#' || c == ';') && !quoted) {
+                break;
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    private boolean isHeadOrConfig(VirtualFile virtualFile) {
+        final String name = virtualFile.getName();
+        final VirtualFile parent = virtualFile.getParent();
+        return (HEAD.equals(name) || CONFIG.equals(name)) && parent != null && DOT_GIT.equals(parent.getName());
+    }
+
+    private static class Metadata {
+        final FileStamp    headStamp;
+        final FileStamp    configStamp;
+        final String       branch;
+        final List<String> remoteUrls;
+
+        Metadata(FileStamp headStamp, FileStamp configStamp, String branch, List<String> remoteUrls) {
+            this.headStamp = headStamp;
+            this.configStamp = configStamp;
+            this.branch = branch;
+            this.remoteUrls = remoteUrls;
+        }
+    }
+}
@@ -44,7 +44,9 @@ import org.eclipse.che.api.git.shared.Revision;
 import org.eclipse.che.api.git.shared.RmRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentResponse;
+import org.eclipse.che.api.git.shared.ShowFilesContentRequest;
 import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusChanges;
 import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.che.api.git.shared.Tag;
 import org.eclipse.che.api.git.shared.TagCreateRequest;
@@ -69,6 +71,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
+import java.io.File;
 import java.net.URISyntaxException;
 import java.util.HashMap;
 import java.util.List;
@@ -86,6 +89,9 @@ public class GitService {
     @Inject
     private ProjectRegistry projectRegistry;
 
+    @Inject
+    private GitStatusCache gitStatusCache;
+
     @QueryParam("projectPath")
     private String projectPath;
 
@@ -207,6 +213,26 @@ public class GitService {
         }
     }
 
+    /**
+     * Show contents of several files from specified revision or branch.
+     *
+     * @param request
+     *         request that contains file names with their full paths and revision or branch
+     * @return responses that contain contents of the files, content of file which is larger than size limit isn't returned
+     * @throws ApiException
+     *         when some error occurred while retrieving the contents of the files
+     */
+    @Path("show-files")
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public GenericEntity<List<ShowFileContentResponse>> showFilesContent(ShowFilesContentRequest request) throws ApiException {
+        try (GitConnection gitConnection = getGitConnection()) {
+            return new GenericEntity<List<ShowFileContentResponse>>(gitConnection.showFilesContent(request)) {
+            };
+        }
+    }
+
     @Path("fetch")
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
@@ -344,10 +370,23 @@ public class GitService {
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
     public Status status(@QueryParam("format") StatusFormat format) throws ApiException {
         try (GitConnection gitConnection = getGitConnection()) {
+            if (format == StatusFormat.PORCELAIN) {
+                // IDE polls porcelain status as json, it is served from cache which is updated incrementally
+                return gitStatusCache.getStatus(new File(getAbsoluteProjectPath(projectPath)), gitConnection);
+            }
             return gitConnection.status(format);
         }
     }
 
+    @Path("status-changes")
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public StatusChanges statusChanges(@QueryParam("token") String token) throws ApiException {
+        try (GitConnection gitConnection = getGitConnection()) {
+            return gitStatusCache.getChanges(new File(getAbsoluteProjectPath(projectPath)), gitConnection, token);
+        }
+    }
+
     @Path("tag-create")
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
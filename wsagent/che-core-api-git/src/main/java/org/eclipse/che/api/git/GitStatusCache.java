@@ -0,0 +1,418 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusChanges;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.commons.lang.NameGenerator;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Keeps the last computed status of git repositories and updates it incrementally.
+ * <p>
+ * Paths reported by file watcher are collected as dirty and only status of dirty paths is recomputed on the next request.
+ * Status of whole working tree is recomputed when index, HEAD or exclude file of repository is changed, e.g. after add, commit,
+ * checkout or merge. Files modified with project API are marked as dirty immediately, without waiting for file watcher. Every
+ * change of status of a path gets a new version, so clients may request only paths which were changed since the token they got
+ * with previous changes, see {@link #getChanges(File, GitConnection, String)}.
+ * <p>
+ * Paths of status are relative to the root of working tree, so only status of the root folder of working tree is cached,
+ * status of other folders is always computed by {@link GitConnection}.
+ */
+@Singleton
+public class GitStatusCache {
+    /** Max number of dirty paths which are recomputed incrementally, whole working tree is recomputed if there are more. */
+    static final int MAX_DIRTY_PATHS   = 256;
+    /** Max number of remembered path versions, tokens which are older than forgotten versions get full status. */
+    static final int MAX_PATH_VERSIONS = 10000;
+
+    private static final String DOT_GIT   = ".git";
+    private static final String INDEX     = "index";
+    private static final String HEAD      = "HEAD";
+    private static final String EXCLUDE   = "info/exclude";
+    private static final String GITIGNORE = ".gitignore";
+    private static final String WORK_TREE = "";
+
+    private final GitMetadataProvider         gitMetadataProvider;
+    private final Map<Path, RepositoryStatus> repositories;
+
+    @Inject
+    public GitStatusCache(GitMetadataProvider gitMetadataProvider,
+                          FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                          EventService eventService,
+                          @Named("che.user.workspaces.storage") File workspaceRoot) {
+        this(gitMetadataProvider);
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(this::isWorkTreeFile) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                final File file = virtualFile.toIoFile();
+                if (file != null) {
+                    markDirty(file.toPath());
+                }
+            }
+        });
+        // File watcher delivers events with delay, while IDE requests status right after file is saved.
+        // Files which are modified with project API are marked as dirty before the response is sent.
+        eventService.subscribe(new EventSubscriber<ProjectItemModifiedEvent>() {
+            @Override
+            public void onEvent(ProjectItemModifiedEvent event) {
+                markDirty(resolve(workspaceRoot, event.getPath()));
+                if (event.getOldPath() != null) {
+                    markDirty(resolve(workspaceRoot, event.getOldPath()));
+                }
+            }
+        }, ProjectItemModifiedEvent.class);
+    }
+
+    GitStatusCache(GitMetadataProvider gitMetadataProvider) {
+        this.gitMetadataProvider = gitMetadataProvider;
+        this.repositories = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns status of working tree in {@link StatusFormat#PORCELAIN} format.
+     *
+     * @param folder
+     *         folder of working tree
+     * @param connection
+     *         connection to the repository of the folder, is used for recomputing status
+     * @throws GitException
+     *         if any error occurs
+     */
+    public Status getStatus(File folder, GitConnection connection) throws GitException {
+        final RepositoryStatus repository = getRepository(folder);
+        if (repository == null) {
+            return connection.status(StatusFormat.PORCELAIN);
+        }
+        return repository.getStatus(connection);
+    }
+
+    /**
+     * Returns paths which status was changed since the given token together with their current status. Status of all paths is
+     * returned if token is {@code null}, unknown or too old, or if folder isn't the root of working tree. In the last case the
+     * returned token is {@code null}.
+     *
+     * @param folder
+     *         folder of working tree
+     * @param connection
+     *         connection to the repository of the folder, is used for recomputing status
+     * @param token
+     *         token of previous changes, may be {@code null}
+     * @throws GitException
+     *         if any error occurs
+     */
+    public StatusChanges getChanges(File folder, GitConnection connection, String token) throws GitException {
+        final RepositoryStatus repository = getRepository(folder);
+        if (repository == null) {
+            return newDto(StatusChanges.class).withFull(true)
+                                              .withChanged(Collections.emptyList())
+                                              .withStatus(connection.status(StatusFormat.PORCELAIN));
+        }
+        return repository.getChanges(connection, token);
+    }
+
+    /**
+     * Marks path as dirty in all cached repositories which contain it. Ignore file may change status of any path in its folder,
+     * so the whole folder is marked as dirty when ignore file is changed.
+     */
+    void markDirty(Path path) {
+        final Path normalized = path.toAbsolutePath().normalize();
+        final Path dirty = GITIGNORE.equals(String.valueOf(normalized.getFileName())) ? normalized.getParent() : normalized;
+        repositories.forEach((workTree, repository) -> {
+            if (dirty.startsWith(workTree)) {
+                repository.markDirty(workTree.relativize(dirty).toString().replace(File.separatorChar, '/'));
+            }
+        });
+    }
+
+    private static Path resolve(File workspaceRoot, String vfsPath) {
+        return workspaceRoot.toPath().resolve(vfsPath.startsWith("/") ? vfsPath.substring(1) : vfsPath);
+    }
+
+    private RepositoryStatus getRepository(File folder) throws GitException {
+        final Path path = folder.toPath().toAbsolutePath().normalize();
+        final File workTree;
+        final Path gitDir;
+        try {
+            workTree = gitMetadataProvider.getWorkTree(folder);
+            gitDir = workTree == null ? null : gitMetadataProvider.findGitDir(folder);
+        } catch (IOException e) {
+            throw new GitException(e.getMessage(), e);
+        }
+        if (gitDir == null) {
+            repositories.remove(path);
+            return null;
+        }
+        if (!workTree.toPath().equals(path)) {
+            return null;
+        }
+        return repositories.computeIfAbsent(path, p -> new RepositoryStatus(gitDir));
+    }
+
+    private boolean isWorkTreeFile(VirtualFile virtualFile) {
+        if (repositories.isEmpty()) {
+            return false;
+        }
+        for (VirtualFile file = virtualFile; file != null; file = file.getParent()) {
+            if (DOT_GIT.equals(file.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Cached status of one repository. */
+    private static class RepositoryStatus {
+        final Path        gitDir;
+        final String      generation;
+        final Set<String> dirtyPaths;
+
+        FileStamp           indexStamp;
+        FileStamp           headStamp;
+        FileStamp           excludeStamp;
+        Status              status;
+        Map<String, String> categories;
+        Map<String, Long>   versions;
+        long                version;
+        long                minVersion;
+
+        RepositoryStatus(Path gitDir) {
+            this.gitDir = gitDir;
+            this.generation = NameGenerator.generate(null, 8);
+            this.dirtyPaths = ConcurrentHashMap.newKeySet();
+            this.categories = Collections.emptyMap();
+            this.versions = new HashMap<>();
+        }
+
+        void markDirty(String path) {
+            dirtyPaths.add(path);
+        }
+
+        synchronized Status getStatus(GitConnection connection) throws GitException {
+            refresh(connection);
+            return status;
+        }
+
+        synchronized StatusChanges getChanges(GitConnection connection, String token) throws GitException {
+            refresh(connection);
+            final StatusChanges changes = newDto(StatusChanges.class).withToken(generation + ':' + version);
+            final long since = parseToken(token);
+            if (since < minVersion || since > version) {
+                return changes.withFull(true).withChanged(Collections.emptyList()).withStatus(status);
+            }
+            final Set<String> changed = versions.entrySet()
+                                                .stream()
+                                                .filter(entry -> entry.getValue() > since)
+                                                .map(Map.Entry::getKey)
+                                                .collect(Collectors.toCollection(LinkedHashSet::new));
+            final Status changedStatus = copyOf(status, list -> list.stream().filter(changed::contains).collect(Collectors.toList()));
+            changedStatus.setClean(status.isClean());
+            return changes.withChanged(new ArrayList<>(changed)).withStatus(changedStatus);
+        }
+
+        private long parseToken(String token) {
+            final int separator = token == null ? -1 : token.lastIndexOf(':');
+            if (separator < 0 || !generation.equals(token.substring(0, separator))) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(token.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private void refresh(GitConnection connection) throws GitException {
+            // stamps are taken before computing status, so changes made during computation are seen on the next request
+            final FileStamp index = FileStamp.of(gitDir.resolve(INDEX));
+            final FileStamp head = FileStamp.of(gitDir.resolve(HEAD));
+            final FileStamp exclude = FileStamp.of(gitDir.resolve(EXCLUDE));
+            if (status == null
+                || !index.equals(indexStamp)
+                || !head.equals(headStamp)
+                || !exclude.equals(excludeStamp)
+                || dirtyPaths.contains(WORK_TREE)
+                || dirtyPaths.size() > MAX_DIRTY_PATHS) {
+                dirtyPaths.clear();
+                indexStamp = index;
+                headStamp = head;
+                excludeStamp = exclude;
+                update(copyOf(connection.status(StatusFormat.PORCELAIN), Function.identity()));
+                return;
+            }
+            if (dirtyPaths.isEmpty()) {
+                return;
+            }
+            final Set<String> paths = new HashSet<>();
+            for (Iterator<String> iterator = dirtyPaths.iterator(); iterator.hasNext(); ) {
+                paths.add(getUntrackedFolder(iterator.next()));
+                iterator.remove();
+            }
+            final Status partial = connection.status(StatusFormat.PORCELAIN, new ArrayList<>(paths));
+            final Status merged = newDto(Status.class);
+            merged.setFormat(StatusFormat.PORCELAIN);
+            merged.setBranchName(status.getBranchName());
+            merged.setRepositoryState(status.getRepositoryState());
+            merged.setAdded(merge(status.getAdded(), partial.getAdded(), paths));
+            merged.setChanged(merge(status.getChanged(), partial.getChanged(), paths));
+            merged.setRemoved(merge(status.getRemoved(), partial.getRemoved(), paths));
+            merged.setMissing(merge(status.getMissing(), partial.getMissing(), paths));
+            merged.setModified(merge(status.getModified(), partial.getModified(), paths));
+            merged.setUntracked(merge(status.getUntracked(), partial.getUntracked(), paths));
+            merged.setUntrackedFolders(merge(status.getUntrackedFolders(), partial.getUntrackedFolders(), paths));
+            merged.setConflicting(merge(status.getConflicting(), partial.getConflicting(), paths));
+            merged.setClean(isClean(merged));
+            update(merged);
+        }
+
+        /**
+         * Returns untracked folder which contains given path, or path itself if it isn't inside of untracked folder. Status of
+         * whole untracked folder is recomputed since it may become tracked or may be split into untracked files.
+         */
+        private String getUntrackedFolder(String path) {
+            for (String folder : status.getUntrackedFolders()) {
+                if (isUnder(path, Collections.singleton(folder))) {
+                    return folder;
+                }
+            }
+            return path;
+        }
+
+        /** Sets new status and gives new version to all paths which status was changed. */
+        private void update(Status newStatus) {
+            final Map<String, String> newCategories = getCategories(newStatus);
+            final Set<String> changed = new HashSet<>();
+            newCategories.forEach((path, category) -> {
+                if (!category.equals(categories.get(path))) {
+                    changed.add(path);
+                }
+            });
+            categories.keySet().stream().filter(path -> !newCategories.containsKey(path)).forEach(changed::add);
+            if (!changed.isEmpty()) {
+                version++;
+                changed.forEach(path -> versions.put(path, version));
+                if (versions.size() > MAX_PATH_VERSIONS) {
+                    versions.clear();
+                    minVersion = version;
+                }
+            }
+            status = newStatus;
+            categories = newCategories;
+        }
+    }
+
+    /** Returns entries of base which are not under any of given paths followed by all entries of partial. */
+    private static List<String> merge(List<String> base, List<String> partial, Set<String> paths) {
+        final Set<String> result = new LinkedHashSet<>();
+        for (String path : base) {
+            if (!isUnder(path, paths)) {
+                result.add(path);
+            }
+        }
+        result.addAll(nullToEmpty(partial));
+        return new ArrayList<>(result);
+    }
+
+    /** Checks whether path is equal to one of given paths or is located in one of them. */
+    private static boolean isUnder(String path, Set<String> paths) {
+        for (String current = path; ; ) {
+            if (paths.contains(current)) {
+                return true;
+            }
+            final int separator = current.lastIndexOf('/');
+            if (separator < 0) {
+                return false;
+            }
+            current = current.substring(0, separator);
+        }
+    }
+
+    private static Map<String, String> getCategories(Status status) {
+        final Map<String, String> categories = new HashMap<>();
+        addCategory(categories, status.getAdded(), "added");
+        addCategory(categories, status.getChanged(), "changed");
+        addCategory(categories, status.getRemoved(), "removed");
+        addCategory(categories, status.getMissing(), "missing");
+        addCategory(categories, status.getModified(), "modified");
+        addCategory(categories, status.getUntracked(), "untracked");
+        addCategory(categories, status.getUntrackedFolders(), "untrackedFolder");
+        addCategory(categories, status.getConflicting(), "conflicting");
+        return categories;
+    }
+
+    private static void addCategory(Map<String, String> categories, Collection<String> paths, String category) {
+        for (String path : paths) {
+            categories.merge(path, category, (a, b) -> a + ',' + b);
+        }
+    }
+
+    private static boolean isClean(Status status) {
+        return status.getAdded().isEmpty()
+               && status.getChanged().isEmpty()
+               && status.getRemoved().isEmpty()
+               && status.getMissing().isEmpty()
+               && status.getModified().isEmpty()
+               && status.getUntracked().isEmpty()
+               && status.getUntrackedFolders().isEmpty()
+               && status.getConflicting().isEmpty();
+    }
+
+    /** Copies status to dto, lists of paths are copied with given function. */
+    private static Status copyOf(Status status, Function<List<String>, List<String>> paths) {
+        final Status copy = newDto(Status.class);
+        copy.setFormat(StatusFormat.PORCELAIN);
+        copy.setBranchName(status.getBranchName());
+        copy.setRepositoryState(status.getRepositoryState());
+        copy.setAdded(new ArrayList<>(paths.apply(nullToEmpty(status.getAdded()))));
+        copy.setChanged(new ArrayList<>(paths.apply(nullToEmpty(status.getChanged()))));
+        copy.setRemoved(new ArrayList<>(paths.apply(nullToEmpty(status.getRemoved()))));
+        copy.setMissing(new ArrayList<>(paths.apply(nullToEmpty(status.getMissing()))));
+        copy.setModified(new ArrayList<>(paths.apply(nullToEmpty(status.getModified()))));
+        copy.setUntracked(new ArrayList<>(paths.apply(nullToEmpty(status.getUntracked()))));
+        copy.setUntrackedFolders(new ArrayList<>(paths.apply(nullToEmpty(status.getUntrackedFolders()))));
+        copy.setConflicting(new ArrayList<>(paths.apply(nullToEmpty(status.getConflicting()))));
+        copy.setClean(isClean(copy));
+        return copy;
+    }
+
+    private static List<String> nullToEmpty(List<String> paths) {
+        return paths == null ? Collections.emptyList() : paths;
+    }
+}
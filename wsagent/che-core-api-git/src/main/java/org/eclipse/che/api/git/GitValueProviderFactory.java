@@ -13,9 +13,6 @@ package org.eclipse.che.api.git;
 import com.google.inject.Inject;
 
 import org.eclipse.che.api.core.ApiException;
-import org.eclipse.che.api.git.shared.Remote;
-import org.eclipse.che.api.git.shared.RemoteListRequest;
-import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
@@ -23,23 +20,26 @@ import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 
 import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.eclipse.che.api.git.GitProjectType.GIT_CURRENT_BRANCH_NAME;
 import static org.eclipse.che.api.git.GitProjectType.GIT_REPOSITORY_REMOTES;
 import static org.eclipse.che.api.git.GitProjectType.VCS_PROVIDER_NAME;
-import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
+ * Provides values of git project attributes. Values are read from repository metadata with {@link GitMetadataProvider}
+ * instead of running status and remote commands, since attributes are requested on each project listing.
+ *
  * @author Roman Nikitenko
  */
 @Singleton
 public class GitValueProviderFactory implements ValueProviderFactory {
 
     @Inject
-    private GitConnectionFactory gitConnectionFactory;
+    private GitMetadataProvider gitMetadataProvider;
 
     @Override
     public ValueProvider newInstance(final FolderEntry folder) {
@@ -49,9 +49,10 @@ public class GitValueProviderFactory implements ValueProviderFactory {
                 if (folder == null) {
                     return Collections.emptyList();
                 }
-                try (GitConnection gitConnection = gitConnectionFactory.getConnection(resolveLocalPath(folder))) {
+                try {
+                    final File localPath = resolveLocalPath(folder);
                     //check whether the folder belongs to git repository
-                    if (!gitConnection.isInsideWorkTree()) {
+                    if (localPath == null || !gitMetadataProvider.isInsideWorkTree(localPath)) {
                         return Collections.emptyList();
                     }
 
@@ -59,23 +60,21 @@ public class GitValueProviderFactory implements ValueProviderFactory {
                         case VCS_PROVIDER_NAME:
                             return Collections.singletonList("git");
                         case GIT_CURRENT_BRANCH_NAME:
-                            return Collections.singletonList(gitConnection.status(StatusFormat.LONG).getBranchName());
+                            final String branch = gitMetadataProvider.getCurrentBranch(localPath);
+                            return branch == null ? Collections.emptyList() : Collections.singletonList(branch);
                         case GIT_REPOSITORY_REMOTES:
-                            return gitConnection.remoteList(newDto(RemoteListRequest.class))
-                                                .stream()
-                                                .map(Remote::getUrl)
-                                                .collect(Collectors.toList());
+                            return gitMetadataProvider.getRemoteUrls(localPath);
                         default:
                             return Collections.emptyList();
                     }
-                } catch (ApiException e) {
+                } catch (ApiException | IOException e) {
                     throw new ValueStorageException(e.getMessage());
                 }
             }
         };
     }
 
-    private String resolveLocalPath(FolderEntry folder) throws ApiException {
-        return folder.getVirtualFile().toIoFile().getAbsolutePath();
+    private File resolveLocalPath(FolderEntry folder) throws ApiException {
+        return folder.getVirtualFile().toIoFile();
     }
 }
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Tests for {@link GitMetadataProvider}.
+ */
+public class GitMetadataProviderTest {
+    private static final String CONFIG = "[core]\n"
+                                         + "\trepositoryformatversion = 0\n"
+                                         + "# comment\n"
+                                         + "[remote \"origin\"]\n"
+                                         + "\turl = https://github.com/eclipse/che.git ; comment\n"
+                                         + "\tfetch = +refs/heads/*:refs/remotes/origin/*\n"
+                                         + "[branch \"master\"]\n"
+                                         + "\tremote = origin\n"
+                                         + "\turl = not-a-remote\n"
+                                         + "[remote \"upstream\"]\n"
+                                         + "\tURL = \"git@github.com:codenvy/che.git\"\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private GitMetadataProvider provider;
+    private File                workTree;
+    private Path                gitDir;
+
+    @Before
+    public void setUp() throws Exception {
+        provider = new GitMetadataProvider();
+        workTree = temporaryFolder.newFolder("project");
+        gitDir = workTree.toPath().resolve(".git");
+        Files.createDirectories(gitDir);
+        write(gitDir.resolve("HEAD"), "ref: refs/heads/master\n");
+        write(gitDir.resolve("config"), CONFIG);
+    }
+
+    @Test
+    public void testNotInsideWorkTree() throws Exception {
+        File folder = temporaryFolder.newFolder("other");
+
+        Assert.assertFalse(provider.isInsideWorkTree(folder));
+        Assert.assertNull(provider.getCurrentBranch(folder));
+        Assert.assertEquals(Collections.emptyList(), provider.getRemoteUrls(folder));
+    }
+
+    @Test
+    public void testReadMetadataOfSubfolder() throws Exception {
+        File subfolder = new File(workTree, "src/main");
+        Assert.assertTrue(subfolder.mkdirs());
+
+        Assert.assertTrue(provider.isInsideWorkTree(subfolder));
+        Assert.assertEquals("master", provider.getCurrentBranch(subfolder));
+        Assert.assertEquals(Arrays.asList("https://github.com/eclipse/che.git", "git@github.com:codenvy/che.git"),
+                            provider.getRemoteUrls(subfolder));
+    }
+
+    @Test
+    public void testDetachedHead() throws Exception {
+        String commit = "5d321a2c0e8b1f2a4c6d7e8f9a0b1c2d3e4f5a6b";
+        write(gitDir.resolve("HEAD"), commit + "\n");
+
+        Assert.assertEquals(commit, provider.getCurrentBranch(workTree));
+    }
+
+    @Test
+    public void testGitFileWhichPointsToGitDir() throws Exception {
+        File linked = temporaryFolder.newFolder("linked");
+        write(linked.toPath().resolve(".git"), "gitdir: ../project/.git\n");
+
+        Assert.assertTrue(provider.isInsideWorkTree(linked));
+        Assert.assertEquals("master", provider.getCurrentBranch(linked));
+    }
+
+    @Test
+    public void testMetadataIsReloadedWhenHeadChanged() throws Exception {
+        Assert.assertEquals("master", provider.getCurrentBranch(workTree));
+
+        Path head = gitDir.resolve("HEAD");
+        FileTime modified = Files.getLastModifiedTime(head);
+        write(head, "ref: refs/heads/feature\n");
+        Files.setLastModifiedTime(head, FileTime.fromMillis(modified.toMillis() + 1000));
+
+        Assert.assertEquals("feature", provider.getCurrentBranch(workTree));
+    }
+
+    @Test
+    public void testMetadataIsReloadedWhenConfigChanged() throws Exception {
+        Assert.assertEquals(2, provider.getRemoteUrls(workTree).size());
+
+        write(gitDir.resolve("config"), "[core]\n\tbare = false\n");
+
+        Assert.assertEquals(Collections.emptyList(), provider.getRemoteUrls(workTree));
+    }
+
+    private void write(Path file, String content) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusChanges;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.eclipse.che.api.git.shared.StatusFormat.PORCELAIN;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link GitStatusCache}.
+ */
+public class GitStatusCacheTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private GitStatusCache cache;
+    private GitConnection  connection;
+    private File           workTree;
+    private Path           gitDir;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new GitStatusCache(new GitMetadataProvider());
+        connection = mock(GitConnection.class);
+        workTree = temporaryFolder.newFolder("project");
+        gitDir = workTree.toPath().resolve(".git");
+        Files.createDirectories(gitDir);
+        write(gitDir.resolve("HEAD"), "ref: refs/heads/master\n");
+        write(gitDir.resolve("index"), "index");
+    }
+
+    @Test
+    public void testStatusIsCachedUntilIndexChanged() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.singletonList("a.txt"), Collections.emptyList()));
+
+        cache.getStatus(workTree, connection);
+        Status status = cache.getStatus(workTree, connection);
+
+        verify(connection).status(PORCELAIN);
+        Assert.assertEquals(Collections.singletonList("a.txt"), status.getModified());
+        Assert.assertFalse(status.isClean());
+
+        write(gitDir.resolve("index"), "new index");
+        cache.getStatus(workTree, connection);
+
+        verify(connection, times(2)).status(PORCELAIN);
+    }
+
+    @Test
+    public void testOnlyDirtyPathsAreRecomputed() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Arrays.asList("a.txt", "src/b.txt"), Collections.emptyList()));
+        when(connection.status(eq(PORCELAIN), anyListOf(String.class))).thenReturn(status(Collections.emptyList(),
+                                                                                          Collections.emptyList()));
+        cache.getStatus(workTree, connection);
+
+        cache.markDirty(workTree.toPath().resolve("src/b.txt"));
+        Status status = cache.getStatus(workTree, connection);
+
+        verify(connection).status(PORCELAIN);
+        verify(connection).status(PORCELAIN, Collections.singletonList("src/b.txt"));
+        Assert.assertEquals(Collections.singletonList("a.txt"), status.getModified());
+    }
+
+    @Test
+    public void testUntrackedFolderIsRecomputedWhenItsFileChanged() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.emptyList(), Collections.singletonList("build")));
+        when(connection.status(eq(PORCELAIN), anyListOf(String.class))).thenReturn(status(Collections.emptyList(),
+                                                                                          Collections.emptyList()));
+        cache.getStatus(workTree, connection);
+
+        cache.markDirty(workTree.toPath().resolve("build/classes/A.class"));
+        Status status = cache.getStatus(workTree, connection);
+
+        verify(connection).status(PORCELAIN, Collections.singletonList("build"));
+        Assert.assertTrue(status.getUntrackedFolders().isEmpty());
+        Assert.assertTrue(status.isClean());
+    }
+
+    @Test
+    public void testChangesSinceToken() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.singletonList("a.txt"), Collections.emptyList()));
+        when(connection.status(eq(PORCELAIN), anyListOf(String.class))).thenReturn(status(Collections.singletonList("b.txt"),
+                                                                                          Collections.emptyList()));
+        StatusChanges initial = cache.getChanges(workTree, connection, null);
+
+        Assert.assertTrue(initial.isFull());
+        Assert.assertEquals(Collections.singletonList("a.txt"), initial.getStatus().getModified());
+
+        cache.markDirty(workTree.toPath().resolve("b.txt"));
+        StatusChanges changes = cache.getChanges(workTree, connection, initial.getToken());
+
+        Assert.assertFalse(changes.isFull());
+        Assert.assertEquals(Collections.singletonList("b.txt"), changes.getChanged());
+        Assert.assertEquals(Collections.singletonList("b.txt"), changes.getStatus().getModified());
+
+        StatusChanges noChanges = cache.getChanges(workTree, connection, changes.getToken());
+
+        Assert.assertFalse(noChanges.isFull());
+        Assert.assertTrue(noChanges.getChanged().isEmpty());
+        Assert.assertEquals(changes.getToken(), noChanges.getToken());
+    }
+
+    @Test
+    public void testUnknownTokenGetsFullStatus() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.singletonList("a.txt"), Collections.emptyList()));
+
+        StatusChanges changes = cache.getChanges(workTree, connection, "unknown:1");
+
+        Assert.assertTrue(changes.isFull());
+        Assert.assertEquals(Collections.singletonList("a.txt"), changes.getStatus().getModified());
+    }
+
+    @Test
+    public void testStatusOfSubfolderIsNotCached() throws Exception {
+        File subfolder = new File(workTree, "src");
+        Assert.assertTrue(subfolder.mkdir());
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.emptyList(), Collections.emptyList()));
+
+        cache.getStatus(subfolder, connection);
+        cache.getStatus(subfolder, connection);
+
+        verify(connection, times(2)).status(PORCELAIN);
+        verify(connection, never()).status(eq(PORCELAIN), anyListOf(String.class));
+    }
+
+    @Test
+    public void testFolderIsRecomputedWhenItsIgnoreFileChanged() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.emptyList(), Collections.emptyList()));
+        when(connection.status(eq(PORCELAIN), anyListOf(String.class))).thenReturn(status(Collections.emptyList(),
+                                                                                          Collections.singletonList("src/gen")));
+        cache.getStatus(workTree, connection);
+
+        cache.markDirty(workTree.toPath().resolve("src/.gitignore"));
+        Status status = cache.getStatus(workTree, connection);
+
+        verify(connection).status(PORCELAIN, Collections.singletonList("src"));
+        Assert.assertEquals(Collections.singletonList("src/gen"), status.getUntrackedFolders());
+    }
+
+    @Test
+    public void testWorkTreeIsRecomputedWhenRootIgnoreFileChanged() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.emptyList(), Collections.emptyList()));
+        cache.getStatus(workTree, connection);
+
+        cache.markDirty(workTree.toPath().resolve(".gitignore"));
+        cache.getStatus(workTree, connection);
+
+        verify(connection, times(2)).status(PORCELAIN);
+        verify(connection, never()).status(eq(PORCELAIN), anyListOf(String.class));
+    }
+
+    @Test
+    public void testStatusIsRecomputedWhenExcludeFileChanged() throws Exception {
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.emptyList(), Collections.emptyList()));
+        cache.getStatus(workTree, connection);
+
+        Files.createDirectories(gitDir.resolve("info"));
+        write(gitDir.resolve("info/exclude"), "build/\n");
+        cache.getStatus(workTree, connection);
+
+        verify(connection, times(2)).status(PORCELAIN);
+    }
+
+    @Test
+    public void testFileModifiedWithProjectApiIsMarkedDirtyImmediately() throws Exception {
+        EventService eventService = new EventService();
+        File workspaceRoot = workTree.getParentFile();
+        cache = new GitStatusCache(new GitMetadataProvider(), mock(FileWatcherNotificationHandler.class), eventService, workspaceRoot);
+        when(connection.status(PORCELAIN)).thenReturn(status(Collections.emptyList(), Collections.emptyList()));
+        when(connection.status(eq(PORCELAIN), anyListOf(String.class))).thenReturn(status(Collections.singletonList("a.txt"),
+                                                                                          Collections.emptyList()));
+        cache.getStatus(workTree, connection);
+
+        eventService.publish(new ProjectItemModifiedEvent(ProjectItemModifiedEvent.EventType.UPDATED,
+                                                          "workspace",
+                                                          "/project",
+                                                          "/project/a.txt",
+                                                          false));
+        Status status = cache.getStatus(workTree, connection);
+
+        verify(connection).status(PORCELAIN, Collections.singletonList("a.txt"));
+        Assert.assertEquals(Collections.singletonList("a.txt"), status.getModified());
+    }
+
+    private Status status(List<String> modified, List<String> untrackedFolders) {
+        Status status = newDto(Status.class);
+        status.setFormat(PORCELAIN);
+        status.setBranchName("master");
+        status.setModified(modified);
+        status.setUntrackedFolders(untrackedFolders);
+        status.setClean(modified.isEmpty() && untrackedFolders.isEmpty());
+        return status;
+    }
+
+    private void write(Path file, String content) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
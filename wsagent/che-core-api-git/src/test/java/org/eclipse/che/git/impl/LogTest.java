@@ -114,4 +114,92 @@ public class LogTest {
         assertEquals(1, newFileCommitCount);
         assertEquals(4, allFilesCommitCount);
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogWithSkipAndMaxCount(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        for (int i = 1; i <= 5; i++) {
+            addFile(connection, "README.txt", "changes " + i);
+            connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+            connection.commit(newDto(CommitRequest.class).withMessage("Commit " + i));
+        }
+
+        //when
+        List<Revision> firstPage = connection.log(newDto(LogRequest.class).withMaxCount(2)).getCommits();
+        List<Revision> secondPage = connection.log(newDto(LogRequest.class).withSkip(2).withMaxCount(2)).getCommits();
+        List<Revision> lastPage = connection.log(newDto(LogRequest.class).withSkip(4).withMaxCount(2)).getCommits();
+
+        //then
+        assertEquals(firstPage.size(), 2);
+        assertEquals(firstPage.get(0).getMessage(), "Commit 5");
+        assertEquals(firstPage.get(1).getMessage(), "Commit 4");
+        assertEquals(secondPage.size(), 2);
+        assertEquals(secondPage.get(0).getMessage(), "Commit 3");
+        assertEquals(secondPage.get(1).getMessage(), "Commit 2");
+        assertEquals(lastPage.size(), 1);
+        assertEquals(lastPage.get(0).getMessage(), "Commit 1");
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogFromRevision(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        for (int i = 1; i <= 4; i++) {
+            addFile(connection, "README.txt", "changes " + i);
+            connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+            connection.commit(newDto(CommitRequest.class).withMessage("Commit " + i));
+        }
+        List<Revision> firstPage = connection.log(newDto(LogRequest.class).withMaxCount(2)).getCommits();
+
+        //when
+        List<Revision> nextPage = connection.log(newDto(LogRequest.class).withFromRevision(firstPage.get(1).getId())
+                                                                              .withSkip(1)
+                                                                          .withMaxCount(2)).getCommits();
+
+        //then
+        assertEquals(nextPage.size(), 2);
+        assertEquals(nextPage.get(0).getMessage(), "Commit 2");
+        assertEquals(nextPage.get(1).getMessage(), "Commit 1");
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testLogFromRevisionWithinRevisionRange(GitConnectionFactory connectionFactory) throws GitException, IOException {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        for (int i = 1; i <= 6; i++) {
+            addFile(connection, "README.txt", "changes " + i);
+            connection.add(newDto(AddRequest.class).withFilepattern(ImmutableList.of("README.txt")));
+            connection.commit(newDto(CommitRequest.class).withMessage("Commit " + i));
+        }
+        List<Revision> all = connection.log(newDto(LogRequest.class)).getCommits();
+        String since = all.get(4).getId();
+        String until = all.get(0).getId();
+        List<Revision> firstPage = connection.log(rangeLogRequest(since, until).withMaxCount(2)).getCommits();
+
+        //when
+        List<Revision> nextPage = connection.log(rangeLogRequest(since, until).withFromRevision(firstPage.get(1).getId())
+                                                                              .withSkip(1)
+                                                                              .withMaxCount(2)).getCommits();
+
+        //then
+        assertEquals(firstPage.size(), 2);
+        assertEquals(firstPage.get(0).getMessage(), "Commit 6");
+        assertEquals(firstPage.get(1).getMessage(), "Commit 5");
+        assertEquals(nextPage.size(), 2);
+        assertEquals(nextPage.get(0).getMessage(), "Commit 4");
+        assertEquals(nextPage.get(1).getMessage(), "Commit 3");
+
+        List<Revision> lastPage = connection.log(rangeLogRequest(since, until).withFromRevision(nextPage.get(1).getId())
+                                                                              .withSkip(1)
+                                                                              .withMaxCount(2)).getCommits();
+        assertEquals(lastPage.size(), 0);
+    }
+
+    private static LogRequest rangeLogRequest(String since, String until) {
+        LogRequest request = newDto(LogRequest.class);
+        request.setRevisionRangeSince(since);
+        request.setRevisionRangeUntil(until);
+        return request;
+    }
 }
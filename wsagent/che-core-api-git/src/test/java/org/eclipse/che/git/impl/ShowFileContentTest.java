@@ -22,6 +22,7 @@ import org.eclipse.che.api.git.shared.BranchCreateRequest;
 import org.eclipse.che.api.git.shared.CommitRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentResponse;
+import org.eclipse.che.api.git.shared.ShowFilesContentRequest;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -30,12 +31,16 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Igor Vinokur
@@ -98,4 +103,56 @@ public class ShowFileContentTest {
         //when
         connection.showFileContent(newDto(ShowFileContentRequest.class).withFile("dummyFile").withVersion("HEAD"));
     }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testShowFilesContent(GitConnectionFactory connectionFactory) throws Exception {
+        //given
+        //create new repository
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "a", "a content");
+        addFile(connection.getWorkingDir().toPath().resolve("dir"), "b", "b content");
+        connection.add(newDto(AddRequest.class).withFilepattern(Arrays.asList(".")));
+        connection.commit(newDto(CommitRequest.class).withMessage("Test commit"));
+        //when
+        final List<ShowFileContentResponse> responses =
+                connection.showFilesContent(newDto(ShowFilesContentRequest.class).withFiles(Arrays.asList("dir/b", "a"))
+                                                                                 .withVersion("HEAD"));
+        //then
+        assertEquals(responses.size(), 2);
+        assertEquals(responses.get(0).getFile(), "dir/b");
+        assertEquals(responses.get(0).getContent(), "b content");
+        assertEquals(responses.get(0).getSize(), 9);
+        assertFalse(responses.get(0).isTruncated());
+        assertEquals(responses.get(1).getFile(), "a");
+        assertEquals(responses.get(1).getContent(), "a content");
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class)
+    public void testShowFilesContentDoesNotLoadFileLargerThanLimit(GitConnectionFactory connectionFactory) throws Exception {
+        //given
+        //create new repository
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "newFile", "new file content");
+        connection.add(newDto(AddRequest.class).withFilepattern(Arrays.asList(".")));
+        connection.commit(newDto(CommitRequest.class).withMessage("Test commit"));
+        //when
+        final List<ShowFileContentResponse> responses =
+                connection.showFilesContent(newDto(ShowFilesContentRequest.class).withFiles(Arrays.asList("newFile"))
+                                                                                 .withVersion("HEAD")
+                                                                                 .withSizeLimit(10));
+        //then
+        assertTrue(responses.get(0).isTruncated());
+        assertNull(responses.get(0).getContent());
+        assertEquals(responses.get(0).getSize(), 16);
+    }
+
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = GitConnectionFactoryProvider.class,
+          expectedExceptions = GitException.class)
+    public void testShowFilesContentWithoutFiles(GitConnectionFactory connectionFactory) throws Exception {
+        //given
+        //create new repository
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        //when
+        connection.showFilesContent(newDto(ShowFilesContentRequest.class).withVersion("HEAD"));
+    }
 }
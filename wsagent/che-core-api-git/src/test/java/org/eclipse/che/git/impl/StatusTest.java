@@ -25,6 +25,7 @@ import static java.util.Arrays.asList;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.eclipse.che.git.impl.GitTestUtil.*;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -94,6 +95,23 @@ public class StatusTest {
         assertTrue(status.getRemoved().isEmpty());
     }
 
+    @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
+    public void testStatusOfPaths(GitConnectionFactory connectionFactory) throws Exception {
+        //given
+        GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+        addFile(connection, "a", "a content");
+        addFile(connection, "b", "b content");
+        addFile(connection.getWorkingDir().toPath().resolve("new_directory"), "c", "c content");
+        //when
+        final Status status = connection.status(StatusFormat.PORCELAIN, asList("a", "new_directory"));
+        //then
+        assertTrue(status.getUntracked().contains("a"));
+        assertFalse(status.getUntracked().contains("b"));
+        assertEquals(status.getUntrackedFolders(), asList("new_directory"));
+        assertTrue(status.getAdded().isEmpty());
+        assertTrue(status.getModified().isEmpty());
+    }
+
     @Test(dataProvider = "GitConnectionFactory", dataProviderClass = org.eclipse.che.git.impl.GitConnectionFactoryProvider.class)
     public void testAdded(GitConnectionFactory connectionFactory) throws Exception {
         //given
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/** Single page of search result. */
+@DTO
+public interface ProjectSearchResponseDto {
+    /** Total number of files that match the search criteria. */
+    int getTotalHits();
+
+    void setTotalHits(int totalHits);
+
+    ProjectSearchResponseDto withTotalHits(int totalHits);
+
+    /** Files of this page that match the search criteria. */
+    List<SearchResultDto> getItemReferences();
+
+    void setItemReferences(List<SearchResultDto> itemReferences);
+
+    ProjectSearchResponseDto withItemReferences(List<SearchResultDto> itemReferences);
+
+    /** Value of 'skipCount' parameter for retrieving next page of search result or {@code 0} if there is no more results. */
+    int getNextPageSkipCount();
+
+    void setNextPageSkipCount(int nextPageSkipCount);
+
+    ProjectSearchResponseDto withNextPageSkipCount(int nextPageSkipCount);
+
+    /**
+     * Opaque cursor for retrieving next page of search result or {@code null} if there is no more results. Cursor should be sent in
+     * 'cursor' parameter together with the same search criteria.
+     */
+    String getNextPageCursor();
+
+    void setNextPageCursor(String nextPageCursor);
+
+    ProjectSearchResponseDto withNextPageCursor(String nextPageCursor);
+}
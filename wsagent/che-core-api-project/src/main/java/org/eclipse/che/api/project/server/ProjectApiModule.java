@@ -21,6 +21,7 @@ import org.eclipse.che.api.project.server.importer.ProjectImportersService;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.InitBaseProjectTypeHandler;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.vfs.MediaTypeDetector;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
@@ -59,6 +60,8 @@ public class ProjectApiModule extends AbstractModule {
         bind(WorkspaceProjectsSyncer.class).to(WorkspaceHolder.class);
 
         // configure VFS
+        bind(MediaTypeDetector.class);
+
         Multibinder<VirtualFileFilter> filtersMultibinder = Multibinder.newSetBinder(binder(),
                                                                                      VirtualFileFilter.class,
                                                                                      Names.named("vfs.index_filter"));
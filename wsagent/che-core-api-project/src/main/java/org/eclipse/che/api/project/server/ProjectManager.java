@@ -119,12 +119,22 @@ public final class ProjectManager {
                                                .withType(eventType));
             }
         };
+        // keeps unconfigured projects on the root of workspace up to date
+        FileWatcherNotificationListener rootFoldersListener =
+                new FileWatcherNotificationListener(virtualFile -> virtualFile.isFolder() && virtualFile.getPath().length() == 1) {
+                    @Override
+                    public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                        projectRegistry.rootFoldersChanged();
+                    }
+                };
         fileWatchNotifier.addNotificationListener(defaultListener);
+        fileWatchNotifier.addNotificationListener(rootFoldersListener);
         try {
             fileWatcher.startup();
         } catch (IOException e) {
             LOG.error(e.getMessage(), e);
             fileWatchNotifier.removeNotificationListener(defaultListener);
+            fileWatchNotifier.removeNotificationListener(rootFoldersListener);
         }
     }
 
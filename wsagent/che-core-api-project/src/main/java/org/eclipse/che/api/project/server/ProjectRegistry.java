@@ -36,12 +36,16 @@ import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Stores internal representation of Projects registered in the Workspace Agent.
+ * <p>
+ * Folders on the root of workspace which are not configured as projects are registered as projects as well. Root folders are
+ * listed again only if registry is notified about their changes with {@link #rootFoldersChanged()}, e.g. by file watcher, or if
+ * modification date of root folder is changed. Paths of projects are indexed by their ancestors, so lookup of sub-projects
+ * doesn't depend on number of registered projects.
  *
  * @author gazarenkov
  */
@@ -50,6 +54,8 @@ public class ProjectRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
     private final Map<String, RegisteredProject> projects;
+    /** Paths of projects by paths of their ancestors. */
+    private final Map<String, Set<String>>        projectsByAncestor;
     private final WorkspaceProjectsSyncer        workspaceHolder;
     private final VirtualFileSystem              vfs;
     private final ProjectTypeRegistry            projectTypeRegistry;
@@ -57,7 +63,9 @@ public class ProjectRegistry {
     private final FolderEntry                    root;
     private final EventService eventService;
 
-    private boolean initialized;
+    private volatile boolean initialized;
+    private volatile boolean rootFoldersChanged;
+    private volatile long    rootLastModified;
 
     @Inject
     public ProjectRegistry(WorkspaceProjectsSyncer workspaceHolder,
@@ -67,6 +75,7 @@ public class ProjectRegistry {
                            EventService eventService) throws ServerException {
         this.eventService = eventService;
         this.projects = new ConcurrentHashMap<>();
+        this.projectsByAncestor = new ConcurrentHashMap<>();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.projectTypeRegistry = projectTypeRegistry;
@@ -90,16 +99,17 @@ public class ProjectRegistry {
                 putProject(projectConfig, projectFolder, false, false);
             } catch (ProjectTypeConstraintException e) {
                 //in case bad config
-                projects.put(path, new RegisteredProject(projectFolder, false, false, projectTypeRegistry, new Problem(12, e.getMessage())));
+                register(path, new RegisteredProject(projectFolder, false, false, projectTypeRegistry, new Problem(12, e.getMessage())));
             } catch (NotFoundException e) {
                 //in case project type not found
-                projects.put(path, new RegisteredProject(projectFolder, false, false, projectTypeRegistry, new Problem(13, e.getMessage())));
+                register(path, new RegisteredProject(projectFolder, false, false, projectTypeRegistry, new Problem(13, e.getMessage())));
             } catch (ValueStorageException e) {
                 //in case can't calculate Attributes
-                projects.put(path, new RegisteredProject(projectFolder, false, false, projectTypeRegistry, new Problem(14, e.getMessage())));
+                register(path, new RegisteredProject(projectFolder, false, false, projectTypeRegistry, new Problem(14, e.getMessage())));
             }
         }
 
+        rootFoldersChanged = true;
         initUnconfiguredFolders();
 
         initialized = true;
@@ -147,12 +157,7 @@ public class ProjectRegistry {
 
         initUnconfiguredFolders();
 
-        final Path root = Path.of(absolutizePath(parentPath));
-
-        return projects.keySet()
-                       .stream()
-                       .filter(key -> Path.of(key).isChild(root))
-                       .collect(Collectors.toList());
+        return getIndexedProjects(parentPath);
     }
 
     /**
@@ -163,25 +168,27 @@ public class ProjectRegistry {
     public RegisteredProject getParentProject(String path) {
         checkInitializationState();
 
-        // return this if a project
-        if (getProject(path) != null) {
-            return getProject(path);
-        }
+        initUnconfiguredFolders();
 
-        // otherwise try to find matched parent
-        Path test;
-        while ((test = Path.of(path).getParent()) != null) {
+        // return this if a project or try to find matched parent otherwise
+        for (Path test = Path.of(absolutizePath(path)); test != null; test = test.getParent()) {
             final RegisteredProject project = projects.get(test.toString());
             if (project != null) {
                 return project;
             }
-
-            path = test.toString();
         }
 
         return null;
     }
 
+    /**
+     * Notifies registry that folders on the root of workspace are created, removed or renamed, so they should be checked again
+     * on the next access to the registry.
+     */
+    public void rootFoldersChanged() {
+        rootFoldersChanged = true;
+    }
+
     /**
      * Creates RegisteredProject and caches it.
      *
@@ -206,7 +213,7 @@ public class ProjectRegistry {
                                                           NotFoundException {
 
         final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
-        projects.put(project.getPath(), project);
+        register(project.getPath(), project);
 
         return project;
     }
@@ -223,13 +230,51 @@ public class ProjectRegistry {
     void removeProjects(String path) throws ServerException {
 
         List<RegisteredProject> removed = new ArrayList<>();
-        Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
-        getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
-                                               .ifPresent(removed::add));
+        synchronized (this) {
+            final RegisteredProject project = unregister(path);
+            if (project != null) {
+                removed.add(project);
+            }
+            for (String child : getIndexedProjects(path)) {
+                final RegisteredProject childProject = unregister(child);
+                if (childProject != null) {
+                    removed.add(childProject);
+                }
+            }
+        }
 
         removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
     }
 
+    /** Returns paths of all projects under specified path. */
+    private List<String> getIndexedProjects(String parentPath) {
+        final Set<String> children = projectsByAncestor.get(Path.of(absolutizePath(parentPath)).toString());
+        return children == null ? new ArrayList<>() : new ArrayList<>(children);
+    }
+
+    /** Adds project to the registry and to the index of project paths. */
+    private synchronized void register(String path, RegisteredProject project) {
+        if (projects.put(path, project) == null) {
+            for (Path ancestor = Path.of(path).getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+                projectsByAncestor.computeIfAbsent(ancestor.toString(), a -> ConcurrentHashMap.newKeySet()).add(path);
+            }
+        }
+    }
+
+    /** Removes project from the registry and from the index of project paths. */
+    private synchronized RegisteredProject unregister(String path) {
+        final RegisteredProject project = projects.remove(path);
+        if (project != null) {
+            for (Path ancestor = Path.of(path).getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+                projectsByAncestor.computeIfPresent(ancestor.toString(), (a, children) -> {
+                    children.remove(path);
+                    return children.isEmpty() ? null : children;
+                });
+            }
+        }
+        return project;
+    }
+
     /*  ------------------------------------------ */
     /*   to use from extension                     */
     /*  ------------------------------------------ */
@@ -348,7 +393,7 @@ public class ProjectRegistry {
             newMixins.remove(type);
         } else if (newType.equals(type)) {
             if (project.isDetected()) {
-                projects.remove(project.getPath());
+                unregister(project.getPath());
                 return null;
             }
 
@@ -375,16 +420,29 @@ public class ProjectRegistry {
         return (path.startsWith("/")) ? path : "/".concat(path);
     }
 
-    /** Try to initialize projects from unconfigured folders on root. */
+    /** Try to initialize projects from unconfigured folders on root if root folders are changed since last check. */
     private void initUnconfiguredFolders() {
-        try {
-            for (FolderEntry folder : root.getChildFolders()) {
-                if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
-                    putProject(null, folder, true, false);
+        final long lastModified = root.getVirtualFile().getLastModificationDate();
+        if (!rootFoldersChanged && lastModified == rootLastModified) {
+            return;
+        }
+        synchronized (this) {
+            if (!rootFoldersChanged && lastModified == rootLastModified) {
+                return;
+            }
+            // reset before listing, so changes made while folders are listed are not missed
+            rootFoldersChanged = false;
+            rootLastModified = lastModified;
+            try {
+                for (FolderEntry folder : root.getChildFolders()) {
+                    if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
+                        putProject(null, folder, true, false);
+                    }
                 }
+            } catch (ServerException | ConflictException | NotFoundException e) {
+                rootFoldersChanged = true;
+                LOG.warn(e.getLocalizedMessage());
             }
-        } catch (ServerException | ConflictException | NotFoundException e) {
-            LOG.warn(e.getLocalizedMessage());
         }
     }
 
@@ -17,7 +17,6 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
 import org.apache.commons.fileupload.FileItem;
-import org.apache.tika.Tika;
 import org.eclipse.che.WorkspaceIdProvider;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -36,8 +35,11 @@ import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.ProjectSearchResponseDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
+import org.eclipse.che.api.vfs.MediaTypeDetector;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.QueryExpression;
 import org.eclipse.che.api.vfs.search.SearchResult;
@@ -80,6 +82,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static javax.ws.rs.HttpMethod.DELETE;
 import static javax.ws.rs.HttpMethod.GET;
 import static javax.ws.rs.HttpMethod.PUT;
@@ -109,17 +112,18 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Path("/project")
 @Singleton
 public class ProjectService extends Service {
-    private static final Logger LOG  = LoggerFactory.getLogger(ProjectService.class);
-    private static final Tika   TIKA = new Tika();
+    private static final Logger LOG = LoggerFactory.getLogger(ProjectService.class);
 
-    private final ProjectManager projectManager;
-    private final EventService   eventService;
-    private final String         workspace;
+    private final ProjectManager    projectManager;
+    private final EventService      eventService;
+    private final MediaTypeDetector mediaTypeDetector;
+    private final String            workspace;
 
     @Inject
-    public ProjectService(ProjectManager projectManager, EventService eventService) {
+    public ProjectService(ProjectManager projectManager, EventService eventService, MediaTypeDetector mediaTypeDetector) {
         this.projectManager = projectManager;
         this.eventService = eventService;
+        this.mediaTypeDetector = mediaTypeDetector;
         this.workspace = WorkspaceIdProvider.getWorkspaceId();
     }
 
@@ -453,7 +457,10 @@ public class ProjectService extends Service {
         if (file == null) {
             throw new NotFoundException("File not found for " + path);
         }
-        return Response.ok().entity(file.getInputStream()).type(TIKA.detect(file.getName())).build();
+        return Response.ok()
+                       .entity(file.getInputStream())
+                       .type(mediaTypeDetector.detect(file.getVirtualFile()).toString())
+                       .build();
     }
 
     @PUT
@@ -716,7 +723,7 @@ public class ProjectService extends Service {
 
         final VirtualFile virtualFile = file.getVirtualFile();
 
-        return Response.ok(virtualFile.getContent(), TIKA.detect(virtualFile.getName()))
+        return Response.ok(virtualFile.getContent(), mediaTypeDetector.detect(virtualFile).toString())
                        .lastModified(new Date(virtualFile.getLastModificationDate()))
                        .header(HttpHeaders.CONTENT_LENGTH, Long.toString(virtualFile.getLength()))
                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + virtualFile.getName() + '"')
@@ -868,6 +875,87 @@ public class ProjectService extends Service {
         return items;
     }
 
+    @GET
+    @Path("/search-occurrences/{path:.*}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Search for text in files",
+                  notes = "Search for files that contain text and return locations of text in each file. Line number, column range and " +
+                          "content of line are returned for each occurrence of text, so client doesn't need to open files.",
+                  response = ProjectSearchResponseDto.class)
+    @ApiResponses({@ApiResponse(code = 200, message = "OK"),
+                   @ApiResponse(code = 403, message = "User not authorized to call this operation"),
+                   @ApiResponse(code = 404, message = "Not found"),
+                   @ApiResponse(code = 409, message = "Conflict error"),
+                   @ApiResponse(code = 500, message = "Internal Server Error")})
+    public ProjectSearchResponseDto searchOccurrences(@ApiParam(value = "Path to resource, i.e. where to search?", required = true)
+                                                      @PathParam("path") String path,
+                                                      @ApiParam(value = "Resource name")
+                                                      @QueryParam("name") String name,
+                                                      @ApiParam(value = "Search keywords", required = true)
+                                                      @QueryParam("text") String text,
+                                                      @ApiParam(value = "Maximum items to display. " +
+                                                                        "If this parameter is dropped, there are no limits")
+                                                      @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
+                                                      @ApiParam(value = "Skip count")
+                                                      @QueryParam("skipCount") int skipCount,
+                                                      @ApiParam(value = "Cursor of the next page that is returned with previous page, " +
+                                                                        "if it is set then 'skipCount' is ignored")
+                                                      @QueryParam("cursor") String cursor) throws NotFoundException,
+                                                                                                  ForbiddenException,
+                                                                                                  ConflictException,
+                                                                                                  ServerException {
+        final ProjectSearchResponseDto response = newDto(ProjectSearchResponseDto.class);
+        final Searcher searcher;
+        try {
+            searcher = projectManager.getSearcher();
+        } catch (NotFoundException e) {
+            LOG.warn(e.getLocalizedMessage());
+            return response;
+        }
+
+        if (skipCount < 0) {
+            throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
+        }
+        if (isNullOrEmpty(text)) {
+            throw new ConflictException("Parameter 'text' is required.");
+        }
+
+        final QueryExpression expr = new QueryExpression()
+                .setPath(path.startsWith("/") ? path : ('/' + path))
+                .setName(name)
+                .setText(text)
+                .setMaxItems(maxItems)
+                .setSkipCount(skipCount)
+                .setCursor(cursor)
+                .setIncludeOccurrences(true);
+
+        final SearchResult result = searcher.search(expr);
+        final List<SearchResultEntry> searchResultEntries = result.getResults();
+        final List<SearchResultDto> items = new ArrayList<>(searchResultEntries.size());
+        final FolderEntry root = projectManager.getProjectsRoot();
+
+        for (SearchResultEntry searchResultEntry : searchResultEntries) {
+            final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
+
+            if (child != null && child.isFile()) {
+                items.add(newDto(SearchResultDto.class).withItemReference(injectFileLinks(asDto((FileEntry)child)))
+                                                       .withSearchOccurrences(searchResultEntry.getOccurrences()
+                                                                                               .stream()
+                                                                                               .map(DtoConverter::asDto)
+                                                                                               .collect(Collectors.toList())));
+            }
+        }
+
+        response.withTotalHits(result.getTotalHits())
+                .withItemReferences(items);
+        if (result.getNextPageQueryExpression().isPresent()) {
+            final QueryExpression nextPageQueryExpression = result.getNextPageQueryExpression().get();
+            response.withNextPageSkipCount(nextPageQueryExpression.getSkipCount())
+                    .withNextPageCursor(nextPageQueryExpression.getCursor());
+        }
+        return response;
+    }
+
     private void logProjectCreatedEvent(@NotNull String projectName, @NotNull String projectType) {
         LOG.info("EVENT#project-created# PROJECT#{}# TYPE#{}# WS#{}# USER#{}# PAAS#default#",
                  projectName,
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.detect.Detector;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.mime.MediaType;
+import org.apache.tika.mime.MediaTypeRegistry;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Detects media type of files. Type of file is detected by name (extension) of file and content of file is read only if name of file
+ * is not enough to detect its type. Results of detection are cached, cached result is used until modification date of file is changed.
+ * <p>
+ * Tika configuration is heavy to create so detector is singleton and components that need to detect media type of files should get
+ * it by injection.
+ */
+@Singleton
+public class MediaTypeDetector {
+    private static final int MAX_CACHE_SIZE = 10000;
+
+    private final Detector                         detector;
+    private final Detector                         nameDetector;
+    private final MediaTypeRegistry                registry;
+    private final Cache<String, DetectedMediaType> cache;
+
+    @Inject
+    public MediaTypeDetector() {
+        this(TikaConfig.getDefaultConfig(), MAX_CACHE_SIZE);
+    }
+
+    MediaTypeDetector(TikaConfig tikaConfig, int maxCacheSize) {
+        this.detector = tikaConfig.getDetector();
+        this.nameDetector = tikaConfig.getMimeRepository();
+        this.registry = tikaConfig.getMediaTypeRegistry();
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxCacheSize).build();
+    }
+
+    /**
+     * Detects media type of file. Type is detected by name of file first, content of file is read only if type can't be detected by
+     * name.
+     *
+     * @return media type of file or {@link MediaType#OCTET_STREAM} if type is unknown
+     */
+    public MediaType detect(VirtualFile file) {
+        final Path path = file.getPath();
+        if (path == null) {
+            return doDetect(file);
+        }
+        final String key = path.toString();
+        final long lastModified = file.getLastModificationDate();
+        final DetectedMediaType cached = cache.getIfPresent(key);
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.mediaType;
+        }
+        final MediaType mediaType = doDetect(file);
+        cache.put(key, new DetectedMediaType(mediaType, lastModified));
+        return mediaType;
+    }
+
+    /**
+     * Detects media type by name of file only.
+     *
+     * @return media type of file or {@link MediaType#OCTET_STREAM} if type is unknown
+     */
+    public MediaType detect(String fileName) {
+        if (fileName == null) {
+            return MediaType.OCTET_STREAM;
+        }
+        final Metadata metadata = new Metadata();
+        metadata.set(Metadata.RESOURCE_NAME_KEY, fileName);
+        try {
+            return nameDetector.detect(null, metadata);
+        } catch (IOException e) {
+            // never thrown when input stream is null
+            return MediaType.OCTET_STREAM;
+        }
+    }
+
+    /** Returns {@code true} if specified media type is {@code text/*} or specialization of {@code text/plain}, e.g. application/xml. */
+    public boolean isText(MediaType mediaType) {
+        return "text".equals(mediaType.getType()) || registry.isSpecializationOf(mediaType, MediaType.TEXT_PLAIN);
+    }
+
+    private MediaType doDetect(VirtualFile file) {
+        final MediaType byName = detect(file.getName());
+        if (!MediaType.OCTET_STREAM.equals(byName)) {
+            return byName;
+        }
+        try (InputStream content = new BufferedInputStream(file.getContent())) {
+            return detector.detect(content, new Metadata());
+        } catch (ForbiddenException | ServerException | IOException e) {
+            return MediaType.OCTET_STREAM;
+        }
+    }
+
+    private static class DetectedMediaType {
+        final MediaType mediaType;
+        final long      lastModified;
+
+        DetectedMediaType(MediaType mediaType, long lastModified) {
+            this.mediaType = mediaType;
+            this.lastModified = lastModified;
+        }
+    }
+}
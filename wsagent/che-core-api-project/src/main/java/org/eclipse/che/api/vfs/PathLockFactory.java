@@ -10,6 +10,18 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
@@ -30,15 +42,32 @@ package org.eclipse.che.api.vfs;
  *         }
  *      }
  * </pre>
+ * Locks are hierarchical: lock of path conflicts with locks of its ancestors and descendants obtained by other threads if any of
+ * these locks is exclusive. State of locks is kept in nodes of concurrent map, each node is changed atomically and independently
+ * of other nodes, so there is no lock which is held by all threads. Each node of ancestor keeps number of locks obtained in its
+ * subtree, so conflicts with descendants are checked without looking through all locks. Thread which gets lock checks and
+ * increments counters of ancestors one by one, and only after that checks and changes node of the path itself. If any node
+ * conflicts, counters which are already incremented are rolled back, so state of other threads is never changed by failed
+ * attempt. Thread which can't get lock waits until node that prevents it to get lock is changed, only threads waiting for nodes
+ * of the released path and its ancestors are woken up.
  *
  * @author andrew00x>
  */
 public final class PathLockFactory {
-    private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final int  MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
+    private static final long NO_OWNER            = -1;
+
     /** Max number of threads allowed to access file. */
-    private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    private final int                        maxThreads;
+    /** Max number of not exclusive locks of file. */
+    private final int                        maxSharedLocks;
+    private final ConcurrentHashMap<Path, Node> nodes;
+
+    private final LongAdder  acquisitions;
+    private final LongAdder  contendedAcquisitions;
+    private final LongAdder  timeouts;
+    private final LongAdder  waitTimeNanos;
+    private final AtomicLong maxWaitTimeNanos;
 
     /**
      * @param maxThreads
@@ -50,145 +79,352 @@ public final class PathLockFactory {
             throw new IllegalArgumentException();
         }
         this.maxThreads = maxThreads;
+        this.maxSharedLocks = Math.max(maxThreads - 1, 1);
+        nodes = new ConcurrentHashMap<>();
+        acquisitions = new LongAdder();
+        contendedAcquisitions = new LongAdder();
+        timeouts = new LongAdder();
+        waitTimeNanos = new LongAdder();
+        maxWaitTimeNanos = new AtomicLong();
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
-            }
-        }
+    /** Returns statistics of waiting for locks collected since this factory is created. */
+    public Statistics getStatistics() {
+        return new Statistics(acquisitions.sum(),
+                              contendedAcquisitions.sum(),
+                              timeouts.sum(),
+                              TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.sum()),
+                              TimeUnit.NANOSECONDS.toMillis(maxWaitTimeNanos.get()));
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    /**
+     * Acquires lock and returns time in nanoseconds spent for waiting.
+     *
+     * @param timeoutNanos
+     *         max waiting time in nanoseconds, negative value means wait without timeout
+     */
+    private long acquire(Path path, boolean exclusive, long timeoutNanos) {
+        final List<Path> ancestors = ancestorsOf(path);
+        final Thread current = Thread.currentThread();
+        final long startTime = System.nanoTime();
+        boolean waited = false;
+        Path waitFor = null;
+        while (true) {
+            if (waitFor != null) {
+                stopWaiting(waitFor, current);
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+            waitFor = tryAcquire(path, ancestors, exclusive, current);
+            if (waitFor == null) {
+                break;
+            }
+            waited = true;
+
+            if (timeoutNanos < 0) {
+                LockSupport.park(this);
+            } else {
+                final long remaining = timeoutNanos - (System.nanoTime() - startTime);
+                if (remaining <= 0) {
+                    stopWaiting(waitFor, current);
+                    timeouts.increment();
+                    throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            if (Thread.interrupted()) {
+                stopWaiting(waitFor, current);
+                throw new RuntimeException(new InterruptedException());
             }
-            waitTime = endTime - now;
         }
+
+        acquisitions.increment();
+        if (waited) {
+            final long waitTime = System.nanoTime() - startTime;
+            contendedAcquisitions.increment();
+            waitTimeNanos.add(waitTime);
+            maxWaitTimeNanos.accumulateAndGet(waitTime, Math::max);
+            return waitTime;
+        }
+        return 0;
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
-            }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+    /**
+     * Tries to get lock. Counters of ancestors are checked and incremented optimistically, if any of ancestors or the path itself
+     * conflicts then incremented counters are rolled back and current thread is registered as waiter of the conflicting node.
+     *
+     * @return path of node which prevents current thread to get lock or {@code null} if lock is obtained
+     */
+    private Path tryAcquire(Path path, List<Path> ancestors, boolean exclusive, Thread current) {
+        final long threadId = current.getId();
+        final Attempt attempt = new Attempt();
+        for (int i = 0; i < ancestors.size(); i++) {
+            final Path ancestor = ancestors.get(i);
+            nodes.compute(ancestor, (p, node) -> {
+                if (node == null) {
+                    node = new Node();
+                }
+                if (node.isExclusivelyLockedByOther(threadId) || exclusive && hasOtherThreads(node.sharedHolders, threadId)) {
+                    node.waiters.add(current);
+                    attempt.conflict = true;
+                } else {
+                    increment(node.descendantHolders, threadId);
+                    if (exclusive) {
+                        increment(node.descendantExclusiveHolders, threadId);
                     }
+                }
+                return node;
+            });
+            if (attempt.conflict) {
+                rollback(ancestors.subList(0, i), exclusive, threadId);
+                return ancestor;
+            }
+        }
+        try {
+            nodes.compute(path, (p, node) -> {
+                if (node == null) {
+                    node = new Node();
+                }
+                if (node.isExclusivelyLockedByOther(threadId)
+                    || exclusive && hasOtherThreads(node.sharedHolders, threadId)
+                    || !exclusive && node.exclusiveOwner != threadId && node.sharedLocks >= maxSharedLocks
+                    || hasOtherThreads(exclusive ? node.descendantHolders : node.descendantExclusiveHolders, threadId)) {
+                    node.waiters.add(current);
+                    attempt.conflict = true;
                 } else {
-                    --prev.threadDeep;
+                    grant(node, exclusive, threadId);
                 }
+                return node;
+            });
+        } catch (RuntimeException | Error e) {
+            rollback(ancestors, exclusive, threadId);
+            throw e;
+        }
+        if (attempt.conflict) {
+            rollback(ancestors, exclusive, threadId);
+            return path;
+        }
+        return null;
+    }
+
+    private void grant(Node node, boolean exclusive, long threadId) {
+        if (exclusive) {
+            if (node.exclusiveOwner == threadId) {
+                if (node.exclusiveLocks > MAX_RECURSIVE_LOCKS) {
+                    throw new Error("Max number of recursive locks exceeded. ");
+                }
+                ++node.exclusiveLocks;
+            } else {
+                node.exclusiveOwner = threadId;
+                node.exclusiveLocks = 1;
             }
-            node = node.prev;
+        } else {
+            increment(node.sharedHolders, threadId);
+            ++node.sharedLocks;
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
     }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
+    /** Decrements counters of ancestors which were incremented by failed attempt and wakes up threads which are waiting for them. */
+    private void rollback(List<Path> ancestors, boolean exclusive, long threadId) {
+        final List<Thread> waiters = new ArrayList<>();
+        for (Path ancestor : ancestors) {
+            releaseDescendant(ancestor, exclusive, threadId, waiters);
+        }
+        unpark(waiters);
+    }
+
+    private void stopWaiting(Path waitFor, Thread current) {
+        nodes.computeIfPresent(waitFor, (p, node) -> {
+            node.waiters.remove(current);
+            return node.isUnused() ? null : node;
+        });
+    }
+
+    private void release(Path path, boolean exclusive) {
+        final List<Thread> waiters = new ArrayList<>();
+        final long[] holder = {NO_OWNER};
+        nodes.computeIfPresent(path, (p, node) -> {
+            if (exclusive) {
+                if (node.exclusiveOwner == NO_OWNER) {
+                    return node;
                 }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
+                holder[0] = node.exclusiveOwner;
+                if (--node.exclusiveLocks == 0) {
+                    node.exclusiveOwner = NO_OWNER;
                 }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
-                    return false;
+            } else {
+                if (node.sharedHolders.isEmpty()) {
+                    return node;
                 }
+                final long current = Thread.currentThread().getId();
+                holder[0] = node.sharedHolders.containsKey(current) ? current : node.sharedHolders.keySet().iterator().next();
+                decrement(node.sharedHolders, holder[0]);
+                --node.sharedLocks;
             }
-            node = node.prev;
+            waiters.addAll(node.waiters);
+            return node.isUnused() ? null : node;
+        });
+        if (holder[0] == NO_OWNER) {
+            return;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
+        for (Path ancestor : ancestorsOf(path)) {
+            releaseDescendant(ancestor, exclusive, holder[0], waiters);
+        }
+        unpark(waiters);
     }
 
-    public synchronized void checkClean() {
-        assert tail.prev == null;
+    private void releaseDescendant(Path ancestor, boolean exclusive, long threadId, List<Thread> waiters) {
+        nodes.computeIfPresent(ancestor, (p, node) -> {
+            decrement(node.descendantHolders, threadId);
+            if (exclusive) {
+                decrement(node.descendantExclusiveHolders, threadId);
+            }
+            waiters.addAll(node.waiters);
+            return node.isUnused() ? null : node;
+        });
+    }
+
+    private static void unpark(List<Thread> waiters) {
+        for (Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    private static List<Path> ancestorsOf(Path path) {
+        final List<Path> ancestors = new ArrayList<>(path.length());
+        for (Path p = path.getParent(); p != null; p = p.getParent()) {
+            ancestors.add(p);
+        }
+        return ancestors;
+    }
+
+    private static boolean hasOtherThreads(Map<Long, Integer> holders, long threadId) {
+        return holders.size() > 1 || holders.size() == 1 && !holders.containsKey(threadId);
+    }
+
+    private static void increment(Map<Long, Integer> holders, long threadId) {
+        holders.merge(threadId, 1, Integer::sum);
+    }
+
+    private static void decrement(Map<Long, Integer> holders, long threadId) {
+        holders.computeIfPresent(threadId, (id, locks) -> locks == 1 ? null : locks - 1);
+    }
+
+    public void checkClean() {
+        assert nodes.isEmpty();
     }
 
    /* =============================================== */
 
-    private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+    /** Result of attempt to change node. */
+    private static final class Attempt {
+        boolean conflict;
+    }
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+    /** State of locks of one path, it is accessed only inside of atomic operations of map of nodes. */
+    private static final class Node {
+        /** Number of locks obtained for the path by each thread. */
+        final Map<Long, Integer> sharedHolders;
+        /** Number of locks obtained in the subtree of the path by each thread. */
+        final Map<Long, Integer> descendantHolders;
+        /** Number of exclusive locks obtained in the subtree of the path by each thread. */
+        final Map<Long, Integer> descendantExclusiveHolders;
+        /** Threads waiting for changes of this node. */
+        final Set<Thread>        waiters;
+
+        long exclusiveOwner = NO_OWNER;
+        int  exclusiveLocks;
+        int  sharedLocks;
+
+        Node() {
+            sharedHolders = new HashMap<>(4);
+            descendantHolders = new HashMap<>(4);
+            descendantExclusiveHolders = new HashMap<>(4);
+            waiters = new HashSet<>(4);
+        }
+
+        boolean isExclusivelyLockedByOther(long threadId) {
+            return exclusiveOwner != NO_OWNER && exclusiveOwner != threadId;
+        }
+
+        boolean isUnused() {
+            return exclusiveOwner == NO_OWNER && sharedHolders.isEmpty() && descendantHolders.isEmpty() && waiters.isEmpty();
         }
 
         @Override
         public String toString() {
             return "Node{" +
-                   "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   "exclusiveOwner=" + exclusiveOwner +
+                   ", sharedHolders=" + sharedHolders +
+                   ", descendantHolders=" + descendantHolders +
+                   '}';
+        }
+    }
+
+    /** Statistics of waiting for locks. */
+    public static final class Statistics {
+        private final long acquisitions;
+        private final long contendedAcquisitions;
+        private final long timeouts;
+        private final long waitTime;
+        private final long maxWaitTime;
+
+        private Statistics(long acquisitions, long contendedAcquisitions, long timeouts, long waitTime, long maxWaitTime) {
+            this.acquisitions = acquisitions;
+            this.contendedAcquisitions = contendedAcquisitions;
+            this.timeouts = timeouts;
+            this.waitTime = waitTime;
+            this.maxWaitTime = maxWaitTime;
+        }
+
+        /** Returns number of obtained locks. */
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        /** Returns number of obtained locks for which thread had to wait. */
+        public long getContendedAcquisitions() {
+            return contendedAcquisitions;
+        }
+
+        /** Returns number of attempts to get lock which failed due to timeout. */
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /** Returns total time in milliseconds spent for waiting of locks. */
+        public long getWaitTime() {
+            return waitTime;
+        }
+
+        /** Returns max time in milliseconds spent for waiting of single lock. */
+        public long getMaxWaitTime() {
+            return maxWaitTime;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                   "acquisitions=" + acquisitions +
+                   ", contendedAcquisitions=" + contendedAcquisitions +
+                   ", timeouts=" + timeouts +
+                   ", waitTime=" + waitTime +
+                   ", maxWaitTime=" + maxWaitTime +
                    '}';
         }
     }
 
     public final class PathLock {
-        private final Path path;
-        private final int  permits;
+        private final Path    path;
+        private final boolean exclusive;
+
+        private long waitTime;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, boolean exclusive) {
             this.path = path;
-            this.permits = permits;
+            this.exclusive = exclusive;
         }
 
         /**
@@ -197,7 +433,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            waitTime = PathLockFactory.this.acquire(path, exclusive, -1);
             return this;
         }
 
@@ -212,18 +448,23 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            waitTime = PathLockFactory.this.acquire(path, exclusive, TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds));
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path, exclusive);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return exclusive;
+        }
+
+        /** Returns time in milliseconds spent for waiting when this lock was acquired last time. */
+        public long getWaitTime() {
+            return TimeUnit.NANOSECONDS.toMillis(waitTime);
         }
     }
 }
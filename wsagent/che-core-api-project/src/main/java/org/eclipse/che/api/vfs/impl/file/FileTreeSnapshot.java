@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Snapshot of watched file tree which is used by {@link FileTreeWatcher} to find out what happened with path when watch event
+ * about this path is received. Only names of children and last modification date of files are stored for each directory, children
+ * which are directories are marked with {@link #DIRECTORY} instead of modification date.
+ * <p>
+ * Snapshot is not thread-safe, it is accessed by the watcher thread only.
+ */
+class FileTreeSnapshot {
+    static final long DIRECTORY = Long.MIN_VALUE;
+
+    private final Map<Path, Map<String, Long>> directories;
+
+    FileTreeSnapshot() {
+        directories = new HashMap<>();
+    }
+
+    /** Adds directory without children to the snapshot, does nothing if directory is already added. */
+    void addDirectory(Path directory) {
+        directories.computeIfAbsent(directory, d -> new HashMap<>());
+    }
+
+    boolean containsDirectory(Path directory) {
+        return directories.containsKey(directory);
+    }
+
+    /** Returns names of children of directory or empty set if directory is not in the snapshot. */
+    Set<String> getChildren(Path directory) {
+        final Map<String, Long> children = directories.get(directory);
+        return children == null ? Collections.emptySet() : children.keySet();
+    }
+
+    /**
+     * Returns last modification date of file, {@link #DIRECTORY} if path is directory or {@code null} if there is no such path in the
+     * snapshot.
+     */
+    Long get(Path path) {
+        final Map<String, Long> siblings = directories.get(path.getParent());
+        return siblings == null ? null : siblings.get(path.getFileName().toString());
+    }
+
+    /**
+     * Adds or updates path in the snapshot, does nothing if parent directory of path is not in the snapshot. Children of directory
+     * are tracked only after directory itself is added with {@link #addDirectory(Path)}.
+     *
+     * @param lastModified
+     *         last modification date of file or {@link #DIRECTORY} if path is directory
+     */
+    void put(Path path, long lastModified) {
+        final Map<String, Long> siblings = directories.get(path.getParent());
+        if (siblings != null) {
+            siblings.put(path.getFileName().toString(), lastModified);
+        }
+    }
+
+    /**
+     * Removes path and whole subtree of it if path is directory.
+     *
+     * @param removedConsumer
+     *         receives each removed path and {@code true} if removed path is directory
+     */
+    void remove(Path path, BiConsumer<Path, Boolean> removedConsumer) {
+        final Map<String, Long> siblings = directories.get(path.getParent());
+        final Long removed = siblings == null ? null : siblings.remove(path.getFileName().toString());
+        if (removed != null) {
+            removedConsumer.accept(path, removed == DIRECTORY);
+            if (removed == DIRECTORY) {
+                removeChildren(path, removedConsumer);
+            }
+        }
+    }
+
+    private void removeChildren(Path directory, BiConsumer<Path, Boolean> removedConsumer) {
+        final Map<String, Long> children = directories.remove(directory);
+        if (children != null) {
+            for (Map.Entry<String, Long> child : children.entrySet()) {
+                final Path childPath = directory.resolve(child.getKey());
+                final boolean isDirectory = child.getValue() == DIRECTORY;
+                removedConsumer.accept(childPath, isDirectory);
+                if (isDirectory) {
+                    removeChildren(childPath, removedConsumer);
+                }
+            }
+        }
+    }
+
+    /** Removes everything from the snapshot. */
+    void clear() {
+        directories.clear();
+    }
+}
@@ -24,56 +24,64 @@ import java.io.IOException;
 import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static com.google.common.collect.Sets.newLinkedHashSet;
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.Files.getLastModifiedTime;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
-
+import static org.eclipse.che.api.vfs.impl.file.FileTreeSnapshot.DIRECTORY;
+
+/**
+ * Watches file tree recursively and notifies {@link FileWatcherNotificationHandler} about created, modified and deleted files and
+ * directories.
+ * <p>
+ * Watch events are coalesced: paths from events are collected until there are no new events during debounce period (see
+ * {@link #setEventDebounceMs(long)}) or until the oldest collected event waits longer than five debounce periods. After that each
+ * collected path is checked once and compared with {@link FileTreeSnapshot}, so many events about the same path produce at most one
+ * notification and paths under removed directories are not checked at all. Directories are rescanned only if the watch service
+ * reports {@code OVERFLOW}, i.e. when some events are lost.
+ */
 @Singleton
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
+    private static final long DEFAULT_EVENT_DEBOUNCE_MS = 200;
+    private static final int  MAX_DEBOUNCE_PERIODS      = 5;
 
     private final File                           watchRoot;
     private final Path                           watchRootPath;
-    private final Map<Path, WatchedDirectory>    watchedDirectories;
+    private final Map<Path, WatchKey>            watchKeys;
+    private final FileTreeSnapshot               snapshot;
     private final List<PathMatcher>              excludePatterns;
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
     private       WatchService                   watchService;
     private       WatchEvent.Modifier[]          watchEventModifiers;
+    private       long                           eventDebounceMs;
 
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
@@ -82,13 +90,24 @@ public class FileTreeWatcher {
         watchEventModifiers = new WatchEvent.Modifier[0];
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
-        this.excludePatterns = newArrayList(excludePatterns);
+        this.excludePatterns = new CopyOnWriteArrayList<>(excludePatterns);
         this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
+        this.eventDebounceMs = DEFAULT_EVENT_DEBOUNCE_MS;
 
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTreeWatcher-%d").build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
-        watchedDirectories = newHashMap();
+        watchKeys = newHashMap();
+        snapshot = new FileTreeSnapshot();
+    }
+
+    /**
+     * Sets time in milliseconds during which watch events are collected before processing. Events are processed when there are no new
+     * events during this time, bigger value allows coalesce more events produced by massive operations, e.g. git checkout.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setEventDebounceMs(@Named("vfs.file_watcher.event_debounce_ms") long eventDebounceMs) {
+        this.eventDebounceMs = eventDebounceMs;
     }
 
     private static File toCanonicalFile(File file) {
@@ -105,7 +124,7 @@ public class FileTreeWatcher {
             watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
         }
         running.set(true);
-        walkTreeAndSetupWatches(watchRootPath);
+        addDirectory(watchRootPath, false);
         executor.execute(new WatchEventTask());
         fileWatcherNotificationHandler.started(watchRoot);
     }
@@ -127,6 +146,7 @@ public class FileTreeWatcher {
 
     public void shutdown() {
         boolean interrupted = false;
+        running.set(false);
         executor.shutdown();
         try {
             if (!executor.awaitTermination(3, SECONDS)) {
@@ -140,11 +160,11 @@ public class FileTreeWatcher {
             executor.shutdownNow();
         }
 
-        try {
-            walkTreeAndRemoveWatches(watchRootPath);
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
+        for (WatchKey watchKey : watchKeys.values()) {
+            watchKey.cancel();
         }
+        watchKeys.clear();
+        snapshot.clear();
 
         try {
             watchService.close();
@@ -165,19 +185,6 @@ public class FileTreeWatcher {
         this.excludePatterns.remove(exclude);
     }
 
-    private void walkTreeAndSetupWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                Path relativePath = watchRootPath.relativize(dir);
-                if (shouldNotify(relativePath)) {
-                    setupDirectoryWatcher(dir);
-                }
-                return CONTINUE;
-            }
-        });
-    }
-
     private boolean shouldNotify(Path subPath) {
         for (PathMatcher excludePattern : excludePatterns) {
             if (excludePattern.matches(subPath)) {
@@ -187,78 +194,93 @@ public class FileTreeWatcher {
         return true;
     }
 
-    private void walkTreeAndRemoveWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                cancelDirectoryWatcher(dir);
-                return CONTINUE;
-            }
-        });
-    }
-
-    private void walkTreeAndFireCreatedEvents(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                if (!dir.equals(root)) {
-                    fireWatchEvent(CREATED, dir, true);
+    /**
+     * Starts watching directory and adds all its children to the snapshot, subdirectories are added recursively. Excluded directories
+     * are not watched and their children are not tracked.
+     *
+     * @param fireCreatedEvents
+     *         if {@code true} then notification about creation is sent for each child
+     */
+    private void addDirectory(Path directory, boolean fireCreatedEvents) throws IOException {
+        if (!shouldNotify(watchRootPath.relativize(directory))) {
+            return;
+        }
+        // Watch is set up before reading of directory, so any child that is created after that is either found by listing or
+        // reported with event. Children found in both ways are notified once since they are already in the snapshot.
+        setupDirectoryWatcher(directory);
+        snapshot.addDirectory(directory);
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                if (snapshot.get(entry) != null) {
+                    continue;
+                }
+                final BasicFileAttributes attributes = readAttributes(entry);
+                if (attributes == null) {
+                    continue;
+                }
+                snapshot.put(entry, attributes.isDirectory() ? DIRECTORY : attributes.lastModifiedTime().toMillis());
+                if (fireCreatedEvents) {
+                    fireWatchEvent(CREATED, entry, attributes.isDirectory());
+                }
+                if (attributes.isDirectory()) {
+                    addDirectory(entry, fireCreatedEvents);
                 }
-                return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                fireWatchEvent(CREATED, file, false);
-                return CONTINUE;
             }
-        });
+        }
     }
 
     private void setupDirectoryWatcher(Path directory) throws IOException {
-        if (watchedDirectories.get(directory) == null) {
+        if (watchKeys.get(directory) == null) {
             WatchKey watchKey = directory.register(watchService,
                                                    new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
                                                    watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
-            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
-                for (Path entry : entries) {
-                    watchedDirectory
-                            .addItem(new DirectoryItem(entry.getFileName(), Files.isDirectory(entry), getLastModifiedInMillis(entry)));
-                }
-            }
-            watchedDirectories.put(directory, watchedDirectory);
+            watchKeys.put(directory, watchKey);
+        }
+    }
+
+    private void cancelDirectoryWatcher(Path directory) {
+        WatchKey watchKey = watchKeys.remove(directory);
+        if (watchKey != null) {
+            watchKey.cancel();
         }
     }
 
-    private void cancelDirectoryWatcher(Path path) {
-        WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
-            watchedDirectory.getWatchKey().cancel();
+    /** Returns attributes of path or {@code null} if path doesn't exist, e.g. it was removed right after event about it. */
+    private BasicFileAttributes readAttributes(Path path) {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (IOException e) {
+            return null;
         }
     }
 
     private class WatchEventTask implements Runnable {
-        final Set<PendingEvent> pendingEvents = newLinkedHashSet();
+        final Set<Path> pendingPaths          = newLinkedHashSet();
+        final Set<Path> overflowedDirectories = newLinkedHashSet();
+        final Set<Path> invalidDirectories    = newLinkedHashSet();
+
+        long firstEventTime;
+        long lastEventTime;
 
         @Override
         public void run() {
             while (running.get()) {
                 try {
                     WatchKey watchKey;
-                    if (pendingEvents.isEmpty()) {
+                    if (!hasPendingEvents()) {
                         watchKey = watchService.take();
                     } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
-                        if (watchKey == null) {
-                            processPendingEvents(pendingEvents);
-                            pendingEvents.clear();
+                        final long processTime = Math.min(lastEventTime + eventDebounceMs,
+                                                          firstEventTime + eventDebounceMs * MAX_DEBOUNCE_PERIODS);
+                        final long waitTime = processTime - System.currentTimeMillis();
+                        if (waitTime <= 0) {
+                            processPendingEvents();
+                            continue;
                         }
+                        watchKey = watchService.poll(waitTime, MILLISECONDS);
                     }
                     if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
-                        watchKey.reset();
+                        collectEvents(watchKey);
                     }
                 } catch (InterruptedException | ClosedWatchServiceException e) {
                     running.set(false);
@@ -268,178 +290,140 @@ public class FileTreeWatcher {
                 }
             }
         }
-    }
-
-    private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
-        for (PendingEvent pendingEvent : pendingEvents) {
-            Path eventDirectoryPath = pendingEvent.getPath();
-            WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
-            if (Files.exists(eventDirectoryPath)) {
-                final int hitCounter = watchedDirectory.incrementHitCounter();
-                try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
-                    for (Path fsItem : entries) {
-                        DirectoryItem directoryItem = watchedDirectory.getItem(fsItem.getFileName());
-                        if (directoryItem == null) {
-                            try {
-                                boolean directory = Files.isDirectory(fsItem);
-                                directoryItem = new DirectoryItem(fsItem.getFileName(), directory, getLastModifiedInMillis(fsItem));
-                                watchedDirectory.addItem(directoryItem);
-                                fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
-                                if (directory) {
-                                    walkTreeAndFireCreatedEvents(fsItem);
-                                    setupDirectoryWatcher(fsItem);
-                                }
-                            } catch (IOException ignored) {
-                            }
-                        } else {
-                            long lastModified;
-                            try {
-                                lastModified = getLastModifiedInMillis(fsItem);
-                            } catch (IOException ignored) {
-                                continue;
-                            }
-                            if (lastModified != directoryItem.getLastModified() && Files.isRegularFile(fsItem)) {
-                                fireWatchEvent(MODIFIED, fsItem, false);
-                            }
-                            directoryItem.touch(lastModified);
-                            directoryItem.updateHitCounter(hitCounter);
-                        }
-                    }
-                }
 
-                for (Iterator<DirectoryItem> iterator = watchedDirectory.getItems().iterator(); iterator.hasNext(); ) {
-                    DirectoryItem directoryItem = iterator.next();
-                    if (hitCounter != directoryItem.getHitCount()) {
-                        iterator.remove();
-                        fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
-                    }
-                }
-            } else {
-                for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
-                    fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
+        private void collectEvents(WatchKey watchKey) {
+            final long now = System.currentTimeMillis();
+            if (!hasPendingEvents()) {
+                firstEventTime = now;
+            }
+            lastEventTime = now;
+
+            final Path directory = (Path)watchKey.watchable();
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    overflowedDirectories.add(directory);
+                } else {
+                    pendingPaths.add(directory.resolve((Path)event.context()));
                 }
-                watchedDirectories.remove(eventDirectoryPath);
+            }
+            if (!watchKey.reset()) {
+                // directory isn't accessible anymore, most likely it is removed, but it might be created again
+                invalidDirectories.add(directory);
             }
         }
-    }
 
-    private void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
-        Path relativePath = watchRootPath.relativize(eventPath);
-        if (shouldNotify(relativePath)) {
-            fileWatcherNotificationHandler.handleFileWatcherEvent(eventType, watchRoot, relativePath.toString(), isDirectory);
+        private boolean hasPendingEvents() {
+            return !pendingPaths.isEmpty() || !overflowedDirectories.isEmpty() || !invalidDirectories.isEmpty();
         }
-    }
 
-    private long getLastModifiedInMillis(Path path) throws IOException {
-        return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
+        private void processPendingEvents() throws IOException {
+            try {
+                for (Path directory : invalidDirectories) {
+                    processInvalidDirectory(directory);
+                }
+                for (Path directory : overflowedDirectories) {
+                    LOG.debug("Watch events are lost, rescan {}", directory);
+                    rescanDirectory(directory);
+                }
+                for (Path path : pendingPaths) {
+                    processPath(path);
+                }
+            } finally {
+                invalidDirectories.clear();
+                overflowedDirectories.clear();
+                pendingPaths.clear();
+            }
+        }
     }
 
-    static class PendingEvent {
-        final Path path;
-
-        PendingEvent(Path path) {
-            this.path = path;
+    /**
+     * Compares state of path with snapshot and sends notification if path is created, deleted or modified. Paths which parent
+     * directory isn't tracked, e.g. parent is removed or excluded, are skipped.
+     */
+    private void processPath(Path path) throws IOException {
+        if (!snapshot.containsDirectory(path.getParent())) {
+            return;
         }
-
-        Path getPath() {
-            return path;
+        final Long known = snapshot.get(path);
+        final BasicFileAttributes attributes = readAttributes(path);
+        if (attributes == null) {
+            if (known != null) {
+                removePath(path);
+            }
+            return;
         }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+        final boolean directory = attributes.isDirectory();
+        if (known == null || (known == DIRECTORY) != directory) {
+            if (known != null) {
+                removePath(path);
+            }
+            snapshot.put(path, directory ? DIRECTORY : attributes.lastModifiedTime().toMillis());
+            fireWatchEvent(CREATED, path, directory);
+            if (directory) {
+                addDirectory(path, true);
             }
-            if (o instanceof PendingEvent) {
-                PendingEvent other = (PendingEvent)o;
-                return Objects.equals(path, other.path);
+        } else if (!directory) {
+            final long lastModified = attributes.lastModifiedTime().toMillis();
+            if (lastModified != known) {
+                snapshot.put(path, lastModified);
+                if (attributes.isRegularFile()) {
+                    fireWatchEvent(MODIFIED, path, false);
+                }
             }
-            return false;
         }
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hashCode(path);
+    /**
+     * Handles directory which watch key is no longer valid. Directory is removed from the snapshot together with its subtree, if it
+     * exists again, e.g. it was removed and created again during debounce period, then it is added and watched as a new one.
+     */
+    private void processInvalidDirectory(Path directory) throws IOException {
+        cancelDirectoryWatcher(directory);
+        if (snapshot.get(directory) != null) {
+            removePath(directory);
         }
+        processPath(directory);
     }
 
-    static class WatchedDirectory {
-        final Path                path;
-        final WatchKey            watchKey;
-        final List<DirectoryItem> items;
-        int hitCounter;
-
-        WatchedDirectory(Path path, WatchKey watchKey) {
-            this.path = path;
-            this.watchKey = watchKey;
-            items = newArrayList();
-        }
+    private void removePath(Path path) {
+        snapshot.remove(path, (removed, directory) -> {
+            if (directory) {
+                cancelDirectoryWatcher(removed);
+            }
+            fireWatchEvent(DELETED, removed, directory);
+        });
+    }
 
-        WatchKey getWatchKey() {
-            return watchKey;
+    /** Checks all known and existed children of directory recursively, used when some watch events are lost. */
+    private void rescanDirectory(Path directory) throws IOException {
+        if (!snapshot.containsDirectory(directory)) {
+            return;
         }
-
-        Path getPath() {
-            return path;
+        final Set<Path> children = newLinkedHashSet();
+        for (String name : snapshot.getChildren(directory)) {
+            children.add(directory.resolve(name));
         }
-
-        DirectoryItem getItem(Path name) {
-            for (DirectoryItem item : items) {
-                if (item.getName().equals(name)) {
-                    return item;
+        if (Files.isDirectory(directory, NOFOLLOW_LINKS)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    children.add(entry);
                 }
             }
-            return null;
-        }
-
-        void addItem(DirectoryItem item) {
-            item.updateHitCounter(this.hitCounter);
-            items.add(item);
         }
-
-        List<DirectoryItem> getItems() {
-            return items;
-        }
-
-        int incrementHitCounter() {
-            return ++hitCounter;
+        for (Path child : children) {
+            final boolean known = snapshot.get(child) != null;
+            processPath(child);
+            // newly created directories are already read completely
+            if (known && snapshot.containsDirectory(child)) {
+                rescanDirectory(child);
+            }
         }
     }
 
-    static class DirectoryItem {
-        final Path    name;
-        final boolean directory;
-        long lastModified;
-        int  hitCounter;
-
-        DirectoryItem(Path name, boolean directory, long lastModified) {
-            this.name = name;
-            this.directory = directory;
-            this.lastModified = lastModified;
-        }
-
-        long getLastModified() {
-            return lastModified;
-        }
-
-        Path getName() {
-            return name;
-        }
-
-        boolean isDirectory() {
-            return directory;
-        }
-
-        void touch(long lastModified) {
-            this.lastModified = lastModified;
-        }
-
-        int getHitCount() {
-            return hitCounter;
-        }
-
-        void updateHitCounter(int hitCounter) {
-            this.hitCounter = hitCounter;
+    private void fireWatchEvent(FileWatcherEventType eventType, Path eventPath, boolean isDirectory) {
+        Path relativePath = watchRootPath.relativize(eventPath);
+        if (shouldNotify(relativePath)) {
+            fileWatcherNotificationHandler.handleFileWatcherEvent(eventType, watchRoot, relativePath.toString(), isDirectory);
         }
     }
 }
@@ -10,9 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
@@ -52,11 +54,14 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
@@ -81,6 +86,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
+    private static final int  MAX_CACHED_FOLDERS         = 4096;
 
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
@@ -136,6 +142,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final Cache<Path, FolderListing>          childrenCache;
+    /* Listings of childrenCache mapped by each ancestor of their folders, used for invalidation of cached descendants of folder. */
+    private final Map<Path, Map<Path, FolderListing>> cachedDescendants;
+    /* Incremented on each invalidation of childrenCache, helps to avoid caching of listing that was read before invalidation. */
+    private final AtomicLong                          childrenCacheModCount;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +174,15 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        childrenCache = CacheBuilder.newBuilder()
+                                    .concurrencyLevel(8)
+                                    .maximumSize(MAX_CACHED_FOLDERS)
+                                    .expireAfterAccess(10, MINUTES)
+                                    .removalListener(this::unindexListing)
+                                    .build();
+        cachedDescendants = new ConcurrentHashMap<>();
+        childrenCacheModCount = new AtomicLong();
     }
 
     @Override
@@ -177,6 +198,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        childrenCache.invalidateAll();
+        cachedDescendants.clear();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -243,41 +266,95 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
-            final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
-            Collections.sort(children);
+            if (filter == null) {
+                filter = VirtualFileFilter.ACCEPT_ALL;
+            }
+            final FolderListing listing = getFolderListing(parent);
+            final List<VirtualFile> children = newArrayListWithCapacity(listing.names.length);
+            for (String name : listing.names) {
+                final Path childPath = parent.getPath().newPath(name);
+                final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
+                if (filter.accept(child)) {
+                    children.add(child);
+                }
+            }
             return children;
         }
         return emptyList();
     }
 
+    /**
+     * Gets sorted names of children of folder. Names are cached and cached names are used until modification date of folder is
+     * changed or cache is invalidated with {@link #invalidateChildrenCache(Path)}. Concurrent readers don't block each other, in
+     * worst case the same folder is listed a few times.
+     */
+    private FolderListing getFolderListing(LocalVirtualFile folder) throws ServerException {
+        final Path path = folder.getPath();
+        final File ioFolder = folder.toIoFile();
+        final long lastModified = ioFolder.lastModified();
+        final FolderListing cached = childrenCache.getIfPresent(path);
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached;
+        }
+
+        final long modCount = childrenCacheModCount.get();
+        final File[] files = ioFolder.listFiles(DOT_VFS_DIR_FILTER);
+        if (files == null) {
+            throw new ServerException(String.format("Unable get children of '%s'", path));
+        }
+        final FolderListing listing = new FolderListing(files, lastModified);
+        childrenCache.put(path, listing);
+        // index must be updated before check of modCount, otherwise concurrent invalidation of ancestor may miss this listing
+        indexListing(path, listing);
+        if (childrenCacheModCount.get() != modCount) {
+            // Folder might be changed while we were reading it, don't keep possibly stale listing in cache.
+            childrenCache.invalidate(path);
+        }
+        return listing;
+    }
 
-    private List<VirtualFile> doGetChildren(LocalVirtualFile parent, FilenameFilter ioFileFilter, VirtualFileFilter vfsFilter)
-            throws ServerException {
-        if (ioFileFilter == null) {
-            ioFileFilter = IoUtil.ANY_FILTER;
+    /**
+     * Invalidates cached children of item with specified path, its descendants and its parent. Must be called when items are created,
+     * removed or renamed, including changes that are made outside of this virtual filesystem, e.g. reported by file watcher.
+     */
+    void invalidateChildrenCache(Path path) {
+        childrenCacheModCount.incrementAndGet();
+        if (!path.isRoot()) {
+            childrenCache.invalidate(path.getParent());
         }
-
-        final String[] names = parent.toIoFile().list(ioFileFilter);
-        if (names == null) {
-            throw new ServerException(String.format("Unable get children of '%s'", parent.getPath()));
+        childrenCache.invalidate(path);
+        final Map<Path, FolderListing> descendants = cachedDescendants.remove(path);
+        if (descendants != null) {
+            childrenCache.invalidateAll(descendants.keySet());
         }
+    }
 
-        if (vfsFilter == null) {
-            vfsFilter = VirtualFileFilter.ACCEPT_ALL;
+    private void indexListing(Path path, FolderListing listing) {
+        for (Path ancestor = path; !ancestor.isRoot(); ) {
+            ancestor = ancestor.getParent();
+            cachedDescendants.compute(ancestor, (key, descendants) -> {
+                if (descendants == null) {
+                    descendants = new HashMap<>();
+                }
+                descendants.put(path, listing);
+                return descendants;
+            });
         }
+    }
 
-        final List<VirtualFile> children = newArrayListWithCapacity(names.length);
-        for (String name : names) {
-            final Path childPath = parent.getPath().newPath(name);
-            final LocalVirtualFile child = new LocalVirtualFile(new File(ioRoot, toIoPath(childPath)), childPath, this);
-            if (vfsFilter.accept(child)) {
-                children.add(child);
-            }
+    /* Called when listing is removed from childrenCache, newer listing of the same folder may be already indexed and must be kept. */
+    private void unindexListing(RemovalNotification<Path, FolderListing> removed) {
+        final Path path = removed.getKey();
+        final FolderListing listing = removed.getValue();
+        for (Path ancestor = path; !ancestor.isRoot(); ) {
+            ancestor = ancestor.getParent();
+            cachedDescendants.computeIfPresent(ancestor, (key, descendants) -> {
+                descendants.remove(path, listing);
+                return descendants.isEmpty() ? null : descendants;
+            });
         }
-
-        return children;
     }
 
 
@@ -303,6 +380,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 throw new ServerException(errorMessage);
             }
 
+            invalidateChildrenCache(newPath);
+
             final LocalVirtualFile newVirtualFile = new LocalVirtualFile(newIoFile, newPath, this);
 
             if (content != null) {
@@ -330,6 +409,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
             }
+            // Name may contain few elements, all missed parent folders are created.
+            invalidateChildrenCache(parent.getPath());
 
             return new LocalVirtualFile(newIoFile, newPath, this);
         } else {
@@ -359,6 +440,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             doCopy(source, destination);
+            invalidateChildrenCache(destination.getPath());
 
             addInSearcher(destination);
 
@@ -421,6 +503,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             doCopy(virtualFile, newVirtualFile);
+            invalidateChildrenCache(newPath);
             addInSearcher(newVirtualFile);
 
             final Path path = virtualFile.getPath();
@@ -477,6 +560,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
 
         doCopy(virtualFile, newVirtualFile);
+        invalidateChildrenCache(newPath);
         addInSearcher(newVirtualFile);
 
         final Path path = virtualFile.getPath();
@@ -589,7 +673,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
-        if (!deleteRecursive(virtualFile.toIoFile())) {
+        final boolean deleted = deleteRecursive(virtualFile.toIoFile());
+        invalidateChildrenCache(virtualFile.getPath());
+        if (!deleted) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
@@ -614,7 +700,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            } finally {
+                invalidateChildrenCache(parent.getPath());
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -639,7 +729,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            try {
+                extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            } finally {
+                invalidateChildrenCache(parent.getPath());
+            }
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
@@ -959,4 +1053,24 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
     }
+
+    /** Names of children of folder sorted in the same order as {@link LocalVirtualFile#compareTo(VirtualFile)} does: folders first. */
+    private static class FolderListing {
+        final String[] names;
+        final long     lastModified;
+
+        FolderListing(File[] files, long lastModified) {
+            this.lastModified = lastModified;
+            // Check type of each file once, comparator is called O(n*log(n)) times.
+            final List<Pair<String, Boolean>> children = newArrayListWithCapacity(files.length);
+            for (File file : files) {
+                children.add(Pair.of(file.getName(), file.isDirectory()));
+            }
+            children.sort(Comparator.comparing((Pair<String, Boolean> child) -> !child.second).thenComparing(child -> child.first));
+            names = new String[children.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = children.get(i).first;
+            }
+        }
+    }
 }
@@ -10,39 +10,33 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search;
 
-import org.apache.tika.config.TikaConfig;
-import org.apache.tika.exception.TikaException;
-import org.apache.tika.metadata.Metadata;
 import org.apache.tika.mime.MediaType;
-import org.eclipse.che.api.core.ForbiddenException;
-import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.MediaTypeDetector;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 
-import java.io.IOException;
-import java.io.InputStream;
+import javax.inject.Inject;
 import java.util.Set;
 
-/**
- * Filter based on media type of the file.
- *
- * @author Valeriy Svydenko
- */
+/** Accepts files with textual content. Media type of files is detected with {@link MediaTypeDetector}. */
 public class MediaTypeFilter implements VirtualFileFilter {
-    private final Set<MediaType> mediaTypes;
+    private final Set<MediaType>    mediaTypes;
+    private final MediaTypeDetector mediaTypeDetector;
 
+    /** Creates filter with its own detector, injected filter should be used where it is possible. */
     public MediaTypeFilter() {
+        this(new MediaTypeDetector());
+    }
+
+    @Inject
+    public MediaTypeFilter(MediaTypeDetector mediaTypeDetector) {
+        this.mediaTypeDetector = mediaTypeDetector;
         this.mediaTypes = MediaType.set(MediaType.TEXT_HTML, MediaType.TEXT_PLAIN, MediaType.APPLICATION_XML);
     }
 
     @Override
     public boolean accept(VirtualFile file) {
-        try (InputStream content = file.getContent()) {
-            TikaConfig tikaConfig = new TikaConfig();
-            MediaType mimeType = tikaConfig.getDetector().detect(content, new Metadata());
-            return mediaTypes.contains(mimeType);
-        } catch (TikaException | ForbiddenException | ServerException | IOException e) {
-            return false;
-        }
+        final MediaType mediaType = mediaTypeDetector.detect(file);
+        return mediaTypes.contains(mediaType) || mediaTypeDetector.isText(mediaType);
     }
-}
\ No newline at end of file
+}
@@ -18,6 +18,9 @@ public class QueryExpression {
     private int    skipCount;
     private int    maxItems;
 
+    private boolean includeOccurrences;
+    private String  cursor;
+
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
         return path;
@@ -68,6 +71,33 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * If {@code true} then each item of search result contains locations of text that matches {@link #getText()} in file, see {@link
+     * SearchResultEntry#getOccurrences()}.
+     */
+    public boolean isIncludeOccurrences() {
+        return includeOccurrences;
+    }
+
+    public QueryExpression setIncludeOccurrences(boolean includeOccurrences) {
+        this.includeOccurrences = includeOccurrences;
+        return this;
+    }
+
+    /**
+     * Opaque position in search result from which the next page starts. Cursor is provided by {@link
+     * SearchResult#getNextPageQueryExpression()}. If cursor is set then the next page is retrieved directly after the last item of
+     * the previous page and {@link #getSkipCount()} is ignored.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
@@ -76,6 +106,8 @@ public class QueryExpression {
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", includeOccurrences=" + includeOccurrences +
+               ", cursor='" + cursor + '\'' +
                '}';
     }
 }
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+/** Location of text that matches the search criteria in file. */
+public class SearchOccurrence {
+    private final String phrase;
+    private final int    startOffset;
+    private final int    endOffset;
+    private final int    lineNumber;
+    private final int    startColumn;
+    private final int    endColumn;
+    private final String lineContent;
+    private final int    lineContentOffset;
+
+    public SearchOccurrence(String phrase,
+                            int startOffset,
+                            int endOffset,
+                            int lineNumber,
+                            int startColumn,
+                            int endColumn,
+                            String lineContent,
+                            int lineContentOffset) {
+        this.phrase = phrase;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+        this.lineNumber = lineNumber;
+        this.startColumn = startColumn;
+        this.endColumn = endColumn;
+        this.lineContent = lineContent;
+        this.lineContentOffset = lineContentOffset;
+    }
+
+    /** Text that matches the search criteria. */
+    public String getPhrase() {
+        return phrase;
+    }
+
+    /** Offset of the first character of phrase from the beginning of file. */
+    public int getStartOffset() {
+        return startOffset;
+    }
+
+    /** Offset of the character after the last character of phrase from the beginning of file. */
+    public int getEndOffset() {
+        return endOffset;
+    }
+
+    /** Number of line that contains phrase. Lines are numbered from 1. */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /** Offset of the first character of phrase from the beginning of line. */
+    public int getStartColumn() {
+        return startColumn;
+    }
+
+    /** Offset of the character after the last character of phrase from the beginning of line. */
+    public int getEndColumn() {
+        return endColumn;
+    }
+
+    /**
+     * Content of line that contains phrase. Very long lines are truncated around the phrase, see {@link #getLineContentOffset()}.
+     */
+    public String getLineContent() {
+        return lineContent;
+    }
+
+    /**
+     * Offset of the first character of {@link #getLineContent() line content} from the beginning of line. It is not zero only if
+     * line is truncated, so phrase starts at {@code getStartColumn() - getLineContentOffset()} in line content.
+     */
+    public int getLineContentOffset() {
+        return lineContentOffset;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchOccurrence{" +
+               "phrase='" + phrase + '\'' +
+               ", startOffset=" + startOffset +
+               ", endOffset=" + endOffset +
+               ", lineNumber=" + lineNumber +
+               ", startColumn=" + startColumn +
+               ", endColumn=" + endColumn +
+               ", lineContentOffset=" + lineContentOffset +
+               '}';
+    }
+}
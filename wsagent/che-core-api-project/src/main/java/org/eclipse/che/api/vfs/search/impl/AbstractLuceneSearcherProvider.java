@@ -51,9 +51,12 @@ public abstract class AbstractLuceneSearcherProvider implements SearcherProvider
         if (fileIndexFilters.isEmpty()) {
             filter = new MediaTypeFilter();
         } else {
-            final List<VirtualFileFilter> myFilters = newArrayList(new MediaTypeFilter());
-            myFilters.addAll(fileIndexFilters);
-            filter = VirtualFileFilters.createAndFilter(myFilters);
+            final List<VirtualFileFilter> myFilters = newArrayList(fileIndexFilters);
+            // media type filter is usually injected together with other filters, don't create another detector then
+            if (myFilters.stream().noneMatch(MediaTypeFilter.class::isInstance)) {
+                myFilters.add(0, new MediaTypeFilter());
+            }
+            filter = myFilters.size() == 1 ? myFilters.get(0) : VirtualFileFilters.createAndFilter(myFilters);
         }
         return filter;
     }
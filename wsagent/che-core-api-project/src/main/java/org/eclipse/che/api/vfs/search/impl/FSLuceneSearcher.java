@@ -32,6 +32,8 @@ import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
 public class FSLuceneSearcher extends LuceneSearcher {
     private static final Logger LOG = LoggerFactory.getLogger(FSLuceneSearcher.class);
 
+    private static final String CHECKPOINT_FILE_NAME = "che-indexing.checkpoint";
+
     private final File indexDirectory;
 
     FSLuceneSearcher(File indexDirectory, VirtualFileFilter filter) {
@@ -52,6 +54,12 @@ public class FSLuceneSearcher extends LuceneSearcher {
         }
     }
 
+    /** Checkpoint is saved in index directory, so it is removed together with index. */
+    @Override
+    IndexCheckpoint makeCheckpoint() {
+        return new IndexCheckpoint(new File(indexDirectory, CHECKPOINT_FILE_NAME));
+    }
+
     @Override
     protected void afterClose() throws IOException {
         if (!deleteRecursive(indexDirectory)) {
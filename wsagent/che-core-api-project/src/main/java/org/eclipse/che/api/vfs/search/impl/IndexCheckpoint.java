@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparing;
+
+/**
+ * Keeps track of folders which direct files are already indexed and committed to the lucene index. Each folder is stored together
+ * with fingerprint of its files (number of files and hash of their names and modification dates) so folder that was changed after
+ * it was indexed is indexed again.
+ * <p>
+ * Checkpoint that is created with {@code null} file is kept in memory only, such checkpoint is useful for indexes that are not
+ * survived restart of application, e.g. in-memory index.
+ */
+class IndexCheckpoint {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexCheckpoint.class);
+
+    private final File                file;
+    private final Map<String, String> doneFolders;
+
+    IndexCheckpoint(File file) {
+        this.file = file;
+        this.doneFolders = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Calculates fingerprint of the direct files of folder. Fingerprint is changed when any file is added, removed, renamed or
+     * modified.
+     */
+    static String fingerprint(List<VirtualFile> files) {
+        final List<VirtualFile> sorted = new ArrayList<>(files);
+        sorted.sort(comparing(VirtualFile::getName));
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (VirtualFile file : sorted) {
+            hasher.putString(file.getName(), UTF_8).putByte((byte)0).putLong(file.getLastModificationDate());
+        }
+        return files.size() + ":" + hasher.hash();
+    }
+
+    /** Loads saved state of checkpoint. Does nothing if checkpoint is kept in memory only or was not saved yet. */
+    void load() {
+        doneFolders.clear();
+        if (file == null || !file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final int separator = line.lastIndexOf('\t');
+                if (separator > 0) {
+                    doneFolders.put(line.substring(0, separator), line.substring(separator + 1));
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable read index checkpoint '{}', index will be built from scratch. {}", file, e.getMessage());
+            doneFolders.clear();
+        }
+    }
+
+    /** Saves state of checkpoint. Does nothing if checkpoint is kept in memory only. */
+    void save() {
+        if (file == null) {
+            return;
+        }
+        final Path target = file.toPath();
+        final Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, UTF_8)) {
+                for (Map.Entry<String, String> entry : doneFolders.entrySet()) {
+                    writer.write(entry.getKey());
+                    writer.write('\t');
+                    writer.write(entry.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, target, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Unable save index checkpoint '{}'. {}", file, e.getMessage());
+        }
+    }
+
+    boolean isDone(String folderPath, String fingerprint) {
+        return fingerprint.equals(doneFolders.get(folderPath));
+    }
+
+    void markDone(String folderPath, String fingerprint) {
+        doneFolders.put(folderPath, fingerprint);
+    }
+
+    /** Removes folders that are not in {@code folderPaths} from checkpoint and returns them. */
+    Collection<String> retainAll(Collection<String> folderPaths) {
+        final List<String> removed = new ArrayList<>(doneFolders.keySet());
+        removed.removeAll(folderPaths);
+        doneFolders.keySet().removeAll(removed);
+        return removed;
+    }
+
+    boolean isEmpty() {
+        return doneFolders.isEmpty();
+    }
+
+    void clear() {
+        doneFolders.clear();
+        if (file != null && file.exists() && !file.delete()) {
+            LOG.warn("Unable delete index checkpoint '{}'", file);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.lucene.store.AlreadyClosedException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-stage pipeline for initial indexing of virtual filesystem:
+ * <ul>
+ * <li>directory walker which runs in caller thread and sends files to readers</li>
+ * <li>pool of readers which read content of files and add them to the index, analyzing happens in the same threads</li>
+ * <li>batched commits of the index writer, after each commit folders which files are committed are saved in {@link IndexCheckpoint}</li>
+ * </ul>
+ * If indexing is interrupted, e.g. application is killed, then next run skips folders that are saved in checkpoint. Other folders
+ * are indexed again, their files that are left in index from the previous run are removed first.
+ */
+class IndexingPipeline {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexingPipeline.class);
+
+    private final LuceneSearcher   searcher;
+    private final IndexCheckpoint  checkpoint;
+    private final IndexingProgress progress;
+    private final int              readerThreads;
+    private final int              commitBatchSize;
+
+    private final Queue<FolderTask> writtenFolders;
+    private final AtomicInteger     uncommittedFiles;
+
+    IndexingPipeline(LuceneSearcher searcher, IndexCheckpoint checkpoint, int readerThreads, int commitBatchSize) {
+        this.searcher = searcher;
+        this.checkpoint = checkpoint;
+        this.readerThreads = readerThreads;
+        this.commitBatchSize = commitBatchSize;
+        this.progress = new IndexingProgress();
+        this.writtenFolders = new ConcurrentLinkedQueue<>();
+        this.uncommittedFiles = new AtomicInteger();
+    }
+
+    IndexingProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Indexes all files under specified {@code tree}. Method returns when all files are indexed and committed.
+     *
+     * @throws ServerException
+     *         if any virtual filesystem error occurs
+     */
+    void index(VirtualFile tree) throws ServerException {
+        final boolean resumed = !checkpoint.isEmpty();
+        final ThreadPoolExecutor readers = new ThreadPoolExecutor(readerThreads, readerThreads, 0L, TimeUnit.MILLISECONDS,
+                                                                  new ArrayBlockingQueue<>(readerThreads * 64),
+                                                                  new ThreadFactoryBuilder().setDaemon(true)
+                                                                                            .setNameFormat("LuceneIndexReader-%d")
+                                                                                            .build(),
+                                                                  new ThreadPoolExecutor.CallerRunsPolicy());
+        final Set<String> visitedFolders = new HashSet<>();
+        try {
+            final LinkedList<VirtualFile> q = new LinkedList<>();
+            q.add(tree);
+            while (!q.isEmpty() && !searcher.isClosed()) {
+                final VirtualFile folder = q.pop();
+                if (!folder.exists()) {
+                    continue;
+                }
+                final String folderPath = folder.getPath().toString();
+                visitedFolders.add(folderPath);
+                final List<VirtualFile> files = new ArrayList<>();
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        q.push(child);
+                    } else {
+                        files.add(child);
+                    }
+                }
+                final FolderTask folderTask = new FolderTask(folderPath, IndexCheckpoint.fingerprint(files), files.size());
+                if (checkpoint.isDone(folderTask.path, folderTask.fingerprint)) {
+                    progress.filesSkipped(files.size());
+                    continue;
+                }
+                if (resumed) {
+                    // files of folder might be deleted or renamed after they were indexed
+                    searcher.deleteFolderFiles(folderPath);
+                }
+                if (files.isEmpty()) {
+                    writtenFolders.add(folderTask);
+                    continue;
+                }
+                for (VirtualFile file : files) {
+                    progress.fileQueued();
+                    readers.execute(() -> read(file, folderTask));
+                }
+            }
+        } finally {
+            readers.shutdown();
+            try {
+                readers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                readers.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (searcher.isClosed()) {
+            return;
+        }
+        if (resumed) {
+            removeDeletedFolders(tree.getPath().toString(), visitedFolders);
+        }
+        commit();
+        progress.done();
+        LOG.info("Indexing of {} completed: {}", tree.getPath(), progress);
+    }
+
+    private void read(VirtualFile file, FolderTask folderTask) {
+        if (searcher.isClosed()) {
+            return;
+        }
+        try {
+            searcher.addFile(file);
+            progress.fileIndexed();
+        } catch (ServerException | AlreadyClosedException e) {
+            progress.fileFailed();
+            LOG.warn("Unable index file {}. {}", file.getPath(), e.getMessage());
+        }
+        if (folderTask.fileDone()) {
+            writtenFolders.add(folderTask);
+        }
+        if (uncommittedFiles.incrementAndGet() >= commitBatchSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Folders that were indexed before restart but are removed after that still remain in index. Remove them from the index and
+     * from checkpoint.
+     */
+    private void removeDeletedFolders(String rootPath, Set<String> visitedFolders) {
+        final Collection<String> removed = checkpoint.retainAll(visitedFolders);
+        for (String folderPath : removed) {
+            if (folderPath.startsWith(rootPath)) {
+                try {
+                    searcher.delete(folderPath, false);
+                } catch (ServerException e) {
+                    LOG.warn("Unable remove folder {} from index. {}", folderPath, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private synchronized void commit() {
+        if (searcher.isClosed()) {
+            return;
+        }
+        uncommittedFiles.set(0);
+        // Folders must be drained before commit, all files of them are already sent to the index writer.
+        final List<FolderTask> committed = new ArrayList<>();
+        FolderTask folderTask;
+        while ((folderTask = writtenFolders.poll()) != null) {
+            committed.add(folderTask);
+        }
+        try {
+            searcher.getIndexWriter().commit();
+        } catch (IOException | AlreadyClosedException e) {
+            LOG.warn("Unable commit index. {}", e.getMessage());
+            return;
+        }
+        for (FolderTask task : committed) {
+            checkpoint.markDone(task.path, task.fingerprint);
+        }
+        checkpoint.save();
+        LOG.debug("Index committed, {}", progress);
+    }
+
+    private static class FolderTask {
+        final String        path;
+        final String        fingerprint;
+        final AtomicInteger pendingFiles;
+
+        FolderTask(String path, String fingerprint, int files) {
+            this.path = path;
+            this.fingerprint = fingerprint;
+            this.pendingFiles = new AtomicInteger(files);
+        }
+
+        /** Returns {@code true} if the last pending file of this folder is done. */
+        boolean fileDone() {
+            return pendingFiles.decrementAndGet() == 0;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Progress of initial indexing of virtual filesystem. */
+public class IndexingProgress {
+    private final AtomicLong queuedFiles  = new AtomicLong();
+    private final AtomicLong indexedFiles = new AtomicLong();
+    private final AtomicLong skippedFiles = new AtomicLong();
+    private final AtomicLong failedFiles  = new AtomicLong();
+    private final long       startTime    = System.currentTimeMillis();
+
+    private volatile boolean done;
+
+    /** Number of files that were found by directory walker and sent to index. */
+    public long getQueuedFiles() {
+        return queuedFiles.get();
+    }
+
+    /** Number of files that are already added in index. */
+    public long getIndexedFiles() {
+        return indexedFiles.get();
+    }
+
+    /** Number of files that were not indexed since they were indexed before restart and are not changed after that. */
+    public long getSkippedFiles() {
+        return skippedFiles.get();
+    }
+
+    /** Number of files that could not be indexed. */
+    public long getFailedFiles() {
+        return failedFiles.get();
+    }
+
+    /** Time since indexing was started, in milliseconds. */
+    public long getElapsedTimeMillis() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    /** Returns {@code true} when initial indexing is completed. */
+    public boolean isDone() {
+        return done;
+    }
+
+    void fileQueued() {
+        queuedFiles.incrementAndGet();
+    }
+
+    void fileIndexed() {
+        indexedFiles.incrementAndGet();
+    }
+
+    void filesSkipped(int num) {
+        skippedFiles.addAndGet(num);
+    }
+
+    void fileFailed() {
+        failedFiles.incrementAndGet();
+    }
+
+    void done() {
+        done = true;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexingProgress{" +
+               "queuedFiles=" + queuedFiles +
+               ", indexedFiles=" + indexedFiles +
+               ", skippedFiles=" + skippedFiles +
+               ", failedFiles=" + failedFiles +
+               ", elapsedTimeMillis=" + getElapsedTimeMillis() +
+               ", done=" + done +
+               '}';
+    }
+}
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.io.CharStreams;
+
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.Tokenizer;
@@ -17,33 +19,46 @@ import org.apache.lucene.analysis.core.LowerCaseFilter;
 import org.apache.lucene.analysis.core.WhitespaceTokenizer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.SortedDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.PostingsEnum;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.RegexpQuery;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.eclipse.che.api.vfs.search.Searcher;
@@ -54,12 +69,17 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.emptyList;
 
 /**
  * Lucene based searcher.
@@ -71,14 +91,49 @@ public abstract class LuceneSearcher implements Searcher {
 
     private static final int RESULT_LIMIT = 1000;
 
+    /** Searcher that is used for paging through search result is released if the next page is not requested during this time. */
+    private static final long SEARCHER_LEASE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(2);
+    /** Max number of searchers that are pinned for paging, the least recently used searcher is released when limit is reached. */
+    private static final int  MAX_SEARCHER_LEASES       = 32;
+
+    /**
+     * Results with the same score are ordered by path. Files are added in index concurrently, so order of documents in index is not
+     * the same as order of files in virtual filesystem.
+     */
+    private static final Sort RESULT_SORT = new Sort(SortField.FIELD_SCORE, new SortField("path", SortField.Type.STRING));
+
+    /** Max number of occurrences of searched text that are resolved in single file. */
+    private static final int OCCURRENCES_LIMIT  = 100;
+    /** Lines that are longer than this are truncated around the occurrence. */
+    private static final int LINE_CONTENT_LIMIT = 256;
+
+    /** Content of files is indexed together with offsets of terms, offsets are used for resolving occurrences of searched text. */
+    private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TEXT_FIELD_TYPE.setStoreTermVectors(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorPositions(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+        TEXT_FIELD_TYPE.freeze();
+    }
+
+    /** Number of threads which read and analyze files during initial indexing. */
+    private static final int INDEX_READER_THREADS     = Math.max(1, Runtime.getRuntime().availableProcessors());
+    /** Number of files that are added in index between commits during initial indexing. */
+    private static final int INDEX_COMMIT_BATCH_SIZE = 5000;
+
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
 
     private IndexWriter     luceneIndexWriter;
     private SearcherManager searcherManager;
+    private SearcherLeases  searcherLeases;
 
     private boolean closed = true;
 
+    private volatile IndexingProgress  indexingProgress;
+    private volatile VirtualFileSystem virtualFileSystem;
+
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
     }
@@ -131,15 +186,17 @@ public abstract class LuceneSearcher implements Searcher {
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        this.virtualFileSystem = virtualFileSystem;
+        indexTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
         doInit();
+        this.virtualFileSystem = virtualFileSystem;
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -147,10 +204,39 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /**
+     * Progress of initial indexing which is started with method {@link #init(VirtualFileSystem)} or {@link
+     * #initAsynchronously(ExecutorService, VirtualFileSystem)}. Returns {@code null} if initial indexing is not started yet.
+     */
+    public IndexingProgress getIndexingProgress() {
+        return indexingProgress;
+    }
+
+    /**
+     * Creates checkpoint of initial indexing. By default checkpoint is kept in memory only. Implementation that keeps index between
+     * restarts of application should provide checkpoint that is saved next to the index.
+     */
+    IndexCheckpoint makeCheckpoint() {
+        return new IndexCheckpoint(null);
+    }
+
+    private void indexTree(VirtualFile tree) throws ServerException {
+        final IndexCheckpoint checkpoint = makeCheckpoint();
+        checkpoint.load();
+        if (!checkpoint.isEmpty() && getIndexWriter().maxDoc() == 0) {
+            // checkpoint doesn't match to the index
+            checkpoint.clear();
+        }
+        final IndexingPipeline pipeline = new IndexingPipeline(this, checkpoint, INDEX_READER_THREADS, INDEX_COMMIT_BATCH_SIZE);
+        indexingProgress = pipeline.getProgress();
+        pipeline.index(tree);
+    }
+
     protected final synchronized void doInit() throws ServerException {
         try {
             luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            searcherLeases = new SearcherLeases(searcherManager, SEARCHER_LEASE_TIMEOUT_MS, MAX_SEARCHER_LEASES);
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
@@ -159,6 +245,7 @@ public abstract class LuceneSearcher implements Searcher {
 
     public final synchronized void close() {
         if (!closed) {
+            searcherLeases.close();
             try {
                 IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
                 afterClose();
@@ -186,29 +273,61 @@ public abstract class LuceneSearcher implements Searcher {
 
     @Override
     public SearchResult search(QueryExpression query) throws ServerException {
+        final SearchCursor cursor = parseCursor(query.getCursor());
         IndexSearcher luceneSearcher = null;
+        long leaseId = 0;
+        if (cursor != null) {
+            luceneSearcher = searcherLeases.tryAcquire(cursor.getLeaseId());
+            if (luceneSearcher != null) {
+                leaseId = cursor.getLeaseId();
+            }
+        }
+        boolean leased = false;
         try {
             final long startTime = System.currentTimeMillis();
-            searcherManager.maybeRefresh();
-            luceneSearcher = searcherManager.acquire();
+            if (luceneSearcher == null) {
+                searcherManager.maybeRefresh();
+                luceneSearcher = searcherManager.acquire();
+            }
 
             Query luceneQuery = createLuceneQuery(query);
 
             ScoreDoc after = null;
-            final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
-                after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+            final int numSkipDocs;
+            if (cursor != null) {
+                numSkipDocs = cursor.getSkipCount();
+                if (leaseId != 0) {
+                    after = cursor.getAfter();
+                } else if (luceneSearcher.getIndexReader().maxDoc() > 0) {
+                    // Lease is expired. Documents are sorted by score and path and path is unique, so sort values of the last document
+                    // of previous page are enough for searching after it. Id of document is not valid for this searcher, use the
+                    // max id to exclude document with the same path.
+                    after = cursor.getAfter(luceneSearcher.getIndexReader().maxDoc() - 1);
+                }
+            } else {
+                numSkipDocs = Math.max(0, query.getSkipCount());
+                if (numSkipDocs > 0) {
+                    after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+                }
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
-            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
+            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs, RESULT_SORT);
             final int totalHitsNum = topDocs.totalHits;
 
+            final Set<Term> textTerms = query.isIncludeOccurrences() && query.getText() != null
+                                        ? extractTextTerms(luceneSearcher, luceneQuery)
+                                        : null;
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                if (textTerms == null) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    results.add(new SearchResultEntry(filePath,
+                                                      findOccurrences(luceneSearcher.getIndexReader(), scoreDoc.doc, filePath, textTerms)));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
@@ -216,7 +335,16 @@ public abstract class LuceneSearcher implements Searcher {
             boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                if (leaseId == 0) {
+                    leaseId = searcherLeases.lease(luceneSearcher);
+                    leased = true;
+                }
+                final FieldDoc last = (FieldDoc)topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                final SearchCursor nextPageCursor = new SearchCursor(leaseId, numSkipDocs + topDocs.scoreDocs.length, last);
+                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length)
+                        .setCursor(nextPageCursor.toString());
+            } else if (leaseId != 0) {
+                searcherLeases.terminate(leaseId);
             }
 
             return SearchResult.aSearchResult()
@@ -228,14 +356,33 @@ public abstract class LuceneSearcher implements Searcher {
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
         } finally {
-            try {
-                searcherManager.release(luceneSearcher);
-            } catch (IOException e) {
-                LOG.error(e.getMessage());
+            if (luceneSearcher != null && !leased) {
+                try {
+                    if (leaseId != 0) {
+                        searcherLeases.release(luceneSearcher);
+                    } else {
+                        searcherManager.release(luceneSearcher);
+                    }
+                } catch (IOException e) {
+                    LOG.error(e.getMessage());
+                }
             }
         }
     }
 
+    private SearchCursor parseCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return SearchCursor.parse(cursor);
+        } catch (IllegalArgumentException e) {
+            // fall back to skip count
+            LOG.debug(e.getMessage());
+            return null;
+        }
+    }
+
     private Query createLuceneQuery(QueryExpression query) throws ServerException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
@@ -264,7 +411,7 @@ public abstract class LuceneSearcher implements Searcher {
         int retrievedDocs = 0;
         TopDocs topDocs;
         do {
-            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize);
+            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize, RESULT_SORT);
             if (topDocs.scoreDocs.length > 0) {
                 scoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
             }
@@ -279,12 +426,115 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
+    private Set<Term> extractTextTerms(IndexSearcher luceneSearcher, Query luceneQuery) throws IOException {
+        final Set<Term> terms = new HashSet<>();
+        luceneSearcher.createNormalizedWeight(luceneQuery, false).extractTerms(terms);
+        terms.removeIf(term -> !"text".equals(term.field()));
+        return terms;
+    }
+
+    /**
+     * Finds occurrences of terms in file. Offsets of terms are taken from the term vector of document, then content of file is read to
+     * resolve line numbers and content of lines. Occurrences that don't match to current content of file, e.g. file was updated but
+     * index is not refreshed yet, are skipped.
+     */
+    private List<SearchOccurrence> findOccurrences(IndexReader reader, int docId, String filePath, Set<Term> textTerms) throws IOException {
+        final Terms termVector = reader.getTermVector(docId, "text");
+        final VirtualFileSystem fileSystem = virtualFileSystem;
+        if (termVector == null || fileSystem == null || textTerms.isEmpty()) {
+            return emptyList();
+        }
+        final List<int[]> offsets = new ArrayList<>();
+        final TermsEnum termsEnum = termVector.iterator(null);
+        for (Term term : textTerms) {
+            if (termsEnum.seekExact(term.bytes())) {
+                final PostingsEnum postings = termsEnum.postings(null, null, PostingsEnum.OFFSETS);
+                if (postings.nextDoc() != PostingsEnum.NO_MORE_DOCS) {
+                    for (int i = 0, freq = postings.freq(); i < freq; i++) {
+                        postings.nextPosition();
+                        if (postings.startOffset() >= 0) {
+                            offsets.add(new int[]{postings.startOffset(), postings.endOffset()});
+                        }
+                    }
+                }
+            }
+        }
+        if (offsets.isEmpty()) {
+            return emptyList();
+        }
+        offsets.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        final String content;
+        try {
+            final VirtualFile file = fileSystem.getRoot().getChild(Path.of(filePath));
+            if (file == null || !file.isFile()) {
+                return emptyList();
+            }
+            try (Reader contentReader = new InputStreamReader(file.getContent())) {
+                content = CharStreams.toString(contentReader);
+            }
+        } catch (ServerException | ForbiddenException e) {
+            LOG.warn("Unable read content of file {}. {}", filePath, e.getMessage());
+            return emptyList();
+        }
+
+        final List<SearchOccurrence> occurrences = new ArrayList<>();
+        int lineNumber = 1;
+        int lineStart = 0;
+        int position = 0;
+        for (int[] offset : offsets) {
+            final int start = offset[0];
+            final int end = offset[1];
+            if (end > content.length() || occurrences.size() == OCCURRENCES_LIMIT) {
+                break;
+            }
+            for (; position < start; position++) {
+                if (content.charAt(position) == '\n') {
+                    lineNumber++;
+                    lineStart = position + 1;
+                }
+            }
+            final String phrase = content.substring(start, end);
+            if (phrase.indexOf('\n') >= 0) {
+                // content of file is changed after it was indexed
+                continue;
+            }
+            int lineEnd = content.indexOf('\n', start);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            final int contentStart = lineContentStart(lineStart, lineEnd, start);
+            final int contentEnd = Math.min(lineEnd, contentStart + LINE_CONTENT_LIMIT);
+            occurrences.add(new SearchOccurrence(phrase,
+                                                 start,
+                                                 end,
+                                                 lineNumber,
+                                                 start - lineStart,
+                                                 end - lineStart,
+                                                 content.substring(contentStart, contentEnd),
+                                                 contentStart - lineStart));
+        }
+        return occurrences;
+    }
+
+    /** Returns offset of the first character of line content which is returned with occurrence. */
+    private int lineContentStart(int lineStart, int lineEnd, int occurrenceStart) {
+        if (lineEnd - lineStart <= LINE_CONTENT_LIMIT) {
+            return lineStart;
+        }
+        return Math.max(lineStart, Math.min(occurrenceStart - LINE_CONTENT_LIMIT / 4, lineEnd - LINE_CONTENT_LIMIT));
+    }
+
     private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
         return new QueryExpression().setText(originalQuery.getText())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIncludeOccurrences(originalQuery.isIncludeOccurrences());
     }
 
     @Override
@@ -358,6 +608,27 @@ public abstract class LuceneSearcher implements Searcher {
         }
     }
 
+    /** Removes direct files of folder from index, files of its sub-folders are kept. */
+    void deleteFolderFiles(String folderPath) throws ServerException {
+        final String prefix = folderPath.endsWith("/") ? folderPath : folderPath + "/";
+        final StringBuilder regexp = new StringBuilder();
+        for (char c : prefix.toCharArray()) {
+            if (!Character.isLetterOrDigit(c)) {
+                regexp.append('\\');
+            }
+            regexp.append(c);
+        }
+        regexp.append("[^/]+");
+        try {
+            getIndexWriter().deleteDocuments(new RegexpQuery(new Term("path", regexp.toString())));
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public final void update(VirtualFile virtualFile) throws ServerException {
         doUpdate(new Term("path", virtualFile.getPath().toString()), virtualFile);
@@ -381,9 +652,10 @@ public abstract class LuceneSearcher implements Searcher {
     protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
+        doc.add(new SortedDocValuesField("path", new BytesRef(virtualFile.getPath().toString())));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
         if (reader != null) {
-            doc.add(new TextField("text", reader));
+            doc.add(new Field("text", reader, TEXT_FIELD_TYPE));
         }
         return doc;
     }
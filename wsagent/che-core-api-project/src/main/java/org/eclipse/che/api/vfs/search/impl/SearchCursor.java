@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.util.BytesRef;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Position in search result from which the next page of result starts. Cursor contains id of {@link SearcherLeases lease} of
+ * searcher that was used for retrieving previous page and the last document of previous page. Client gets cursor as opaque string.
+ */
+class SearchCursor {
+    private static final String VERSION = "1";
+
+    /**
+     * Parses cursor from string created with method {@link #toString()}.
+     *
+     * @throws IllegalArgumentException
+     *         if {@code cursor} is not valid
+     */
+    static SearchCursor parse(String cursor) {
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        final String[] parts = decoded.split(":", 6);
+        if (parts.length != 6 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new SearchCursor(Long.parseLong(parts[1]),
+                                    Integer.parseInt(parts[2]),
+                                    Integer.parseInt(parts[3]),
+                                    Float.intBitsToFloat(Integer.parseInt(parts[4])),
+                                    parts[5]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private final long   leaseId;
+    private final int    skipCount;
+    private final int    doc;
+    private final float  score;
+    private final String path;
+
+    SearchCursor(long leaseId, int skipCount, int doc, float score, String path) {
+        this.leaseId = leaseId;
+        this.skipCount = skipCount;
+        this.doc = doc;
+        this.score = score;
+        this.path = path;
+    }
+
+    /** Creates cursor which points to the last document of search result page. */
+    SearchCursor(long leaseId, int skipCount, FieldDoc last) {
+        this(leaseId, skipCount, last.doc, (Float)last.fields[0], ((BytesRef)last.fields[1]).utf8ToString());
+    }
+
+    long getLeaseId() {
+        return leaseId;
+    }
+
+    /** Number of documents that precede the next page. */
+    int getSkipCount() {
+        return skipCount;
+    }
+
+    /** Document after which the next page starts. */
+    FieldDoc getAfter() {
+        return getAfter(doc);
+    }
+
+    /** Same as {@link #getAfter()} but with specified id of document. */
+    FieldDoc getAfter(int doc) {
+        return new FieldDoc(doc, score, new Object[]{score, new BytesRef(path)});
+    }
+
+    @Override
+    public String toString() {
+        final String value = VERSION + ':' + leaseId + ':' + skipCount + ':' + doc + ':' + Float.floatToIntBits(score) + ':' + path;
+        return Base64.getUrlEncoder().encodeToString(value.getBytes(UTF_8));
+    }
+}
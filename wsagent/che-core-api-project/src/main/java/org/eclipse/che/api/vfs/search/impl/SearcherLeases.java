@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps searchers that are pinned for paging through search result. All pages of the same search result are retrieved with the same
+ * searcher, so the next page is retrieved directly after the last document of the previous page without re-executing the query for
+ * all preceding pages. Lease expires if it is not used during {@code leaseTimeoutMillis}, searcher of expired lease is released.
+ * Number of leases is limited with {@code maxLeases}, each pinned searcher keeps files of old index segments opened, so when limit
+ * is reached the lease which wasn't used for the longest time is terminated.
+ * <p>
+ * While searcher of lease is in use, its index reader is referenced with {@link #tryAcquire(long)}, so searcher isn't closed even if
+ * the lease expires at the same time.
+ */
+class SearcherLeases {
+    private static final Logger LOG = LoggerFactory.getLogger(SearcherLeases.class);
+
+    private final SearcherManager          searcherManager;
+    private final long                     leaseTimeoutMillis;
+    private final int                      maxLeases;
+    private final Map<Long, Lease>         leases;
+    private final AtomicLong               leaseIdSequence;
+    private final ScheduledExecutorService expirationExecutor;
+
+    SearcherLeases(SearcherManager searcherManager, long leaseTimeoutMillis, int maxLeases) {
+        this.searcherManager = searcherManager;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.maxLeases = maxLeases;
+        this.leases = new ConcurrentHashMap<>();
+        this.leaseIdSequence = new AtomicLong();
+        this.expirationExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                                                                                     .setDaemon(true)
+                                                                                     .setNameFormat("SearcherLeasesExpiration")
+                                                                                     .build());
+        expirationExecutor.scheduleWithFixedDelay(this::releaseExpired, leaseTimeoutMillis, leaseTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pins searcher that is acquired from {@code SearcherManager}. The lease takes ownership of searcher, caller must not release it.
+     * If number of leases exceeds limit then the least recently used lease is terminated.
+     *
+     * @return id of lease
+     */
+    long lease(IndexSearcher searcher) {
+        final long leaseId = leaseIdSequence.incrementAndGet();
+        leases.put(leaseId, new Lease(searcher, System.currentTimeMillis() + leaseTimeoutMillis));
+        while (leases.size() > maxLeases) {
+            terminateLeastRecentlyUsed();
+        }
+        return leaseId;
+    }
+
+    /**
+     * Gets searcher of lease and prolongs the lease. Searcher must be released with method {@link #release(IndexSearcher)} after use.
+     *
+     * @return searcher or {@code null} if lease doesn't exist or is already expired
+     */
+    IndexSearcher tryAcquire(long leaseId) {
+        final Lease lease = leases.get(leaseId);
+        if (lease == null || !lease.searcher.getIndexReader().tryIncRef()) {
+            return null;
+        }
+        lease.expirationTime = System.currentTimeMillis() + leaseTimeoutMillis;
+        return lease.searcher;
+    }
+
+    /** Releases searcher that is got with method {@link #tryAcquire(long)}. */
+    void release(IndexSearcher searcher) throws IOException {
+        searcher.getIndexReader().decRef();
+    }
+
+    /** Terminates lease when the last page of search result is retrieved. */
+    void terminate(long leaseId) {
+        final Lease lease = leases.remove(leaseId);
+        if (lease != null) {
+            releaseLease(lease);
+        }
+    }
+
+    /** Terminates all leases. */
+    void close() {
+        expirationExecutor.shutdownNow();
+        for (Iterator<Lease> iterator = leases.values().iterator(); iterator.hasNext(); ) {
+            releaseLease(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    int size() {
+        return leases.size();
+    }
+
+    void releaseExpired() {
+        final long now = System.currentTimeMillis();
+        for (Iterator<Lease> iterator = leases.values().iterator(); iterator.hasNext(); ) {
+            final Lease lease = iterator.next();
+            if (lease.expirationTime < now) {
+                iterator.remove();
+                releaseLease(lease);
+            }
+        }
+    }
+
+    private void terminateLeastRecentlyUsed() {
+        Map.Entry<Long, Lease> oldest = null;
+        for (Map.Entry<Long, Lease> entry : leases.entrySet()) {
+            if (oldest == null || entry.getValue().expirationTime < oldest.getValue().expirationTime) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null && leases.remove(oldest.getKey(), oldest.getValue())) {
+            LOG.debug("Lease {} is terminated, max number of leases {} is reached", oldest.getKey(), maxLeases);
+            releaseLease(oldest.getValue());
+        }
+    }
+
+    private void releaseLease(Lease lease) {
+        try {
+            searcherManager.release(lease.searcher);
+        } catch (IOException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private static class Lease {
+        final IndexSearcher searcher;
+
+        volatile long expirationTime;
+
+        Lease(IndexSearcher searcher, long expirationTime) {
+            this.searcher = searcher;
+            this.expirationTime = expirationTime;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -122,6 +123,30 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
     }
 
 
+    @Test
+    public void testRegistersRootFolderWhenRootFoldersChanged() throws Exception {
+
+        new File(root, "/newFolder").mkdir();
+        projectRegistry.rootFoldersChanged();
+
+        assertEquals("/newFolder", projectRegistry.getProject("/newFolder").getPath());
+        assertEquals(5, projectRegistry.getProjects().size());
+
+    }
+
+    @Test
+    public void testGetSubProjectsAndParentProject() throws Exception {
+
+        assertEquals(singletonList("/normal/module"), projectRegistry.getProjects("/normal"));
+        assertEquals(4, projectRegistry.getProjects("/").size());
+        assertTrue(projectRegistry.getProjects("/fromFolder").isEmpty());
+
+        assertEquals("/normal/module", projectRegistry.getParentProject("/normal/module/src/Main.java").getPath());
+        assertEquals("/normal", projectRegistry.getParentProject("/normal/src").getPath());
+        assertNull(projectRegistry.getParentProject("/notExisting/src"));
+
+    }
+
     @Test
     public void testNormalProject() throws Exception {
 
@@ -38,9 +38,13 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.ProjectSearchResponseDto;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
+import org.eclipse.che.api.project.shared.dto.SearchResultDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.dao.UserDao;
+import org.eclipse.che.api.vfs.MediaTypeDetector;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
@@ -255,6 +259,7 @@ public class ProjectServiceTest {
         dependencies.addComponent(ProjectImporterRegistry.class, importerRegistry);
         dependencies.addComponent(ProjectHandlerRegistry.class, phRegistry);
         dependencies.addComponent(EventService.class, eventService);
+        dependencies.addComponent(MediaTypeDetector.class, new MediaTypeDetector());
 
         ResourceBinder resources = new ResourceBinderImpl();
         ProviderBinder providers = new ApplicationProviderBinder();
@@ -1683,6 +1688,29 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/x/y/__test.txt"));
     }
 
+    @Test
+    public void testSearchOccurrencesByText() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello".getBytes());
+        myProject.getBaseFolder().createFolder("x/y").createFile("__test.txt", "first line\nsecond searchhit line".getBytes());
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search-occurrences/my_project?text=searchhit",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        ProjectSearchResponseDto result = (ProjectSearchResponseDto)response.getEntity();
+        assertEquals(result.getTotalHits(), 1);
+        assertEquals(result.getItemReferences().size(), 1);
+        SearchResultDto item = result.getItemReferences().get(0);
+        assertEquals(item.getItemReference().getPath(), "/my_project/x/y/__test.txt");
+        assertEquals(item.getSearchOccurrences().size(), 1);
+        SearchOccurrenceDto occurrence = item.getSearchOccurrences().get(0);
+        assertEquals(occurrence.getLineNumber(), 2);
+        assertEquals(occurrence.getStartColumn(), 7);
+        assertEquals(occurrence.getEndColumn(), 16);
+        assertEquals(occurrence.getLineContent(), "second searchhit line");
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchParticularSequenceWords() throws Exception {
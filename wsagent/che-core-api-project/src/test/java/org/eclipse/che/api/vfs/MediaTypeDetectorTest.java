@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.apache.tika.config.TikaConfig;
+import org.apache.tika.mime.MediaType;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MediaTypeDetectorTest {
+    private MediaTypeDetector mediaTypeDetector;
+
+    @Before
+    public void setUp() throws Exception {
+        mediaTypeDetector = new MediaTypeDetector(TikaConfig.getDefaultConfig(), 100);
+    }
+
+    @Test
+    public void detectsMediaTypeByNameWithoutReadingContent() throws Exception {
+        VirtualFile file = mockFile("/a/index.html", "to be or not to be".getBytes(), 1L);
+
+        assertEquals(MediaType.TEXT_HTML, mediaTypeDetector.detect(file));
+        verify(file, never()).getContent();
+    }
+
+    @Test
+    public void detectsMediaTypeByContentWhenNameIsNotEnough() throws Exception {
+        VirtualFile file = mockFile("/a/README", "to be or not to be".getBytes(), 1L);
+
+        assertEquals(MediaType.TEXT_PLAIN, mediaTypeDetector.detect(file));
+        verify(file).getContent();
+    }
+
+    @Test
+    public void usesCachedMediaTypeWhenFileIsNotModified() throws Exception {
+        VirtualFile file = mockFile("/a/README", "to be or not to be".getBytes(), 1L);
+
+        mediaTypeDetector.detect(file);
+        mediaTypeDetector.detect(file);
+
+        verify(file, times(1)).getContent();
+    }
+
+    @Test
+    public void detectsMediaTypeAgainWhenFileIsModified() throws Exception {
+        VirtualFile file = mockFile("/a/README", "to be or not to be".getBytes(), 1L);
+        mediaTypeDetector.detect(file);
+
+        when(file.getLastModificationDate()).thenReturn(2L);
+        when(file.getContent()).thenReturn(new ByteArrayInputStream(new byte[10]));
+
+        assertEquals(MediaType.OCTET_STREAM, mediaTypeDetector.detect(file));
+    }
+
+    @Test
+    public void recognizesTextMediaTypes() throws Exception {
+        assertTrue(mediaTypeDetector.isText(mediaTypeDetector.detect("Test.java")));
+        assertTrue(mediaTypeDetector.isText(mediaTypeDetector.detect("pom.xml")));
+        assertFalse(mediaTypeDetector.isText(mediaTypeDetector.detect("image.png")));
+    }
+
+    private VirtualFile mockFile(String path, byte[] content, long lastModified) throws Exception {
+        VirtualFile file = mock(VirtualFile.class);
+        when(file.getPath()).thenReturn(Path.of(path));
+        when(file.getName()).thenReturn(Path.of(path).getName());
+        when(file.getLastModificationDate()).thenReturn(lastModified);
+        when(file.getContent()).thenReturn(new ByteArrayInputStream(content));
+        return file;
+    }
+}
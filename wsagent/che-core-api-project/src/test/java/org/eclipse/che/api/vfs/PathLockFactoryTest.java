@@ -236,4 +236,99 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testSiblingLocks() throws Exception {
+        final Path sibling = path.getParent().newPath("d");
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            // Exclusive lock of sibling must not prevent to get lock of another sibling.
+            PathLockFactory.PathLock siblingLock = pathLockFactory.getLock(sibling, true).acquire(100);
+            assertEquals(0, siblingLock.getWaitTime());
+            siblingLock.release();
+        } finally {
+            finisher.countDown();
+        }
+        t.join();
+        pathLockFactory.checkClean();
+    }
+
+    public void testDescendantLockBlocksAncestor() throws Exception {
+        final Path ancestor = path.getParent().getParent();
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            // Not exclusive lock of descendant must not prevent to get not exclusive lock of ancestor.
+            pathLockFactory.getLock(ancestor, false).acquire(100).release();
+            try {
+                pathLockFactory.getLock(ancestor, true).acquire(100);
+                fail("Exclusive lock of ancestor must not be obtained while another thread keeps lock of descendant");
+            } catch (RuntimeException expected) {
+            }
+        } finally {
+            finisher.countDown();
+        }
+        t.join();
+        pathLockFactory.getLock(ancestor, true).acquire(100).release();
+        pathLockFactory.checkClean();
+    }
+
+    public void testWaitStatistics() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path.getParent(), true).acquire();
+                starter.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false).acquire(2000);
+        lock.release();
+        t.join();
+
+        assertTrue(lock.getWaitTime() > 0);
+        PathLockFactory.Statistics statistics = pathLockFactory.getStatistics();
+        assertEquals(2, statistics.getAcquisitions());
+        assertEquals(1, statistics.getContendedAcquisitions());
+        assertEquals(0, statistics.getTimeouts());
+        assertTrue(statistics.getMaxWaitTime() > 0);
+    }
 }
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static org.eclipse.che.api.vfs.impl.file.FileTreeSnapshot.DIRECTORY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileTreeSnapshotTest {
+    private final Path root = Paths.get("/root");
+
+    private FileTreeSnapshot snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshot = new FileTreeSnapshot();
+        snapshot.addDirectory(root);
+    }
+
+    @Test
+    public void storesFilesAndDirectories() throws Exception {
+        snapshot.put(root.resolve("a"), DIRECTORY);
+        snapshot.addDirectory(root.resolve("a"));
+        snapshot.put(root.resolve("a/file"), 100L);
+
+        assertEquals(DIRECTORY, (long)snapshot.get(root.resolve("a")));
+        assertEquals(100L, (long)snapshot.get(root.resolve("a/file")));
+        assertEquals(newHashSet("file"), snapshot.getChildren(root.resolve("a")));
+        assertNull(snapshot.get(root.resolve("b")));
+    }
+
+    @Test
+    public void doesNotStorePathWhenParentIsNotTracked() throws Exception {
+        snapshot.put(root.resolve("a/file"), 100L);
+
+        assertNull(snapshot.get(root.resolve("a/file")));
+        assertTrue(snapshot.getChildren(root.resolve("a")).isEmpty());
+    }
+
+    @Test
+    public void removesWholeSubtreeOfDirectory() throws Exception {
+        snapshot.put(root.resolve("a"), DIRECTORY);
+        snapshot.addDirectory(root.resolve("a"));
+        snapshot.put(root.resolve("a/b"), DIRECTORY);
+        snapshot.addDirectory(root.resolve("a/b"));
+        snapshot.put(root.resolve("a/b/file"), 100L);
+        snapshot.put(root.resolve("file"), 200L);
+
+        Map<Path, Boolean> removed = new HashMap<>();
+        snapshot.remove(root.resolve("a"), removed::put);
+
+        Map<Path, Boolean> expected = new HashMap<>();
+        expected.put(root.resolve("a"), true);
+        expected.put(root.resolve("a/b"), true);
+        expected.put(root.resolve("a/b/file"), false);
+        assertEquals(expected, removed);
+        assertFalse(snapshot.containsDirectory(root.resolve("a")));
+        assertFalse(snapshot.containsDirectory(root.resolve("a/b")));
+        assertEquals(newHashSet("file"), snapshot.getChildren(root));
+    }
+
+    @Test
+    public void doesNothingWhenRemovedPathIsUnknown() throws Exception {
+        Map<Path, Boolean> removed = new HashMap<>();
+        snapshot.remove(root.resolve("a"), removed::put);
+
+        assertTrue(removed.isEmpty());
+    }
+}
@@ -160,6 +160,30 @@ public class FileTreeWatcherTest {
         assertEquals(updated, newHashSet(updatedEvents.getAllValues()));
     }
 
+    @Test
+    public void notifiesOnceAboutMultipleUpdatesOfFileDuringDebouncePeriod() throws Exception {
+        String file = fileWatcherTestTree.createFile("");
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.setEventDebounceMs(1000);
+        fileWatcher.startup();
+
+        Thread.sleep(1000);
+
+        for (int i = 0; i < 5; i++) {
+            fileWatcherTestTree.updateFile(file);
+            Thread.sleep(50);
+        }
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationHandler, never()).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), anyString(), anyBoolean());
+        verify(notificationHandler, times(1)).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), eq(file), eq(false));
+    }
+
     @Test
     public void watchesDelete() throws Exception {
         fileWatcherTestTree.createDirectory("", "watched");
@@ -186,6 +210,33 @@ public class FileTreeWatcherTest {
         assertEquals(deleted, newHashSet(deletedEvents.getAllValues()));
     }
 
+    @Test
+    public void watchesDirectoryWhichIsDeletedAndCreatedAgainDuringDebouncePeriod() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+        String deletedFile = fileWatcherTestTree.createFile("watched");
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.setEventDebounceMs(1000);
+        fileWatcher.startup();
+
+        Thread.sleep(500);
+
+        fileWatcherTestTree.delete("watched");
+        fileWatcherTestTree.createDirectory("", "watched");
+
+        Thread.sleep(5000);
+
+        String createdFile = fileWatcherTestTree.createFile("watched");
+
+        Thread.sleep(5000);
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler).handleFileWatcherEvent(eq(DELETED), eq(testDirectory), eq(deletedFile), eq(false));
+        verify(notificationHandler).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq("watched"), eq(true));
+        verify(notificationHandler).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq(createdFile), eq(false));
+    }
+
     @Test
     public void doesNotWatchExcludedDirectories() throws Exception {
         fileWatcherTestTree.createDirectory("", "excluded");
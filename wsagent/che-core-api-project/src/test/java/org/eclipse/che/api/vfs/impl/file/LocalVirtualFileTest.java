@@ -341,6 +341,48 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, root.getChildren());
     }
 
+    @Test
+    public void getsChildrenCreatedOutsideOfVirtualFileSystem() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile file1 = folder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertEquals(newArrayList(file1), folder.getChildren());
+
+        File ioFolder = folder.toIoFile();
+        long lastModified = ioFolder.lastModified();
+        String name = generateFileName();
+        assertTrue(new File(ioFolder, name).createNewFile());
+        // Modification date of folder may be not changed on filesystems with low resolution of timestamps.
+        assertTrue(ioFolder.setLastModified(lastModified));
+        fileSystem.invalidateChildrenCache(folder.getPath().newPath(name));
+
+        List<VirtualFile> expectedResult = newArrayList(file1, folder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+
+        assertEquals(expectedResult, folder.getChildren());
+    }
+
+    @Test
+    public void getsChildrenOfNestedFolderWhenAncestorIsInvalidated() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        VirtualFile nestedFolder = folder.createFolder(generateFolderName()).createFolder(generateFolderName());
+        VirtualFile file1 = nestedFolder.createFile(generateFileName(), DEFAULT_CONTENT);
+        assertEquals(newArrayList(file1), nestedFolder.getChildren());
+
+        File ioFolder = nestedFolder.toIoFile();
+        long lastModified = ioFolder.lastModified();
+        String name = generateFileName();
+        assertTrue(new File(ioFolder, name).createNewFile());
+        assertTrue(ioFolder.setLastModified(lastModified));
+        fileSystem.invalidateChildrenCache(folder.getPath());
+
+        List<VirtualFile> expectedResult = newArrayList(file1, nestedFolder.getChild(Path.of(name)));
+        Collections.sort(expectedResult);
+
+        assertEquals(expectedResult, nestedFolder.getChildren());
+    }
+
     @Test
     public void getsChildrenWithFilter() throws Exception {
         VirtualFile root = getRoot();
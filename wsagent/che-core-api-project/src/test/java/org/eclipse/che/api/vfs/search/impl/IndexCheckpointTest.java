@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexCheckpointTest {
+    private File workDirectory;
+    private File checkpointFile;
+
+    @Before
+    public void setUp() throws Exception {
+        File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
+        workDirectory = new File(targetDir, NameGenerator.generate("checkpoint-", 4));
+        assertTrue(workDirectory.mkdir());
+        checkpointFile = new File(workDirectory, "checkpoint");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(workDirectory);
+    }
+
+    @Test
+    public void restoresSavedCheckpoint() throws Exception {
+        IndexCheckpoint checkpoint = new IndexCheckpoint(checkpointFile);
+        checkpoint.markDone("/a", "1:100");
+        checkpoint.markDone("/a/b c", "2:200");
+        checkpoint.save();
+
+        IndexCheckpoint restored = new IndexCheckpoint(checkpointFile);
+        restored.load();
+
+        assertTrue(restored.isDone("/a", "1:100"));
+        assertTrue(restored.isDone("/a/b c", "2:200"));
+    }
+
+    @Test
+    public void folderIsNotDoneWhenFingerprintChanged() throws Exception {
+        IndexCheckpoint checkpoint = new IndexCheckpoint(checkpointFile);
+        checkpoint.markDone("/a", "1:100");
+
+        assertFalse(checkpoint.isDone("/a", "1:101"));
+        assertFalse(checkpoint.isDone("/b", "1:100"));
+    }
+
+    @Test
+    public void fingerprintDoesNotDependOnOrderOfFiles() throws Exception {
+        VirtualFile file1 = file("a.txt", 100L);
+        VirtualFile file2 = file("b.txt", 300L);
+
+        assertEquals(IndexCheckpoint.fingerprint(newArrayList(file1, file2)), IndexCheckpoint.fingerprint(newArrayList(file2, file1)));
+        assertTrue(IndexCheckpoint.fingerprint(newArrayList(file1, file2)).startsWith("2:"));
+    }
+
+    @Test
+    public void fingerprintIsChangedWhenFileIsRenamed() throws Exception {
+        String fingerprint = IndexCheckpoint.fingerprint(newArrayList(file("a.txt", 100L), file("b.txt", 300L)));
+
+        assertNotEquals(fingerprint, IndexCheckpoint.fingerprint(newArrayList(file("a.txt", 100L), file("c.txt", 300L))));
+    }
+
+    @Test
+    public void fingerprintIsChangedWhenFileIsModified() throws Exception {
+        String fingerprint = IndexCheckpoint.fingerprint(newArrayList(file("a.txt", 100L), file("b.txt", 300L)));
+
+        assertNotEquals(fingerprint, IndexCheckpoint.fingerprint(newArrayList(file("a.txt", 200L), file("b.txt", 300L))));
+    }
+
+    @Test
+    public void removesNotRetainedFolders() throws Exception {
+        IndexCheckpoint checkpoint = new IndexCheckpoint(checkpointFile);
+        checkpoint.markDone("/a", "1:100");
+        checkpoint.markDone("/b", "1:100");
+
+        assertEquals(newArrayList("/b"), newArrayList(checkpoint.retainAll(newArrayList("/a"))));
+        assertTrue(checkpoint.isDone("/a", "1:100"));
+        assertFalse(checkpoint.isDone("/b", "1:100"));
+    }
+
+    @Test
+    public void inMemoryCheckpointIsNotSaved() throws Exception {
+        IndexCheckpoint checkpoint = new IndexCheckpoint(null);
+        checkpoint.markDone("/a", "1:100");
+        checkpoint.save();
+
+        checkpoint.load();
+
+        assertTrue(checkpoint.isEmpty());
+    }
+
+    private static VirtualFile file(String name, long lastModified) {
+        VirtualFile file = mock(VirtualFile.class);
+        when(file.getName()).thenReturn(name);
+        when(file.getLastModificationDate()).thenReturn(lastModified);
+        return file;
+    }
+}
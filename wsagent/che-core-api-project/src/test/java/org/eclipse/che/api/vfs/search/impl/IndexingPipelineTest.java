@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexingPipelineTest {
+    private VirtualFileSystem    virtualFileSystem;
+    private VirtualFile          folder;
+    private MemoryLuceneSearcher searcher;
+    private IndexCheckpoint      checkpoint;
+
+    @Before
+    public void setUp() throws Exception {
+        VirtualFileFilter filter = mock(VirtualFileFilter.class);
+        when(filter.accept(any(VirtualFile.class))).thenReturn(true);
+        searcher = new MemoryLuceneSearcher(filter, null);
+        virtualFileSystem = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", "To be or not to be");
+        folder.createFile("zzz.txt", "Maybe you should think twice");
+        folder.createFolder("sub").createFile("yyy.txt", "Apollo set several major human spaceflight milestones");
+        searcher.init(virtualFileSystem);
+
+        checkpoint = new IndexCheckpoint(null);
+        new IndexingPipeline(searcher, checkpoint, 2, 10).index(virtualFileSystem.getRoot());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        searcher.close();
+    }
+
+    @Test
+    public void skipsFoldersWhichAreNotChangedWhenIndexingIsResumed() throws Exception {
+        IndexingPipeline pipeline = new IndexingPipeline(searcher, checkpoint, 2, 10);
+        pipeline.index(virtualFileSystem.getRoot());
+
+        assertEquals(3L, pipeline.getProgress().getSkippedFiles());
+        assertEquals(newArrayList("/folder/zzz.txt"), search("think"));
+    }
+
+    @Test
+    public void indexesRenamedFileWhenIndexingIsResumed() throws Exception {
+        folder.getChild(Path.of("zzz.txt")).rename("renamed.txt");
+
+        new IndexingPipeline(searcher, checkpoint, 2, 10).index(virtualFileSystem.getRoot());
+
+        assertEquals(newArrayList("/folder/renamed.txt"), search("think"));
+        assertEquals(newArrayList("/folder/sub/yyy.txt"), search("apollo"));
+    }
+
+    @Test
+    public void removesDeletedFileWhenIndexingIsResumed() throws Exception {
+        folder.getChild(Path.of("zzz.txt")).delete();
+
+        new IndexingPipeline(searcher, checkpoint, 2, 10).index(virtualFileSystem.getRoot());
+
+        assertTrue(search("think").isEmpty());
+        assertEquals(newArrayList("/folder/xxx.txt"), search("be"));
+        assertEquals(newArrayList("/folder/sub/yyy.txt"), search("apollo"));
+    }
+
+    private List<String> search(String text) throws Exception {
+        return searcher.search(new QueryExpression().setText(text)).getFilePaths();
+    }
+}
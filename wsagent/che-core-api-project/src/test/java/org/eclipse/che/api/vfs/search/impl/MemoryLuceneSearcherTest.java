@@ -11,6 +11,7 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
@@ -18,7 +19,9 @@ import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.api.vfs.search.SearchResultEntry;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -284,6 +287,60 @@ public class MemoryLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void resolvesOccurrencesOfSearchedTextWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[0] + "\n" + TEST_CONTENT[3] + "\nApollo");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("apollo").setIncludeOccurrences(true));
+
+        assertEquals(1, result.getResults().size());
+        SearchResultEntry entry = result.getResults().get(0);
+        assertEquals("/folder/xxx.txt", entry.getFilePath());
+        assertEquals(2, entry.getOccurrences().size());
+        SearchOccurrence first = entry.getOccurrences().get(0);
+        assertEquals(1, first.getLineNumber());
+        assertEquals(0, first.getStartColumn());
+        assertEquals(6, first.getEndColumn());
+        assertEquals(TEST_CONTENT[0], first.getLineContent());
+        SearchOccurrence second = entry.getOccurrences().get(1);
+        assertEquals(3, second.getLineNumber());
+        assertEquals("Apollo", second.getPhrase());
+        assertEquals("Apollo", second.getLineContent());
+    }
+
+    @Test
+    public void resolvesOccurrenceInTruncatedLineRelativeToLineContent() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        String padding = Strings.repeat("padding ", 60);
+        folder.createFile("xxx.txt", padding + "Apollo " + padding);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("apollo").setIncludeOccurrences(true));
+
+        SearchOccurrence occurrence = result.getResults().get(0).getOccurrences().get(0);
+        assertEquals(padding.length(), occurrence.getStartColumn());
+        assertTrue(occurrence.getLineContentOffset() > 0);
+        assertTrue(occurrence.getLineContent().length() < padding.length() * 2);
+        assertEquals("Apollo", occurrence.getLineContent().substring(occurrence.getStartColumn() - occurrence.getLineContentOffset(),
+                                                                     occurrence.getEndColumn() - occurrence.getLineContentOffset()));
+    }
+
+    @Test
+    public void doesNotResolveOccurrencesOfSearchedTextByDefault() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[0]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("apollo"));
+
+        assertEquals(1, result.getResults().size());
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
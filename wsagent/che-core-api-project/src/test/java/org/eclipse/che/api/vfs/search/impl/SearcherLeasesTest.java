@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SearcherLeasesTest {
+    private IndexWriter     indexWriter;
+    private SearcherManager searcherManager;
+    private SearcherLeases  searcherLeases;
+
+    @Before
+    public void setUp() throws Exception {
+        indexWriter = new IndexWriter(new RAMDirectory(), new IndexWriterConfig(new StandardAnalyzer()));
+        searcherManager = new SearcherManager(indexWriter, true, new SearcherFactory());
+        searcherLeases = new SearcherLeases(searcherManager, TimeUnit.MINUTES.toMillis(1), 2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        searcherLeases.close();
+        searcherManager.close();
+        indexWriter.close();
+    }
+
+    @Test
+    public void terminatesLeastRecentlyUsedLeaseWhenLimitIsReached() throws Exception {
+        long first = searcherLeases.lease(searcherManager.acquire());
+        Thread.sleep(10);
+        long second = searcherLeases.lease(searcherManager.acquire());
+        Thread.sleep(10);
+        // the first lease is used after the second one is created
+        searcherLeases.release(searcherLeases.tryAcquire(first));
+        Thread.sleep(10);
+
+        long third = searcherLeases.lease(searcherManager.acquire());
+
+        assertEquals(2, searcherLeases.size());
+        assertNull(searcherLeases.tryAcquire(second));
+        IndexSearcher searcher = searcherLeases.tryAcquire(first);
+        assertNotNull(searcher);
+        searcherLeases.release(searcher);
+        searcher = searcherLeases.tryAcquire(third);
+        assertNotNull(searcher);
+        searcherLeases.release(searcher);
+    }
+}
@@ -67,6 +67,7 @@ import org.eclipse.che.api.git.shared.Revision;
 import org.eclipse.che.api.git.shared.RmRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentResponse;
+import org.eclipse.che.api.git.shared.ShowFilesContentRequest;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.che.api.git.shared.Tag;
@@ -92,6 +93,7 @@ import org.eclipse.jgit.api.RebaseResult;
 import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.ResetCommand.ResetType;
 import org.eclipse.jgit.api.RmCommand;
+import org.eclipse.jgit.api.StatusCommand;
 import org.eclipse.jgit.api.TagCommand;
 import org.eclipse.jgit.api.TransportCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
@@ -104,6 +106,7 @@ import org.eclipse.jgit.lib.ConfigConstants;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.ObjectLoader;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.lib.RefUpdate;
@@ -116,7 +119,6 @@ import org.eclipse.jgit.merge.ResolveMerger;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevObject;
 import org.eclipse.jgit.revwalk.RevTag;
-import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
 import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
@@ -132,7 +134,9 @@ import org.eclipse.jgit.transport.Transport;
 import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.eclipse.jgit.treewalk.TreeWalk;
-import org.eclipse.jgit.treewalk.filter.PathFilter;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
 import org.eclipse.jgit.util.FS;
 import org.eclipse.jgit.util.FileUtils;
 import org.slf4j.Logger;
@@ -152,7 +156,6 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -205,6 +208,7 @@ class JGitConnection implements GitConnection {
     private static final String ERROR_PULL_COMMIT_BEFORE_MERGE     = "Could not pull. Commit your changes before merging.";
     private static final String ERROR_TAG_DELETE                   = "Could not delete the tag %1$s. An error occurred: %2$s.";
     private static final String ERROR_INIT_FOLDER_MISSING          = "The working folder %s does not exist.";
+    private static final String ERROR_SHOW_FILES_MISSING           = "Show files operation failed, files are required.";
     private static final String ERROR_CHECKOUT_CONFLICT            = "Checkout operation failed, the following files would be " +
                                                                      "overwritten by merge:";
     private static final String ERROR_REMOVING_INVALID_URL         = "remoteUpdate: Ignore this error. Cannot remove invalid URL.";
@@ -216,6 +220,7 @@ class JGitConnection implements GitConnection {
                                                                      "been registered";
     private static final String ERROR_AUTHENTICATION_FAILED        = "fatal: Authentication failed for '%s/'" + lineSeparator();
     private static final String ERROR_NO_HEAD_EXISTS               = "No HEAD exists and no explicit starting revision was specified";
+    private static final String ERROR_REVISION_NOT_FOUND           = "Revision '%s' not found.";
 
     private static final String MESSAGE_COMMIT_NOT_POSSIBLE = "Commit is not possible because repository state is '%s'";
     private static final String MESSAGE_AMEND_NOT_POSSIBLE  = "Amend is not possible because repository state is '%s'";
@@ -230,13 +235,21 @@ class JGitConnection implements GitConnection {
     private final GitUserResolver   userResolver;
     private final Repository        repository;
 
+    private final JGitRepositoryCache repositoryCache;
+
     @Inject
     JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
                    GitUserResolver userResolver) {
+        this(repository, credentialsLoader, sshKeyProvider, userResolver, null);
+    }
+
+    JGitConnection(Repository repository, CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider,
+                   GitUserResolver userResolver, JGitRepositoryCache repositoryCache) {
         this.repository = repository;
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = repositoryCache;
     }
 
     @Override
@@ -457,6 +470,8 @@ class JGitConnection implements GitConnection {
             }
 
             executeRemoteCommand(remoteUri, cloneCommand);
+            // repository opened before clone might not see the new content
+            invalidateRepositoryCache(new File(request.getWorkingDir()));
 
             StoredConfig repositoryConfig = getRepository().getConfig();
             GitUser gitUser = getUser();
@@ -537,31 +552,63 @@ class JGitConnection implements GitConnection {
 
     @Override
     public ShowFileContentResponse showFileContent(ShowFileContentRequest request) throws GitException {
-        String content;
-        ObjectId revision;
-        try {
-            revision = getRepository().resolve(request.getVersion());
-            try (RevWalk revWalk = new RevWalk(getRepository())) {
-                RevCommit revCommit = revWalk.parseCommit(revision);
-                RevTree tree = revCommit.getTree();
-
-                try (TreeWalk treeWalk = new TreeWalk(getRepository())) {
-                    treeWalk.addTree(tree);
-                    treeWalk.setRecursive(true);
-                    treeWalk.setFilter(PathFilter.create(request.getFile()));
-                    if (!treeWalk.next()) {
-                        throw new GitException("fatal: Path '" + request.getFile() + "' does not exist in '"
-                                               + request.getVersion() + "'" + lineSeparator());
-                    }
-                    ObjectId objectId = treeWalk.getObjectId(0);
-                    ObjectLoader loader = repository.open(objectId);
-                    content = new String(loader.getBytes());
+        // content of single file is always returned, size limit is applied only to batch requests
+        return showFilesContent(Collections.singletonList(request.getFile()), request.getVersion(), Integer.MAX_VALUE).get(0);
+    }
+
+    @Override
+    public List<ShowFileContentResponse> showFilesContent(ShowFilesContentRequest request) throws GitException {
+        List<String> files = request.getFiles();
+        if (files == null || files.isEmpty()) {
+            throw new GitException(ERROR_SHOW_FILES_MISSING);
+        }
+        long sizeLimit = request.getSizeLimit() > 0 ? Math.min(request.getSizeLimit(), Integer.MAX_VALUE) : FILE_SIZE_LIMIT;
+        return showFilesContent(files, request.getVersion(), sizeLimit);
+    }
+
+    private List<ShowFileContentResponse> showFilesContent(List<String> files, String version, long sizeLimit) throws GitException {
+        Set<String> requested = new HashSet<>(files);
+        Map<String, ShowFileContentResponse> contents = new HashMap<>();
+        // all blobs are read with the same reader, so pack files are opened only once
+        try (ObjectReader reader = getRepository().newObjectReader();
+             RevWalk revWalk = new RevWalk(reader);
+             TreeWalk treeWalk = new TreeWalk(reader)) {
+            ObjectId revision = getRepository().resolve(version);
+            if (revision == null) {
+                throw new GitException(String.format(ERROR_REVISION_NOT_FOUND, version));
+            }
+            treeWalk.addTree(revWalk.parseCommit(revision).getTree());
+            treeWalk.setRecursive(true);
+            treeWalk.setFilter(PathFilterGroup.createFromStrings(files));
+            while (treeWalk.next() && contents.size() < requested.size()) {
+                String path = treeWalk.getPathString();
+                if (requested.contains(path)) {
+                    contents.put(path, readContent(reader, treeWalk.getObjectId(0), sizeLimit).withFile(path));
                 }
             }
         } catch (IOException exception) {
             throw new GitException(exception.getMessage());
         }
-        return newDto(ShowFileContentResponse.class).withContent(content);
+
+        List<ShowFileContentResponse> result = new ArrayList<>(files.size());
+        for (String file : files) {
+            ShowFileContentResponse content = contents.get(file);
+            if (content == null) {
+                throw new GitException("fatal: Path '" + file + "' does not exist in '" + version + "'" + lineSeparator());
+            }
+            result.add(content);
+        }
+        return result;
+    }
+
+    private ShowFileContentResponse readContent(ObjectReader reader, ObjectId objectId, long sizeLimit) throws IOException {
+        ObjectLoader loader = reader.open(objectId, Constants.OBJ_BLOB);
+        long size = loader.getSize();
+        if (size > sizeLimit) {
+            return newDto(ShowFileContentResponse.class).withSize(size).withTruncated(true);
+        }
+        return newDto(ShowFileContentResponse.class).withSize(size)
+                                                    .withContent(new String(loader.getCachedBytes((int)size)));
     }
 
     @Override
@@ -651,17 +698,24 @@ class JGitConnection implements GitConnection {
 
     @Override
     public LogPage log(LogRequest request) throws GitException {
-        LogCommand logCommand = getGit().log();
-        try {
-            setRevisionRange(logCommand, request);
+        try (RevWalk revWalk = new RevWalk(repository)) {
+            markRevisions(revWalk, request);
 
-            request.getFileFilter().forEach(logCommand::addPath);
+            List<String> fileFilter = request.getFileFilter();
+            if (fileFilter != null && !fileFilter.isEmpty()) {
+                // Path limited walk, only trees of the given paths are compared with parents
+                revWalk.setTreeFilter(AndTreeFilter.create(PathFilterGroup.createFromStrings(fileFilter), TreeFilter.ANY_DIFF));
+            }
 
-            Iterator<RevCommit> revIterator = logCommand.call().iterator();
+            // Commits are read lazily, so only skipped commits and commits of the requested page are parsed
+            int skip = request.getSkip();
+            int maxCount = request.getMaxCount();
             List<Revision> commits = new ArrayList<>();
-
-            while (revIterator.hasNext()) {
-                RevCommit commit = revIterator.next();
+            for (RevCommit commit : revWalk) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
                 PersonIdent committerIdentity = commit.getCommitterIdent();
 
                 GitUser gitUser = newDto(GitUser.class).withName(committerIdentity.getName())
@@ -672,26 +726,38 @@ class JGitConnection implements GitConnection {
                                                           .withCommitTime(MILLISECONDS.convert(commit.getCommitTime(), SECONDS))
                                                           .withCommitter(gitUser);
                 commits.add(revision);
+                if (maxCount > 0 && commits.size() == maxCount) {
+                    break;
+                }
             }
             return new LogPage(commits);
-        } catch (GitAPIException | IOException exception) {
-            String errorMessage = exception.getMessage();
-            if (ERROR_NO_HEAD_EXISTS.equals(errorMessage)) {
-                throw new GitException(errorMessage, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
-            }
-            throw new GitException(errorMessage, exception);
+        } catch (IOException exception) {
+            throw new GitException(exception.getMessage(), exception);
         }
     }
 
-    private void setRevisionRange(LogCommand logCommand, LogRequest request) throws IOException {
-        if (request != null) {
-            String revisionRangeSince = request.getRevisionRangeSince();
-            String revisionRangeUntil = request.getRevisionRangeUntil();
-            if (revisionRangeSince != null && revisionRangeUntil != null) {
-                ObjectId since = repository.resolve(revisionRangeSince);
-                ObjectId until = repository.resolve(revisionRangeUntil);
-                logCommand.addRange(since, until);
+    private void markRevisions(RevWalk revWalk, LogRequest request) throws IOException, GitException {
+        String revisionRangeSince = request.getRevisionRangeSince();
+        String revisionRangeUntil = request.getRevisionRangeUntil();
+        boolean isRange = revisionRangeSince != null && revisionRangeUntil != null;
+
+        String start = request.getFromRevision() != null ? request.getFromRevision()
+                                                         : isRange ? revisionRangeUntil : Constants.HEAD;
+        ObjectId startId = repository.resolve(start);
+        if (startId == null) {
+            if (Constants.HEAD.equals(start)) {
+                throw new GitException(ERROR_NO_HEAD_EXISTS, ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
             }
+            throw new GitException(String.format(ERROR_REVISION_NOT_FOUND, start));
+        }
+        revWalk.markStart(revWalk.parseCommit(startId));
+
+        if (isRange) {
+            ObjectId sinceId = repository.resolve(revisionRangeSince);
+            if (sinceId == null) {
+                throw new GitException(String.format(ERROR_REVISION_NOT_FOUND, revisionRangeSince));
+            }
+            revWalk.markUninteresting(revWalk.parseCommit(sinceId));
         }
     }
 
@@ -1320,11 +1386,18 @@ class JGitConnection implements GitConnection {
 
     @Override
     public Status status(StatusFormat format) throws GitException {
+        return status(format, Collections.emptyList());
+    }
+
+    @Override
+    public Status status(StatusFormat format, List<String> paths) throws GitException {
         if (!RepositoryCache.FileKey.isGitRepository(getRepository().getDirectory(), FS.DETECTED)) {
             throw new GitException("Not a git repository");
         }
         String branchName = getCurrentBranch();
-        return new JGitStatusImpl(branchName, getGit().status(), format);
+        StatusCommand statusCommand = getGit().status();
+        paths.forEach(statusCommand::addPath);
+        return new JGitStatusImpl(branchName, statusCommand, format);
     }
 
     @Override
@@ -1617,6 +1690,13 @@ class JGitConnection implements GitConnection {
             // Ignore the error since we want to throw the original error
             LOG.error("Could not remove .git folder in path " + repository.getDirectory().getPath(), exception);
         }
+        invalidateRepositoryCache(repository.getWorkTree());
+    }
+
+    private void invalidateRepositoryCache(File workDir) {
+        if (repositoryCache != null) {
+            repositoryCache.invalidate(workDir);
+        }
     }
 
     private Repository getRepository() {
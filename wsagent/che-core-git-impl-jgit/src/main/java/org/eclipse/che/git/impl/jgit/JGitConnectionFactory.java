@@ -17,8 +17,6 @@ import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 
 import javax.inject.Inject;
@@ -38,15 +36,29 @@ import java.security.NoSuchAlgorithmException;
  */
 public class JGitConnectionFactory extends GitConnectionFactory {
 
-    private final CredentialsLoader credentialsLoader;
-    private final SshKeyProvider    sshKeyProvider;
-    private final GitUserResolver   userResolver;
+    private final CredentialsLoader   credentialsLoader;
+    private final SshKeyProvider      sshKeyProvider;
+    private final GitUserResolver     userResolver;
+    private final JGitRepositoryCache repositoryCache;
+
+    /**
+     * Creates factory which uses repository cache shared by all factories created with this constructor, so each of them
+     * doesn't start own eviction thread.
+     */
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver)
+            throws GitException {
+        this(credentialsLoader, sshKeyProvider, userResolver, SharedRepositoryCache.INSTANCE);
+    }
 
     @Inject
-    public JGitConnectionFactory(CredentialsLoader credentialsLoader, SshKeyProvider sshKeyProvider, GitUserResolver userResolver) throws GitException {
+    public JGitConnectionFactory(CredentialsLoader credentialsLoader,
+                                 SshKeyProvider sshKeyProvider,
+                                 GitUserResolver userResolver,
+                                 JGitRepositoryCache repositoryCache) throws GitException {
         this.credentialsLoader = credentialsLoader;
         this.sshKeyProvider = sshKeyProvider;
         this.userResolver = userResolver;
+        this.repositoryCache = repositoryCache;
 
         // Install the all-trusting trust manager
         try {
@@ -75,14 +87,14 @@ public class JGitConnectionFactory extends GitConnectionFactory {
     @Override
     public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory) throws GitException {
         Repository gitRepo = createRepository(workDir);
-        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver);
+        JGitConnection conn = new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, userResolver, repositoryCache);
         conn.setOutputLineConsumerFactory(outputPublisherFactory);
         return conn;
     }
 
-    private static Repository createRepository(File workDir) throws GitException {
+    private Repository createRepository(File workDir) throws GitException {
         try {
-            return new FileRepository(new File(workDir, Constants.DOT_GIT));
+            return repositoryCache.acquire(workDir);
         } catch (IOException e) {
             throw new GitException(e.getMessage(), e);
         }
@@ -92,4 +104,9 @@ public class JGitConnectionFactory extends GitConnectionFactory {
     public CredentialsLoader getCredentialsLoader() {
         return credentialsLoader;
     }
+
+    /** Holds repository cache of factories which are created without injection, the cache is created on first use. */
+    private static class SharedRepositoryCache {
+        static final JGitRepositoryCache INSTANCE = new JGitRepositoryCache();
+    }
 }
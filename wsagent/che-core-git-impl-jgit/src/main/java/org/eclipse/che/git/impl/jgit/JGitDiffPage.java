@@ -12,6 +12,7 @@
 package org.eclipse.che.git.impl.jgit;
 
 import org.eclipse.che.api.git.DiffPage;
+import org.eclipse.che.api.git.GitConnection;
 import org.eclipse.che.api.git.shared.DiffRequest;
 import org.eclipse.che.api.git.shared.DiffRequest.DiffType;
 import org.eclipse.jgit.diff.ContentSource;
@@ -63,6 +64,8 @@ class JGitDiffPage extends DiffPage {
     public final void writeTo(OutputStream out) throws IOException {
         DiffFormatter formatter = new DiffFormatter(new BufferedOutputStream(out));
         formatter.setRepository(repository);
+        // larger files are shown as binary, so their content is not loaded
+        formatter.setBinaryFileThreshold(GitConnection.FILE_SIZE_LIMIT);
         List<String> rawFileFilter = request.getFileFilter();
         TreeFilter pathFilter = (rawFileFilter != null && rawFileFilter.size() > 0)
                                 ? PathFilterGroup.createFromStrings(rawFileFilter) : TreeFilter.ALL;
@@ -292,9 +295,12 @@ class JGitDiffPage extends DiffPage {
         return renameDetector;
     }
 
+    /** Writes diff file by file, output is flushed after each file so client gets it without waiting for the whole diff. */
     private void writeRawDiff(List<DiffEntry> diff, DiffFormatter formatter) throws IOException {
-        formatter.format(diff);
-        formatter.flush();
+        for (DiffEntry entry : diff) {
+            formatter.format(entry);
+            formatter.flush();
+        }
     }
 
     private void writeNames(List<DiffEntry> diff, OutputStream out) throws IOException {
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.collect.Sets.newHashSet;
+
+/**
+ * Keeps opened repositories, so git operations on the same working tree share one {@link Repository} instance with its config,
+ * refs and pack indexes instead of reading them from disk on each call.
+ * <p>
+ * Each cached repository holds one use reference of the cache itself, each {@link #acquire(File) acquired} repository holds one more
+ * reference which is released when repository is closed. Repository releases its files when the last reference is released, so
+ * repository which is {@link #invalidate(File) invalidated} or evicted while it is in use is closed only after all connections to it
+ * are closed.
+ * <p>
+ * Cached repository is dropped:
+ * <ul>
+ * <li>when it isn't used longer than idle timeout</li>
+ * <li>on file watcher events about top level entries of {@code .git} folder, e.g. config or packed refs are replaced or
+ * {@code .git} folder is removed. Changes of loose objects and refs are tracked by the repository itself</li>
+ * <li>when repository is cloned or removed, see {@link #invalidate(File)}</li>
+ * </ul>
+ * Folders which don't contain {@code .git} folder aren't cached.
+ */
+@Singleton
+public class JGitRepositoryCache {
+    private static final Logger LOG = LoggerFactory.getLogger(JGitRepositoryCache.class);
+
+    static final long DEFAULT_IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(10);
+
+    /** Entries of {@code .git} folder which are re-read by repository on each access, so their changes don't drop cache. */
+    private static final Set<String> UNTRACKED_ENTRIES = newHashSet("index", "FETCH_HEAD", "ORIG_HEAD", "COMMIT_EDITMSG", "logs");
+
+    private final Map<File, CachedRepository> repositories;
+    private final long                        idleTimeout;
+    private final ScheduledExecutorService    evictor;
+
+    public JGitRepositoryCache() {
+        this(DEFAULT_IDLE_TIMEOUT);
+    }
+
+    @Inject
+    public JGitRepositoryCache(FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this(DEFAULT_IDLE_TIMEOUT);
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(this::isTopLevelGitEntry) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                final File file = virtualFile.toIoFile();
+                if (file != null) {
+                    final File gitDir = Constants.DOT_GIT.equals(file.getName()) ? file : file.getParentFile();
+                    invalidate(gitDir.getParentFile());
+                }
+            }
+        });
+    }
+
+    JGitRepositoryCache(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+        this.repositories = new HashMap<>();
+        this.evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("JGitRepositoryCache-%d")
+                                                                                            .setDaemon(true)
+                                                                                            .build());
+        final long period = Math.max(idleTimeout / 2, 1);
+        evictor.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns repository of the given working tree. Caller must {@link Repository#close() close} repository when it isn't needed
+     * anymore.
+     *
+     * @throws IOException
+     *         if repository can't be opened
+     */
+    public Repository acquire(File workDir) throws IOException {
+        final File key = getKey(workDir);
+        final File gitDir = new File(key, Constants.DOT_GIT);
+        CachedRepository stale = null;
+        try {
+            synchronized (repositories) {
+                CachedRepository repository = repositories.get(key);
+                if (repository != null && !gitDir.isDirectory()) {
+                    stale = repositories.remove(key);
+                    repository = null;
+                }
+                if (repository == null) {
+                    if (!gitDir.isDirectory()) {
+                        // nothing to cache, e.g. folder isn't under git or repository is going to be initialized or cloned
+                        return new FileRepository(gitDir);
+                    }
+                    repository = new CachedRepository(gitDir);
+                    repositories.put(key, repository);
+                }
+                repository.acquire();
+                return repository;
+            }
+        } finally {
+            if (stale != null) {
+                stale.release();
+            }
+        }
+    }
+
+    /**
+     * Drops cached repository of the given working tree. Should be called when repository is replaced or removed,
+     * repository is reopened on the next {@link #acquire(File)}.
+     */
+    public void invalidate(File workDir) {
+        final CachedRepository repository;
+        synchronized (repositories) {
+            repository = repositories.remove(getKey(workDir));
+        }
+        if (repository != null) {
+            LOG.debug("Repository {} is removed from cache", repository.getDirectory());
+            repository.release();
+        }
+    }
+
+    /** Returns number of cached repositories. */
+    int size() {
+        synchronized (repositories) {
+            return repositories.size();
+        }
+    }
+
+    /** Drops repositories which aren't used longer than idle timeout. */
+    void evictIdle() {
+        final long now = System.currentTimeMillis();
+        final List<CachedRepository> evicted = new ArrayList<>();
+        synchronized (repositories) {
+            for (Iterator<CachedRepository> it = repositories.values().iterator(); it.hasNext(); ) {
+                final CachedRepository repository = it.next();
+                if (repository.isIdle(now, idleTimeout)) {
+                    it.remove();
+                    evicted.add(repository);
+                }
+            }
+        }
+        evicted.forEach(CachedRepository::release);
+    }
+
+    @PreDestroy
+    public void stop() {
+        evictor.shutdownNow();
+        final List<CachedRepository> all;
+        synchronized (repositories) {
+            all = new ArrayList<>(repositories.values());
+            repositories.clear();
+        }
+        all.forEach(CachedRepository::release);
+    }
+
+    private boolean isTopLevelGitEntry(VirtualFile virtualFile) {
+        final String name = virtualFile.getName();
+        if (Constants.DOT_GIT.equals(name)) {
+            return true;
+        }
+        final VirtualFile parent = virtualFile.getParent();
+        return parent != null
+               && Constants.DOT_GIT.equals(parent.getName())
+               && !UNTRACKED_ENTRIES.contains(name)
+               && !name.endsWith(".lock");
+    }
+
+    private static File getKey(File workDir) {
+        return workDir.getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+    /** Repository which counts connections which use it and keeps time of last use. */
+    static class CachedRepository extends FileRepository {
+        /** Number of use references, one reference belongs to the cache and one to each connection. */
+        private int  references;
+        private int  connections;
+        private long lastUsed;
+
+        CachedRepository(File gitDir) throws IOException {
+            super(gitDir);
+            references = 1;
+            lastUsed = System.currentTimeMillis();
+        }
+
+        synchronized void acquire() {
+            incrementOpen();
+            references++;
+            connections++;
+            lastUsed = System.currentTimeMillis();
+        }
+
+        synchronized boolean isIdle(long now, long idleTimeout) {
+            return connections == 0 && now - lastUsed >= idleTimeout;
+        }
+
+        /** Returns {@code true} if all references are released and files of repository are closed. */
+        synchronized boolean isClosed() {
+            return references == 0;
+        }
+
+        /** Releases reference of the cache. */
+        void release() {
+            synchronized (this) {
+                references--;
+            }
+            super.close();
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                references--;
+                connections--;
+                lastUsed = System.currentTimeMillis();
+            }
+            super.close();
+        }
+    }
+}
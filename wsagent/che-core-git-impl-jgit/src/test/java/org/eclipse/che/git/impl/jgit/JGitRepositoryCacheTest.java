@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.jgit;
+
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.Repository;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
+import static org.eclipse.che.commons.lang.IoUtil.deleteRecursive;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class JGitRepositoryCacheTest {
+    private File                workDir;
+    private JGitRepositoryCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("JGitRepositoryCacheTest").toFile();
+        Git.init().setDirectory(workDir).call().close();
+        cache = new JGitRepositoryCache(JGitRepositoryCache.DEFAULT_IDLE_TIMEOUT);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        cache.stop();
+        deleteRecursive(workDir);
+    }
+
+    @Test
+    public void sharesRepositoryBetweenConnections() throws Exception {
+        Repository first = cache.acquire(workDir);
+        Repository second = cache.acquire(new File(workDir, "."));
+
+        assertSame(second, first);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void keepsRepositoryOpenedUntilLastConnectionIsClosed() throws Exception {
+        JGitRepositoryCache.CachedRepository first = (JGitRepositoryCache.CachedRepository)cache.acquire(workDir);
+        Repository second = cache.acquire(workDir);
+        cache.invalidate(workDir);
+
+        first.close();
+        assertFalse(first.isClosed());
+
+        second.close();
+        assertTrue(first.isClosed());
+    }
+
+    @Test
+    public void keepsRepositoryOpenedAfterConnectionIsClosedWhileItIsCached() throws Exception {
+        JGitRepositoryCache.CachedRepository repository = (JGitRepositoryCache.CachedRepository)cache.acquire(workDir);
+
+        repository.close();
+
+        assertFalse(repository.isClosed());
+        assertSame(cache.acquire(workDir), repository);
+    }
+
+    @Test
+    public void evictsRepositoryWhichIsNotUsedLongerThanIdleTimeout() throws Exception {
+        cache.stop();
+        cache = new JGitRepositoryCache(50);
+        JGitRepositoryCache.CachedRepository repository = (JGitRepositoryCache.CachedRepository)cache.acquire(workDir);
+        repository.close();
+
+        Thread.sleep(100);
+        cache.evictIdle();
+
+        assertEquals(cache.size(), 0);
+        assertTrue(repository.isClosed());
+    }
+
+    @Test
+    public void doesNotEvictRepositoryWhichIsInUse() throws Exception {
+        cache.stop();
+        cache = new JGitRepositoryCache(50);
+        JGitRepositoryCache.CachedRepository repository = (JGitRepositoryCache.CachedRepository)cache.acquire(workDir);
+
+        Thread.sleep(100);
+        cache.evictIdle();
+
+        assertEquals(cache.size(), 1);
+        assertFalse(repository.isClosed());
+        repository.close();
+    }
+
+    @Test
+    public void reopensRepositoryAfterInvalidation() throws Exception {
+        Repository repository = cache.acquire(workDir);
+        repository.close();
+
+        cache.invalidate(workDir);
+
+        assertEquals(cache.size(), 0);
+        assertNotSame(cache.acquire(workDir), repository);
+    }
+
+    @Test
+    public void invalidatesRepositoryWhenTopLevelEntryOfGitFolderIsChanged() throws Exception {
+        FileWatcherNotificationListener listener = createWatchedCache();
+        Repository repository = cache.acquire(workDir);
+        repository.close();
+        VirtualFile config = mockGitEntry("config");
+
+        assertTrue(listener.shouldBeNotifiedFor(config));
+        listener.onFileWatcherEvent(config, MODIFIED);
+
+        assertEquals(cache.size(), 0);
+        assertNotSame(cache.acquire(workDir), repository);
+    }
+
+    @Test
+    public void ignoresChangesOfEntriesWhichAreReadByRepositoryOnEachAccess() throws Exception {
+        FileWatcherNotificationListener listener = createWatchedCache();
+
+        assertFalse(listener.shouldBeNotifiedFor(mockGitEntry("index")));
+        assertFalse(listener.shouldBeNotifiedFor(mockGitEntry("config.lock")));
+    }
+
+    @Test
+    public void doesNotCacheFolderWithoutGitRepository() throws Exception {
+        File notGitDir = Files.createTempDirectory("JGitRepositoryCacheTest").toFile();
+        try {
+            cache.acquire(notGitDir).close();
+
+            assertEquals(cache.size(), 0);
+        } finally {
+            deleteRecursive(notGitDir);
+        }
+    }
+
+    @Test
+    public void closesRepositoriesWhenCacheIsStopped() throws Exception {
+        JGitRepositoryCache.CachedRepository repository = (JGitRepositoryCache.CachedRepository)cache.acquire(workDir);
+        repository.close();
+
+        cache.stop();
+
+        assertEquals(cache.size(), 0);
+        assertTrue(repository.isClosed());
+    }
+
+    private FileWatcherNotificationListener createWatchedCache() {
+        cache.stop();
+        FileWatcherNotificationHandler handler = mock(FileWatcherNotificationHandler.class);
+        cache = new JGitRepositoryCache(handler);
+        ArgumentCaptor<FileWatcherNotificationListener> captor = ArgumentCaptor.forClass(FileWatcherNotificationListener.class);
+        verify(handler).addNotificationListener(captor.capture());
+        return captor.getValue();
+    }
+
+    private VirtualFile mockGitEntry(String name) {
+        VirtualFile gitFolder = mock(VirtualFile.class);
+        when(gitFolder.getName()).thenReturn(Constants.DOT_GIT);
+        VirtualFile entry = mock(VirtualFile.class);
+        when(entry.getName()).thenReturn(name);
+        when(entry.getParent()).thenReturn(gitFolder);
+        when(entry.toIoFile()).thenReturn(new File(new File(workDir, Constants.DOT_GIT), name));
+        return entry;
+    }
+}
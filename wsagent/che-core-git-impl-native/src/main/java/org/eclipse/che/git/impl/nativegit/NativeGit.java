@@ -31,6 +31,7 @@ import org.eclipse.che.git.impl.nativegit.commands.LogCommand;
 import org.eclipse.che.git.impl.nativegit.commands.LsRemoteCommand;
 import org.eclipse.che.git.impl.nativegit.commands.MergeCommand;
 import org.eclipse.che.git.impl.nativegit.commands.MoveCommand;
+import org.eclipse.che.git.impl.nativegit.commands.ObjectSizeCommand;
 import org.eclipse.che.git.impl.nativegit.commands.PullCommand;
 import org.eclipse.che.git.impl.nativegit.commands.PushCommand;
 import org.eclipse.che.git.impl.nativegit.commands.RemoteAddCommand;
@@ -192,6 +193,15 @@ public class NativeGit {
         return command;
     }
 
+    /**
+     * @return object size command
+     */
+    public ObjectSizeCommand createObjectSizeCommand() {
+        ObjectSizeCommand command = new ObjectSizeCommand(repository);
+        command.setLineConsumerFactory(gitOutputPublisherFactory);
+        return command;
+    }
+
     /**
      * @return reset command
      */
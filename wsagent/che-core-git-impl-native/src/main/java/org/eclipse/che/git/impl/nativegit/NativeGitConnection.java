@@ -60,6 +60,7 @@ import org.eclipse.che.api.git.shared.Revision;
 import org.eclipse.che.api.git.shared.RmRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentRequest;
 import org.eclipse.che.api.git.shared.ShowFileContentResponse;
+import org.eclipse.che.api.git.shared.ShowFilesContentRequest;
 import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.git.shared.StatusFormat;
 import org.eclipse.che.api.git.shared.Tag;
@@ -91,6 +92,7 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -367,6 +369,29 @@ public class NativeGitConnection implements GitConnection {
         return showCommand.execute();
     }
 
+    @Override
+    public List<ShowFileContentResponse> showFilesContent(ShowFilesContentRequest request) throws GitException {
+        if (request.getFiles() == null || request.getFiles().isEmpty()) {
+            throw new GitException("Show files operation failed, files are required.");
+        }
+        long sizeLimit = request.getSizeLimit() > 0 ? request.getSizeLimit() : FILE_SIZE_LIMIT;
+        List<ShowFileContentResponse> contents = new ArrayList<>(request.getFiles().size());
+        for (String file : request.getFiles()) {
+            long size = nativeGit.createObjectSizeCommand().withFile(file).withVersion(request.getVersion()).execute();
+            if (size > sizeLimit) {
+                contents.add(newDto(ShowFileContentResponse.class).withFile(file).withSize(size).withTruncated(true));
+            } else {
+                contents.add(nativeGit.createShowFileContentCommand()
+                                      .withFile(file)
+                                      .withVersion(request.getVersion())
+                                      .execute()
+                                      .withFile(file)
+                                      .withSize(size));
+            }
+        }
+        return contents;
+    }
+
     @Override
     public void fetch(FetchRequest request) throws GitException, UnauthorizedException {
         String remoteUri = getRemoteUri(request.getRemote());
@@ -411,7 +436,17 @@ public class NativeGitConnection implements GitConnection {
     @Override
     public LogPage log(LogRequest request) throws GitException {
         try {
-            return new LogPage(nativeGit.createLogCommand().setFileFilter(request.getFileFilter()).execute());
+            String revision = request.getFromRevision();
+            if (request.getRevisionRangeSince() != null && request.getRevisionRangeUntil() != null) {
+                // page which starts from the given revision is still limited by the start of the range
+                revision = request.getRevisionRangeSince() + ".." + (revision != null ? revision : request.getRevisionRangeUntil());
+            }
+            return new LogPage(nativeGit.createLogCommand()
+                                        .setBranch(revision)
+                                        .setSkip(request.getSkip())
+                                        .setCount(request.getMaxCount())
+                                        .setFileFilter(request.getFileFilter())
+                                        .execute());
         } catch (ServerException exception) {
             if (noInitCommitWhenLogErrorPattern.matcher(exception.getMessage()).find()) {
                 throw new GitException(exception.getMessage(), ErrorCodes.INIT_COMMIT_WAS_NOT_PERFORMED);
@@ -552,6 +587,11 @@ public class NativeGitConnection implements GitConnection {
         return new NativeGitStatusImpl(getCurrentBranch(), nativeGit, format);
     }
 
+    @Override
+    public Status status(final StatusFormat format, final List<String> paths) throws GitException {
+        return new NativeGitStatusImpl(getCurrentBranch(), nativeGit, format, paths);
+    }
+
     @Override
     public Tag tagCreate(TagCreateRequest request) throws GitException {
         return nativeGit.createTagCreateCommand().setName(request.getName())
@@ -13,6 +13,7 @@ package org.eclipse.che.git.impl.nativegit;
 
 
 import org.eclipse.che.api.git.DiffPage;
+import org.eclipse.che.api.git.GitConnection;
 import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.api.git.shared.DiffRequest;
 import org.slf4j.Logger;
@@ -62,14 +63,16 @@ public class NativeGitDiffPage extends DiffPage {
      * @throws GitException when any error occurs
      */
     private void commitToIndex(String commit, PrintWriter outWriter) throws GitException {
-        outWriter.print(nativeGit.createDiffCommand()
+        nativeGit.createDiffCommand()
                 .setCommitA(commit)
                 .setCached(true)
                 .setType(request.getType().toString())
                 .setFileFilter(request.getFileFilter())
                 .setNoRenames(request.isNoRenames())
                 .setRenamesCount(request.getRenameLimit())
-                .execute());
+                .setBigFileThreshold(GitConnection.FILE_SIZE_LIMIT)
+                .setOutput(outWriter)
+                .execute();
     }
 
     /**
@@ -77,12 +80,14 @@ public class NativeGitDiffPage extends DiffPage {
      * @throws GitException when any error occurs
      */
     private void workingTreeToIndex(PrintWriter outWriter) throws GitException {
-        outWriter.print(nativeGit.createDiffCommand()
+        nativeGit.createDiffCommand()
                 .setType(request.getType().toString())
                 .setFileFilter(request.getFileFilter())
                 .setNoRenames(request.isNoRenames())
                 .setRenamesCount(request.getRenameLimit())
-                .execute());
+                .setBigFileThreshold(GitConnection.FILE_SIZE_LIMIT)
+                .setOutput(outWriter)
+                .execute();
     }
 
     /**
@@ -92,14 +97,16 @@ public class NativeGitDiffPage extends DiffPage {
      * @throws GitException when any error occurs
      */
     private void commitToCommit(String commitA, String commitB, PrintWriter outWriter) throws GitException {
-        outWriter.print(nativeGit.createDiffCommand()
+        nativeGit.createDiffCommand()
                 .setCommitA(commitA)
                 .setCommitB(commitB)
                 .setType(request.getType().toString())
                 .setFileFilter(request.getFileFilter())
                 .setNoRenames(request.isNoRenames())
                 .setRenamesCount(request.getRenameLimit())
-                .execute());
+                .setBigFileThreshold(GitConnection.FILE_SIZE_LIMIT)
+                .setOutput(outWriter)
+                .execute();
     }
 
     /**
@@ -108,12 +115,14 @@ public class NativeGitDiffPage extends DiffPage {
      * @throws GitException
      */
     private void commitToWorkingTree(String commit, PrintWriter outWriter) throws GitException {
-         outWriter.print(nativeGit.createDiffCommand()
+        nativeGit.createDiffCommand()
                  .setCommitA(commit)
                  .setType(request.getType().toString())
                  .setFileFilter(request.getFileFilter())
                  .setNoRenames(request.isNoRenames())
                  .setRenamesCount(request.getRenameLimit())
-                 .execute());
+                 .setBigFileThreshold(GitConnection.FILE_SIZE_LIMIT)
+                 .setOutput(outWriter)
+                 .execute();
     }
 }
@@ -19,6 +19,7 @@ import org.eclipse.che.git.impl.nativegit.commands.StatusCommand;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -51,6 +52,8 @@ public class NativeGitStatusImpl implements Status, InfoPage {
     private List<String> conflicting;
 
     private NativeGit nativeGit;
+
+    private List<String> paths;
     
     private String repositoryState;
 
@@ -65,16 +68,33 @@ public class NativeGitStatusImpl implements Status, InfoPage {
      *         when any error occurs
      */
     public NativeGitStatusImpl(String branchName, NativeGit nativeGit, StatusFormat format) throws GitException {
+        this(branchName, nativeGit, format, Collections.emptyList());
+    }
+
+    /**
+     * @param branchName
+     *         current repository branch name
+     * @param nativeGit
+     *         git commands factory
+     * @param format
+     *         the output format for the status
+     * @param paths
+     *         paths which status should be loaded, status of whole working tree is loaded if list is empty
+     * @throws GitException
+     *         when any error occurs
+     */
+    public NativeGitStatusImpl(String branchName, NativeGit nativeGit, StatusFormat format, List<String> paths) throws GitException {
         this.branchName = branchName;
         this.format = format;
         this.nativeGit = nativeGit;
+        this.paths = paths;
         load();
     }
 
     /** @see InfoPage#writeTo(java.io.OutputStream) */
     @Override
     public void writeTo(OutputStream out) throws IOException {
-        StatusCommand status = nativeGit.createStatusCommand().setFormat(format);
+        StatusCommand status = nativeGit.createStatusCommand().setFormat(format).setPaths(paths);
         try {
             status.execute();
             out.write(status.getText().getBytes());
@@ -258,7 +278,7 @@ public class NativeGitStatusImpl implements Status, InfoPage {
      *         when it is not possible to get status information
      */
     public void load() throws GitException {
-        StatusCommand status = nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN);
+        StatusCommand status = nativeGit.createStatusCommand().setFormat(StatusFormat.PORCELAIN).setPaths(paths);
         List<String> statusOutput = status.execute();
         setClean(statusOutput.size() == 0);
         if (!isClean()) {
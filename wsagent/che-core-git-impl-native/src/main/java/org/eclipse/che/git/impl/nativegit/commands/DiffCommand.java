@@ -14,6 +14,8 @@ import org.eclipse.che.api.git.GitException;
 import org.eclipse.che.api.git.shared.DiffRequest;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.List;
 
 /**
@@ -22,14 +24,20 @@ import java.util.List;
  * @author Eugene Voevodin
  */
 public class DiffCommand extends GitCommand<String> {
+    private static final String FILE_DIFF_HEADER = "diff --git ";
+    private static final int    ERROR_LINES      = 10;
 
     private List<String> filesFilter;
-    private String   commitA;
-    private String   commitB;
-    private String   type;
-    private boolean  cached;
-    private boolean  noRenames;
-    private int      renamesCount;
+    private String       commitA;
+    private String       commitB;
+    private String       type;
+    private boolean      cached;
+    private boolean      noRenames;
+    private int          renamesCount;
+    private int          bigFileThreshold;
+    private Writer       output;
+    private int          outputLines;
+    private IOException  outputError;
 
     public DiffCommand(File repository) {
         super(repository);
@@ -39,6 +47,12 @@ public class DiffCommand extends GitCommand<String> {
     @Override
     public String execute() throws GitException {
         reset();
+        outputLines = 0;
+        outputError = null;
+        if (bigFileThreshold > 0) {
+            // larger files are shown as binary, so their content is not loaded
+            commandLine.add("-c", "core.bigFileThreshold=" + bigFileThreshold);
+        }
         commandLine.add("diff");
         if (!(type == null || type.equals(DiffRequest.DiffType.RAW.toString()))) {
             commandLine.add(type);
@@ -62,12 +76,53 @@ public class DiffCommand extends GitCommand<String> {
             commandLine.add(filesFilter);
         }
         start();
+        if (output != null) {
+            try {
+                if (outputError != null) {
+                    throw outputError;
+                }
+                if (type == null || type.equals("--raw")) {
+                    output.write('\n');
+                }
+                output.flush();
+            } catch (IOException e) {
+                throw new GitException(e.getMessage(), e);
+            }
+            return null;
+        }
         if (type == null || type.equals("--raw")) {
             return getText() + "\n";
         }
         return getText();
     }
 
+    /**
+     * Writes line to the output if it is set. Output is flushed before diff of each file, so client gets diff file by file.
+     * Only first lines are kept in the command for reporting an error.
+     */
+    @Override
+    public void writeLine(String line) {
+        if (output == null || lines.size() < ERROR_LINES) {
+            super.writeLine(line);
+        }
+        if (output == null || outputError != null) {
+            return;
+        }
+        try {
+            if (line.startsWith(FILE_DIFF_HEADER)) {
+                output.flush();
+            }
+            if (outputLines > 0) {
+                output.write('\n');
+            }
+            output.write(line);
+            outputLines++;
+        } catch (IOException e) {
+            // rest of output is skipped, error is thrown when command is finished
+            outputError = e;
+        }
+    }
+
     /**
      * @param commitA
      *         first commit
@@ -137,4 +192,25 @@ public class DiffCommand extends GitCommand<String> {
         this.noRenames = noRenames;
         return this;
     }
+
+    /**
+     * @param bigFileThreshold
+     *         max size of file in bytes which difference is shown, larger files are shown as binary
+     * @return DiffCommand with established big file threshold
+     */
+    public DiffCommand setBigFileThreshold(int bigFileThreshold) {
+        this.bigFileThreshold = bigFileThreshold;
+        return this;
+    }
+
+    /**
+     * @param output
+     *         writer for diff, if it is set diff is written to it while command is running and {@link #execute()} returns
+     *         {@code null}
+     * @return DiffCommand with established output
+     */
+    public DiffCommand setOutput(Writer output) {
+        this.output = output;
+        return this;
+    }
 }
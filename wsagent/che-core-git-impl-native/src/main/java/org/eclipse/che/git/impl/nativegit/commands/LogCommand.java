@@ -27,6 +27,7 @@ import java.util.List;
 public class LogCommand extends GitCommand<List<Revision>> {
 
     private int          count;
+    private int          skip;
     private String       branch;
     private List<String> fileFilter;
 
@@ -44,10 +45,16 @@ public class LogCommand extends GitCommand<List<Revision>> {
         if (branch != null) {
             commandLine.add(branch);
         }
+        if (skip > 0) {
+            commandLine.add("--skip=" + skip);
+        }
         if (count > 0) {
             commandLine.add("-" + count);
         }
-        commandLine.add(fileFilter);
+        if (fileFilter != null && !fileFilter.isEmpty()) {
+            // separates paths from revisions, so path which looks like revision isn't treated as revision
+            commandLine.add("--").add(fileFilter);
+        }
         start();
         List<Revision> list = new LinkedList<>();
         final DtoFactory dtoFactory = DtoFactory.getInstance();
@@ -80,6 +87,16 @@ public class LogCommand extends GitCommand<List<Revision>> {
         return this;
     }
 
+    /**
+     * @param skip
+     *         number of log objects to skip before the first returned object
+     * @return LogCommand with established number of skipped log objects
+     */
+    public LogCommand setSkip(int skip) {
+        this.skip = skip;
+        return this;
+    }
+
     /**
      * @param branch
      *         branch
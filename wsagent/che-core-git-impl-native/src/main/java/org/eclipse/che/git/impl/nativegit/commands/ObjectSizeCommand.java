@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.git.impl.nativegit.commands;
+
+import org.eclipse.che.api.git.GitException;
+
+import java.io.File;
+
+/**
+ * Used for getting size of the file from specified revision or branch without loading its content.
+ */
+public class ObjectSizeCommand extends GitCommand<Long> {
+
+    private String file;
+    private String version;
+
+    public ObjectSizeCommand(File repositoryPlace) {
+        super(repositoryPlace);
+    }
+
+    /**
+     * @see GitCommand#execute()
+     */
+    @Override
+    public Long execute() throws GitException {
+        if (file == null) {
+            throw new GitException("No file was set.");
+        }
+        reset();
+        commandLine.add("cat-file", "-s");
+        commandLine.add(version + ":" + file);
+        start();
+
+        try {
+            return Long.parseLong(getText().trim());
+        } catch (NumberFormatException e) {
+            throw new GitException("Unexpected size of file '" + file + "': " + getText());
+        }
+    }
+
+    /**
+     * Set up file for object size command.
+     *
+     * @param file
+     *         file name with its full path
+     * @return ObjectSizeCommand with established file
+     */
+    public ObjectSizeCommand withFile(String file) {
+        this.file = file;
+        return this;
+    }
+
+    /**
+     * Set up revision or branch for object size command.
+     *
+     * @param version
+     *         revision or branch
+     * @return ObjectSizeCommand with established revision or branch
+     */
+    public ObjectSizeCommand withVersion(String version) {
+        this.version = version;
+        return this;
+    }
+}
@@ -24,6 +24,7 @@ import java.util.List;
 public class StatusCommand extends GitCommand<List<String>> {
 
     private StatusFormat format;
+    private List<String> paths;
 
     public StatusCommand(File repository) {
         super(repository);
@@ -48,6 +49,10 @@ public class StatusCommand extends GitCommand<List<String>> {
                 default:
             }
         }
+        if (paths != null && !paths.isEmpty()) {
+            commandLine.add("--");
+            commandLine.add(paths);
+        }
         start();
         return getLines();
     }
@@ -63,4 +68,16 @@ public class StatusCommand extends GitCommand<List<String>> {
         this.format = format;
         return this;
     }
+
+    /**
+     * Restricts status to the given paths.
+     *
+     * @param paths
+     *         paths relative to the root of working tree
+     * @return StatusCommand with the established paths
+     */
+    public StatusCommand setPaths(List<String> paths) {
+        this.paths = paths;
+        return this;
+    }
 }
@@ -26,7 +26,6 @@ import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
@@ -41,6 +40,8 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
+import org.eclipse.che.api.machine.server.util.IndexedFileLineConsumer;
+import org.eclipse.che.api.machine.server.util.IndexedLogFile;
 import org.eclipse.che.api.machine.server.wsagent.WsAgentLauncher;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
@@ -618,6 +619,33 @@ public class MachineManager {
      */
     public InstanceProcess exec(final String machineId, final Command command, @Nullable String outputChannel)
             throws NotFoundException, MachineException, BadRequestException {
+        return exec(machineId, command, outputChannel, null);
+    }
+
+    /**
+     * Execute a command in machine and additionally send its output to the specified consumer.
+     * Consumer is closed when process is finished.
+     *
+     * @param machineId
+     *         id of the machine where command should be executed
+     * @param command
+     *         command that should be executed in the machine
+     * @param outputConsumer
+     *         consumer of process output, e.g. to react on particular lines of output
+     * @return {@link org.eclipse.che.api.machine.server.spi.InstanceProcess} that represents started process in machine
+     * @throws NotFoundException
+     *         if machine with specified id not found
+     * @throws BadRequestException
+     *         if value of required parameter is invalid
+     * @throws MachineException
+     *         if other error occur
+     * @see #exec(String, Command, String)
+     */
+    public InstanceProcess exec(final String machineId,
+                                final Command command,
+                                @Nullable String outputChannel,
+                                @Nullable LineConsumer outputConsumer)
+            throws NotFoundException, MachineException, BadRequestException {
         requiredNotNull(machineId, "Machine ID is required");
         requiredNotNull(command, "Command is required");
         requiredNotNull(command.getCommandLine(), "Command line is required");
@@ -628,7 +656,8 @@ public class MachineManager {
         final InstanceProcess instanceProcess = machine.createProcess(command, outputChannel);
         final int pid = instanceProcess.getPid();
 
-        final LineConsumer processLogger = getProcessLogger(machineId, pid, outputChannel);
+        final LineConsumer logger = getProcessLogger(machineId, pid, outputChannel);
+        final LineConsumer processLogger = outputConsumer != null ? new CompositeLineConsumer(logger, outputConsumer) : logger;
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
@@ -793,6 +822,45 @@ public class MachineManager {
         throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
     }
 
+    /**
+     * Gets indexed logs file of machine by specified id.
+     * Unlike {@link #getMachineLogReader(String)} allows reading of the tail or range of lines of logs
+     * without reading of the whole file.
+     *
+     * @param machineId
+     *         machine id whose logs file will be returned
+     * @return logs file of specified machine
+     * @throws NotFoundException
+     *         if logs of machine with specified id are not available
+     */
+    public IndexedLogFile getMachineLogFile(String machineId) throws NotFoundException {
+        final File machineLogsFile = getMachineLogsFile(machineId);
+        if (machineLogsFile.isFile()) {
+            return new IndexedLogFile(machineLogsFile);
+        }
+        throw new NotFoundException(String.format("Logs for machine '%s' are not available", machineId));
+    }
+
+    /**
+     * Gets indexed logs file of process of machine by specified id.
+     *
+     * @param machineId
+     *         machine id
+     * @param pid
+     *         process id
+     * @return logs file of specified process
+     * @throws NotFoundException
+     *         if logs of specified process are not available
+     * @see #getMachineLogFile(String)
+     */
+    public IndexedLogFile getProcessLogFile(String machineId, int pid) throws NotFoundException {
+        final File processLogsFile = getProcessLogsFile(machineId, pid);
+        if (processLogsFile.isFile()) {
+            return new IndexedLogFile(processLogsFile);
+        }
+        throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+    }
+
     private SnapshotImpl doSaveMachine(SnapshotImpl snapshot, Instance machine) throws SnapshotException, MachineException {
         final SnapshotImpl snapshotWithKey;
         try {
@@ -879,9 +947,9 @@ public class MachineManager {
         }
     }
 
-    private FileLineConsumer getMachineFileLogger(String machineId) throws MachineException {
+    private IndexedFileLineConsumer getMachineFileLogger(String machineId) throws MachineException {
         try {
-            return new FileLineConsumer(getMachineLogsFile(machineId));
+            return new IndexedFileLineConsumer(getMachineLogsFile(machineId));
         } catch (IOException e) {
             throw new MachineException(String.format("Unable create log file for machine '%s'. %s", machineId, e.getMessage()));
         }
@@ -895,9 +963,9 @@ public class MachineManager {
         return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
+    private IndexedFileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
         try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
+            return new IndexedFileLineConsumer(getProcessLogsFile(machineId, pid));
         } catch (IOException e) {
             throw new MachineException(
                     String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
@@ -16,8 +16,6 @@ import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
-import com.google.common.io.CharStreams;
-
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -27,12 +25,14 @@ import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.util.IndexedLogFile;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
 import org.eclipse.che.api.machine.shared.dto.NewSnapshotDescriptor;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.Pair;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletResponse;
@@ -40,6 +40,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -48,8 +49,11 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import java.io.IOException;
-import java.io.Reader;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -61,6 +65,13 @@ import java.util.stream.Collectors;
 @Api(value = "/machine", description = "Machine REST API")
 @Path("/machine")
 public class MachineService extends Service {
+    /** Name of the response header which contains offset of the first sent byte of logs. */
+    public static final String LOGS_OFFSET_HEADER = "X-Logs-Offset";
+
+    /** Following of logs is stopped if logs are not changed during this time in milliseconds. */
+    private static final long    LOGS_FOLLOW_IDLE_TIMEOUT = 30_000;
+    private static final Pattern BYTE_RANGE               = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
     private MachineManager machineManager;
 
     private final MachineServiceLinksInjector linksInjector;
@@ -275,19 +286,43 @@ public class MachineService extends Service {
     @Produces(MediaType.TEXT_PLAIN)
     @ApiOperation(value = "Get logs of machine")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains logs"),
+                   @ApiResponse(code = 206, message = "The response contains requested range of logs"),
+                   @ApiResponse(code = 400, message = "Parameters of the request are not valid"),
                    @ApiResponse(code = 404, message = "Machine with specified ID does not exist"),
+                   @ApiResponse(code = 416, message = "Requested range is not satisfiable"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void getMachineLogs(@ApiParam(value = "Machine ID")
                                @PathParam("machineId")
                                String machineId,
+                               @ApiParam(value = "Number of the last lines of logs to return")
+                               @QueryParam("tail")
+                               Long tail,
+                               @ApiParam(value = "Number of the first line to return, lines are counted from 0")
+                               @QueryParam("fromLine")
+                               Long fromLine,
+                               @ApiParam(value = "Number of the line after the last line to return")
+                               @QueryParam("toLine")
+                               Long toLine,
+                               @ApiParam(value = "Offset in bytes to return logs from, e.g. to resume following of logs")
+                               @QueryParam("offset")
+                               Long offset,
+                               @ApiParam(value = "Whether to keep sending logs as they are written")
+                               @QueryParam("follow")
+                               @DefaultValue("false")
+                               boolean follow,
+                               @HeaderParam("Range")
+                               String range,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
                    ForbiddenException,
                    ServerException,
+                   BadRequestException,
                    IOException {
 
-        addLogsToResponse(machineManager.getMachineLogReader(machineId), httpServletResponse);
+        addLogsToResponse(machineManager.getMachineLogFile(machineId),
+                          new LogsRequest(tail, fromLine, toLine, offset, follow, range),
+                          httpServletResponse);
     }
 
     @GET
@@ -295,7 +330,10 @@ public class MachineService extends Service {
     @Produces(MediaType.TEXT_PLAIN)
     @ApiOperation(value = "Get logs of machine process")
     @ApiResponses({@ApiResponse(code = 200, message = "The response contains logs"),
+                   @ApiResponse(code = 206, message = "The response contains requested range of logs"),
+                   @ApiResponse(code = 400, message = "Parameters of the request are not valid"),
                    @ApiResponse(code = 404, message = "Machine or process with specified ID does not exist"),
+                   @ApiResponse(code = 416, message = "Requested range is not satisfiable"),
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void getProcessLogs(@ApiParam(value = "Machine ID")
                                @PathParam("machineId")
@@ -303,14 +341,35 @@ public class MachineService extends Service {
                                @ApiParam(value = "Process ID")
                                @PathParam("pid")
                                int pid,
+                               @ApiParam(value = "Number of the last lines of logs to return")
+                               @QueryParam("tail")
+                               Long tail,
+                               @ApiParam(value = "Number of the first line to return, lines are counted from 0")
+                               @QueryParam("fromLine")
+                               Long fromLine,
+                               @ApiParam(value = "Number of the line after the last line to return")
+                               @QueryParam("toLine")
+                               Long toLine,
+                               @ApiParam(value = "Offset in bytes to return logs from, e.g. to resume following of logs")
+                               @QueryParam("offset")
+                               Long offset,
+                               @ApiParam(value = "Whether to keep sending logs as they are written")
+                               @QueryParam("follow")
+                               @DefaultValue("false")
+                               boolean follow,
+                               @HeaderParam("Range")
+                               String range,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
                    ForbiddenException,
                    ServerException,
+                   BadRequestException,
                    IOException {
 
-        addLogsToResponse(machineManager.getProcessLogReader(machineId, pid), httpServletResponse);
+        addLogsToResponse(machineManager.getProcessLogFile(machineId, pid),
+                          new LogsRequest(tail, fromLine, toLine, offset, follow, range),
+                          httpServletResponse);
     }
 
     /**
@@ -413,11 +472,112 @@ public class MachineService extends Service {
         targetMachine.copy(sourceMachine, sourcePath, targetPath, overwrite);
     }
 
-    private void addLogsToResponse(Reader logsReader, HttpServletResponse httpServletResponse) throws IOException {
-        // Response is written directly to the servlet request stream
-        httpServletResponse.setContentType("text/plain");
-        CharStreams.copy(logsReader, httpServletResponse.getWriter());
-        httpServletResponse.getWriter().flush();
+    /**
+     * Writes requested part of logs to the response. Tail and ranges of lines are found with line index of logs, so cost of
+     * the request doesn't depend on the size of logs. Header {@value #LOGS_OFFSET_HEADER} of the response contains offset
+     * of the first returned byte in the logs, so client may resume following of logs from offset which is sum of this value
+     * and number of received bytes.
+     */
+    private void addLogsToResponse(IndexedLogFile logFile,
+                                   LogsRequest request,
+                                   HttpServletResponse httpServletResponse) throws IOException, BadRequestException {
+        final long length = logFile.length();
+        long start = 0;
+        long end = length;
+        boolean partial = false;
+        final Pair<Long, Long> byteRange = request.range == null ? null : parseByteRange(request.range, length);
+        if (request.tail != null) {
+            checkNotNegative(request.tail, "tail");
+            final Pair<Long, Long> range = logFile.getTailRange(request.tail);
+            start = range.first;
+            end = range.second;
+        } else if (request.fromLine != null || request.toLine != null) {
+            final long fromLine = request.fromLine == null ? 0 : checkNotNegative(request.fromLine, "fromLine");
+            final long toLine = request.toLine == null ? Long.MAX_VALUE : checkNotNegative(request.toLine, "toLine");
+            final Pair<Long, Long> range = logFile.getLinesRange(fromLine, toLine);
+            start = range.first;
+            end = range.second;
+        } else if (byteRange != null) {
+            if (byteRange.first >= byteRange.second) {
+                httpServletResponse.setHeader("Content-Range", "bytes */" + length);
+                httpServletResponse.sendError(416);
+                return;
+            }
+            start = byteRange.first;
+            end = byteRange.second;
+            partial = true;
+            httpServletResponse.setStatus(206);
+            httpServletResponse.setHeader("Content-Range", "bytes " + start + '-' + (end - 1) + '/' + length);
+        } else if (request.offset != null) {
+            start = Math.min(checkNotNegative(request.offset, "offset"), length);
+        }
+
+        // Logs are written with default charset and are sent as is
+        httpServletResponse.setContentType(MediaType.TEXT_PLAIN + ";charset=" + Charset.defaultCharset().name());
+        httpServletResponse.setHeader("Accept-Ranges", "bytes");
+        httpServletResponse.setHeader(LOGS_OFFSET_HEADER, Long.toString(start));
+        final OutputStream output = httpServletResponse.getOutputStream();
+        // Following makes sense only if the end of logs is requested, it isn't applied to byte ranges
+        // since client expects exactly the range specified in header Content-Range
+        if (request.follow && end >= length && !partial) {
+            logFile.follow(start, LOGS_FOLLOW_IDLE_TIMEOUT, output);
+        } else {
+            httpServletResponse.setHeader("Content-Length", Long.toString(end - start));
+            logFile.copy(start, end, output);
+        }
+        output.flush();
+    }
+
+    /**
+     * Parses value of header {@code Range} which contains single range of bytes.
+     *
+     * @return pair of start offset inclusive and end offset exclusive, start isn't less than end if range is not satisfiable,
+     * or {@code null} if header is not valid or contains multiple ranges, such header is ignored and whole logs are sent
+     */
+    private static Pair<Long, Long> parseByteRange(String range, long length) {
+        final Matcher matcher = BYTE_RANGE.matcher(range.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return null;
+        }
+        try {
+            if (matcher.group(1).isEmpty()) {
+                return Pair.of(Math.max(0, length - Long.parseLong(matcher.group(2))), length);
+            }
+            final long start = Long.parseLong(matcher.group(1));
+            if (matcher.group(2).isEmpty()) {
+                return Pair.of(start, length);
+            }
+            final long last = Long.parseLong(matcher.group(2));
+            return last < start ? null : Pair.of(start, Math.min(last + 1, length));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long checkNotNegative(long value, String parameter) throws BadRequestException {
+        if (value < 0) {
+            throw new BadRequestException(String.format("Parameter '%s' must not be negative", parameter));
+        }
+        return value;
+    }
+
+    /** Parameters of the request of logs. */
+    private static class LogsRequest {
+        final Long    tail;
+        final Long    fromLine;
+        final Long    toLine;
+        final Long    offset;
+        final boolean follow;
+        final String  range;
+
+        LogsRequest(Long tail, Long fromLine, Long toLine, Long offset, boolean follow, String range) {
+            this.tail = tail;
+            this.fromLine = fromLine;
+            this.toLine = toLine;
+            this.offset = offset;
+            this.follow = follow;
+            this.range = range;
+        }
     }
 
     /**
@@ -10,11 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.event;
 
+import org.eclipse.che.api.core.notification.AsyncDelivery;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +47,7 @@ public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel("machine:status:" + event.getWorkspaceId() + ':' + event.getMachineName());
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
@@ -54,7 +55,10 @@ public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        eventService.subscribe(this,
+                               MachineStatusEvent.class,
+                               new AsyncDelivery<MachineStatusEvent>().withKey(MachineStatusEvent::getMachineId)
+                                                                      .withShards(4));
     }
 
     @PreDestroy
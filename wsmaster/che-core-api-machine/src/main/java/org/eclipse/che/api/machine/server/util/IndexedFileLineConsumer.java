@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.util;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Writes lines to the log file and maintains sidecar index of this file, see {@link IndexedLogFile}. Index contains end offset of
+ * each line written to the log, so any range of lines may be found without reading of the log itself.
+ * <p>
+ * Line is written to the log before its index entry, so reader never sees index entry which points to the data that isn't
+ * written yet.
+ */
+public class IndexedFileLineConsumer implements LineConsumer {
+    private final File             file;
+    private final OutputStream     output;
+    private final DataOutputStream index;
+    private final Charset          charset;
+
+    private long offset;
+
+    public IndexedFileLineConsumer(File file) throws IOException {
+        this.file = file;
+        this.charset = Charset.defaultCharset();
+        this.output = new FileOutputStream(file);
+        try {
+            this.index = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(IndexedLogFile.getIndexFile(file))));
+        } catch (IOException e) {
+            output.close();
+            throw e;
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        final byte[] bytes = line == null ? new byte[0] : line.getBytes(charset);
+        final byte[] data = new byte[bytes.length + 1];
+        System.arraycopy(bytes, 0, data, 0, bytes.length);
+        data[bytes.length] = '\n';
+        output.write(data);
+        output.flush();
+        offset += data.length;
+        index.writeLong(offset);
+        index.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            output.close();
+        } finally {
+            index.close();
+        }
+    }
+}
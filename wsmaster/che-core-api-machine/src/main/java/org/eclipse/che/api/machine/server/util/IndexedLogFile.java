@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.util;
+
+import org.eclipse.che.commons.lang.Pair;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Log file with sidecar line index written by {@link IndexedFileLineConsumer}. Index file has the same name as log file with
+ * {@code .idx} suffix and contains end offset of each line of the log as 8 bytes long value, so line count is known from the size
+ * of the index and byte range of any lines is found with two reads of the index. That makes cost of getting tail of the log or
+ * range of lines proportional to the size of result instead of size of the log.
+ * <p>
+ * If index doesn't exist, e.g. log is written before indexes were introduced, then offsets of lines are found with scanning of the
+ * whole log.
+ * <p>
+ * Lines are counted from 0. Only lines terminated with line feed are counted.
+ */
+public class IndexedLogFile {
+    private static final String INDEX_SUFFIX        = ".idx";
+    private static final long   FOLLOW_POLL_TIMEOUT = 500;
+
+    /** Returns file of the line index of the given log file. */
+    public static File getIndexFile(File file) {
+        return new File(file.getPath() + INDEX_SUFFIX);
+    }
+
+    private final File file;
+    private final File indexFile;
+
+    public IndexedLogFile(File file) {
+        this.file = file;
+        this.indexFile = getIndexFile(file);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /** Returns current size of the log in bytes. */
+    public long length() {
+        return file.length();
+    }
+
+    /** Returns number of lines written to the log. */
+    public long getLineCount() throws IOException {
+        try (LineIndex index = openIndex()) {
+            return index.count();
+        }
+    }
+
+    /**
+     * Returns byte range of lines from {@code fromLine} inclusive to {@code toLine} exclusive. Range is truncated to the lines
+     * which exist in the log.
+     *
+     * @return pair of start offset inclusive and end offset exclusive
+     */
+    public Pair<Long, Long> getLinesRange(long fromLine, long toLine) throws IOException {
+        if (fromLine < 0 || toLine < 0) {
+            throw new IllegalArgumentException("Line number must not be negative");
+        }
+        try (LineIndex index = openIndex()) {
+            final long count = index.count();
+            final long to = Math.min(toLine, count);
+            final long from = Math.min(fromLine, to);
+            return Pair.of(lineStart(index, from), lineStart(index, to));
+        }
+    }
+
+    /**
+     * Returns byte range of the last {@code lines} lines of the log.
+     *
+     * @return pair of start offset inclusive and end offset exclusive
+     */
+    public Pair<Long, Long> getTailRange(long lines) throws IOException {
+        if (lines < 0) {
+            throw new IllegalArgumentException("Number of lines must not be negative");
+        }
+        try (LineIndex index = openIndex()) {
+            final long count = index.count();
+            return Pair.of(lineStart(index, Math.max(0, count - lines)), lineStart(index, count));
+        }
+    }
+
+    /**
+     * Copies bytes of the log from {@code start} inclusive to {@code end} exclusive to the given stream.
+     *
+     * @return number of copied bytes
+     */
+    public long copy(long start, long end, OutputStream output) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            return transfer(channel, start, end, Channels.newChannel(output));
+        }
+    }
+
+    /**
+     * Copies bytes of the log from {@code start} to the given stream and keeps following the log, i.e. copies bytes appended to the
+     * log after this method is called, until the log isn't changed during {@code idleTimeout} milliseconds or the current thread is
+     * interrupted. Client which wants to keep following the log after that should resume from offset {@code start} plus number of
+     * bytes received.
+     *
+     * @return number of copied bytes
+     */
+    public long follow(long start, long idleTimeout, OutputStream output) throws IOException {
+        final WritableByteChannel target = Channels.newChannel(output);
+        long position = start;
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            long lastChange = System.currentTimeMillis();
+            while (!Thread.currentThread().isInterrupted()) {
+                final long size = channel.size();
+                if (size > position) {
+                    position += transfer(channel, position, size, target);
+                    output.flush();
+                    lastChange = System.currentTimeMillis();
+                } else if (System.currentTimeMillis() - lastChange >= idleTimeout) {
+                    break;
+                } else {
+                    try {
+                        Thread.sleep(Math.min(FOLLOW_POLL_TIMEOUT, idleTimeout));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }
+        return position - start;
+    }
+
+    private long transfer(FileChannel channel, long start, long end, WritableByteChannel target) throws IOException {
+        long position = start;
+        while (position < end) {
+            final long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                break;
+            }
+            position += transferred;
+        }
+        return position - start;
+    }
+
+    private long lineStart(LineIndex index, long line) throws IOException {
+        return line == 0 ? 0 : index.lineEnd(line - 1);
+    }
+
+    private LineIndex openIndex() throws IOException {
+        if (indexFile.isFile()) {
+            return new FileLineIndex(indexFile);
+        }
+        return ScannedLineIndex.scan(file);
+    }
+
+    private interface LineIndex extends AutoCloseable {
+        long count() throws IOException;
+
+        long lineEnd(long line) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static class FileLineIndex implements LineIndex {
+        private final RandomAccessFile index;
+        private final long             count;
+
+        FileLineIndex(File indexFile) throws IOException {
+            index = new RandomAccessFile(indexFile, "r");
+            // index may be read while last entry is being written
+            count = index.length() / Long.BYTES;
+        }
+
+        @Override
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public long lineEnd(long line) throws IOException {
+            index.seek(line * Long.BYTES);
+            return index.readLong();
+        }
+
+        @Override
+        public void close() throws IOException {
+            index.close();
+        }
+    }
+
+    private static class ScannedLineIndex implements LineIndex {
+        static ScannedLineIndex scan(File file) throws IOException {
+            long[] ends = new long[64];
+            int count = 0;
+            long offset = 0;
+            try (InputStream input = new FileInputStream(file)) {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == '\n') {
+                            if (count == ends.length) {
+                                ends = Arrays.copyOf(ends, count * 2);
+                            }
+                            ends[count++] = offset + i + 1;
+                        }
+                    }
+                    offset += read;
+                }
+            }
+            return new ScannedLineIndex(ends, count);
+        }
+
+        private final long[] ends;
+        private final int    count;
+
+        private ScannedLineIndex(long[] ends, int count) {
+            this.ends = ends;
+            this.count = count;
+        }
+
+        @Override
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public long lineEnd(long line) {
+            return ends[(int)line];
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
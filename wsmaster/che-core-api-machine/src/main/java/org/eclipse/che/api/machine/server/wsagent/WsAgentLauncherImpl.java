@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.wsagent;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -17,6 +19,7 @@ import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.MachineManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -24,6 +27,7 @@ import org.eclipse.che.api.machine.shared.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -31,9 +35,21 @@ import javax.inject.Singleton;
 import javax.ws.rs.HttpMethod;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
- * Starts ws agent in the machine and waits until ws agent sends notification about its start
+ * Starts ws agent in the machine and waits until ws agent sends notification about its start.
+ *
+ * <p>Ws agent is pinged from the shared scheduler with exponential backoff, threads are not blocked between pings.
+ * Agent is pinged immediately when its output contains startup marker, and start fails without waiting for the timeout
+ * if ws agent process is finished before it responds to ping.
  *
  * @author Alexander Garagatyi
  */
@@ -45,6 +61,8 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     protected static final Logger LOG = LoggerFactory.getLogger(WsAgentLauncherImpl.class);
 
     private static final String WS_AGENT_PROCESS_OUTPUT_CHANNEL = "workspace:%s:ext-server:output";
+    private static final long   INITIAL_PING_DELAY_MS           = 100;
+    private static final String DEFAULT_STARTED_LOG_MARKER      = "Server startup in";
 
     private final Provider<MachineManager> machineManagerProvider;
     private final HttpJsonRequestFactory   httpJsonRequestFactory;
@@ -53,6 +71,9 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     private final long                     wsAgentPingDelayMs;
     private final int                      wsAgentPingConnectionTimeoutMs;
     private final String                   pingTimedOutErrorMessage;
+    private final ScheduledExecutorService pingExecutor;
+
+    private String startedLogMarker = DEFAULT_STARTED_LOG_MARKER;
 
     @Inject
     public WsAgentLauncherImpl(Provider<MachineManager> machineManagerProvider,
@@ -69,6 +90,18 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
         this.wsAgentPingDelayMs = wsAgentPingDelayMs;
         this.wsAgentPingConnectionTimeoutMs = wsAgentPingConnectionTimeoutMs;
         this.pingTimedOutErrorMessage = pingTimedOutErrorMessage;
+        this.pingExecutor = Executors.newScheduledThreadPool(2, new ThreadFactoryBuilder().setNameFormat("WsAgentPinger-%d")
+                                                                                          .setDaemon(true)
+                                                                                          .build());
+    }
+
+    /**
+     * Sets line of ws agent output which means that ws agent is started, ws agent is pinged as soon as such line appears.
+     * Empty value disables reaction on ws agent output, in this case only pings with backoff are used.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setStartedLogMarker(@Named("machine.ws_agent.started_log_marker") String startedLogMarker) {
+        this.startedLogMarker = startedLogMarker;
     }
 
     public static String getWsAgentProcessOutputChannel(String workspaceId) {
@@ -77,31 +110,55 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
 
     @Override
     public void startWsAgent(String workspaceId) throws NotFoundException, MachineException, InterruptedException {
+        final CompletableFuture<Void> wsAgentStarted = startWsAgentAsync(workspaceId);
+        try {
+            wsAgentStarted.get(wsAgentMaxStartTimeMs, MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOG.error("Fail pinging ws agent. Workspace ID:{}", workspaceId);
+            throw new MachineException(pingTimedOutErrorMessage);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MachineException) {
+                throw (MachineException)e.getCause();
+            }
+            throw new MachineException(e.getCause().getLocalizedMessage(), e.getCause());
+        } finally {
+            // stops pinging if waiting is finished due to timeout or interruption
+            wsAgentStarted.cancel(false);
+        }
+    }
+
+    /**
+     * Starts ws agent in the dev machine of the workspace.
+     * Returned future is completed when ws agent responds to ping or exceptionally if ws agent process is finished
+     * before that. Future is never completed by timeout, caller should cancel it to stop pinging.
+     *
+     * @throws NotFoundException
+     *         if dev machine of the workspace is not found
+     * @throws MachineException
+     *         if ws agent process can't be started
+     */
+    public CompletableFuture<Void> startWsAgentAsync(String workspaceId) throws NotFoundException, MachineException {
         final Machine devMachine = getMachineManager().getDevMachine(workspaceId);
-        final HttpJsonRequest wsAgentPingRequest = createPingRequest(devMachine);
-        final String wsAgentPingUrl = wsAgentPingRequest.getUrl();
+        final WsAgentPinger pinger = new WsAgentPinger(workspaceId, createPingRequest(devMachine));
         try {
             getMachineManager().exec(devMachine.getId(),
                                      new CommandImpl(WS_AGENT_PROCESS_NAME, wsAgentStartCommandLine, "Arbitrary"),
-                                     getWsAgentProcessOutputChannel(workspaceId));
-            final long pingStartTimestamp = System.currentTimeMillis();
-            LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
-                      workspaceId,
-                      wsAgentPingUrl,
-                      pingStartTimestamp);
-
-            while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-                if (pingWsAgent(wsAgentPingRequest)) {
-                    return;
-                } else {
-                    Thread.sleep(wsAgentPingDelayMs);
-                }
-            }
+                                     getWsAgentProcessOutputChannel(workspaceId),
+                                     pinger);
         } catch (BadRequestException wsAgentLaunchingExc) {
             throw new MachineException(wsAgentLaunchingExc.getLocalizedMessage(), wsAgentLaunchingExc);
         }
-        LOG.error("Fail pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}", workspaceId, wsAgentPingUrl);
-        throw new MachineException(pingTimedOutErrorMessage);
+        LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
+                  workspaceId,
+                  pinger.request.getUrl(),
+                  System.currentTimeMillis());
+        pinger.schedule(Math.min(INITIAL_PING_DELAY_MS, wsAgentPingDelayMs));
+        return pinger.started;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pingExecutor.shutdownNow();
     }
 
     // forms the ping request based on information about the machine.
@@ -120,7 +177,7 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
                                      .setTimeout(wsAgentPingConnectionTimeoutMs);
     }
 
-    private boolean pingWsAgent(HttpJsonRequest wsAgentPingRequest) throws MachineException {
+    private boolean pingWsAgent(HttpJsonRequest wsAgentPingRequest) {
         try {
             final HttpJsonResponse pingResponse = wsAgentPingRequest.request();
             if (pingResponse.getResponseCode() == HttpURLConnection.HTTP_OK) {
@@ -134,4 +191,72 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     private MachineManager getMachineManager() {
         return machineManagerProvider.get();
     }
+
+    /**
+     * Pings ws agent until it responds. Delay between pings is doubled after each unsuccessful ping up to the configured
+     * ping delay. Consumes output of ws agent process to ping agent as soon as it reports its start and to fail fast when
+     * process is finished.
+     */
+    private class WsAgentPinger implements LineConsumer {
+        final String                  workspaceId;
+        final HttpJsonRequest         request;
+        final CompletableFuture<Void> started;
+
+        long nextDelay;
+
+        WsAgentPinger(String workspaceId, HttpJsonRequest request) {
+            this.workspaceId = workspaceId;
+            this.request = request;
+            this.started = new CompletableFuture<>();
+        }
+
+        void schedule(long delay) {
+            nextDelay = delay;
+            try {
+                pingExecutor.schedule(() -> ping(true), delay, MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                started.completeExceptionally(new MachineException("Ws agent launcher is stopped"));
+            }
+        }
+
+        /**
+         * Pings ws agent once. Only pings scheduled with backoff schedule the next ping, so extra pings caused by
+         * ws agent output don't multiply the pings chain.
+         */
+        synchronized void ping(boolean scheduleNext) {
+            if (started.isDone()) {
+                return;
+            }
+            if (pingWsAgent(request)) {
+                started.complete(null);
+            } else if (scheduleNext) {
+                schedule(Math.min(nextDelay * 2, wsAgentPingDelayMs));
+            }
+        }
+
+        @Override
+        public void writeLine(String line) {
+            if (!started.isDone() && !startedLogMarker.isEmpty() && line != null && line.contains(startedLogMarker)) {
+                LOG.debug("Ws agent reported its start. Workspace ID:{}", workspaceId);
+                execute(() -> ping(false));
+            }
+        }
+
+        @Override
+        public void close() {
+            // ws agent process is finished, last ping makes sure agent is really unavailable
+            execute(() -> {
+                ping(false);
+                started.completeExceptionally(new MachineException("Ws agent process is finished before ws agent is started"));
+            });
+        }
+
+        private void execute(Runnable task) {
+            try {
+                pingExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                started.completeExceptionally(new MachineException("Ws agent launcher is stopped"));
+            }
+        }
+    }
 }
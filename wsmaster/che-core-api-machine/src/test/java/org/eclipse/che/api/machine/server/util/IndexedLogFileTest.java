@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.util;
+
+import org.eclipse.che.commons.lang.Pair;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Test of {@link IndexedLogFile} and {@link IndexedFileLineConsumer}
+ */
+public class IndexedLogFileTest {
+    private File           logFile;
+    private IndexedLogFile indexedLogFile;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        logFile = File.createTempFile("machine", ".logs");
+        try (IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(logFile)) {
+            for (int i = 0; i < 10; i++) {
+                consumer.writeLine("line " + i);
+            }
+        }
+        indexedLogFile = new IndexedLogFile(logFile);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(IndexedLogFile.getIndexFile(logFile).toPath());
+        Files.deleteIfExists(logFile.toPath());
+    }
+
+    @Test
+    public void shouldCountLines() throws Exception {
+        assertEquals(indexedLogFile.getLineCount(), 10);
+    }
+
+    @Test
+    public void shouldReturnTailOfLogs() throws Exception {
+        assertEquals(read(indexedLogFile.getTailRange(3)), "line 7\nline 8\nline 9\n");
+    }
+
+    @Test
+    public void shouldReturnWholeLogsIfTailIsGreaterThanLineCount() throws Exception {
+        assertEquals(read(indexedLogFile.getTailRange(100)), new String(Files.readAllBytes(logFile.toPath())));
+    }
+
+    @Test
+    public void shouldReturnRangeOfLines() throws Exception {
+        assertEquals(read(indexedLogFile.getLinesRange(2, 4)), "line 2\nline 3\n");
+    }
+
+    @Test
+    public void shouldTruncateRangeOfLinesToExistingLines() throws Exception {
+        assertEquals(read(indexedLogFile.getLinesRange(8, 100)), "line 8\nline 9\n");
+        assertEquals(read(indexedLogFile.getLinesRange(20, 30)), "");
+    }
+
+    @Test
+    public void shouldFindLinesWithoutIndex() throws Exception {
+        Files.delete(IndexedLogFile.getIndexFile(logFile).toPath());
+
+        assertEquals(indexedLogFile.getLineCount(), 10);
+        assertEquals(read(indexedLogFile.getTailRange(2)), "line 8\nline 9\n");
+        assertEquals(read(indexedLogFile.getLinesRange(1, 2)), "line 1\n");
+    }
+
+    @Test
+    public void shouldCountBytesOfMultiByteCharacters() throws Exception {
+        final File file = File.createTempFile("process", ".logs");
+        try {
+            try (IndexedFileLineConsumer consumer = new IndexedFileLineConsumer(file)) {
+                consumer.writeLine("\u00e9\u00e8");
+                consumer.writeLine("last");
+            }
+            final IndexedLogFile log = new IndexedLogFile(file);
+            final Pair<Long, Long> range = log.getTailRange(1);
+
+            assertEquals(range.second - range.first, "last\n".getBytes(Charset.defaultCharset()).length);
+            assertEquals((long)range.second, file.length());
+        } finally {
+            Files.deleteIfExists(IndexedLogFile.getIndexFile(file).toPath());
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    @Test
+    public void shouldFollowLogsFromOffset() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final long offset = indexedLogFile.getLinesRange(9, 10).first;
+
+        final long copied = indexedLogFile.follow(offset, 100, output);
+
+        assertEquals(output.toString(), "line 9\n");
+        assertEquals(copied, 7);
+    }
+
+    private String read(Pair<Long, Long> range) throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        indexedLogFile.copy(range.first, range.second, output);
+        return output.toString();
+    }
+}
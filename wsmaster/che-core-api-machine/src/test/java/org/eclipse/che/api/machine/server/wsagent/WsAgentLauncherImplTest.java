@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.model.machine.Server;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.MachineManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -41,6 +42,7 @@ import java.util.Collections;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -106,7 +108,8 @@ public class WsAgentLauncherImplTest {
                                     eq(new CommandImpl(WsAgentLauncherImpl.WS_AGENT_PROCESS_NAME,
                                                        WS_AGENT_START_CMD_LINE,
                                                        "Arbitrary")),
-                                    eq(WsAgentLauncherImpl.getWsAgentProcessOutputChannel(WS_ID)));
+                                    eq(WsAgentLauncherImpl.getWsAgentProcessOutputChannel(WS_ID)),
+                                    any(LineConsumer.class));
 
     }
 
@@ -187,29 +190,32 @@ public class WsAgentLauncherImplTest {
 
     @Test(expectedExceptions = NotFoundException.class, expectedExceptionsMessageRegExp = "Test exception")
     public void shouldThrowNotFoundExceptionIfMachineManagerExecInDevMachineThrowsNotFoundException() throws Exception {
-        when(machineManager.exec(anyString(), any(Command.class), anyString())).thenThrow(new NotFoundException("Test exception"));
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
+                .thenThrow(new NotFoundException("Test exception"));
 
         wsAgentLauncher.startWsAgent(WS_ID);
 
-        verify(machineManager).exec(anyString(), any(Command.class), anyString());
+        verify(machineManager).exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class));
     }
 
     @Test(expectedExceptions = MachineException.class, expectedExceptionsMessageRegExp = "Test exception")
     public void shouldThrowMachineExceptionIfMachineManagerExecInDevMachineThrowsMachineException() throws Exception {
-        when(machineManager.exec(anyString(), any(Command.class), anyString())).thenThrow(new MachineException("Test exception"));
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
+                .thenThrow(new MachineException("Test exception"));
 
         wsAgentLauncher.startWsAgent(WS_ID);
 
-        verify(machineManager).exec(anyString(), any(Command.class), anyString());
+        verify(machineManager).exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class));
     }
 
     @Test(expectedExceptions = MachineException.class, expectedExceptionsMessageRegExp = "Test exception")
     public void shouldThrowMachineExceptionIfMachineManagerExecInDevMachineThrowsBadRequestException() throws Exception {
-        when(machineManager.exec(anyString(), any(Command.class), anyString())).thenThrow(new BadRequestException("Test exception"));
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
+                .thenThrow(new BadRequestException("Test exception"));
 
         wsAgentLauncher.startWsAgent(WS_ID);
 
-        verify(machineManager).exec(anyString(), any(Command.class), anyString());
+        verify(machineManager).exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class));
     }
 
     @Test(expectedExceptions = ServerException.class,
@@ -219,4 +225,16 @@ public class WsAgentLauncherImplTest {
 
         wsAgentLauncher.startWsAgent(WS_ID);
     }
+
+    @Test(expectedExceptions = MachineException.class,
+          expectedExceptionsMessageRegExp = "Ws agent process is finished before ws agent is started")
+    public void shouldThrowMachineExceptionWithoutWaitingForTimeoutIfWsAgentProcessIsFinished() throws Exception {
+        when(pingRequest.request()).thenThrow(new ServerException(""));
+        doAnswer(invocation -> {
+            ((LineConsumer)invocation.getArguments()[3]).close();
+            return null;
+        }).when(machineManager).exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class));
+
+        wsAgentLauncher.startWsAgent(WS_ID);
+    }
 }
@@ -13,6 +13,8 @@ package org.eclipse.che.api.workspace.shared.dto.event;
 import org.eclipse.che.api.core.notification.EventOrigin;
 import org.eclipse.che.dto.shared.DTO;
 
+import java.util.Map;
+
 /**
  * Describes changes of state of a workspace.
  *
@@ -22,7 +24,7 @@ import org.eclipse.che.dto.shared.DTO;
 @DTO
 public interface WorkspaceStatusEvent {
     enum EventType {
-        STARTING, RUNNING, STOPPING, STOPPED, ERROR, SNAPSHOT_CREATING, SNAPSHOT_CREATED, SNAPSHOT_CREATION_ERROR
+        STARTING, RUNNING, STOPPING, STOPPED, ERROR, SNAPSHOT_CREATING, SNAPSHOT_CREATED, SNAPSHOT_CREATION_ERROR, MACHINES_STARTED
     }
 
     EventType getEventType();
@@ -42,4 +44,14 @@ public interface WorkspaceStatusEvent {
     void setError(String error);
 
     WorkspaceStatusEvent withError(String error);
+
+    /**
+     * Returns time of start of each machine in milliseconds mapped by machine name.
+     * It is set for {@link EventType#MACHINES_STARTED} event and includes machines which failed to start.
+     */
+    Map<String, Long> getMachineStartTimes();
+
+    void setMachineStartTimes(Map<String, Long> machineStartTimes);
+
+    WorkspaceStatusEvent withMachineStartTimes(Map<String, Long> machineStartTimes);
 }
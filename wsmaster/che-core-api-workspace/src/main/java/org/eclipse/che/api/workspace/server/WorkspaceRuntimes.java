@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -34,24 +35,36 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
 
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 /**
@@ -81,6 +94,8 @@ public class WorkspaceRuntimes {
     // 16 - experimental value for stripes count, it comes from default hash map size
     private static final Striped<ReadWriteLock> STRIPED = Striped.readWriteLock(16);
 
+    private static final int DEFAULT_MACHINE_START_THREADS = 5;
+
     @VisibleForTesting
     final Map<String, RuntimeDescriptor>        descriptors;
     @VisibleForTesting
@@ -90,6 +105,7 @@ public class WorkspaceRuntimes {
     private final EventService                        eventService;
     private final EventSubscriber<MachineStatusEvent> addMachineEventSubscriber;
     private final EventSubscriber<MachineStatusEvent> removeMachineEventSubscriber;
+    private final ThreadPoolExecutor                  machineStartExecutor;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -101,6 +117,34 @@ public class WorkspaceRuntimes {
         this.startQueues = new HashMap<>();
         this.addMachineEventSubscriber = new AddMachineEventSubscriber();
         this.removeMachineEventSubscriber = new RemoveMachineEventSubscriber();
+        this.machineStartExecutor = new ThreadPoolExecutor(DEFAULT_MACHINE_START_THREADS,
+                                                           DEFAULT_MACHINE_START_THREADS,
+                                                           60,
+                                                           SECONDS,
+                                                           new LinkedBlockingQueue<>(),
+                                                           new ThreadFactoryBuilder().setNameFormat("WorkspaceRuntimes-MachineStart-%d")
+                                                                                     .setDaemon(true)
+                                                                                     .build());
+        this.machineStartExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Sets the maximum number of non-dev machines which are started in parallel, machines of all the workspaces
+     * share the same threads. Machines which can't be started immediately wait for a free thread.
+     */
+    @com.google.inject.Inject(optional = true)
+    public void setMachineStartThreads(@Named("workspace.runtime.machine_start_threads") int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of machine start threads must be positive, but was " + threads);
+        }
+        // maximum pool size must never be less than the core pool size
+        if (threads > machineStartExecutor.getMaximumPoolSize()) {
+            machineStartExecutor.setMaximumPoolSize(threads);
+            machineStartExecutor.setCorePoolSize(threads);
+        } else {
+            machineStartExecutor.setCorePoolSize(threads);
+            machineStartExecutor.setMaximumPoolSize(threads);
+        }
     }
 
     /**
@@ -140,6 +184,8 @@ public class WorkspaceRuntimes {
      * If dev-machine start failed then method will throw appropriate
      * {@link ServerException}. During the start of the workspace its
      * runtime is visible with {@link WorkspaceStatus#STARTING} status.
+     * When dev-machine is started, all the other machines are started in parallel,
+     * method returns when all of them are started or failed to start.
      *
      * <p>If {@link #stop} method executed after dev machine is started but
      * another machines haven't been started yet then {@link ConflictException}
@@ -361,6 +407,9 @@ public class WorkspaceRuntimes {
         for (int i = 0; i < STRIPED.size(); i++) {
             STRIPED.getAt(i).writeLock().unlock();
         }
+
+        // Machines which are already starting are destroyed by MachineManager
+        machineStartExecutor.shutdown();
     }
 
     @VisibleForTesting
@@ -371,6 +420,14 @@ public class WorkspaceRuntimes {
                                      .withError(error));
     }
 
+    @VisibleForTesting
+    void publishMachinesStartedEvent(String workspaceId, Map<String, Long> machineStartTimes) {
+        eventService.publish(newDto(WorkspaceStatusEvent.class)
+                                     .withEventType(EventType.MACHINES_STARTED)
+                                     .withWorkspaceId(workspaceId)
+                                     .withMachineStartTimes(machineStartTimes));
+    }
+
     @VisibleForTesting
     void cleanupStartResources(String workspaceId) {
         acquireWriteLock(workspaceId);
@@ -441,78 +498,84 @@ public class WorkspaceRuntimes {
                                                     NotFoundException,
                                                     ConflictException {
         publishEvent(EventType.STARTING, workspaceId, null);
-
-        // Starting all the machines one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
-        MachineConfigImpl config = queuePeekOrFail(workspaceId);
-        while (config != null) {
-
-            // According to WorkspaceStatus specification the workspace start
-            // is failed when dev-machine start is failed, so if any error
-            // occurs during machine creation and the machine is dev-machine
-            // then start fail is reported and start resources such as queue
-            // and descriptor must be cleaned up
-            MachineImpl machine = null;
-            try {
-                machine = startMachine(config, workspaceId, envName, recover);
-            } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
-                if (config.isDev()) {
-                    publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
-                    cleanupStartResources(workspaceId);
-                    throw x;
-                }
-                LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
-                                 config.getName(),
-                                 workspaceId,
-                                 envName),
-                          x);
-            }
-
-            // Machine destroying is an expensive operation which must be
-            // performed outside of the lock, this section checks if
-            // the workspace wasn't stopped while it is starting and sets
-            // polled flag to true if the workspace wasn't stopped plus
-            // polls the proceeded machine configuration from the queue
-            boolean queuePolled = false;
-            acquireWriteLock(workspaceId);
-            try {
-                ensurePreDestroyIsNotExecuted();
-                final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
-                if (queue != null) {
-                    queue.poll();
-                    queuePolled = true;
-                    if (machine != null) {
-                        final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
-                        if (config.isDev()) {
-                            descriptor.getRuntime().setDevMachine(machine);
-                            descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
-                        }
-                        descriptor.getRuntime().getMachines().add(machine);
-                    }
-                }
-            } finally {
-                releaseWriteLock(workspaceId);
+        final Map<String, Long> machineStartTimes = new LinkedHashMap<>();
+
+        // Dev-machine is in the queue head and it is started first in the caller thread.
+        // According to WorkspaceStatus specification the workspace start
+        // is failed when dev-machine start is failed, so if any error
+        // occurs during machine creation then start fail is reported
+        // and start resources such as queue and descriptor must be cleaned up
+        final MachineConfigImpl devConfig = queuePeekOrFail(workspaceId);
+        final long devStartTime = System.nanoTime();
+        final MachineImpl devMachine;
+        try {
+            devMachine = startMachine(devConfig, workspaceId, envName, recover);
+        } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
+            publishEvent(EventType.ERROR, workspaceId, x.getLocalizedMessage());
+            cleanupStartResources(workspaceId);
+            throw x;
+        }
+        machineStartTimes.put(devConfig.getName(), NANOSECONDS.toMillis(System.nanoTime() - devStartTime));
+        if (!addStartedMachine(workspaceId, devConfig, devMachine)) {
+            if (devMachine != null) {
+                machineManager.destroy(devMachine.getId(), false);
             }
+            throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
+                                               workspaceId));
+        }
 
-            // Event publication should be performed outside of the lock
-            // as it may take some time to notify subscribers
-            if (machine != null && config.isDev()) {
-                publishEvent(EventType.RUNNING, workspaceId, null);
-            }
+        // Event publication should be performed outside of the lock
+        // as it may take some time to notify subscribers
+        if (devMachine != null) {
+            publishEvent(EventType.RUNNING, workspaceId, null);
+        }
 
-            // If machine config is not polled from the queue
-            // then workspace was stopped and newly created machine
-            // must be destroyed(if such exists)
-            if (!queuePolled) {
-                if (machine != null) {
-                    machineManager.destroy(machine.getId(), false);
+        // Non-dev machines don't depend on each other, so all of them are started in parallel,
+        // the number of machines which are starting at the same time is limited by the executor.
+        // Each started machine is handled in this thread as soon as its start is finished
+        final List<MachineConfigImpl> configs = queueCopyOrFail(workspaceId);
+        final CompletionService<MachineStartResult> completionService = new ExecutorCompletionService<>(machineStartExecutor);
+        final AtomicBoolean startAborted = new AtomicBoolean();
+        for (MachineConfigImpl config : configs) {
+            // tasks must see the subject of the caller, as machine manager uses it to create machines
+            completionService.submit(ThreadLocalPropagateContext.wrap(() -> startNonDevMachine(config,
+                                                                                               workspaceId,
+                                                                                               envName,
+                                                                                               recover,
+                                                                                               startAborted)));
+        }
+        boolean interrupted = false;
+        int pending = configs.size();
+        try {
+            while (pending > 0) {
+                final MachineStartResult result = takeResult(completionService, workspaceId);
+                pending--;
+                machineStartTimes.put(result.config.getName(), result.startTimeMs);
+
+                // Machine destroying is an expensive operation which must be
+                // performed outside of the lock. If the workspace was stopped while
+                // it is starting then newly created machine must be destroyed(if such exists),
+                // all the machines which are still starting must be awaited and destroyed as well
+                if (!addStartedMachine(workspaceId, result.config, result.machine)) {
+                    interrupted = true;
+                    startAborted.set(true);
+                    destroyStartedMachine(result.machine, workspaceId);
                 }
-                throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
-                                                   workspaceId));
             }
-
-            config = queuePeekOrFail(workspaceId);
+        } catch (ServerException x) {
+            // Machines which are not started yet won't be started at all.
+            // If the thread is interrupted then machines which are starting must be
+            // awaited and destroyed, otherwise pre destroy has been invoked and
+            // those machines are destroyed by MachineManager
+            startAborted.set(true);
+            if (!isPreDestroyInvoked) {
+                destroyRemainingMachines(completionService, pending, workspaceId);
+            }
+            throw x;
+        }
+        if (interrupted) {
+            throw new ConflictException(format("Workspace '%s' start interrupted. Workspace stopped before all its machines started",
+                                               workspaceId));
         }
 
         // All the machines tried to start which means that queue
@@ -532,6 +595,40 @@ public class WorkspaceRuntimes {
         } finally {
             releaseWriteLock(workspaceId);
         }
+
+        publishMachinesStartedEvent(workspaceId, machineStartTimes);
+    }
+
+    /**
+     * Removes the config of the started machine from the start queue and adds the machine to the workspace runtime.
+     * Machine is null when it failed to start, in this case config is only removed from the queue.
+     *
+     * @return true if the config is removed from the queue, false if the queue doesn't exist
+     * which means that the workspace was stopped while the machine was starting
+     * @throws ServerException
+     *         when pre destroy has been invoked
+     */
+    private boolean addStartedMachine(String workspaceId, MachineConfigImpl config, MachineImpl machine) throws ServerException {
+        acquireWriteLock(workspaceId);
+        try {
+            ensurePreDestroyIsNotExecuted();
+            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+            if (queue == null) {
+                return false;
+            }
+            queue.remove(config);
+            if (machine != null) {
+                final RuntimeDescriptor descriptor = descriptors.get(workspaceId);
+                if (config.isDev()) {
+                    descriptor.getRuntime().setDevMachine(machine);
+                    descriptor.setRuntimeStatus(WorkspaceStatus.RUNNING);
+                }
+                descriptor.getRuntime().getMachines().add(machine);
+            }
+            return true;
+        } finally {
+            releaseWriteLock(workspaceId);
+        }
     }
 
     /**
@@ -552,19 +649,128 @@ public class WorkspaceRuntimes {
     private MachineConfigImpl queuePeekOrFail(String workspaceId) throws ConflictException, ServerException {
         acquireReadLock(workspaceId);
         try {
-            ensurePreDestroyIsNotExecuted();
-            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
-            if (queue == null) {
-                throw new ConflictException(
-                        format("Workspace '%s' start interrupted. Workspace was stopped before all its machines were started",
-                               workspaceId));
+            return getQueueOrFail(workspaceId).peek();
+        } finally {
+            releaseReadLock(workspaceId);
+        }
+    }
+
+    /**
+     * Gets copy of all the configs from the queue associated with the given {@code workspaceId}.
+     *
+     * <p>Fails if workspace start was interrupted by stop(queue doesn't exist).
+     *
+     * @throws ConflictException
+     *         when queue doesn't exist which means that {@link #stop(String)} executed
+     *         before all the machines started
+     * @throws ServerException
+     *         only if pre destroy has been invoked before configs retrieved
+     */
+    private List<MachineConfigImpl> queueCopyOrFail(String workspaceId) throws ConflictException, ServerException {
+        acquireReadLock(workspaceId);
+        try {
+            return new ArrayList<>(getQueueOrFail(workspaceId));
+        } finally {
+            releaseReadLock(workspaceId);
+        }
+    }
+
+    private Queue<MachineConfigImpl> getQueueOrFail(String workspaceId) throws ConflictException, ServerException {
+        ensurePreDestroyIsNotExecuted();
+        final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+        if (queue == null) {
+            throw new ConflictException(
+                    format("Workspace '%s' start interrupted. Workspace was stopped before all its machines were started",
+                           workspaceId));
+        }
+        return queue;
+    }
+
+    /**
+     * Starts non-dev machine, errors are not propagated as non-dev machine
+     * start fail doesn't affect the workspace start.
+     * The machine is not started at all if the start of the workspace is already aborted
+     * or the workspace was stopped, so its config is not in the start queue anymore.
+     */
+    private MachineStartResult startNonDevMachine(MachineConfigImpl config,
+                                                  String workspaceId,
+                                                  String envName,
+                                                  boolean recover,
+                                                  AtomicBoolean startAborted) {
+        final long startTime = System.nanoTime();
+        MachineImpl machine = null;
+        if (!startAborted.get() && isInStartQueue(workspaceId, config)) {
+            try {
+                machine = startMachine(config, workspaceId, envName, recover);
+            } catch (RuntimeException | ServerException | ConflictException | NotFoundException x) {
+                LOG.error(format("Error while creating non-dev machine '%s' in workspace '%s', environment '%s'",
+                                 config.getName(),
+                                 workspaceId,
+                                 envName),
+                          x);
             }
-            return queue.peek();
+        }
+        return new MachineStartResult(config, machine, NANOSECONDS.toMillis(System.nanoTime() - startTime));
+    }
+
+    private boolean isInStartQueue(String workspaceId, MachineConfigImpl config) {
+        acquireReadLock(workspaceId);
+        try {
+            final Queue<MachineConfigImpl> queue = startQueues.get(workspaceId);
+            return queue != null && queue.contains(config);
         } finally {
             releaseReadLock(workspaceId);
         }
     }
 
+    /**
+     * Waits for the given number of machine starts to finish and destroys started machines.
+     * Waiting is not interruptible, the interrupted status of the thread is restored afterwards.
+     */
+    private void destroyRemainingMachines(CompletionService<MachineStartResult> completionService,
+                                          int pending,
+                                          String workspaceId) {
+        boolean interrupted = false;
+        while (pending > 0) {
+            try {
+                final MachineStartResult result = completionService.take().get();
+                pending--;
+                destroyStartedMachine(result.machine, workspaceId);
+            } catch (InterruptedException x) {
+                interrupted = true;
+            } catch (ExecutionException x) {
+                pending--;
+                LOG.error(format("Error while waiting for machines of workspace '%s' to start", workspaceId), x.getCause());
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void destroyStartedMachine(MachineImpl machine, String workspaceId) {
+        if (machine != null) {
+            try {
+                machineManager.destroy(machine.getId(), false);
+            } catch (NotFoundException | MachineException x) {
+                LOG.error(format("Could not destroy machine '%s' of workspace '%s'", machine.getId(), workspaceId), x);
+            }
+        }
+    }
+
+    private static MachineStartResult takeResult(CompletionService<MachineStartResult> completionService,
+                                                 String workspaceId) throws ServerException {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new ServerException(format("Interrupted while waiting for machines of workspace '%s' to start", workspaceId));
+        } catch (ExecutionException x) {
+            // never happens as machine start task doesn't throw exceptions
+            throw new ServerException(x.getCause().getLocalizedMessage(), x.getCause());
+        }
+    }
+
     /**
      * Starts the machine from the configuration, returns null if machine start failed.
      */
@@ -614,6 +820,19 @@ public class WorkspaceRuntimes {
         return machine;
     }
 
+    /** Result of non-dev machine start, machine is null if it failed to start. */
+    private static class MachineStartResult {
+        final MachineConfigImpl config;
+        final MachineImpl       machine;
+        final long              startTimeMs;
+
+        MachineStartResult(MachineConfigImpl config, MachineImpl machine, long startTimeMs) {
+            this.config = config;
+            this.machine = machine;
+            this.startTimeMs = startTimeMs;
+        }
+    }
+
     /**
      * Wrapper for the {@link WorkspaceRuntime} instance.
      * Knows the state of the started workspace runtime,
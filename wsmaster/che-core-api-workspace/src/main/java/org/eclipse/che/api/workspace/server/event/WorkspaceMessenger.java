@@ -10,11 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server.event;
 
+import org.eclipse.che.api.core.notification.AsyncDelivery;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
+import org.eclipse.che.everrest.ChannelBroadcaster;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,7 +47,7 @@ public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent>
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel("workspace:" + event.getWorkspaceId());
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            ChannelBroadcaster.sendMessage(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
@@ -54,7 +55,11 @@ public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent>
 
     @PostConstruct
     private void subscribe() {
-        eventService.subscribe(this);
+        // sending to websocket may be slow, don't hold up workspace start/stop but keep order of events of each workspace
+        eventService.subscribe(this,
+                               WorkspaceStatusEvent.class,
+                               new AsyncDelivery<WorkspaceStatusEvent>().withKey(WorkspaceStatusEvent::getWorkspaceId)
+                                                                        .withShards(4));
     }
 
     @PreDestroy
@@ -32,6 +32,8 @@ import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.api.workspace.shared.dto.stack.StackDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.everrest.ETagProvider;
+import org.everrest.core.resource.GenericMethodResource;
 
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
@@ -49,6 +51,7 @@ import javax.ws.rs.core.UriBuilder;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -73,7 +76,15 @@ import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_UPLOAD_ICO
  */
 @Api(value = "/stack", description = "Stack REST API")
 @Path("/stack")
-public class StackService extends Service {
+public class StackService extends Service implements ETagProvider {
+
+    /**
+     * Version of stacks which is incremented each time when stack is created, updated or removed with this service and used as entity
+     * tag of stacks. Service is instantiated per request so version is shared by all instances, start time of the service makes tags
+     * unique across restarts of server.
+     */
+    private static final String     STARTUP_ID     = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private static final AtomicLong STACKS_VERSION = new AtomicLong();
 
     private final StackDao stackDao;
 
@@ -117,6 +128,7 @@ public class StackService extends Service {
                                       .build();
 
         stackDao.create(newStack);
+        STACKS_VERSION.incrementAndGet();
 
         return Response.status(CREATED)
                        .entity(asStackDto(newStack))
@@ -174,7 +186,9 @@ public class StackService extends Service {
                                             .setComponents(updateDto.getComponents())
                                             .build();
 
-        return asStackDto(stackDao.update(stackForUpdate));
+        final StackImpl updated = stackDao.update(stackForUpdate);
+        STACKS_VERSION.incrementAndGet();
+        return asStackDto(updated);
     }
 
     @DELETE
@@ -187,6 +201,7 @@ public class StackService extends Service {
                    @ApiResponse(code = 500, message = "Internal server error occurred")})
     public void removeStack(@ApiParam("The stack id") @PathParam("id") final String id) throws ApiException {
         stackDao.remove(id);
+        STACKS_VERSION.incrementAndGet();
     }
 
     @GET
@@ -269,6 +284,7 @@ public class StackService extends Service {
 
             stack.setStackIcon(stackIcon);
             stackDao.update(stack);
+            STACKS_VERSION.incrementAndGet();
         }
         return Response.ok().build();
     }
@@ -290,6 +306,23 @@ public class StackService extends Service {
         StackImpl stack = stackDao.getById(id);
         stack.setStackIcon(null);
         stackDao.update(stack);
+        STACKS_VERSION.incrementAndGet();
+    }
+
+    /**
+     * Provides tag for stacks, stack search results and icons which is based on version of stacks and the current user, so
+     * conditional request doesn't need to read stacks if none of them has been changed.
+     */
+    @Override
+    public String getETag(GenericMethodResource genericMethodResource, Object[] arguments) {
+        switch (genericMethodResource.getMethod().getName()) {
+            case "getStack":
+            case "searchStacks":
+            case "getIcon":
+                return STARTUP_ID + '-' + STACKS_VERSION.get() + '-' + EnvironmentContext.getCurrent().getSubject().getUserId();
+            default:
+                return null;
+        }
     }
 
     private StackDto asStackDto(StackImpl stack) {
@@ -31,8 +31,12 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -43,9 +47,16 @@ import org.testng.annotations.Test;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 
+import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
@@ -53,6 +64,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
@@ -67,6 +79,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 /**
  * @author Yevhenii Voevodin
@@ -204,6 +217,32 @@ public class WorkspaceRuntimesTest {
         verify(machineManager, times(2)).destroy(any(), anyBoolean());
     }
 
+    @Test
+    public void shouldNotStartQueuedNonDevMachinesIfWorkspaceWasStoppedWhileNonDevMachineWasStarting() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace("non-dev-1", "non-dev-2", "non-dev-3");
+        // non-dev machines are started one by one in the order of the queue
+        runtimes.setMachineStartThreads(1);
+        final List<String> created = new CopyOnWriteArrayList<>();
+
+        doAnswer(invocation -> {
+            final MachineConfig machineCfg = (MachineConfig)invocation.getArguments()[0];
+            created.add(machineCfg.getName());
+            if ("non-dev-2".equals(machineCfg.getName())) {
+                runtimes.stop(workspace.getId());
+            }
+            return createMachine(machineCfg);
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString());
+
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+            fail("Start must be interrupted");
+        } catch (ConflictException ex) {
+            assertEquals(ex.getMessage(), "Workspace '" + workspace.getId() + "' start interrupted. " +
+                                          "Workspace stopped before all its machines started");
+        }
+        assertEquals(created, asList("dev-machine", "non-dev-1", "non-dev-2"));
+    }
+
     @Test
     public void testCleanup() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
@@ -662,6 +701,98 @@ public class WorkspaceRuntimesTest {
         verify(machineManager).getMachines();
     }
 
+    @Test
+    public void shouldStartNonDevMachinesInParallel() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final EnvironmentImpl environment = workspace.getConfig().getEnvironments().get(0);
+        environment.getMachineConfigs().add(MachineConfigImpl.builder()
+                                                             .fromConfig(createConfig(false))
+                                                             .setName("non-dev-2")
+                                                             .build());
+        // each non-dev machine waits until the other one is starting
+        final CountDownLatch nonDevMachinesStarting = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            if (!cfg.isDev()) {
+                nonDevMachinesStarting.countDown();
+                if (!nonDevMachinesStarting.await(10, SECONDS)) {
+                    throw new MachineException("Machines are not started in parallel");
+                }
+            }
+            return createMachine(cfg);
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString());
+
+        final RuntimeDescriptor descriptor = runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        assertEquals(descriptor.getRuntimeStatus(), RUNNING);
+        assertEquals(descriptor.getRuntime().getMachines().size(), 3);
+        assertFalse(runtimes.startQueues.containsKey(workspace.getId()));
+    }
+
+    @Test
+    public void nonDevMachinesShouldBeStartedWithSubjectOfWorkspaceStarter() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final Subject subject = new SubjectImpl("user", "user123", "token", false);
+        final Map<String, Subject> subjects = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            final Subject current = EnvironmentContext.getCurrent().getSubject();
+            if (current != null) {
+                subjects.put(cfg.getName(), current);
+            }
+            return createMachine(cfg);
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString());
+
+        EnvironmentContext.getCurrent().setSubject(subject);
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+        } finally {
+            EnvironmentContext.reset();
+        }
+
+        assertEquals(subjects.get("non-dev"), subject);
+        assertEquals(subjects.get("dev-machine"), subject);
+    }
+
+    @Test
+    public void shouldDestroyStartingNonDevMachinesWhenWorkspaceStartIsInterrupted() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final Thread starter = Thread.currentThread();
+        final MachineImpl nonDevMachine = createMachine(false);
+        doAnswer(invocation -> {
+            final MachineConfig cfg = (MachineConfig)invocation.getArguments()[0];
+            if (cfg.isDev()) {
+                return createMachine(cfg);
+            }
+            starter.interrupt();
+            return nonDevMachine;
+        }).when(machineManager).createMachineSync(any(), anyString(), anyString());
+
+        try {
+            runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+            fail("Workspace start must fail when the starting thread is interrupted");
+        } catch (ServerException x) {
+            assertTrue(Thread.interrupted());
+        }
+
+        verify(machineManager).destroy(nonDevMachine.getId(), false);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void machinesStartedEventWithStartTimesShouldBePublishedAfterAllMachinesStarted() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        runtimes = spy(new WorkspaceRuntimes(machineManager, eventService));
+        doNothing().when(runtimes).publishEvent(any(), any(), any());
+        doNothing().when(runtimes).publishMachinesStartedEvent(any(), any());
+
+        runtimes.start(workspace, workspace.getConfig().getDefaultEnv());
+
+        final ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
+        verify(runtimes).publishMachinesStartedEvent(eq(workspace.getId()), captor.capture());
+        assertEquals(captor.getValue().keySet(), newHashSet("dev-machine", "non-dev"));
+    }
+
     @DataProvider(name = "workspaceStatusesExceptOfRunning")
     private Object[][] workspaceStatusesExceptOfRunning() {
         final EnumSet<WorkspaceStatus> events = EnumSet.allOf(WorkspaceStatus.class);
@@ -725,15 +856,23 @@ public class WorkspaceRuntimesTest {
     }
 
     private static WorkspaceImpl createWorkspace() {
+        return createWorkspace("non-dev");
+    }
+
+    private static WorkspaceImpl createWorkspace(String... nonDevMachines) {
         final MachineConfigImpl devCfg = createConfig(true);
-        final MachineConfigImpl nonDevCfg = MachineConfigImpl.builder()
-                                                             .fromConfig(devCfg)
-                                                             .setName("non-dev")
-                                                             .setDev(false)
-                                                             .build();
+        final List<MachineConfigImpl> machineConfigs = new ArrayList<>();
+        for (String name : nonDevMachines) {
+            machineConfigs.add(MachineConfigImpl.builder()
+                                                .fromConfig(devCfg)
+                                                .setName(name)
+                                                .setDev(false)
+                                                .build());
+        }
+        machineConfigs.add(devCfg);
         final EnvironmentImpl environment = new EnvironmentImpl(ENV_NAME,
                                                                 new RecipeImpl(),
-                                                                asList(nonDevCfg, devCfg));
+                                                                machineConfigs);
         final WorkspaceConfigImpl wsConfig = WorkspaceConfigImpl.builder()
                                                                 .setName("test workspace")
                                                                 .setEnvironments(singletonList(environment))
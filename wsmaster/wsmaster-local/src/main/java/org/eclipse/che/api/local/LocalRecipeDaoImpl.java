@@ -16,10 +16,13 @@ import com.google.inject.Inject;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.dao.RecipeDao;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -41,14 +44,17 @@ import static java.lang.String.format;
  */
 @Singleton
 public class LocalRecipeDaoImpl implements RecipeDao {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalRecipeDaoImpl.class);
 
     private final Map<String, RecipeImpl> recipes;
     private final ReadWriteLock           lock;
     private final LocalStorage            recipeStorage;
+    private final LocalJournal            recipeJournal;
 
     @Inject
     public LocalRecipeDaoImpl(LocalStorageFactory storageFactory) throws IOException {
         this.recipeStorage = storageFactory.create("recipes.json");
+        this.recipeJournal = storageFactory.createJournal("recipes.journal");
         this.recipes = new HashMap<>();
         this.lock = new ReentrantReadWriteLock();
     }
@@ -56,34 +62,45 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     @PostConstruct
     public void loadRecipes() {
         recipes.putAll(recipeStorage.loadMap(new TypeToken<Map<String, RecipeImpl>>() {}));
+        recipeJournal.<RecipeImpl>replay(RecipeImpl.class, recipes::put, recipes::remove);
     }
 
     @PreDestroy
     public void saveRecipes() throws IOException {
-        recipeStorage.store(recipes);
+        lock.writeLock().lock();
+        try {
+            recipeJournal.compact(recipeStorage, recipes);
+            recipeJournal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
-    public void create(RecipeImpl recipe) throws ConflictException {
+    public void create(RecipeImpl recipe) throws ConflictException, ServerException {
         lock.writeLock().lock();
         try {
             if (recipes.containsKey(recipe.getId())) {
                 throw new ConflictException(format("Recipe with id %s already exists", recipe.getId()));
             }
+            journalPut(recipe);
             recipes.put(recipe.getId(), recipe);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public RecipeImpl update(RecipeImpl update) throws NotFoundException {
+    public RecipeImpl update(RecipeImpl update) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
-            final RecipeImpl target = recipes.get(update.getId());
-            if (target == null) {
+            final RecipeImpl stored = recipes.get(update.getId());
+            if (stored == null) {
                 throw new NotFoundException(format("Recipe with id '%s' was not found", update.getId()));
             }
+            // changes are applied to the copy, stored recipe is replaced only when changes are written in journal
+            final RecipeImpl target = new RecipeImpl(stored);
             if (update.getType() != null) {
                 target.setType(update.getType());
             }
@@ -102,7 +119,9 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             if (update.getAcl() != null && !update.getAcl().isEmpty()) {
                 target.setAcl(update.getAcl());
             }
-
+            journalPut(target);
+            recipes.put(target.getId(), target);
+            compactIfNeeded();
             return new RecipeImpl(target);
         } finally {
             lock.writeLock().unlock();
@@ -110,10 +129,18 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     }
 
     @Override
-    public void remove(String id) {
+    public void remove(String id) throws ServerException {
         lock.writeLock().lock();
         try {
-            recipes.remove(id);
+            if (recipes.containsKey(id)) {
+                try {
+                    recipeJournal.remove(id);
+                } catch (IOException e) {
+                    throw new ServerException(e.getLocalizedMessage(), e);
+                }
+                recipes.remove(id);
+                compactIfNeeded();
+            }
         } finally {
             lock.writeLock().unlock();
         }
@@ -150,4 +177,23 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             lock.readLock().unlock();
         }
     }
+
+    private void journalPut(RecipeImpl recipe) throws ServerException {
+        try {
+            recipeJournal.put(recipe.getId(), recipe);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (recipeJournal.isCompactionNeeded()) {
+            try {
+                recipeJournal.compact(recipeStorage, recipes);
+            } catch (IOException e) {
+                // journal keeps all changes, compaction will be retried after next change
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
+    }
 }
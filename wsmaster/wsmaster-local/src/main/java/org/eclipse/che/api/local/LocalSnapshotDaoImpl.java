@@ -14,12 +14,15 @@ import com.google.common.reflect.TypeToken;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.model.machine.MachineSource;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.model.impl.adapter.MachineSourceAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -38,19 +41,24 @@ import static java.util.stream.Collectors.toList;
 
 /**
  * In-memory implementation of {@link SnapshotDao}.
+ * Each change of snapshots is written in {@link LocalJournal} before it is applied.
  *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class LocalSnapshotDaoImpl implements SnapshotDao {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalSnapshotDaoImpl.class);
 
     private final Map<String, SnapshotImpl> snapshots;
     private final LocalStorage              snapshotStorage;
+    private final LocalJournal              snapshotJournal;
 
     @Inject
     public LocalSnapshotDaoImpl(LocalStorageFactory storageFactory) throws IOException {
         snapshots = new HashMap<>();
         snapshotStorage = storageFactory.create("snapshots.json", singletonMap(MachineSource.class, new MachineSourceAdapter()));
+        snapshotJournal = storageFactory.createJournal("snapshots.journal",
+                                                       singletonMap(MachineSource.class, new MachineSourceAdapter()));
     }
 
     @Override
@@ -77,10 +85,19 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
     public synchronized void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException {
         Objects.requireNonNull(snapshot, "Required non-null snapshot");
         final Optional<SnapshotImpl> opt = doGetSnapshot(snapshot.getWorkspaceId(), snapshot.getEnvName(), snapshot.getMachineName());
+        try {
+            if (opt.isPresent()) {
+                snapshotJournal.remove(opt.get().getId());
+            }
+            snapshotJournal.put(snapshot.getId(), snapshot);
+        } catch (IOException e) {
+            throw new SnapshotException(e.getLocalizedMessage(), e);
+        }
         if (opt.isPresent()) {
             snapshots.remove(opt.get().getId());
         }
         snapshots.put(snapshot.getId(), snapshot);
+        compactIfNeeded();
     }
 
     @Override
@@ -93,17 +110,38 @@ public class LocalSnapshotDaoImpl implements SnapshotDao {
 
     @Override
     public synchronized void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
-        snapshots.remove(snapshotId);
+        if (snapshots.containsKey(snapshotId)) {
+            try {
+                snapshotJournal.remove(snapshotId);
+            } catch (IOException e) {
+                throw new SnapshotException(e.getLocalizedMessage(), e);
+            }
+            snapshots.remove(snapshotId);
+            compactIfNeeded();
+        }
     }
 
     @PostConstruct
     public synchronized void loadSnapshots() {
         snapshots.putAll(snapshotStorage.loadMap(new TypeToken<Map<String, SnapshotImpl>>() {}));
+        snapshotJournal.<SnapshotImpl>replay(SnapshotImpl.class, snapshots::put, snapshots::remove);
     }
 
     @PreDestroy
     public synchronized void saveSnapshots() throws IOException {
-        snapshotStorage.store(snapshots);
+        snapshotJournal.compact(snapshotStorage, snapshots);
+        snapshotJournal.close();
+    }
+
+    private void compactIfNeeded() {
+        if (snapshotJournal.isCompactionNeeded()) {
+            try {
+                snapshotJournal.compact(snapshotStorage, snapshots);
+            } catch (IOException e) {
+                // journal keeps all changes, compaction will be retried after next change
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
     }
 
     private Optional<SnapshotImpl> doGetSnapshot(String workspaceId, String envName, String machineName) {
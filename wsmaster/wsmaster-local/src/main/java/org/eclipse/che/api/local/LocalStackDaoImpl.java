@@ -20,6 +20,8 @@ import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.api.workspace.shared.stack.Stack;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -43,6 +45,7 @@ import static java.util.stream.Collectors.toList;
  */
 @Singleton
 public class LocalStackDaoImpl implements StackDao {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalStackDaoImpl.class);
 
     private final StackLocalStorage      stackStorage;
     private final Map<String, StackImpl> stacks;
@@ -77,7 +80,9 @@ public class LocalStackDaoImpl implements StackDao {
             if (stacks.containsKey(stack.getId())) {
                 throw new ConflictException(format("Stack with id %s is already exist", stack.getId()));
             }
+            journalPut(stack);
             stacks.put(stack.getId(), stack);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
@@ -103,7 +108,15 @@ public class LocalStackDaoImpl implements StackDao {
         requireNonNull(id, "Stack id required");
         lock.writeLock().lock();
         try {
-            stacks.remove(id);
+            if (stacks.containsKey(id)) {
+                try {
+                    stackStorage.remove(id);
+                } catch (IOException e) {
+                    throw new ServerException(e.getLocalizedMessage(), e);
+                }
+                stacks.remove(id);
+                compactIfNeeded();
+            }
         } finally {
             lock.writeLock().unlock();
         }
@@ -119,7 +132,9 @@ public class LocalStackDaoImpl implements StackDao {
             if (!stacks.containsKey(updateId)) {
                 throw new NotFoundException(format("Stack with id %s was not found", updateId));
             }
+            journalPut(update);
             stacks.replace(updateId, update);
+            compactIfNeeded();
             return new StackImpl(update);
         } finally {
             lock.writeLock().unlock();
@@ -145,4 +160,21 @@ public class LocalStackDaoImpl implements StackDao {
             lock.readLock().unlock();
         }
     }
+
+    private void journalPut(StackImpl stack) throws ServerException {
+        try {
+            stackStorage.put(stack);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private void compactIfNeeded() {
+        try {
+            stackStorage.compactIfNeeded(stacks);
+        } catch (IOException e) {
+            // journal keeps all changes, compaction will be retried after next change
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
 }
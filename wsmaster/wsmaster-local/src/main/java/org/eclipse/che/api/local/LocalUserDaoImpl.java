@@ -17,10 +17,13 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.user.server.dao.User;
 import org.eclipse.che.api.user.server.dao.UserDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -42,16 +45,19 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  */
 @Singleton
 public class LocalUserDaoImpl implements UserDao {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalUserDaoImpl.class);
 
     private final List<User>    users;
     private final ReadWriteLock lock;
     private final LocalStorage  userStorage;
+    private final LocalJournal  userJournal;
 
     @Inject
     public LocalUserDaoImpl(LocalStorageFactory storageFactory) throws IOException {
         this.users = new LinkedList<>();
         lock = new ReentrantReadWriteLock();
         userStorage = storageFactory.create("users.json");
+        userJournal = storageFactory.createJournal("users.journal");
     }
 
     @Inject
@@ -59,11 +65,18 @@ public class LocalUserDaoImpl implements UserDao {
     public void start(@Named("codenvy.local.infrastructure.users") Set<User> defaultUsers) {
         List<User> storedUsers = userStorage.loadList(new TypeToken<List<User>>() {});
         users.addAll(storedUsers.isEmpty() ? defaultUsers : storedUsers);
+        userJournal.<User>replay(User.class, (id, user) -> replace(user), this::removeById);
     }
 
     @PreDestroy
     public void stop() throws IOException {
-        userStorage.store(users);
+        lock.writeLock().lock();
+        try {
+            userJournal.compact(userStorage, users);
+            userJournal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -86,7 +99,7 @@ public class LocalUserDaoImpl implements UserDao {
     }
 
     @Override
-    public void create(User user) throws ConflictException {
+    public void create(User user) throws ConflictException, ServerException {
         lock.writeLock().lock();
         try {
             final String userId = user.getId();
@@ -103,14 +116,17 @@ public class LocalUserDaoImpl implements UserDao {
                     }
                 }
             }
-            users.add(doClone(user));
+            final User newUser = doClone(user);
+            journalPut(newUser);
+            users.add(newUser);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public void update(User user) throws NotFoundException {
+    public void update(User user) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
             User myUser = null;
@@ -122,17 +138,22 @@ public class LocalUserDaoImpl implements UserDao {
             if (myUser == null) {
                 throw new NotFoundException(String.format("User not found %s", user.getId()));
             }
-            myUser.getAliases().clear();
-            myUser.getAliases().addAll(user.getAliases());
-            myUser.setEmail(user.getEmail());
-            myUser.setPassword(user.getPassword());
+            // changes are applied to the copy, stored user is replaced only when changes are written in journal
+            final User updated = doClone(myUser);
+            updated.getAliases().clear();
+            updated.getAliases().addAll(user.getAliases());
+            updated.setEmail(user.getEmail());
+            updated.setPassword(user.getPassword());
+            journalPut(updated);
+            replace(updated);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
     }
 
     @Override
-    public void remove(String id) throws NotFoundException {
+    public void remove(String id) throws NotFoundException, ServerException {
         lock.writeLock().lock();
         try {
             User myUser = null;
@@ -144,7 +165,13 @@ public class LocalUserDaoImpl implements UserDao {
             if (myUser == null) {
                 throw new NotFoundException(String.format("User not found %s", id));
             }
+            try {
+                userJournal.remove(id);
+            } catch (IOException e) {
+                throw new ServerException(e.getLocalizedMessage(), e);
+            }
             users.remove(myUser);
+            compactIfNeeded();
         } finally {
             lock.writeLock().unlock();
         }
@@ -207,6 +234,40 @@ public class LocalUserDaoImpl implements UserDao {
         }
     }
 
+    /** Replaces user with the same id or adds {@code user} if there is no such user. */
+    private void replace(User user) {
+        for (int i = 0, size = users.size(); i < size; i++) {
+            if (users.get(i).getId().equals(user.getId())) {
+                users.set(i, user);
+                return;
+            }
+        }
+        users.add(user);
+    }
+
+    private void removeById(String id) {
+        users.removeIf(user -> user.getId().equals(id));
+    }
+
+    private void journalPut(User user) throws ServerException {
+        try {
+            userJournal.put(user.getId(), user);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (userJournal.isCompactionNeeded()) {
+            try {
+                userJournal.compact(userStorage, users);
+            } catch (IOException e) {
+                // journal keeps all changes, compaction will be retried after next change
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
     private User doClone(User user) {
         return new User().withId(user.getId())
                          .withName(user.getName())
@@ -19,33 +19,42 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Recipe;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.recipe.adapters.RecipeTypeAdapter;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.stream.Collectors.toList;
 
 /**
  * In memory based implementation of {@link WorkspaceDao}.
  *
  * <p>{@link #loadWorkspaces() Loads} & {@link #saveWorkspaces() stores} in memory workspaces
- * to/from filesystem, when component starts/stops.
+ * to/from filesystem, when component starts/stops. Each change of workspaces is written in
+ * {@link LocalJournal} before it is applied, so changes are not lost if component is not stopped properly.
  *
- * @implNote it is thread-safe, guarded by <i>this</i> instance
+ * <p>Workspaces are kept in immutable {@link Workspaces snapshot} indexed by id, namespace and name in namespace.
+ * Each change publishes new snapshot (copy-on-write), so lookups never block each other and never scan all workspaces.
+ * Stored workspaces are never modified, but {@link WorkspaceImpl} is mutable and callers are allowed to
+ * change returned instances, so each returned workspace is still a copy of stored one.
+ *
+ * @implNote it is thread-safe, changes are guarded by <i>this</i> instance, reads are not locked
  *
  * @author Eugene Voevodin
  * @author Dmitry Shnurenko
@@ -53,67 +62,98 @@ import static java.util.stream.Collectors.toList;
  */
 @Singleton
 public class LocalWorkspaceDaoImpl implements WorkspaceDao {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalWorkspaceDaoImpl.class);
+
+    private final LocalStorage localStorage;
+    private final LocalJournal journal;
 
-    private final Map<String, WorkspaceImpl> workspaces;
-    private final LocalStorage               localStorage;
+    private volatile Workspaces workspaces;
 
     @Inject
     public LocalWorkspaceDaoImpl(LocalStorageFactory factory) throws IOException {
         final Map<Class<?>, Object> adapters = ImmutableMap.of(Recipe.class, new RecipeTypeAdapter(),
                                                                ProjectConfig.class, new ProjectConfigAdapter());
         this.localStorage = factory.create("workspaces.json", adapters);
-        this.workspaces = new HashMap<>();
+        this.journal = factory.createJournal("workspaces.journal", adapters);
+        this.workspaces = Workspaces.EMPTY;
     }
 
     @PostConstruct
     public synchronized void loadWorkspaces() {
-        workspaces.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
-        for (WorkspaceImpl workspace : workspaces.values()) {
+        final Map<String, WorkspaceImpl> loaded = new HashMap<>(workspaces.byId);
+        loaded.putAll(localStorage.loadMap(new TypeToken<Map<String, WorkspaceImpl>>() {}));
+        journal.<WorkspaceImpl>replay(WorkspaceImpl.class, loaded::put, loaded::remove);
+        for (WorkspaceImpl workspace : loaded.values()) {
             workspace.setRuntime(null);
         }
+        workspaces = Workspaces.of(loaded);
     }
 
     @PreDestroy
     public synchronized void saveWorkspaces() throws IOException {
-        localStorage.store(workspaces);
+        journal.compact(localStorage, workspaces.byId);
+        journal.close();
     }
 
     @Override
     public synchronized WorkspaceImpl create(WorkspaceImpl workspace) throws ConflictException, ServerException {
-        if (workspaces.containsKey(workspace.getId())) {
+        final Workspaces current = workspaces;
+        if (current.byId.containsKey(workspace.getId())) {
             throw new ConflictException("Workspace with id " + workspace.getId() + " already exists");
         }
-        if (find(workspace.getConfig().getName(), workspace.getNamespace()).isPresent()) {
+        if (current.find(workspace.getConfig().getName(), workspace.getNamespace()) != null) {
             throw new ConflictException(format("Workspace with name %s and owner %s already exists",
                                                workspace.getConfig().getName(),
                                                workspace.getNamespace()));
         }
         workspace.setRuntime(null);
         workspace.setStatus(WorkspaceStatus.STOPPED);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        final WorkspaceImpl copy = new WorkspaceImpl(workspace);
+        journalPut(copy);
+        workspaces = current.put(copy);
+        compactIfNeeded();
         return workspace;
     }
 
     @Override
     public synchronized WorkspaceImpl update(WorkspaceImpl workspace)
             throws NotFoundException, ConflictException, ServerException {
-        if (!workspaces.containsKey(workspace.getId())) {
+        final Workspaces current = workspaces;
+        if (!current.byId.containsKey(workspace.getId())) {
             throw new NotFoundException("Workspace with id " + workspace.getId() + " was not found");
         }
+        final WorkspaceImpl sameName = current.find(workspace.getConfig().getName(), workspace.getNamespace());
+        if (sameName != null && !sameName.getId().equals(workspace.getId())) {
+            throw new ConflictException(format("Workspace with name %s and owner %s already exists",
+                                               workspace.getConfig().getName(),
+                                               workspace.getNamespace()));
+        }
         workspace.setStatus(null);
         workspace.setRuntime(null);
-        workspaces.put(workspace.getId(), new WorkspaceImpl(workspace));
+        final WorkspaceImpl copy = new WorkspaceImpl(workspace);
+        journalPut(copy);
+        workspaces = current.put(copy);
+        compactIfNeeded();
         return workspace;
     }
 
     @Override
     public synchronized void remove(String id) throws ConflictException, ServerException {
-        workspaces.remove(id);
+        final Workspaces current = workspaces;
+        if (current.byId.containsKey(id)) {
+            try {
+                journal.remove(id);
+            } catch (IOException e) {
+                throw new ServerException(e.getLocalizedMessage(), e);
+            }
+            workspaces = current.remove(id);
+            compactIfNeeded();
+        }
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String id) throws NotFoundException, ServerException {
-        final WorkspaceImpl workspace = workspaces.get(id);
+    public WorkspaceImpl get(String id) throws NotFoundException, ServerException {
+        final WorkspaceImpl workspace = workspaces.byId.get(id);
         if (workspace == null) {
             throw new NotFoundException("Workspace with id " + id + " was not found");
         }
@@ -121,32 +161,117 @@ public class LocalWorkspaceDaoImpl implements WorkspaceDao {
     }
 
     @Override
-    public synchronized WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
-        final Optional<WorkspaceImpl> wsOpt = find(name, namespace);
-        if (!wsOpt.isPresent()) {
+    public WorkspaceImpl get(String name, String namespace) throws NotFoundException, ServerException {
+        final WorkspaceImpl workspace = workspaces.find(name, namespace);
+        if (workspace == null) {
             throw new NotFoundException(format("Workspace with name %s and owner %s was not found", name, namespace));
         }
-        return new WorkspaceImpl(wsOpt.get());
+        return new WorkspaceImpl(workspace);
     }
 
     @Override
-    public synchronized List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getNamespace().equals(namespace))
-                         .map(WorkspaceImpl::new)
-                         .collect(toList());
+    public List<WorkspaceImpl> getByNamespace(String namespace) throws ServerException {
+        return workspaces.byNamespace.getOrDefault(namespace, emptyMap())
+                                     .values()
+                                     .stream()
+                                     .map(WorkspaceImpl::new)
+                                     .collect(toList());
     }
 
     @Override
     public List<WorkspaceImpl> getWorkspaces(String userId) throws ServerException {
-        return new ArrayList<>(workspaces.values());
+        return workspaces.byId.values()
+                              .stream()
+                              .map(WorkspaceImpl::new)
+                              .collect(toList());
+    }
+
+    private void journalPut(WorkspaceImpl workspace) throws ServerException {
+        try {
+            journal.put(workspace.getId(), workspace);
+        } catch (IOException e) {
+            throw new ServerException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (journal.isCompactionNeeded()) {
+            try {
+                journal.compact(localStorage, workspaces.byId);
+            } catch (IOException e) {
+                // journal keeps all changes, compaction will be retried after next change
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+        }
     }
 
-    private Optional<WorkspaceImpl> find(String name, String owner) {
-        return workspaces.values()
-                         .stream()
-                         .filter(ws -> ws.getConfig().getName().equals(name) && ws.getNamespace().equals(owner))
-                         .findFirst();
+    /**
+     * Immutable snapshot of stored workspaces with indexes by namespace and by name in namespace.
+     * Change of snapshot copies map of all workspaces and map of workspaces of changed namespace only,
+     * maps of other namespaces are shared with the previous snapshot.
+     */
+    static class Workspaces {
+        static final Workspaces EMPTY = new Workspaces(emptyMap(), emptyMap());
+
+        /** Workspaces by id. */
+        final Map<String, WorkspaceImpl>              byId;
+        /** Workspaces by namespace, workspaces of each namespace are mapped by name. */
+        final Map<String, Map<String, WorkspaceImpl>> byNamespace;
+
+        private Workspaces(Map<String, WorkspaceImpl> byId, Map<String, Map<String, WorkspaceImpl>> byNamespace) {
+            this.byId = byId;
+            this.byNamespace = byNamespace;
+        }
+
+        static Workspaces of(Map<String, WorkspaceImpl> workspaces) {
+            final Map<String, Map<String, WorkspaceImpl>> byNamespace = new HashMap<>();
+            for (WorkspaceImpl workspace : workspaces.values()) {
+                byNamespace.computeIfAbsent(workspace.getNamespace(), namespace -> new HashMap<>())
+                           .put(workspace.getConfig().getName(), workspace);
+            }
+            byNamespace.replaceAll((namespace, byName) -> unmodifiableMap(byName));
+            return new Workspaces(unmodifiableMap(new HashMap<>(workspaces)), unmodifiableMap(byNamespace));
+        }
+
+        WorkspaceImpl find(String name, String namespace) {
+            return byNamespace.getOrDefault(namespace, emptyMap()).get(name);
+        }
+
+        /** Returns new snapshot which contains {@code workspace} instead of workspace with the same id. */
+        Workspaces put(WorkspaceImpl workspace) {
+            final Map<String, WorkspaceImpl> newById = new HashMap<>(byId);
+            final WorkspaceImpl previous = newById.put(workspace.getId(), workspace);
+            final Map<String, Map<String, WorkspaceImpl>> newByNamespace = new HashMap<>(byNamespace);
+            if (previous != null) {
+                removeFromNamespace(newByNamespace, previous);
+            }
+            final Map<String, WorkspaceImpl> byName = new HashMap<>(newByNamespace.getOrDefault(workspace.getNamespace(),
+                                                                                                emptyMap()));
+            byName.put(workspace.getConfig().getName(), workspace);
+            newByNamespace.put(workspace.getNamespace(), unmodifiableMap(byName));
+            return new Workspaces(unmodifiableMap(newById), unmodifiableMap(newByNamespace));
+        }
+
+        /** Returns new snapshot which doesn't contain workspace with specified id. */
+        Workspaces remove(String id) {
+            final Map<String, WorkspaceImpl> newById = new HashMap<>(byId);
+            final WorkspaceImpl previous = newById.remove(id);
+            if (previous == null) {
+                return this;
+            }
+            final Map<String, Map<String, WorkspaceImpl>> newByNamespace = new HashMap<>(byNamespace);
+            removeFromNamespace(newByNamespace, previous);
+            return new Workspaces(unmodifiableMap(newById), unmodifiableMap(newByNamespace));
+        }
+
+        private static void removeFromNamespace(Map<String, Map<String, WorkspaceImpl>> byNamespace, WorkspaceImpl workspace) {
+            final Map<String, WorkspaceImpl> byName = new HashMap<>(byNamespace.getOrDefault(workspace.getNamespace(), emptyMap()));
+            byName.remove(workspace.getConfig().getName());
+            if (byName.isEmpty()) {
+                byNamespace.remove(workspace.getNamespace());
+            } else {
+                byNamespace.put(workspace.getNamespace(), unmodifiableMap(byName));
+            }
+        }
     }
 }
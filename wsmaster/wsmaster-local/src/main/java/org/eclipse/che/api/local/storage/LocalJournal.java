@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local.storage;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Append-only journal of changes of model objects which are stored in {@link LocalStorage}.
+ *
+ * <p>Each change is written as a single line of compact JSON, so it costs the same regardless of number of stored objects
+ * and is not lost if application is killed. Written records are forced to disk in groups: the first record after
+ * previous sync schedules the next one, all records written in the meantime are synced together.
+ *
+ * <p>Objects are restored by loading of {@link LocalStorage} snapshot and {@link #replay(Type, BiConsumer, Consumer) replaying}
+ * of journal over it. Journal grows until it is {@link #compact(LocalStorage, Object) compacted}: current state of objects
+ * is stored as new snapshot and journal is cleared.
+ *
+ * @implNote it is thread-safe, but callers must guard journal writes and changes of objects with the same lock
+ * to keep order of records the same as order of changes
+ */
+public class LocalJournal {
+    private static final Logger LOG = LoggerFactory.getLogger(LocalJournal.class);
+
+    /** Number of records after that journal should be compacted. */
+    private static final int  COMPACTION_THRESHOLD = 1000;
+    private static final long SYNC_DELAY_MS        = 200;
+
+    private static final ScheduledExecutorService SYNC_EXECUTOR =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("LocalJournalSync")
+                                                                                 .setDaemon(true)
+                                                                                 .build());
+
+    private static final String OPERATION = "op";
+    private static final String KEY       = "key";
+    private static final String VALUE     = "value";
+    private static final String PUT       = "put";
+    private static final String REMOVE    = "remove";
+
+    private final File journalFile;
+    private final Gson gson;
+
+    private FileChannel channel;
+    private int         records;
+    private boolean     syncScheduled;
+
+    public LocalJournal(String rootDirPath, String fileName) throws IOException {
+        this(rootDirPath, fileName, Collections.emptyMap());
+    }
+
+    public LocalJournal(String rootDirPath, String fileName, Map<Class<?>, Object> typeAdapters) throws IOException {
+        File rootDir = new File(rootDirPath);
+        if (!rootDir.exists() && !rootDir.mkdirs()) {
+            throw new IOException("Impossible to create root folder for local storage");
+        }
+        journalFile = new File(rootDir, fileName);
+        GsonBuilder builder = new GsonBuilder();
+        for (Map.Entry<Class<?>, Object> adapter : typeAdapters.entrySet()) {
+            builder.registerTypeAdapter(adapter.getKey(), adapter.getValue());
+        }
+        gson = builder.create();
+    }
+
+    /**
+     * Replays records of journal in the order they were written.
+     * Incomplete last record, e.g. if application was killed while writing it, is skipped and removed from journal.
+     *
+     * @param valueType
+     *         type of stored objects
+     * @param onPut
+     *         consumer of put records, accepts key and object
+     * @param onRemove
+     *         consumer of remove records, accepts key
+     */
+    public synchronized <T> void replay(Type valueType, BiConsumer<String, T> onPut, Consumer<String> onRemove) {
+        if (!journalFile.exists()) {
+            return;
+        }
+        final byte[] content;
+        try {
+            content = Files.readAllBytes(journalFile.toPath());
+        } catch (IOException e) {
+            LOG.error("Impossible to read from " + journalFile.getName(), e);
+            return;
+        }
+        int start = 0;
+        int end;
+        while ((end = indexOf(content, (byte)'\n', start)) != -1) {
+            final String line = new String(content, start, end - start, UTF_8);
+            start = end + 1;
+            try {
+                final JsonObject record = new JsonParser().parse(line).getAsJsonObject();
+                final String key = record.get(KEY).getAsString();
+                if (PUT.equals(record.get(OPERATION).getAsString())) {
+                    onPut.accept(key, gson.fromJson(record.get(VALUE), valueType));
+                } else {
+                    onRemove.accept(key);
+                }
+                records++;
+            } catch (JsonParseException | IllegalStateException | NullPointerException e) {
+                LOG.warn("{} contains invalid record '{}'", journalFile.getName(), line);
+            }
+        }
+        if (start < content.length) {
+            LOG.warn("{} ends with incomplete record, it is skipped", journalFile.getName());
+            try (FileChannel channel = FileChannel.open(journalFile.toPath(), WRITE)) {
+                channel.truncate(start);
+            } catch (IOException e) {
+                LOG.error("Impossible to remove incomplete record from " + journalFile.getName(), e);
+            }
+        }
+    }
+
+    /** Writes record about creation or update of object with specified key. */
+    public synchronized void put(String key, Object value) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty(OPERATION, PUT);
+        record.addProperty(KEY, key);
+        record.add(VALUE, gson.toJsonTree(value));
+        append(record);
+    }
+
+    /** Writes record about removal of object with specified key. */
+    public synchronized void remove(String key) throws IOException {
+        final JsonObject record = new JsonObject();
+        record.addProperty(OPERATION, REMOVE);
+        record.addProperty(KEY, key);
+        append(record);
+    }
+
+    /** Returns {@code true} if journal contains enough records to be compacted. */
+    public synchronized boolean isCompactionNeeded() {
+        return records >= COMPACTION_THRESHOLD;
+    }
+
+    /**
+     * Stores {@code snapshot} in specified {@code storage} and clears journal.
+     * Journal must not be changed concurrently, otherwise changes may be lost.
+     */
+    public synchronized void compact(LocalStorage storage, Object snapshot) throws IOException {
+        storage.store(snapshot);
+        if (channel != null) {
+            channel.truncate(0);
+            channel.force(false);
+        } else {
+            Files.deleteIfExists(journalFile.toPath());
+        }
+        records = 0;
+    }
+
+    /** Forces written records to disk and closes journal file. */
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void append(JsonObject record) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(journalFile.toPath(), CREATE, WRITE, APPEND);
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap((gson.toJson(record) + '\n').getBytes(UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        records++;
+        if (!syncScheduled) {
+            syncScheduled = true;
+            SYNC_EXECUTOR.schedule(this::sync, SYNC_DELAY_MS, MILLISECONDS);
+        }
+    }
+
+    private void sync() {
+        final FileChannel toSync;
+        synchronized (this) {
+            syncScheduled = false;
+            toSync = channel;
+        }
+        if (toSync == null) {
+            return;
+        }
+        // don't block writers while records are forced to disk
+        try {
+            toSync.force(false);
+        } catch (ClosedChannelException ignored) {
+            // journal is closed, records are synced on close
+        } catch (IOException e) {
+            LOG.error("Impossible to sync " + journalFile.getName(), e);
+        }
+    }
+
+    private static int indexOf(byte[] content, byte b, int from) {
+        for (int i = from; i < content.length; i++) {
+            if (content[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -21,7 +21,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.Charset;
@@ -29,6 +31,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 /**
  * Implementation of file system storage for model objects.
  *
@@ -61,10 +67,19 @@ public class LocalStorage {
         gson = builder.setPrettyPrinting().create();
     }
 
+    /**
+     * Stores object in json file. Object is written in temporary file first and then the file is moved to replace previous one,
+     * so the previous content is not lost if application is killed while object is being written.
+     */
     public void store(Object storedObj) throws IOException {
-        try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
+        final File tmpFile = new File(storedFile.getParentFile(), storedFile.getName() + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmpFile);
+             Writer writer = new OutputStreamWriter(out, Charset.forName("UTF-8"))) {
             gson.toJson(storedObj, writer);
+            writer.flush();
+            out.getFD().sync();
         }
+        move(tmpFile.toPath(), storedFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
     }
 
     /**
@@ -56,4 +56,28 @@ public class LocalStorageFactory {
     public LocalStorage create(String fileName, Map<Class<?>, Object> typeAdapters) throws IOException {
         return new LocalStorage(pathToStorage, fileName, typeAdapters);
     }
-}
\ No newline at end of file
+
+    /**
+     * @param fileName
+     *         name of journal file in local storage.
+     * @return instance of LocalJournal.
+     * @throws IOException
+     *         occurs when cannot create root storage directory.
+     */
+    public LocalJournal createJournal(String fileName) throws IOException {
+        return new LocalJournal(pathToStorage, fileName);
+    }
+
+    /**
+     * @param fileName
+     *         name of journal file in local storage.
+     * @param typeAdapters
+     *         types and object adapters when need a special deserialization.
+     * @return instance of LocalJournal.
+     * @throws IOException
+     *         occurs when cannot create root storage directory.
+     */
+    public LocalJournal createJournal(String fileName, Map<Class<?>, Object> typeAdapters) throws IOException {
+        return new LocalJournal(pathToStorage, fileName, typeAdapters);
+    }
+}
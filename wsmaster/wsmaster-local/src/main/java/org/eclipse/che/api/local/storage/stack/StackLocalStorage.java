@@ -14,6 +14,7 @@ import com.google.common.reflect.TypeToken;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.local.storage.LocalJournal;
 import org.eclipse.che.api.local.storage.LocalStorage;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
@@ -43,14 +44,17 @@ public class StackLocalStorage {
     private static final Logger LOG = LoggerFactory.getLogger(StackLocalStorage.class);
 
     private static final String STACK_STORAGE_FILE = "stacks.json";
+    private static final String STACK_JOURNAL_FILE = "stacks.journal";
     private static final String ICON_FOLDER_NAME   = "images";
 
     private final LocalStorage localStorage;
+    private final LocalJournal localJournal;
     private final Path         iconFolderPath;
 
     @Inject
     public StackLocalStorage(@Named("che.conf.storage") String pathToStorage) throws IOException {
         this.localStorage = new LocalStorage(pathToStorage, STACK_STORAGE_FILE);
+        this.localJournal = new LocalJournal(pathToStorage, STACK_JOURNAL_FILE);
         this.iconFolderPath = Paths.get(pathToStorage, ICON_FOLDER_NAME);
     }
 
@@ -62,17 +66,51 @@ public class StackLocalStorage {
      * @throws IOException
      */
     public void store(Map<String, StackImpl> stacks) throws IOException {
-        localStorage.store(stacks);
+        localJournal.compact(localStorage, stacks);
+        localJournal.close();
         deleteDirectory(iconFolderPath.toFile());
         stacks.values().forEach(this::saveIcon);
     }
 
+    /**
+     * Writes created or updated {@code stack} to the journal of local stack storage and saves its {@link StackIcon}.
+     *
+     * @throws IOException
+     *         if stack can't be written to the journal
+     */
+    public void put(StackImpl stack) throws IOException {
+        localJournal.put(stack.getId(), stack);
+        saveIcon(stack);
+    }
+
+    /**
+     * Writes removal of stack with specified {@code id} to the journal of local stack storage and removes its {@link StackIcon}.
+     *
+     * @throws IOException
+     *         if removal can't be written to the journal
+     */
+    public void remove(String id) throws IOException {
+        localJournal.remove(id);
+        deleteDirectory(iconFolderPath.resolve(id).toFile());
+    }
+
+    /**
+     * Stores map {@code stacks} as snapshot of local stack storage and clears the journal
+     * if the journal contains enough records, otherwise does nothing.
+     */
+    public void compactIfNeeded(Map<String, StackImpl> stacks) throws IOException {
+        if (localJournal.isCompactionNeeded()) {
+            localJournal.compact(localStorage, stacks);
+        }
+    }
+
     /**
      * Load map(where key is id of the {@link StackImpl} and value is {@link StackImpl}) from local stack storage.
      */
     public Map<String, StackImpl> loadMap() {
         Map<String, StackImpl> stackMap = localStorage.loadMap(new TypeToken<Map<String, StackImpl>>() {
         });
+        localJournal.<StackImpl>replay(StackImpl.class, stackMap::put, stackMap::remove);
         for (StackImpl stack : stackMap.values()) {
             setIconData(stack, iconFolderPath);
         }
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import com.google.common.reflect.TypeToken;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.local.storage.LocalJournal;
+import org.eclipse.che.api.local.storage.LocalStorage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.size;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link LocalJournal}
+ */
+public class LocalJournalTest {
+
+    private Path         storageRoot;
+    private Path         journalPath;
+    private LocalJournal journal;
+    private LocalStorage storage;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
+        assertNotNull(url);
+        storageRoot = Paths.get(url.toURI()).getParent().resolve("journal");
+        journalPath = storageRoot.resolve("test.journal");
+        journal = new LocalJournal(storageRoot.toString(), "test.journal");
+        storage = new LocalStorage(storageRoot.toString(), "test.json");
+    }
+
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        journal.close();
+        FileUtils.deleteDirectory(storageRoot.toFile());
+    }
+
+    @Test
+    public void shouldReplayRecordsInOrderTheyWereWritten() throws Exception {
+        journal.put("a", "value1");
+        journal.put("b", "value2");
+        journal.put("a", "value3");
+        journal.remove("b");
+        journal.close();
+
+        final Map<String, String> result = replay(new LocalJournal(storageRoot.toString(), "test.journal"));
+
+        assertEquals(result.size(), 1);
+        assertEquals(result.get("a"), "value3");
+    }
+
+    @Test
+    public void shouldWriteEachRecordAsSingleLine() throws Exception {
+        journal.put("a", "value1");
+        journal.remove("a");
+        journal.close();
+
+        assertEquals(new String(readAllBytes(journalPath)), "{\"op\":\"put\",\"key\":\"a\",\"value\":\"value1\"}\n" +
+                                                            "{\"op\":\"remove\",\"key\":\"a\"}\n");
+    }
+
+    @Test
+    public void shouldSkipAndRemoveIncompleteLastRecord() throws Exception {
+        journal.put("a", "value1");
+        journal.close();
+        final long completeSize = size(journalPath);
+        write(journalPath, "{\"op\":\"put\",\"key\":\"b\",\"va".getBytes(), APPEND);
+
+        final Map<String, String> result = replay(new LocalJournal(storageRoot.toString(), "test.journal"));
+
+        assertEquals(result.size(), 1);
+        assertEquals(result.get("a"), "value1");
+        assertEquals(size(journalPath), completeSize);
+    }
+
+    @Test
+    public void shouldSkipInvalidRecords() throws Exception {
+        write(journalPath, ("not a record\n" +
+                            "{\"op\":\"put\",\"key\":\"a\",\"value\":\"value1\"}\n").getBytes());
+
+        final Map<String, String> result = replay(journal);
+
+        assertEquals(result.size(), 1);
+        assertEquals(result.get("a"), "value1");
+    }
+
+    @Test
+    public void shouldStoreSnapshotAndClearJournalOnCompaction() throws Exception {
+        final Map<String, String> snapshot = new HashMap<>();
+        snapshot.put("a", "value1");
+        journal.put("a", "value1");
+
+        journal.compact(storage, snapshot);
+
+        assertEquals(storage.loadMap(new TypeToken<Map<String, String>>() {}), snapshot);
+        assertTrue(replay(journal).isEmpty());
+        assertFalse(journal.isCompactionNeeded());
+    }
+
+    @Test
+    public void shouldRequireCompactionWhenJournalContainsManyRecords() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            journal.put("key", "value" + i);
+        }
+
+        assertTrue(journal.isCompactionNeeded());
+    }
+
+    @Test
+    public void shouldNotFailReplayWhenJournalDoesNotExist() throws Exception {
+        assertFalse(exists(journalPath));
+
+        assertTrue(replay(journal).isEmpty());
+    }
+
+    private static Map<String, String> replay(LocalJournal journal) {
+        final Map<String, String> result = new HashMap<>();
+        journal.<String>replay(String.class, result::put, result::remove);
+        return result;
+    }
+}
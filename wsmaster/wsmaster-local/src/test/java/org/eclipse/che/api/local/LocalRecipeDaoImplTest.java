@@ -13,15 +13,18 @@ package org.eclipse.che.api.local;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.acl.AclEntryImpl;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -48,6 +51,7 @@ public class LocalRecipeDaoImplTest {
                                                 .create();
 
     private LocalRecipeDaoImpl recipeDao;
+    private Path               storageRoot;
     private Path               recipesPath;
 
     @BeforeMethod
@@ -55,11 +59,16 @@ public class LocalRecipeDaoImplTest {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
         assertNotNull(url);
         final Path targetDir = Paths.get(url.toURI()).getParent();
-        final Path storageRoot = targetDir.resolve("recipes");
+        storageRoot = targetDir.resolve("recipes");
         recipesPath = storageRoot.resolve("recipes.json");
         recipeDao = new LocalRecipeDaoImpl(new LocalStorageFactory(storageRoot.toString()));
     }
 
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(storageRoot.toFile());
+    }
+
     @Test
     public void testRecipesSerialization() throws Exception {
         final RecipeImpl recipe = createRecipe();
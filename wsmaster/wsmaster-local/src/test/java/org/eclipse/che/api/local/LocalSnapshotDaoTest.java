@@ -13,14 +13,17 @@ package org.eclipse.che.api.local;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import org.apache.commons.io.FileUtils;
 import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.model.impl.adapter.MachineSourceAdapter;
 import org.mockito.Mock;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -43,6 +46,7 @@ public class LocalSnapshotDaoTest {
                                                 .create();
 
     private LocalSnapshotDaoImpl snapshotDao;
+    private Path                 storageRoot;
     private Path                 snapshotsPath;
 
     @Mock
@@ -53,11 +57,16 @@ public class LocalSnapshotDaoTest {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
         assertNotNull(url);
         final Path targetDir = Paths.get(url.toURI()).getParent();
-        final Path storageRoot = targetDir.resolve("snapshots");
+        storageRoot = targetDir.resolve("snapshots");
         snapshotsPath = storageRoot.resolve("snapshots.json");
         snapshotDao = new LocalSnapshotDaoImpl(new LocalStorageFactory(storageRoot.toString()));
     }
 
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(storageRoot.toFile());
+    }
+
     @Test
     public void testSnapshotsSerialization() throws Exception {
         final SnapshotImpl snapshot = createSnapshot();
@@ -13,6 +13,9 @@ package org.eclipse.che.api.local;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.local.storage.LocalStorageFactory;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
@@ -25,9 +28,11 @@ import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -55,6 +60,7 @@ public class LocalWorkspaceDaoTest {
     static Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     LocalWorkspaceDaoImpl workspaceDao;
+    Path                  storageRoot;
     Path                  workspacesPath;
 
     @BeforeMethod
@@ -62,11 +68,16 @@ public class LocalWorkspaceDaoTest {
         final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
         assertNotNull(url);
         final Path targetDir = Paths.get(url.toURI()).getParent();
-        final Path storageRoot = targetDir.resolve("workspaces");
+        storageRoot = targetDir.resolve("workspaces");
         workspacesPath = storageRoot.resolve("workspaces.json");
         workspaceDao = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
     }
 
+    @AfterMethod
+    public void cleanUp() throws IOException {
+        FileUtils.deleteDirectory(storageRoot.toFile());
+    }
+
     @Test
     public void testWorkspaceSerialization() throws Exception {
         final WorkspaceImpl workspace = createWorkspace();
@@ -88,6 +99,69 @@ public class LocalWorkspaceDaoTest {
         assertEquals(result, workspace);
     }
 
+    @Test
+    public void shouldRestoreChangesWhichWereNotSaved() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final WorkspaceImpl removed = createWorkspace();
+        workspaceDao.create(removed);
+        workspaceDao.remove(removed.getId());
+        workspaceDao.create(workspace);
+        workspace.getConfig().setDescription("updated description");
+        workspaceDao.update(workspace);
+
+        final LocalWorkspaceDaoImpl restoredDao = new LocalWorkspaceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        restoredDao.loadWorkspaces();
+
+        assertEquals(restoredDao.get(workspace.getId()), workspace);
+        assertEquals(restoredDao.getByNamespace(workspace.getNamespace()), singletonList(workspace));
+    }
+
+    @Test
+    public void shouldFindWorkspaceByNewNameAfterRename() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        workspaceDao.create(workspace);
+
+        workspace.getConfig().setName("new-name");
+        workspaceDao.update(workspace);
+
+        assertEquals(workspaceDao.get("new-name", workspace.getNamespace()).getId(), workspace.getId());
+        assertEquals(workspaceDao.getByNamespace(workspace.getNamespace()).size(), 1);
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldNotFindWorkspaceByOldNameAfterRename() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        final String oldName = workspace.getConfig().getName();
+        workspaceDao.create(workspace);
+
+        workspace.getConfig().setName("new-name");
+        workspaceDao.update(workspace);
+
+        workspaceDao.get(oldName, workspace.getNamespace());
+    }
+
+    @Test(expectedExceptions = ConflictException.class)
+    public void shouldNotUpdateWorkspaceWhenNameIsUsedByAnotherWorkspaceInNamespace() throws Exception {
+        final WorkspaceImpl workspace1 = createWorkspace();
+        final WorkspaceImpl workspace2 = createWorkspace();
+        workspace2.getConfig().setName("another-name");
+        workspaceDao.create(workspace1);
+        workspaceDao.create(workspace2);
+
+        workspace2.getConfig().setName(workspace1.getConfig().getName());
+        workspaceDao.update(workspace2);
+    }
+
+    @Test
+    public void shouldNotChangeStoredWorkspaceWhenReturnedWorkspaceIsModified() throws Exception {
+        final WorkspaceImpl workspace = createWorkspace();
+        workspaceDao.create(workspace);
+
+        workspaceDao.get(workspace.getId()).getConfig().setName("new-name");
+
+        assertEquals(workspaceDao.get(workspace.getId()).getConfig().getName(), workspace.getConfig().getName());
+    }
+
     private static WorkspaceImpl createWorkspace() {
         // environments
         final RecipeImpl recipe = new RecipeImpl();